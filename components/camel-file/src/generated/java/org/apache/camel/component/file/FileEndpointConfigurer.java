@@ -31,6 +31,14 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "antFilterCaseSensitive": target.setAntFilterCaseSensitive(property(camelContext, boolean.class, value)); return true;
         case "antinclude":
         case "antInclude": target.setAntInclude(property(camelContext, java.lang.String.class, value)); return true;
+        case "appendchannelcachesize":
+        case "appendChannelCacheSize": target.setAppendChannelCacheSize(property(camelContext, int.class, value)); return true;
+        case "appendchannelflushinterval":
+        case "appendChannelFlushInterval": target.setAppendChannelFlushInterval(property(camelContext, long.class, value)); return true;
+        case "appendchannelidletimeout":
+        case "appendChannelIdleTimeout": target.setAppendChannelIdleTimeout(property(camelContext, long.class, value)); return true;
+        case "appendchannelsyncinterval":
+        case "appendChannelSyncInterval": target.setAppendChannelSyncInterval(property(camelContext, long.class, value)); return true;
         case "appendchars":
         case "appendChars": target.setAppendChars(property(camelContext, java.lang.String.class, value)); return true;
         case "autocreate":
@@ -107,6 +115,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "includeHiddenDirs": target.setIncludeHiddenDirs(property(camelContext, boolean.class, value)); return true;
         case "includehiddenfiles":
         case "includeHiddenFiles": target.setIncludeHiddenFiles(property(camelContext, boolean.class, value)); return true;
+        case "incrementalscan":
+        case "incrementalScan": target.setIncrementalScan(property(camelContext, boolean.class, value)); return true;
         case "initialdelay":
         case "initialDelay": target.setInitialDelay(property(camelContext, long.class, value)); return true;
         case "jailstartingdirectory":
@@ -178,6 +188,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": target.setRepeatCount(property(camelContext, long.class, value)); return true;
         case "runlogginglevel":
         case "runLoggingLevel": target.setRunLoggingLevel(property(camelContext, org.apache.camel.LoggingLevel.class, value)); return true;
+        case "scanparallelism":
+        case "scanParallelism": target.setScanParallelism(property(camelContext, int.class, value)); return true;
         case "scheduledexecutorservice":
         case "scheduledExecutorService": target.setScheduledExecutorService(property(camelContext, java.util.concurrent.ScheduledExecutorService.class, value)); return true;
         case "scheduler": target.setScheduler(property(camelContext, java.lang.Object.class, value)); return true;
@@ -219,6 +231,14 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "antFilterCaseSensitive": return boolean.class;
         case "antinclude":
         case "antInclude": return java.lang.String.class;
+        case "appendchannelcachesize":
+        case "appendChannelCacheSize": return int.class;
+        case "appendchannelflushinterval":
+        case "appendChannelFlushInterval": return long.class;
+        case "appendchannelidletimeout":
+        case "appendChannelIdleTimeout": return long.class;
+        case "appendchannelsyncinterval":
+        case "appendChannelSyncInterval": return long.class;
         case "appendchars":
         case "appendChars": return java.lang.String.class;
         case "autocreate":
@@ -295,6 +315,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "includeHiddenDirs": return boolean.class;
         case "includehiddenfiles":
         case "includeHiddenFiles": return boolean.class;
+        case "incrementalscan":
+        case "incrementalScan": return boolean.class;
         case "initialdelay":
         case "initialDelay": return long.class;
         case "jailstartingdirectory":
@@ -366,6 +388,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": return long.class;
         case "runlogginglevel":
         case "runLoggingLevel": return org.apache.camel.LoggingLevel.class;
+        case "scanparallelism":
+        case "scanParallelism": return int.class;
         case "scheduledexecutorservice":
         case "scheduledExecutorService": return java.util.concurrent.ScheduledExecutorService.class;
         case "scheduler": return java.lang.Object.class;
@@ -408,6 +432,14 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "antFilterCaseSensitive": return target.isAntFilterCaseSensitive();
         case "antinclude":
         case "antInclude": return target.getAntInclude();
+        case "appendchannelcachesize":
+        case "appendChannelCacheSize": return target.getAppendChannelCacheSize();
+        case "appendchannelflushinterval":
+        case "appendChannelFlushInterval": return target.getAppendChannelFlushInterval();
+        case "appendchannelidletimeout":
+        case "appendChannelIdleTimeout": return target.getAppendChannelIdleTimeout();
+        case "appendchannelsyncinterval":
+        case "appendChannelSyncInterval": return target.getAppendChannelSyncInterval();
         case "appendchars":
         case "appendChars": return target.getAppendChars();
         case "autocreate":
@@ -484,6 +516,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "includeHiddenDirs": return target.isIncludeHiddenDirs();
         case "includehiddenfiles":
         case "includeHiddenFiles": return target.isIncludeHiddenFiles();
+        case "incrementalscan":
+        case "incrementalScan": return target.isIncrementalScan();
         case "initialdelay":
         case "initialDelay": return target.getInitialDelay();
         case "jailstartingdirectory":
@@ -555,6 +589,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": return target.getRepeatCount();
         case "runlogginglevel":
         case "runLoggingLevel": return target.getRunLoggingLevel();
+        case "scanparallelism":
+        case "scanParallelism": return target.getScanParallelism();
         case "scheduledexecutorservice":
         case "scheduledExecutorService": return target.getScheduledExecutorService();
         case "scheduler": return target.getScheduler();
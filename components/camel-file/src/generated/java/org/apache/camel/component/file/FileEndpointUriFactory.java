@@ -23,11 +23,15 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(100);
+        Set<String> props = new HashSet<>(106);
         props.add("allowNullBody");
         props.add("antExclude");
         props.add("antFilterCaseSensitive");
         props.add("antInclude");
+        props.add("appendChannelCacheSize");
+        props.add("appendChannelFlushInterval");
+        props.add("appendChannelIdleTimeout");
+        props.add("appendChannelSyncInterval");
         props.add("appendChars");
         props.add("autoCreate");
         props.add("autoCreateStepwise");
@@ -72,6 +76,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("includeExt");
         props.add("includeHiddenDirs");
         props.add("includeHiddenFiles");
+        props.add("incrementalScan");
         props.add("initialDelay");
         props.add("jailStartingDirectory");
         props.add("keepLastModified");
@@ -109,6 +114,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("renameUsingCopy");
         props.add("repeatCount");
         props.add("runLoggingLevel");
+        props.add("scanParallelism");
         props.add("scheduledExecutorService");
         props.add("scheduler");
         props.add("schedulerProperties");
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of which directories have changed since they were last scanned by the file consumer, using a
+ * {@link WatchService}, so the consumer can skip listing directories that have not changed.
+ * <p/>
+ * A directory must be scanned again when the watch service reported events for it, when the directory could not be
+ * registered with the watch service, or when the last scan found files in the directory (as these files may still be
+ * pending, such as files that are not yet complete or that were rolled back). Only the sub directories of the other
+ * directories are remembered, so they can be walked without listing their parent.
+ */
+final class DirectoryChangeWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DirectoryChangeWatcher.class);
+
+    private final WatchService watchService;
+    private final Map<Path, DirectoryState> directories = new ConcurrentHashMap<>();
+
+    DirectoryChangeWatcher(FileSystem fileSystem) throws IOException {
+        this.watchService = fileSystem.newWatchService();
+    }
+
+    /**
+     * Drains the pending events from the watch service and marks the directories they belong to as changed. If events
+     * were lost then all directories are marked as changed, so they are scanned in full.
+     */
+    void processEvents() {
+        boolean overflow = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    }
+                }
+                DirectoryState state = directories.get(directory);
+                if (state != null) {
+                    state.changed = true;
+                }
+                if (!key.reset()) {
+                    // the directory is no longer accessible, so forget about it
+                    LOG.trace("Directory no longer watched: {}", directory);
+                    directories.remove(directory);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the consumer is stopping
+            return;
+        }
+
+        if (overflow) {
+            LOG.debug("Events were lost while watching for changes, will scan all {} directories", directories.size());
+            for (DirectoryState state : directories.values()) {
+                state.changed = true;
+            }
+        }
+    }
+
+    /**
+     * Whether the directory must be listed, or whether only its sub directories should be walked.
+     */
+    boolean isChanged(Path directory) {
+        DirectoryState state = directories.get(directory);
+        return state == null || state.key == null || state.changed || state.hasFiles;
+    }
+
+    /**
+     * The sub directories found when the directory was last scanned.
+     */
+    List<Path> getSubDirectories(Path directory) {
+        DirectoryState state = directories.get(directory);
+        return state != null ? state.subDirectories : Collections.emptyList();
+    }
+
+    /**
+     * Registers the directory with the watch service (if not already registered). This must be done before the
+     * directory is listed, so no changes can be missed in between.
+     */
+    void register(Path directory) {
+        DirectoryState state = directories.computeIfAbsent(directory, d -> new DirectoryState());
+        if (state.key == null || !state.key.isValid()) {
+            try {
+                state.key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException | ClosedWatchServiceException e) {
+                // such as the limit of watched directories has been reached, then the directory is always scanned
+                LOG.debug("Cannot watch directory: {} due to {}. The directory will be scanned on every poll.", directory,
+                        e.getMessage());
+                state.key = null;
+            }
+        }
+    }
+
+    /**
+     * Remembers the outcome of a complete scan of the directory.
+     */
+    void scanned(Path directory, boolean hasFiles, List<Path> subDirectories) {
+        DirectoryState state = directories.get(directory);
+        if (state != null) {
+            state.hasFiles = hasFiles;
+            state.subDirectories = subDirectories;
+            state.changed = false;
+        }
+    }
+
+    int size() {
+        return directories.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        directories.clear();
+        watchService.close();
+    }
+
+    private static final class DirectoryState {
+        private volatile WatchKey key;
+        private volatile boolean changed = true;
+        private volatile boolean hasFiles;
+        private volatile List<Path> subDirectories = Collections.emptyList();
+    }
+}
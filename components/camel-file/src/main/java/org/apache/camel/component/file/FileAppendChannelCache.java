@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the channels of the files the file producer appends to open across exchanges, instead of opening and closing
+ * the file for every exchange.
+ * <p/>
+ * Small writes can be gathered in a buffer per file which is written at the flush interval (group flush), and the
+ * files written to can be forced to disk at the sync interval (group sync). Channels which have not been used for the
+ * idle timeout are closed, and the least recently used channel is closed when the cache is full.
+ * <p/>
+ * Buffered bytes are written after the message has completed (at-most-once), unless the producer flushes them before,
+ * so an error writing them is kept and fails the next write to the file.
+ */
+final class FileAppendChannelCache extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileAppendChannelCache.class);
+
+    private final FileEndpoint endpoint;
+    private final Map<Path, AppendChannel> channels = new ConcurrentHashMap<>();
+    private final int cacheSize;
+    private final long idleTimeout;
+    private final long flushInterval;
+    private final long syncInterval;
+    private ScheduledExecutorService executorService;
+    private volatile long lastSync;
+
+    FileAppendChannelCache(FileEndpoint endpoint) {
+        this.endpoint = endpoint;
+        this.cacheSize = endpoint.getAppendChannelCacheSize();
+        this.idleTimeout = endpoint.getAppendChannelIdleTimeout();
+        this.flushInterval = endpoint.getAppendChannelFlushInterval();
+        this.syncInterval = endpoint.getAppendChannelSyncInterval();
+    }
+
+    /**
+     * Gets the channel for appending to the given file, which is locked by the caller until it is released.
+     */
+    AppendChannel acquire(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        while (true) {
+            boolean[] created = new boolean[1];
+            AppendChannel channel = channels.computeIfAbsent(path, p -> {
+                created[0] = true;
+                return new AppendChannel(p);
+            });
+            if (created[0] && channels.size() > cacheSize) {
+                evictLeastRecentlyUsed(channel);
+            }
+            channel.lock.lock();
+            if (!channel.closed) {
+                channel.lastUsed = System.currentTimeMillis();
+                return channel;
+            }
+            // closed while we were waiting for it, so try again with a new channel
+            channel.lock.unlock();
+            channels.remove(path, channel);
+        }
+    }
+
+    /**
+     * Closes the channel of the given file (if open), such as before the file is renamed or deleted.
+     */
+    void close(Path file) {
+        AppendChannel channel = channels.remove(file.toAbsolutePath().normalize());
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void evictLeastRecentlyUsed(AppendChannel added) {
+        AppendChannel eldest = null;
+        for (AppendChannel channel : channels.values()) {
+            if (channel != added && (eldest == null || channel.lastUsed < eldest.lastUsed)) {
+                eldest = channel;
+            }
+        }
+        if (eldest != null) {
+            LOG.debug("Closing least recently used append channel: {}", eldest.path);
+            channels.remove(eldest.path, eldest);
+            eldest.close();
+        }
+    }
+
+    private void housekeeping() {
+        long now = System.currentTimeMillis();
+        boolean sync = syncInterval > 0 && now - lastSync >= syncInterval;
+        if (sync) {
+            lastSync = now;
+        }
+
+        for (AppendChannel channel : channels.values()) {
+            if (idleTimeout > 0 && now - channel.lastUsed >= idleTimeout) {
+                LOG.debug("Closing idle append channel: {}", channel.path);
+                channels.remove(channel.path, channel);
+                channel.close();
+                continue;
+            }
+            if (flushInterval > 0) {
+                channel.tryFlush();
+            }
+            if (sync) {
+                channel.sync();
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        long period = 0;
+        for (long interval : new long[] { idleTimeout, flushInterval, syncInterval }) {
+            if (interval > 0 && (period == 0 || interval < period)) {
+                period = interval;
+            }
+        }
+        if (period > 0) {
+            lastSync = System.currentTimeMillis();
+            executorService = endpoint.getCamelContext().getExecutorServiceManager()
+                    .newSingleThreadScheduledExecutor(this, "FileAppendChannels");
+            executorService.scheduleWithFixedDelay(this::housekeeping, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(executorService);
+            executorService = null;
+        }
+        for (AppendChannel channel : channels.values()) {
+            channel.close();
+        }
+        channels.clear();
+    }
+
+    /**
+     * A file opened for appending.
+     */
+    final class AppendChannel {
+        private final Lock lock = new ReentrantLock();
+        private final Path path;
+        private FileChannel channel;
+        private ByteBuffer buffer;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean dirty;
+        private volatile boolean closed;
+        private volatile IOException failure;
+
+        private AppendChannel(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Opens the file if not already open.
+         *
+         * @return <tt>true</tt> if the file was opened
+         */
+        boolean open() throws IOException {
+            if (channel != null) {
+                return false;
+            }
+            // open in append mode, so the data is written at the end of the file even if the file is appended to by
+            // another endpoint in the meantime
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            LOG.debug("Opened append channel: {}", path);
+            return true;
+        }
+
+        /**
+         * Appends the bytes, which may be buffered until the next flush if the flush interval is in use.
+         */
+        void write(ByteBuffer source) throws IOException {
+            checkFailure();
+            if (flushInterval > 0) {
+                if (buffer == null) {
+                    buffer = ByteBuffer.allocateDirect(endpoint.getBufferSize());
+                }
+                if (source.remaining() > buffer.remaining()) {
+                    flushBuffer();
+                }
+                if (source.remaining() <= buffer.remaining()) {
+                    buffer.put(source);
+                    dirty = true;
+                    return;
+                }
+            }
+            writeFully(source);
+        }
+
+        /**
+         * Gets the underlying channel to write to directly, after any buffered bytes have been written.
+         */
+        FileChannel getChannel() throws IOException {
+            checkFailure();
+            flushBuffer();
+            dirty = true;
+            return channel;
+        }
+
+        /**
+         * Writes the buffered bytes to the file, such as before a done file is written.
+         */
+        void flush() throws IOException {
+            checkFailure();
+            flushBuffer();
+        }
+
+        void release() {
+            lastUsed = System.currentTimeMillis();
+            lock.unlock();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+            dirty = true;
+        }
+
+        private void flushBuffer() throws IOException {
+            if (buffer != null && buffer.position() > 0) {
+                buffer.flip();
+                try {
+                    writeFully(buffer);
+                } finally {
+                    buffer.clear();
+                }
+            }
+        }
+
+        /**
+         * Fails the next write with the error of writing the buffered data in the background, as that data is lost.
+         */
+        private void checkFailure() throws IOException {
+            IOException cause = failure;
+            if (cause != null) {
+                failure = null;
+                throw new IOException("Error writing buffered data to file: " + path, cause);
+            }
+        }
+
+        private void tryFlush() {
+            if (lock.tryLock()) {
+                try {
+                    if (!closed) {
+                        flushBuffer();
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                    LOG.warn("Error writing buffered data to file: {} due to {}", path, e.getMessage(), e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void sync() {
+            if (!dirty) {
+                return;
+            }
+            FileChannel target;
+            lock.lock();
+            try {
+                if (closed || channel == null) {
+                    return;
+                }
+                flushBuffer();
+                target = channel;
+                dirty = false;
+            } catch (IOException e) {
+                failure = e;
+                LOG.warn("Error writing buffered data to file: {} due to {}", path, e.getMessage(), e);
+                return;
+            } finally {
+                lock.unlock();
+            }
+            // force outside the lock so writers are not blocked while the file is synced to disk
+            try {
+                target.force(false);
+            } catch (IOException e) {
+                if (closed) {
+                    // the channel has been closed in the meantime, which then has synced the file
+                    LOG.debug("Error syncing file: {} due to {}", path, e.getMessage());
+                } else {
+                    failure = e;
+                    LOG.warn("Error syncing file: {} due to {}", path, e.getMessage(), e);
+                }
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (channel != null) {
+                    flushBuffer();
+                    if (syncInterval > 0) {
+                        channel.force(false);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Error writing buffered data to file: {} due to {}", path, e.getMessage(), e);
+            } finally {
+                IOHelper.close(channel, path.toString(), LOG);
+                channel = null;
+                lock.unlock();
+            }
+        }
+    }
+}
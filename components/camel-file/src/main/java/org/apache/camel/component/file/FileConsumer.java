@@ -18,15 +18,26 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
@@ -38,6 +49,7 @@ import org.apache.camel.resume.ResumeAware;
 import org.apache.camel.resume.ResumeStrategy;
 import org.apache.camel.support.resume.Resumables;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +63,8 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     private ResumeStrategy resumeStrategy;
     private final String endpointPath;
     private Set<String> extendedAttributes;
+    private ForkJoinPool scanPool;
+    private DirectoryChangeWatcher changeWatcher;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations,
                         GenericFileProcessStrategy<File> processStrategy) {
@@ -147,17 +161,21 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
             LOG.trace("Adding valid file: {}", file);
             // matched file so add
-            if (extendedAttributes != null) {
-                Path path = file.toPath();
-                Map<String, Object> allAttributes = new HashMap<>();
-                for (String attribute : extendedAttributes) {
-                    readAttributes(file, path, allAttributes, attribute);
-                }
+            setExtendedAttributes(file, gf);
+
+            fileList.add(gf);
+        }
+    }
 
-                gf.setExtendedAttributes(allAttributes);
+    private void setExtendedAttributes(File file, GenericFile<File> gf) {
+        if (extendedAttributes != null) {
+            Path path = file.toPath();
+            Map<String, Object> allAttributes = new HashMap<>();
+            for (String attribute : extendedAttributes) {
+                readAttributes(file, path, allAttributes, attribute);
             }
 
-            fileList.add(gf);
+            gf.setExtendedAttributes(allAttributes);
         }
     }
 
@@ -196,9 +214,169 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             return true;
         }
 
+        if (getEndpoint().getScanParallelism() > 0) {
+            return scanDirectory(directory.toPath(), fileList, depth);
+        }
         return pollDirectory(directory, fileList, depth);
     }
 
+    /**
+     * Scans the directory using a {@link DirectoryStream}, where the attributes of each entry are read at once, instead
+     * of querying the file system for the type, length and last modified of each file individually. The files are
+     * filtered while the directory is streamed, and sub directories are scanned in parallel if a scan pool is in use.
+     */
+    private boolean scanDirectory(Path directory, List<GenericFile<File>> fileList, int depth) {
+        if (changeWatcher != null) {
+            changeWatcher.processEvents();
+        }
+
+        ScanContext context = new ScanContext();
+        DirectoryScan scan = new DirectoryScan(directory, depth + 1, context);
+        try {
+            // the resume strategy is not thread-safe, so scan sequentially when in use
+            if (scanPool != null && resumeStrategy == null) {
+                fileList.addAll(scanPool.invoke(scan));
+            } else {
+                fileList.addAll(scan.compute());
+            }
+        } catch (RuntimeException e) {
+            // stop the other scans, and hand over the files already marked as in-progress, so they are removed again
+            context.failed = true;
+            if (scanPool != null) {
+                scanPool.awaitQuiescence(30, TimeUnit.SECONDS);
+            }
+            fileList.addAll(context.accepted);
+            throw e;
+        }
+
+        return !context.limitHit;
+    }
+
+    private void scanDirectory(Path directory, int depth, ScanContext context, List<Object> found) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Scanning directory: {}, absolute path: {}", directory, directory.toAbsolutePath());
+        }
+        if (!getEndpoint().isIncludeHiddenDirs() && directory.toFile().isHidden()) {
+            return;
+        }
+
+        if (changeWatcher != null && !changeWatcher.isChanged(directory)) {
+            // nothing has changed in this directory, so only walk its sub directories
+            LOG.trace("Directory not changed since last scan: {}", directory);
+            for (Path subDirectory : changeWatcher.getSubDirectories(directory)) {
+                BasicFileAttributes attributes = readAttributes(subDirectory);
+                if (attributes != null && attributes.isDirectory()
+                        && !scanEntry(subDirectory, attributes, depth, context, found)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        List<Path> subDirectories = null;
+        if (changeWatcher != null) {
+            changeWatcher.register(directory);
+            subDirectories = new ArrayList<>();
+        }
+        boolean hasFiles = false;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            Iterable<Path> entries = stream;
+            if (getEndpoint().isPreSort()) {
+                List<Path> sorted = new ArrayList<>();
+                stream.forEach(sorted::add);
+                sorted.sort(Comparator.comparing(Path::toAbsolutePath));
+                entries = sorted;
+            }
+            for (Path entry : entries) {
+                BasicFileAttributes attributes = readAttributes(entry);
+                if (attributes == null) {
+                    continue;
+                }
+                if (!attributes.isDirectory()) {
+                    hasFiles = true;
+                } else if (subDirectories != null) {
+                    subDirectories.add(entry);
+                }
+                if (!scanEntry(entry, attributes, depth, context, found)) {
+                    // the scan is incomplete, so the directory is not marked as scanned
+                    return;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOG.debug("Cannot scan directory: {} due to {}", directory, e.getMessage());
+            return;
+        }
+
+        if (changeWatcher != null) {
+            changeWatcher.scanned(directory, hasFiles, subDirectories);
+        }
+    }
+
+    private boolean scanEntry(Path entry, BasicFileAttributes attributes, int depth, ScanContext context, List<Object> found) {
+        if (context.limitHit || context.failed) {
+            return false;
+        }
+
+        File file = entry.toFile();
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Found file: {} [isDirectory: {}, isRegularFile: {}]", file, attributes.isDirectory(),
+                    attributes.isRegularFile());
+        }
+
+        // creates a generic file
+        GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(),
+                getEndpoint().isProbeContentType(), attributes);
+
+        if (resumeStrategy != null) {
+            final ResumeAdapter adapter = setupResumeStrategy(gf);
+
+            if (adapter instanceof DirectoryEntriesResumeAdapter directoryEntriesResumeAdapter) {
+                LOG.trace("Running the resume process for file {}", file);
+                if (directoryEntriesResumeAdapter.resume(file)) {
+                    LOG.trace("Skipping file {} because it has been marked previously consumed", file);
+                    return true;
+                }
+            }
+        }
+
+        if (attributes.isDirectory()) {
+            if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, null)) {
+                DirectoryScan scan = new DirectoryScan(entry, depth + 1, context);
+                if (scanPool != null && resumeStrategy == null) {
+                    found.add(scan.fork());
+                } else {
+                    found.add(scan.compute());
+                }
+            }
+        } else if (depth >= endpoint.minDepth) {
+            // reserve the file before validating it, as validating marks the file as in-progress (and as consumed
+            // with an eager idempotent repository), which must not happen for a file this poll cannot take
+            if (!context.reserve()) {
+                // other directory scans got the last files this poll can take
+                return false;
+            }
+            if (!isValidFile(gf, false, null)) {
+                context.release();
+                return true;
+            }
+            context.accept(gf);
+            LOG.trace("Adding valid file: {}", file);
+            setExtendedAttributes(file, gf);
+            found.add(gf);
+        }
+        return true;
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // the file may have been deleted since the directory was listed
+            LOG.trace("Cannot read attributes of file: {} due to {}", path, e.getMessage());
+            return null;
+        }
+    }
+
     private File[] listFiles(File directory) {
         if (!getEndpoint().isIncludeHiddenDirs() && directory.isHidden()) {
             return null;
@@ -251,6 +429,15 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
 
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, File[] files) {
+        if (files == null) {
+            // the directory was streamed, so check whether the done file exists
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
+
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -271,6 +458,34 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
      * @return                  wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset, boolean probeContentType) {
+        GenericFile<File> answer = createGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setDirectory(file.isDirectory());
+        // file length and last modified are loaded lazily
+        answer.setFileLengthSupplier(file::length);
+        answer.setLastModifiedSupplier(file::lastModified);
+        return answer;
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file, and the attributes already read from the file system.
+     *
+     * @param  endpointPath     the starting directory the endpoint was configured with
+     * @param  file             the source file
+     * @param  probeContentType whether to probe the content type of the file or not
+     * @param  attributes       the basic attributes of the file
+     * @return                  wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(
+            String endpointPath, File file, String charset, boolean probeContentType, BasicFileAttributes attributes) {
+        GenericFile<File> answer = createGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setDirectory(attributes.isDirectory());
+        answer.setFileLength(attributes.size());
+        answer.setLastModified(attributes.lastModifiedTime().toMillis());
+        return answer;
+    }
+
+    private static GenericFile<File> createGenericFile(
+            String endpointPath, File file, String charset, boolean probeContentType) {
         GenericFile<File> answer = new GenericFile<>(probeContentType);
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -279,7 +494,6 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setDirectory(file.isDirectory());
         // must use FileUtil.isAbsolute to have consistent check for whether the
         // file is
         // absolute or not. As windows do not consider \ paths as absolute where
@@ -292,10 +506,6 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
 
-        // file length and last modified are loaded lazily
-        answer.setFileLengthSupplier(file::length);
-        answer.setLastModifiedSupplier(file::lastModified);
-
         // compute the file path as relative to the starting directory
         File path;
         String endpointNormalizedSep = FileUtil.normalizePath(endpointPath) + File.separator;
@@ -373,9 +583,31 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             resumeStrategy.loadCache();
         }
 
+        FileEndpoint fileEndpoint = getEndpoint();
+        if (fileEndpoint.getScanParallelism() > 1 && fileEndpoint.isRecursive()) {
+            scanPool = new ForkJoinPool(fileEndpoint.getScanParallelism());
+        }
+        if (fileEndpoint.isIncrementalScan() && fileEndpoint.getScanParallelism() > 0) {
+            changeWatcher = new DirectoryChangeWatcher(fileEndpoint.getFile().toPath().getFileSystem());
+        }
+
         super.doStart();
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (scanPool != null) {
+            scanPool.shutdownNow();
+            scanPool = null;
+        }
+        if (changeWatcher != null) {
+            IOHelper.close(changeWatcher);
+            changeWatcher = null;
+        }
+    }
+
     @Override
     public ResumeStrategy getResumeStrategy() {
         return resumeStrategy;
@@ -390,4 +622,96 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     public String adapterFactoryService() {
         return "file-adapter-factory";
     }
+
+    /**
+     * State shared by the scans of the directories in a single poll.
+     */
+    private final class ScanContext {
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicInteger count = new AtomicInteger();
+        private final Queue<GenericFile<File>> accepted = new ConcurrentLinkedQueue<>();
+        private volatile boolean limitHit;
+        private volatile boolean failed;
+
+        private boolean isLimited() {
+            return eagerLimitMaxMessagesPerPoll && maxMessagesPerPoll > 0;
+        }
+
+        /**
+         * Reserves room for a file, which is about to be validated by a directory scan.
+         *
+         * @return <tt>false</tt> if the maxMessagesPerPoll limit was already reached by other scans
+         */
+        boolean reserve() {
+            if (!isLimited()) {
+                return true;
+            }
+            while (true) {
+                int total = reserved.get();
+                if (total >= maxMessagesPerPoll) {
+                    // the files reserved by other scans may still be invalid, which is picked up by the next poll
+                    limitHit = true;
+                    return false;
+                }
+                if (reserved.compareAndSet(total, total + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Releases the room reserved for a file which is not valid.
+         */
+        void release() {
+            if (isLimited()) {
+                reserved.decrementAndGet();
+            }
+        }
+
+        /**
+         * Accounts for a valid file accepted by a directory scan, for which room was reserved.
+         */
+        void accept(GenericFile<File> file) {
+            accepted.add(file);
+            if (isLimited() && count.incrementAndGet() == maxMessagesPerPoll) {
+                limitHit = true;
+            }
+        }
+    }
+
+    /**
+     * Scans a single directory, and gathers the accepted files of the directory and its sub directories in the order
+     * they were listed, so the outcome is the same whether sub directories are scanned in parallel or not.
+     */
+    private final class DirectoryScan extends RecursiveTask<List<GenericFile<File>>> {
+        private final Path directory;
+        private final int depth;
+        private final ScanContext context;
+
+        DirectoryScan(Path directory, int depth, ScanContext context) {
+            this.directory = directory;
+            this.depth = depth;
+            this.context = context;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected List<GenericFile<File>> compute() {
+            // holds accepted files, and the files of sub directories (which may still be scanned by another thread)
+            List<Object> found = new ArrayList<>();
+            scanDirectory(directory, depth, context, found);
+
+            List<GenericFile<File>> answer = new ArrayList<>(found.size());
+            for (Object entry : found) {
+                if (entry instanceof ForkJoinTask<?> task) {
+                    answer.addAll((List<GenericFile<File>>) task.join());
+                } else if (entry instanceof List<?> list) {
+                    answer.addAll((List<GenericFile<File>>) list);
+                } else {
+                    answer.add((GenericFile<File>) entry);
+                }
+            }
+            return answer;
+        }
+    }
 }
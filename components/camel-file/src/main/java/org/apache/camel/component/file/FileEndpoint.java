@@ -38,6 +38,7 @@ import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
 import org.apache.camel.spi.UriPath;
 import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -83,12 +84,25 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private int scanParallelism;
+    @UriParam(label = "consumer,advanced")
+    private boolean incrementalScan;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
     private String chmod;
     @UriParam(label = "producer,advanced")
     private String chmodDirectory;
+    @UriParam(label = "producer,advanced")
+    private int appendChannelCacheSize;
+    @UriParam(label = "producer,advanced", defaultValue = "60000")
+    private long appendChannelIdleTimeout = 60000;
+    @UriParam(label = "producer,advanced")
+    private long appendChannelFlushInterval;
+    @UriParam(label = "producer,advanced")
+    private long appendChannelSyncInterval;
+    private FileAppendChannelCache appendChannelCache;
 
     public FileEndpoint() {
     }
@@ -213,9 +227,27 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         if (this.getMoveExistingFileStrategy() == null) {
             this.setMoveExistingFileStrategy(createDefaultMoveExistingFileStrategy());
         }
+        if (getFileExist() == GenericFileExist.Append && appendChannelCacheSize > 0) {
+            initAppendChannelCache();
+        }
         return new GenericFileProducer<>(this, operations);
     }
 
+    private synchronized void initAppendChannelCache() {
+        if (appendChannelCache == null) {
+            appendChannelCache = new FileAppendChannelCache(this);
+            operations.setAppendChannelCache(appendChannelCache);
+        }
+        // the cache is stopped together with the endpoint, so start it again if the endpoint has been restarted
+        ServiceHelper.startService(appendChannelCache);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        ServiceHelper.stopService(appendChannelCache);
+    }
+
     @Override
     public Exchange createExchange(GenericFile<File> file) {
         Exchange exchange = createExchange();
@@ -401,6 +433,62 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.forceWrites = forceWrites;
     }
 
+    public int getAppendChannelCacheSize() {
+        return appendChannelCacheSize;
+    }
+
+    /**
+     * When using fileExist=Append, then the producer can keep the files it appends to open across exchanges, instead
+     * of opening and closing the file for every exchange. This option is the maximum number of files to keep open,
+     * where the least recently used file is closed when more files are written to. The files must not be renamed or
+     * deleted by other applications while they are kept open. The default value 0 opens and closes the file for every
+     * exchange.
+     */
+    public void setAppendChannelCacheSize(int appendChannelCacheSize) {
+        this.appendChannelCacheSize = appendChannelCacheSize;
+    }
+
+    public long getAppendChannelIdleTimeout() {
+        return appendChannelIdleTimeout;
+    }
+
+    /**
+     * When the appendChannelCacheSize option is in use, then files which have not been written to for this period (in
+     * millis) are closed. Use 0 to keep the files open until the cache is full or the endpoint is stopped.
+     */
+    public void setAppendChannelIdleTimeout(long appendChannelIdleTimeout) {
+        this.appendChannelIdleTimeout = appendChannelIdleTimeout;
+    }
+
+    public long getAppendChannelFlushInterval() {
+        return appendChannelFlushInterval;
+    }
+
+    /**
+     * When the appendChannelCacheSize option is in use, then small writes can be gathered in a buffer (of bufferSize)
+     * per file, which is written to the file when it is full, or at this interval (in millis), which reduces the number
+     * of writes to the file system when appending many small messages. Mind that the messages are regarded as written
+     * before their data is written to the file (at-most-once), unless the doneFileName option is in use, and an error
+     * writing the buffered data fails the next message written to the file. The default value 0 writes the data of each
+     * message to the file immediately.
+     */
+    public void setAppendChannelFlushInterval(long appendChannelFlushInterval) {
+        this.appendChannelFlushInterval = appendChannelFlushInterval;
+    }
+
+    public long getAppendChannelSyncInterval() {
+        return appendChannelSyncInterval;
+    }
+
+    /**
+     * When the appendChannelCacheSize option is in use, then the files written to are forced (synced) to disk at this
+     * interval (in millis), so the cost of syncing is shared by all the messages written in the interval. The default
+     * value 0 leaves it to the operating system when to write the data to disk.
+     */
+    public void setAppendChannelSyncInterval(long appendChannelSyncInterval) {
+        this.appendChannelSyncInterval = appendChannelSyncInterval;
+    }
+
     public boolean isProbeContentType() {
         return probeContentType;
     }
@@ -426,6 +514,37 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * Whether the consumer should scan directories using NIO directory streams, where the attributes of each file are
+     * read at once while the directory is streamed, instead of listing each directory in full and querying the file
+     * system for the type, length and last modified of every file. When set to a value higher than 1 and the recursive
+     * option is enabled, then sub directories are scanned in parallel by this number of threads, in which case any
+     * custom filters must be thread-safe. The default value 0 uses the classic java.io.File based scan. Parallel
+     * scanning is not in use when a resume strategy is configured.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether the consumer should watch the scanned directories for changes (using the file system watch service), and
+     * only list the directories which have changed since the last poll, or which had files the last time they were
+     * listed. Directories which have not changed are not listed, but their sub directories are still scanned. This is
+     * beneficial when recursively polling a deep directory tree where most directories are empty. This option requires
+     * scanParallelism to be 1 or higher.
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -27,7 +27,9 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
@@ -41,6 +43,8 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.converter.stream.MappedFileInputStreamCache;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -57,6 +61,7 @@ public class FileOperations implements GenericFileOperations<File> {
     private static final Logger LOG = LoggerFactory.getLogger(FileOperations.class);
     private final Lock lock = new ReentrantLock();
     private FileEndpoint endpoint;
+    private FileAppendChannelCache appendChannelCache;
 
     public FileOperations() {
     }
@@ -75,9 +80,14 @@ public class FileOperations implements GenericFileOperations<File> {
         this.endpoint = (FileEndpoint) endpoint;
     }
 
+    void setAppendChannelCache(FileAppendChannelCache appendChannelCache) {
+        this.appendChannelCache = appendChannelCache;
+    }
+
     @Override
     public boolean deleteFile(String name) throws GenericFileOperationFailedException {
         File file = new File(name);
+        closeAppendChannel(file);
         return FileUtil.deleteFile(file);
     }
 
@@ -86,6 +96,8 @@ public class FileOperations implements GenericFileOperations<File> {
         boolean renamed;
         File file = new File(from);
         File target = new File(to);
+        closeAppendChannel(file);
+        closeAppendChannel(target);
         try {
             if (endpoint.isRenameUsingCopy()) {
                 renamed = FileUtil.renameFileUsingCopy(file, target);
@@ -270,6 +282,17 @@ public class FileOperations implements GenericFileOperations<File> {
             return handleNullBody(file);
         }
 
+        if (isAppendChannelCacheInUse()) {
+            // append using a file channel which is kept open across exchanges
+            try {
+                writeFileByAppendChannel(exchange, file);
+                keepLastModified(exchange, file);
+                return true;
+            } catch (InvalidPayloadException | IOException e) {
+                throw new GenericFileOperationFailedException("Cannot store file: " + file, e);
+            }
+        }
+
         // we can write the file by 3 different techniques
         // 1. write file to file
         // 2. rename a file from a local work path
@@ -315,6 +338,9 @@ public class FileOperations implements GenericFileOperations<File> {
             } else if (exchange.getIn().getBody() instanceof String) {
                 // If the body is a string, write it directly
                 handleStringAsFileSource(exchange, file);
+            } else if (isSpooledStreamCache(exchange.getIn().getBody())) {
+                // the body is spooled to a temporary file, so transfer the file instead of copying it via the heap
+                writeFileByStreamCache((InputStream) exchange.getIn().getBody(), file);
             } else {
                 // fallback and use stream based
                 handleStreamAsFileSource(exchange, file);
@@ -516,6 +542,124 @@ public class FileOperations implements GenericFileOperations<File> {
         }
     }
 
+    private static boolean isSpooledStreamCache(Object body) {
+        return body instanceof FileInputStreamCache || body instanceof MappedFileInputStreamCache;
+    }
+
+    private static void transferStreamCache(InputStream cache, WritableByteChannel channel) throws IOException {
+        if (cache instanceof MappedFileInputStreamCache mapped) {
+            mapped.writeTo(channel);
+        } else {
+            ((FileInputStreamCache) cache).writeTo(channel);
+        }
+    }
+
+    private void writeFileByStreamCache(InputStream cache, File target) throws IOException {
+        try (FileChannel out = prepareOutputFileChannel(target)) {
+            LOG.debug("Using {} to write file: {}", cache.getClass().getSimpleName(), target);
+            transferStreamCache(cache, out);
+
+            boolean append = endpoint.getFileExist() == GenericFileExist.Append;
+            if (append && endpoint.getAppendChars() != null) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(endpoint.getAppendChars().getBytes());
+                while (byteBuffer.hasRemaining()) {
+                    out.write(byteBuffer);
+                }
+            }
+        } finally {
+            IOHelper.close(cache, target.getName(), LOG);
+        }
+    }
+
+    private boolean isAppendChannelCacheInUse() {
+        return appendChannelCache != null && appendChannelCache.isRunAllowed()
+                && endpoint.getFileExist() == GenericFileExist.Append;
+    }
+
+    private void closeAppendChannel(File file) {
+        if (appendChannelCache != null) {
+            appendChannelCache.close(file.toPath());
+        }
+    }
+
+    private void writeFileByAppendChannel(Exchange exchange, File target) throws InvalidPayloadException, IOException {
+        FileAppendChannelCache.AppendChannel channel = appendChannelCache.acquire(target.toPath());
+        try {
+            if (channel.open()) {
+                // set permissions if the chmod option was set, which is only needed when the file is opened
+                setPermissions(target);
+            }
+
+            String charset = endpoint.getCharset();
+            Object body = charset == null ? extractBodyFromExchange(exchange) : null;
+            if (charset != null) {
+                String text = exchange.getIn().getMandatoryBody(String.class);
+                channel.write(ByteBuffer.wrap(text.getBytes(charset)));
+            } else if (body instanceof String text) {
+                channel.write(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+            } else if (body instanceof byte[] data) {
+                channel.write(ByteBuffer.wrap(data));
+            } else if (isSpooledStreamCache(body)) {
+                InputStream cache = (InputStream) body;
+                LOG.trace("Appending {} to file: {}", cache.getClass().getSimpleName(), target);
+                try {
+                    transferStreamCache(cache, channel.getChannel());
+                } finally {
+                    IOHelper.close(cache, target.getName(), LOG);
+                }
+            } else if (body instanceof File source && source.exists()) {
+                LOG.trace("Appending file: {} to file: {}", source, target);
+                transferFile(source, channel.getChannel(), exchange);
+            } else {
+                InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
+                try {
+                    byte[] buffer = new byte[endpoint.getBufferSize()];
+                    int bytesRead;
+                    while ((bytesRead = in.read(buffer)) != -1) {
+                        channel.write(ByteBuffer.wrap(buffer, 0, bytesRead));
+                    }
+                } finally {
+                    IOHelper.close(in, target.getName(), LOG);
+                }
+            }
+
+            if (endpoint.getAppendChars() != null) {
+                channel.write(ByteBuffer.wrap(endpoint.getAppendChars().getBytes()));
+            }
+            if (endpoint.getDoneFileName() != null) {
+                // the data must be in the file before the done file is written
+                channel.flush();
+            }
+        } catch (IOException e) {
+            // the file may be partially written, so close the channel to start over on the next exchange
+            appendChannelCache.close(target.toPath());
+            throw e;
+        } finally {
+            channel.release();
+        }
+    }
+
+    private static void transferFile(File source, FileChannel target, Exchange exchange) throws IOException {
+        // in case we are using file locks as read-locks then we need to use the locked channel
+        FileChannel channel = exchange.getProperty(
+                asExclusiveReadLockKey(source.getAbsolutePath(), Exchange.FILE_LOCK_CHANNEL_FILE), FileChannel.class);
+        if (channel != null) {
+            transferFully(channel, target);
+        } else {
+            try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+                transferFully(in, target);
+            }
+        }
+    }
+
+    private static void transferFully(FileChannel source, FileChannel target) throws IOException {
+        long size = source.size();
+        long position = 0;
+        while (position < size) {
+            position += source.transferTo(position, size - position, target);
+        }
+    }
+
     private void writeFileByReaderWithCharset(Reader in, File target, String charset) throws IOException {
         boolean append = endpoint.getFileExist() == GenericFileExist.Append;
         try (Writer out = Files.newBufferedWriter(target.toPath(), Charset.forName(charset), StandardOpenOption.WRITE,
@@ -560,13 +704,12 @@ public class FileOperations implements GenericFileOperations<File> {
      * Creates and prepares the output file channel. Will position itself in correct position if the file is writable
      * eg. it should append or override any existing content.
      */
-    private SeekableByteChannel prepareOutputFileChannel(File target) throws IOException {
+    private FileChannel prepareOutputFileChannel(File target) throws IOException {
         if (endpoint.getFileExist() == GenericFileExist.Append) {
-            SeekableByteChannel out
-                    = Files.newByteChannel(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
             return out.position(out.size());
         }
-        return Files.newByteChannel(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING,
+        return FileChannel.open(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING,
                 StandardOpenOption.CREATE);
     }
 }
@@ -0,0 +1,57 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.processor.throttle.hazelcast.HazelcastThrottleStateRepository;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class HazelcastThrottleStateRepositoryConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.processor.throttle.hazelcast.HazelcastThrottleStateRepository target = (org.apache.camel.processor.throttle.hazelcast.HazelcastThrottleStateRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "leaseduration":
+        case "leaseDuration": target.setLeaseDuration(property(camelContext, long.class, value)); return true;
+        case "leasesize":
+        case "leaseSize": target.setLeaseSize(property(camelContext, int.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "leaseduration":
+        case "leaseDuration": return long.class;
+        case "leasesize":
+        case "leaseSize": return int.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.processor.throttle.hazelcast.HazelcastThrottleStateRepository target = (org.apache.camel.processor.throttle.hazelcast.HazelcastThrottleStateRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "leaseduration":
+        case "leaseDuration": return target.getLeaseDuration();
+        case "leasesize":
+        case "leaseSize": return target.getLeaseSize();
+        default: return null;
+        }
+    }
+}
+
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import java.util.concurrent.ConcurrentMap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.XmlConfigBuilder;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.processor.throttle.AbstractThrottleStateRepository;
+import org.apache.camel.support.processor.throttle.TokenBucket;
+
+/**
+ * {@link org.apache.camel.spi.ThrottleStateRepository} that keeps the token buckets of the throttlers in a Hazelcast
+ * map, which allows throttlers on several nodes to share the same rate limit.
+ */
+@Metadata(label = "bean",
+          description = "Throttle state repository that uses Hazelcast cache to share the rate limit of throttlers.",
+          annotations = { "interfaceName=org.apache.camel.spi.ThrottleStateRepository" })
+@Configurer(metadataOnly = true)
+public class HazelcastThrottleStateRepository extends AbstractThrottleStateRepository {
+
+    protected boolean useLocalHzInstance;
+
+    @Metadata(description = "Name of cache to use", defaultValue = "HazelcastThrottleStateRepository")
+    private String repositoryName;
+    private IMap<String, TokenBucket> repo;
+    @Metadata(description = "To use an existing Hazelcast instance instead of local")
+    private HazelcastInstance hazelcastInstance;
+
+    public HazelcastThrottleStateRepository() {
+        this(null);
+    }
+
+    public HazelcastThrottleStateRepository(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, HazelcastThrottleStateRepository.class.getSimpleName());
+    }
+
+    public HazelcastThrottleStateRepository(HazelcastInstance hazelcastInstance, String repositoryName) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.repositoryName = repositoryName;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (hazelcastInstance == null) {
+            Config cfg = new XmlConfigBuilder().build();
+            cfg.setProperty("hazelcast.version.check.enabled", "false");
+            hazelcastInstance = Hazelcast.newHazelcastInstance(cfg);
+            useLocalHzInstance = true;
+        }
+        repo = hazelcastInstance.getMap(repositoryName);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (useLocalHzInstance) {
+            hazelcastInstance.getLifecycleService().shutdown();
+        }
+    }
+
+    @Override
+    protected ConcurrentMap<String, TokenBucket> getStore() {
+        return repo;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+}
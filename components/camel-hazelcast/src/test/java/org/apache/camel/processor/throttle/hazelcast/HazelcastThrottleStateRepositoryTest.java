@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.support.processor.throttle.TokenBucket;
+import org.apache.camel.test.infra.common.TestEntityNameGenerator;
+import org.apache.camel.test.infra.hazelcast.services.HazelcastService;
+import org.apache.camel.test.infra.hazelcast.services.HazelcastServiceFactory;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class HazelcastThrottleStateRepositoryTest extends CamelTestSupport {
+
+    @RegisterExtension
+    public static HazelcastService hazelcastService = HazelcastServiceFactory.createService();
+
+    @RegisterExtension
+    public static TestEntityNameGenerator nameGenerator = new TestEntityNameGenerator();
+
+    private IMap<String, TokenBucket> cache;
+    private HazelcastThrottleStateRepository repo;
+    private HazelcastThrottleStateRepository otherRepo;
+    private HazelcastInstance hazelcastInstance;
+
+    @BeforeAll
+    void setupHazelcast() throws Exception {
+        hazelcastInstance = Hazelcast.newHazelcastInstance(null);
+        cache = hazelcastInstance.getMap("myRepo");
+        repo = new HazelcastThrottleStateRepository(hazelcastInstance, "myRepo");
+        // simulates a throttler on another node
+        otherRepo = new HazelcastThrottleStateRepository(hazelcastInstance, "myRepo");
+        otherRepo.start();
+    }
+
+    @AfterAll
+    void teardownHazelcast() {
+        otherRepo.stop();
+        hazelcastInstance.getLifecycleService().terminate();
+    }
+
+    @BeforeEach
+    void clearCache() {
+        cache.clear();
+    }
+
+    @Test
+    public void testTryAcquire() throws Exception {
+        assertTrue(otherRepo.tryAcquire("foo", 1, 2, 60000));
+        assertTrue(otherRepo.tryAcquire("foo", 1, 2, 60000));
+        assertFalse(otherRepo.tryAcquire("foo", 1, 2, 60000));
+        assertEquals(1, cache.size());
+
+        assertTrue(otherRepo.tryAcquire("bar", 1, 2, 60000));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testRepositoryInRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:out");
+        mock.expectedBodiesReceived("a", "b");
+        getMockEndpoint("mock:rejected").expectedBodiesReceived("c");
+
+        // should be started
+        assertTrue(repo.getStatus().isStarted(), "Should be started");
+
+        // the other node takes one of the 3 permits
+        assertTrue(otherRepo.tryAcquire("CamelThrottlerDefaultKey", 1, 3, 60000));
+
+        template.sendBody("direct://in", "a");
+        template.sendBody("direct://in", "b");
+        template.sendBody("direct://in", "c");
+
+        MockEndpoint.assertIsSatisfied(context);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:rejected");
+
+                from("direct://in")
+                        .throttle(3).timePeriodMillis(60000).rejectExecution(true)
+                        .throttleStateRepository(repo)
+                        .to("mock://out");
+            }
+        };
+    }
+
+}
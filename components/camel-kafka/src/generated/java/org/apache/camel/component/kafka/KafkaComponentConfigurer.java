@@ -120,6 +120,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": getOrCreateConfiguration(target).setKey(property(camelContext, java.lang.String.class, value)); return true;
         case "keydeserializer":
         case "keyDeserializer": getOrCreateConfiguration(target).setKeyDeserializer(property(camelContext, java.lang.String.class, value)); return true;
+        case "keyparallelism":
+        case "keyParallelism": getOrCreateConfiguration(target).setKeyParallelism(property(camelContext, int.class, value)); return true;
         case "keyserializer":
         case "keySerializer": getOrCreateConfiguration(target).setKeySerializer(property(camelContext, java.lang.String.class, value)); return true;
         case "lazystartproducer":
@@ -357,6 +359,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": return java.lang.String.class;
         case "keydeserializer":
         case "keyDeserializer": return java.lang.String.class;
+        case "keyparallelism":
+        case "keyParallelism": return int.class;
         case "keyserializer":
         case "keySerializer": return java.lang.String.class;
         case "lazystartproducer":
@@ -590,6 +594,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": return getOrCreateConfiguration(target).getKey();
         case "keydeserializer":
         case "keyDeserializer": return getOrCreateConfiguration(target).getKeyDeserializer();
+        case "keyparallelism":
+        case "keyParallelism": return getOrCreateConfiguration(target).getKeyParallelism();
         case "keyserializer":
         case "keySerializer": return getOrCreateConfiguration(target).getKeySerializer();
         case "lazystartproducer":
@@ -106,6 +106,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "key": target.getConfiguration().setKey(property(camelContext, java.lang.String.class, value)); return true;
         case "keydeserializer":
         case "keyDeserializer": target.getConfiguration().setKeyDeserializer(property(camelContext, java.lang.String.class, value)); return true;
+        case "keyparallelism":
+        case "keyParallelism": target.getConfiguration().setKeyParallelism(property(camelContext, int.class, value)); return true;
         case "keyserializer":
         case "keySerializer": target.getConfiguration().setKeySerializer(property(camelContext, java.lang.String.class, value)); return true;
         case "lazystartproducer":
@@ -323,6 +325,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "key": return java.lang.String.class;
         case "keydeserializer":
         case "keyDeserializer": return java.lang.String.class;
+        case "keyparallelism":
+        case "keyParallelism": return int.class;
         case "keyserializer":
         case "keySerializer": return java.lang.String.class;
         case "lazystartproducer":
@@ -541,6 +545,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "key": return target.getConfiguration().getKey();
         case "keydeserializer":
         case "keyDeserializer": return target.getConfiguration().getKeyDeserializer();
+        case "keyparallelism":
+        case "keyParallelism": return target.getConfiguration().getKeyParallelism();
         case "keyserializer":
         case "keySerializer": return target.getConfiguration().getKeySerializer();
         case "lazystartproducer":
@@ -23,7 +23,7 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(109);
+        Set<String> props = new HashSet<>(110);
         props.add("additionalProperties");
         props.add("allowManualCommit");
         props.add("autoCommitEnable");
@@ -67,6 +67,7 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
         props.add("kerberosRenewWindowFactor");
         props.add("key");
         props.add("keyDeserializer");
+        props.add("keyParallelism");
         props.add("keySerializer");
         props.add("lazyStartProducer");
         props.add("lingerMs");
@@ -357,6 +357,8 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
 
     @UriParam(label = "consumer", defaultValue = "false")
     private boolean batching;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int keyParallelism = 1;
 
     public KafkaConfiguration() {
     }
@@ -764,7 +766,7 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     }
 
     public boolean getAutoCommitEnable() {
-        if (!batching) {
+        if (!batching && keyParallelism <= 1) {
             return autoCommitEnable;
         }
 
@@ -1998,4 +2000,26 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     public void setBatching(boolean batching) {
         this.batching = batching;
     }
+
+    public int getKeyParallelism() {
+        return keyParallelism;
+    }
+
+    /**
+     * The number of threads to process the records of a partition with in parallel, while the records with the same key
+     * are still processed one by one in the order of the partition. The default is 1, which processes the records of a
+     * partition one by one.
+     * <p/>
+     * The records of each poll are divided by their key among the threads, and the records without a key are divided in
+     * turn. The offsets are committed up to the last record before the first record which has not yet been processed,
+     * so a record which is slow to process does not hold back the records with other keys, and is processed again if
+     * the consumer is stopped or fails before it is done. The consumer keeps polling while the records are processed,
+     * and pauses a partition which has as many records to process as maxPollRecords.
+     * <p/>
+     * Like batching, this disables auto commit in the Kafka consumer, as the offsets are committed by Camel. This cannot
+     * be used together with batching or allowManualCommit.
+     */
+    public void setKeyParallelism(int keyParallelism) {
+        this.keyParallelism = keyParallelism;
+    }
 }
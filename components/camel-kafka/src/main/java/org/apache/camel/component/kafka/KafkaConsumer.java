@@ -57,6 +57,7 @@ public class KafkaConsumer extends DefaultConsumer
     private static final Logger LOG = LoggerFactory.getLogger(KafkaConsumer.class);
 
     protected ExecutorService executor;
+    protected ExecutorService parallelExecutor;
     private final KafkaEndpoint endpoint;
     private KafkaConsumerHealthCheck consumerHealthCheck;
     private HealthCheckRepository healthCheckRepository;
@@ -148,6 +149,14 @@ public class KafkaConsumer extends DefaultConsumer
             }
         }
 
+        if (endpoint.getConfiguration().getKeyParallelism() > 1) {
+            if (endpoint.getConfiguration().isBatching() || endpoint.getConfiguration().isAllowManualCommit()) {
+                throw new IllegalArgumentException(
+                        "The keyParallelism option cannot be used together with batching or allowManualCommit");
+            }
+            parallelExecutor = endpoint.createParallelExecutor();
+        }
+
         executor = endpoint.createExecutor();
 
         String topic = endpoint.getConfiguration().getTopic();
@@ -216,6 +225,16 @@ public class KafkaConsumer extends DefaultConsumer
         tasks.clear();
         executor = null;
 
+        if (parallelExecutor != null) {
+            // the fetch tasks wait for the records they have handed out, so there should be nothing left to process
+            if (getEndpoint() != null && getEndpoint().getCamelContext() != null) {
+                getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(parallelExecutor);
+            } else {
+                parallelExecutor.shutdownNow();
+            }
+            parallelExecutor = null;
+        }
+
         if (stopOffsetRepo) {
             StateRepository<String, String> repo = endpoint.getConfiguration().getOffsetRepository();
             LOG.debug("Stopping OffsetRepository: {}", repo);
@@ -257,6 +276,13 @@ public class KafkaConsumer extends DefaultConsumer
         return tasks.stream().allMatch(KafkaFetchRecords::isPaused);
     }
 
+    /**
+     * The thread pool to process the records of a partition in parallel with, when the keyParallelism option is in use
+     */
+    public ExecutorService getParallelExecutor() {
+        return parallelExecutor;
+    }
+
     protected List<KafkaFetchRecords> tasks() {
         return Collections.unmodifiableList(tasks);
     }
@@ -17,6 +17,7 @@
 package org.apache.camel.component.kafka;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -35,6 +36,7 @@ import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
 import org.apache.camel.component.kafka.consumer.support.TopicHelper;
 import org.apache.camel.component.kafka.consumer.support.batching.KafkaRecordBatchingProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.classic.ClassicRebalanceListener;
+import org.apache.camel.component.kafka.consumer.support.parallel.KafkaRecordParallelProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.resume.ResumeRebalanceListener;
 import org.apache.camel.component.kafka.consumer.support.streaming.KafkaRecordStreamingProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.subcription.DefaultSubscribeAdapter;
@@ -89,6 +91,8 @@ public class KafkaFetchRecords implements Runnable {
     private final BridgeExceptionHandlerToErrorHandler bridge;
     private final ReentrantLock lock = new ReentrantLock();
     private CommitManager commitManager;
+    // only used by the polling thread (the rebalance listener is called while polling)
+    private KafkaRecordProcessorFacade recordProcessorFacade;
     private volatile Exception lastError;
     private final KafkaConsumerListener consumerListener;
 
@@ -319,6 +323,31 @@ public class KafkaFetchRecords implements Runnable {
                     commitManager, consumer, kafkaConsumer.getResumeStrategy());
         }
 
+        // the records which are still processed after polling must be completed before the revoked partitions are committed
+        ConsumerRebalanceListener delegate = listener;
+        listener = new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                if (recordProcessorFacade != null) {
+                    recordProcessorFacade.onPartitionsRevoked(partitions);
+                }
+                delegate.onPartitionsRevoked(partitions);
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                delegate.onPartitionsAssigned(partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Collection<TopicPartition> partitions) {
+                if (recordProcessorFacade != null) {
+                    recordProcessorFacade.onPartitionsRevoked(partitions);
+                }
+                delegate.onPartitionsLost(partitions);
+            }
+        };
+
         TopicInfo topicInfo = new TopicInfo(topicPattern, topicName);
 
         final CamelContext camelContext = kafkaConsumer.getEndpoint().getCamelContext();
@@ -353,7 +382,7 @@ public class KafkaFetchRecords implements Runnable {
                 LOG.trace("Polling {} from {} with timeout: {}", threadId, getPrintableTopic(), pollTimeoutMs);
             }
 
-            final KafkaRecordProcessorFacade recordProcessorFacade = createRecordProcessor();
+            recordProcessorFacade = createRecordProcessor();
 
             while (isKafkaConsumerRunnableAndNotStopped() && isConnected() && pollExceptionStrategy.canContinue()) {
 
@@ -384,6 +413,7 @@ public class KafkaFetchRecords implements Runnable {
 
             }
 
+            recordProcessorFacade.onPollingStopped();
             if (!isConnected()) {
                 LOG.debug("Not reconnecting, check whether to auto-commit or not ...");
                 commitManager.commit();
@@ -394,6 +424,7 @@ public class KafkaFetchRecords implements Runnable {
             kafkaConsumer.getExceptionHandler().handleException(
                     "Thread " + threadId + " interrupted while consuming from kafka topic",
                     e);
+            stopProcessing();
             commitManager.commit();
 
             LOG.info("Unsubscribing {} from {}", threadId, getPrintableTopic());
@@ -401,6 +432,7 @@ public class KafkaFetchRecords implements Runnable {
             Thread.currentThread().interrupt();
         } catch (WakeupException e) {
             // This is normal: it raises this exception when calling the wakeUp (which happens when we stop)
+            stopProcessing();
 
             if (LOG.isTraceEnabled()) {
                 LOG.trace("The kafka consumer was woken up while polling on thread {} for {}", threadId, getPrintableTopic());
@@ -413,6 +445,7 @@ public class KafkaFetchRecords implements Runnable {
                 LOG.warn("Exception {} caught by thread {} while polling {} from kafka: {}",
                         e.getClass().getName(), threadId, getPrintableTopic(), e.getMessage());
             }
+            stopProcessing();
 
             // why do we set this to -1
             long partitionLastOffset = -1;
@@ -427,11 +460,29 @@ public class KafkaFetchRecords implements Runnable {
         }
     }
 
+    /**
+     * Completes the processing of the records which are still processed after polling (such as with keyParallelism),
+     * when polling stops due to an exception.
+     */
+    private void stopProcessing() {
+        if (recordProcessorFacade == null) {
+            return;
+        }
+        try {
+            recordProcessorFacade.onPollingStopped();
+        } catch (Exception e) {
+            LOG.warn("Error completing the processing of the records on thread {}: {}", threadId, e.getMessage(), e);
+        }
+    }
+
     private KafkaRecordProcessorFacade createRecordProcessor() {
         final KafkaConfiguration configuration = kafkaConsumer.getEndpoint().getConfiguration();
         if (configuration.isBatching()) {
             return new KafkaRecordBatchingProcessorFacade(
                     kafkaConsumer, threadId, commitManager, consumerListener);
+        } else if (configuration.getKeyParallelism() > 1) {
+            return new KafkaRecordParallelProcessorFacade(
+                    kafkaConsumer, threadId, commitManager, consumerListener, consumer);
         } else {
             return new KafkaRecordStreamingProcessorFacade(
                     kafkaConsumer, threadId, commitManager, consumerListener);
@@ -59,6 +59,11 @@ public final class CommitManagers {
                 LOG.debug("Using an async commit manager for auto commit management with batch processing");
                 return new AsyncCommitManager(consumer, kafkaConsumer, threadId, printableTopic);
             }
+
+            if (configuration.getKeyParallelism() > 1) {
+                LOG.debug("Using an async commit manager for auto commit management with parallel processing");
+                return new AsyncCommitManager(consumer, kafkaConsumer, threadId, printableTopic);
+            }
         }
 
         LOG.debug("Using a NO-OP commit manager with auto-commit enabled on the Kafka consumer");
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.component.kafka.consumer.support;
 
+import java.util.Collection;
+
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
 
 /**
  * A processing facade that allows processing consumer records in different ways
@@ -30,4 +33,22 @@ public interface KafkaRecordProcessorFacade {
      * @return            The result of processing this set of records
      */
     ProcessingResult processPolledRecords(ConsumerRecords<Object, Object> allRecords);
+
+    /**
+     * Notifies that partitions are revoked from the consumer, before their offsets are committed. This is only needed
+     * when the records are still processed after {@link #processPolledRecords(ConsumerRecords)} returns.
+     *
+     * @param partitions the revoked partitions
+     */
+    default void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        // noop
+    }
+
+    /**
+     * Notifies that the consumer stops polling, before the offsets are committed. This is only needed when the records
+     * are still processed after {@link #processPolledRecords(ConsumerRecords)} returns.
+     */
+    default void onPollingStopped() {
+        // noop
+    }
 }
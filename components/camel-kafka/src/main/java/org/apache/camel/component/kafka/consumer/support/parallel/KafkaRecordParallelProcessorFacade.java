@@ -0,0 +1,463 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.errorhandler.KafkaConsumerListener;
+import org.apache.camel.component.kafka.consumer.support.AbstractKafkaRecordProcessorFacade;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the polled records in parallel, while the records with the same key are processed one by one in the order
+ * of the partition.
+ * <p/>
+ * The records are divided by their key among lanes, which are processed by the threads of the parallel executor. The
+ * lanes are kept across polls, so the polling thread hands out the records of a poll and polls again without waiting
+ * for them to be processed. A partition is paused when it has too many records which are not processed yet, and
+ * resumed when most of these are processed. The polling thread records the offset up to which all the records of a
+ * partition have been processed (the watermark) in the commit manager, and commits each partition as its watermark
+ * advances. The Kafka consumer itself is only used by the polling thread.
+ */
+public class KafkaRecordParallelProcessorFacade extends AbstractKafkaRecordProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordParallelProcessorFacade.class);
+    private final KafkaRecordParallelProcessor kafkaRecordProcessor;
+    private final Consumer<?, ?> consumer;
+    private final ExecutorService executorService;
+    private final List<Lane> lanes;
+    private final int maxPending;
+    private final long pollTimeoutMs;
+    private final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+    private final AtomicBoolean aborted = new AtomicBoolean();
+    // the state below is only used by the polling thread
+    private final Map<TopicPartition, PartitionState> partitions = new LinkedHashMap<>();
+    private final Set<TopicPartition> backpressured = new HashSet<>();
+    private ProcessingResult result = ProcessingResult.newUnprocessed();
+    private boolean listenerStopped;
+    private int inFlight;
+    private int unkeyed;
+
+    public KafkaRecordParallelProcessorFacade(
+                                              KafkaConsumer camelKafkaConsumer, String threadId,
+                                              CommitManager commitManager, KafkaConsumerListener consumerListener,
+                                              Consumer<?, ?> consumer) {
+        super(camelKafkaConsumer, threadId, commitManager, consumerListener);
+
+        KafkaConfiguration configuration = camelKafkaConsumer.getEndpoint().getConfiguration();
+        this.consumer = consumer;
+        this.executorService = camelKafkaConsumer.getParallelExecutor();
+        this.lanes = new ArrayList<>(configuration.getKeyParallelism());
+        for (int i = 0; i < configuration.getKeyParallelism(); i++) {
+            lanes.add(new Lane());
+        }
+        // a partition is paused when it has more records to process than a poll returns
+        this.maxPending = configuration.getMaxPollRecords() != null
+                ? configuration.getMaxPollRecords() : ConsumerConfig.DEFAULT_MAX_POLL_RECORDS;
+        this.pollTimeoutMs = configuration.getPollTimeoutMs();
+
+        kafkaRecordProcessor = new KafkaRecordParallelProcessor(configuration, camelKafkaConsumer.getProcessor());
+    }
+
+    @Override
+    public ProcessingResult processPolledRecords(ConsumerRecords<Object, Object> allRecords) {
+        logRecords(allRecords);
+
+        if (allRecords.isEmpty() && inFlight == 0 && !aborted.get()) {
+            return ProcessingResult.newUnprocessed();
+        }
+
+        // the records processed since the last poll
+        handleCompletions();
+        if (aborted.get()) {
+            return abort(allRecords);
+        }
+
+        dispatch(allRecords);
+
+        if (inFlight > 0 && isAllPaused()) {
+            // nothing can be polled until some records are processed, so rather wait for these than to poll in vain
+            awaitCompletions(pollTimeoutMs);
+            if (aborted.get()) {
+                return abort(null);
+            }
+        }
+
+        commitAdvanced();
+        applyBackpressure();
+
+        return takeResult();
+    }
+
+    /**
+     * Waits for the records of the given partitions which are being processed, and discards the records of these
+     * partitions which are not processed yet, so the offsets of the records processed so far can be committed before
+     * the partitions are revoked. The discarded records are consumed again by the new owner of the partitions.
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        List<PartitionState> states = new ArrayList<>();
+        for (TopicPartition partition : revoked) {
+            PartitionState state = partitions.get(partition);
+            if (state != null) {
+                state.revoked = true;
+                states.add(state);
+            }
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Waiting for the records being processed on {} revoked partitions", states.size());
+        try {
+            while (states.stream().anyMatch(state -> state.inFlight > 0)) {
+                handleCompletion(completions.take());
+            }
+        } catch (InterruptedException e) {
+            aborted.set(true);
+            Thread.currentThread().interrupt();
+        }
+
+        for (TopicPartition partition : revoked) {
+            partitions.remove(partition);
+            backpressured.remove(partition);
+        }
+    }
+
+    /**
+     * Waits for the records being processed, commits the offsets processed so far, and seeks the partitions back to
+     * the first record not processed, so the records which are not processed yet are consumed again.
+     */
+    @Override
+    public void onPollingStopped() {
+        if (inFlight == 0 && partitions.isEmpty()) {
+            return;
+        }
+
+        // skip the records which are not processed yet
+        aborted.set(true);
+        try {
+            drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        reset(!listenerStopped);
+    }
+
+    private void dispatch(ConsumerRecords<Object, Object> allRecords) {
+        Iterator<TopicPartition> partitionIterator = allRecords.partitions().iterator();
+        while (partitionIterator.hasNext()) {
+            TopicPartition partition = partitionIterator.next();
+
+            List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+            logRecordsInPartition(partitionRecords, partition);
+
+            PartitionState state = partitions.computeIfAbsent(partition, p -> new PartitionState());
+            for (int i = 0; i < partitionRecords.size(); i++) {
+                ConsumerRecord<Object, Object> consumerRecord = partitionRecords.get(i);
+                long sequence = state.watermark.add(consumerRecord.offset());
+
+                // the records without a key do not need to be ordered, so they are divided in turn
+                int lane = consumerRecord.key() != null
+                        ? Math.floorMod(hash(consumerRecord.key()), lanes.size()) : Math.floorMod(unkeyed++, lanes.size());
+                state.inFlight++;
+                inFlight++;
+                lanes.get(lane).add(new PendingRecord(
+                        partition, state, sequence, consumerRecord, partitionIterator.hasNext(),
+                        i < partitionRecords.size() - 1));
+            }
+        }
+    }
+
+    private void handleCompletions() {
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            handleCompletion(completion);
+        }
+    }
+
+    private void awaitCompletions(long timeoutMs) {
+        try {
+            Completion completion = completions.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            if (completion != null) {
+                handleCompletion(completion);
+                handleCompletions();
+            }
+        } catch (InterruptedException e) {
+            aborted.set(true);
+            reset(true);
+            throw new InterruptException(e);
+        }
+    }
+
+    /**
+     * Waits for all the records which are handed out to the lanes.
+     */
+    private void drain() throws InterruptedException {
+        while (inFlight > 0) {
+            handleCompletion(completions.take());
+        }
+    }
+
+    private void handleCompletion(Completion completion) {
+        PendingRecord pending = completion.pending();
+        PartitionState state = pending.state();
+        inFlight--;
+        state.inFlight--;
+
+        ProcessingResult processed = completion.result();
+        if (processed == null) {
+            // skipped as we are stopping, breaking out or the partition is revoked
+            return;
+        }
+
+        LOG.debug("Processed record on partition {} with offset {}",
+                pending.consumerRecord().partition(),
+                pending.consumerRecord().offset());
+
+        if (processed.isBreakOnErrorHit()) {
+            result = processed;
+        } else {
+            if (!result.isBreakOnErrorHit()) {
+                result = processed;
+            }
+
+            if (partitions.get(pending.partition()) == state && state.watermark.processed(pending.sequence())) {
+                commitManager.recordOffset(pending.partition(), state.watermark.getOffset());
+                state.advanced = true;
+            }
+        }
+
+        if (consumerListener != null && !listenerStopped) {
+            if (!consumerListener.afterProcess(processed)) {
+                aborted.set(true);
+                listenerStopped = true;
+            }
+        }
+    }
+
+    /**
+     * Stops handing out records, as we are breaking out or a record failed unexpectedly, and waits for the records
+     * being processed, so the consumer can continue from the first record which is not processed yet.
+     */
+    private ProcessingResult abort(ConsumerRecords<Object, Object> allRecords) {
+        if (allRecords != null) {
+            // these records are not handed out, but must be consumed again
+            for (TopicPartition partition : allRecords.partitions()) {
+                PartitionState state = partitions.computeIfAbsent(partition, p -> new PartitionState());
+                for (ConsumerRecord<Object, Object> consumerRecord : allRecords.records(partition)) {
+                    state.watermark.add(consumerRecord.offset());
+                }
+            }
+        }
+
+        try {
+            drain();
+        } catch (InterruptedException e) {
+            reset(true);
+            throw new InterruptException(e);
+        }
+        // the consumer listener seeks on its own
+        reset(!listenerStopped);
+        return takeResult();
+    }
+
+    /**
+     * Commits the offsets processed so far, seeks the partitions with records which have not been processed back to
+     * the first of these, and starts over with the next poll.
+     */
+    private void reset(boolean seek) {
+        for (Map.Entry<TopicPartition, PartitionState> entry : partitions.entrySet()) {
+            OffsetWatermark watermark = entry.getValue().watermark;
+            if (entry.getValue().advanced) {
+                commitManager.commit(entry.getKey());
+            }
+            if (seek && !watermark.isDone()) {
+                LOG.debug("Seeking partition {} to offset {} of the first record not processed", entry.getKey(),
+                        watermark.getNextOffset());
+                consumer.seek(entry.getKey(), watermark.getNextOffset());
+            }
+        }
+        if (!listenerStopped && !backpressured.isEmpty() && !camelKafkaConsumer.isSuspendingOrSuspended()) {
+            consumer.resume(backpressured);
+        }
+        partitions.clear();
+        backpressured.clear();
+        listenerStopped = false;
+        // the records skipped while aborting have been drained
+        aborted.set(inFlight > 0);
+    }
+
+    private void commitAdvanced() {
+        for (Map.Entry<TopicPartition, PartitionState> entry : partitions.entrySet()) {
+            if (entry.getValue().advanced) {
+                LOG.debug("Committing offset on successful execution");
+                commitManager.commit(entry.getKey());
+                entry.getValue().advanced = false;
+            }
+        }
+    }
+
+    /**
+     * Pauses the partitions which have more records to process than a poll returns, so the records which are not
+     * processed yet are bounded, and resumes them when half of these are processed.
+     */
+    private void applyBackpressure() {
+        Set<TopicPartition> paused = consumer.paused();
+        for (Map.Entry<TopicPartition, PartitionState> entry : partitions.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            int pending = entry.getValue().watermark.getPending();
+            if (pending >= maxPending) {
+                if (!paused.contains(partition)) {
+                    LOG.debug("Pausing partition {} with {} records to process", partition, pending);
+                    consumer.pause(List.of(partition));
+                }
+                backpressured.add(partition);
+            } else if (pending <= maxPending / 2 && backpressured.remove(partition)
+                    && !camelKafkaConsumer.isSuspendingOrSuspended()) {
+                // a suspended consumer is resumed on its own
+                LOG.debug("Resuming partition {} with {} records to process", partition, pending);
+                consumer.resume(List.of(partition));
+            }
+        }
+    }
+
+    private boolean isAllPaused() {
+        Set<TopicPartition> assignment = consumer.assignment();
+        return !assignment.isEmpty() && consumer.paused().containsAll(assignment);
+    }
+
+    private ProcessingResult takeResult() {
+        ProcessingResult answer = result;
+        result = ProcessingResult.newUnprocessed();
+        return answer;
+    }
+
+    private void processRecord(PendingRecord pending) {
+        ProcessingResult processed = null;
+        try {
+            if (!aborted.get() && !pending.state().revoked && !isStopping()) {
+                logRecord(pending.consumerRecord());
+
+                processed = kafkaRecordProcessor.processExchange(camelKafkaConsumer, pending.partition(),
+                        pending.partitionHasNext(), pending.recordHasNext(), pending.consumerRecord());
+                if (processed.isBreakOnErrorHit()) {
+                    aborted.set(true);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Error processing record on partition {} with offset {} due to {}",
+                    pending.consumerRecord().partition(), pending.consumerRecord().offset(), e.getMessage(), e);
+            // the record is consumed again after the records processed so far
+            aborted.set(true);
+        } finally {
+            // the polling thread keeps track of every record, so it must always be told about it
+            completions.add(new Completion(pending, processed));
+        }
+    }
+
+    private static int hash(Object key) {
+        // byte arrays (as from the byte array deserializer) do not have a hash code based on their content
+        return key instanceof byte[] bytes ? Arrays.hashCode(bytes) : key.hashCode();
+    }
+
+    /**
+     * The records with the same key, which are processed one by one by a thread of the parallel executor. The lane
+     * only holds on to a thread while it has records to process.
+     */
+    private final class Lane implements Runnable {
+        private final Queue<PendingRecord> records = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void add(PendingRecord pending) {
+            records.add(pending);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executorService.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // the executor is shutting down, so the records are skipped
+                    scheduled.set(false);
+                    PendingRecord pending;
+                    while ((pending = records.poll()) != null) {
+                        completions.add(new Completion(pending, null));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                PendingRecord pending;
+                while ((pending = records.poll()) != null) {
+                    processRecord(pending);
+                }
+            } finally {
+                scheduled.set(false);
+                // a record may have been added after the queue was found empty
+                if (!records.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    private static final class PartitionState {
+        private final OffsetWatermark watermark = new OffsetWatermark();
+        // read by the lanes to skip the records of the partition
+        private volatile boolean revoked;
+        private int inFlight;
+        private boolean advanced;
+    }
+
+    private record PendingRecord(TopicPartition partition, PartitionState state, long sequence,
+            ConsumerRecord<Object, Object> consumerRecord, boolean partitionHasNext, boolean recordHasNext) {
+    }
+
+    private record Completion(PendingRecord pending, ProcessingResult result) {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+/**
+ * Tracks which of the records of a partition handed out for processing have been processed, to know the offset up to
+ * which all the records have been processed (the watermark), as that is the offset which can be committed.
+ * <p/>
+ * The offsets of the records in a partition are not always contiguous (such as for compacted topics or with
+ * transactions), so the records are tracked by the sequence in which they were added rather than by their offset. The
+ * records of several polls can be tracked at the same time, as only the records which are not processed yet are kept.
+ */
+final class OffsetWatermark {
+    private long[] offsets = new long[16];
+    private boolean[] processed = new boolean[16];
+    // the sequence of the first record not processed yet, and of the next record to add
+    private long head;
+    private long tail;
+    private long offset = -1;
+
+    /**
+     * Adds a record, which must have a higher offset than the records added before
+     *
+     * @param  offset the offset of the record
+     * @return        the sequence of the record, to mark it as processed
+     */
+    long add(long offset) {
+        if (tail - head == offsets.length) {
+            grow();
+        }
+        offsets[index(tail)] = offset;
+        return tail++;
+    }
+
+    /**
+     * Marks the record with the given sequence as processed
+     *
+     * @param  sequence the sequence of the record
+     * @return          true if the watermark has advanced, or false if an earlier record has not been processed yet
+     */
+    boolean processed(long sequence) {
+        processed[index(sequence)] = true;
+        if (sequence != head) {
+            return false;
+        }
+        while (head < tail && processed[index(head)]) {
+            processed[index(head)] = false;
+            offset = offsets[index(head)];
+            head++;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the offset of the last record up to which all the records have been processed
+     *
+     * @return the offset, or -1 if the first record has not been processed yet
+     */
+    long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the offset of the first record which has not been processed yet, which is where to continue consuming from
+     *
+     * @return the offset, or -1 if all the records have been processed
+     */
+    long getNextOffset() {
+        return head < tail ? offsets[index(head)] : -1;
+    }
+
+    /**
+     * The number of records which have not been processed yet
+     */
+    int getPending() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Whether all the records have been processed
+     */
+    boolean isDone() {
+        return head == tail;
+    }
+
+    private int index(long sequence) {
+        // the capacity is a power of two
+        return (int) sequence & (offsets.length - 1);
+    }
+
+    private void grow() {
+        long[] newOffsets = new long[offsets.length * 2];
+        boolean[] newProcessed = new boolean[offsets.length * 2];
+        for (long sequence = head; sequence < tail; sequence++) {
+            int from = index(sequence);
+            int to = (int) sequence & (newOffsets.length - 1);
+            newOffsets[to] = offsets[from];
+            newProcessed[to] = processed[from];
+        }
+        offsets = newOffsets;
+        processed = newProcessed;
+    }
+}
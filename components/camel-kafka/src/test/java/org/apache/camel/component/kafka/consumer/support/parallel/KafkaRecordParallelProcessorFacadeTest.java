@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Processor;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.KafkaEndpoint;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaRecordParallelProcessorFacadeTest {
+    private static final String TOPIC = "orders";
+
+    private final TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+    private final TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+    private final KafkaConfiguration configuration = new KafkaConfiguration();
+    private final KafkaConsumer camelKafkaConsumer = mock(KafkaConsumer.class);
+    private final KafkaEndpoint endpoint = mock(KafkaEndpoint.class);
+    private final CommitManager commitManager = mock(CommitManager.class);
+    private final MockConsumer<Object, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private CamelContext context;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        executorService = Executors.newFixedThreadPool(4);
+        configuration.setKeyParallelism(4);
+
+        when(camelKafkaConsumer.getEndpoint()).thenReturn(endpoint);
+        when(endpoint.getConfiguration()).thenReturn(configuration);
+        when(camelKafkaConsumer.getParallelExecutor()).thenReturn(executorService);
+        when(camelKafkaConsumer.createExchange(false)).thenAnswer(invocation -> new DefaultExchange(context));
+
+        consumer.assign(List.of(partition0, partition1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Tests whether the records with the same key are processed one by one in the order of the partition")
+    void processesKeysInOrder() {
+        Map<Object, List<Long>> processed = new ConcurrentHashMap<>();
+        AtomicInteger count = new AtomicInteger();
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            Object key = exchange.getMessage().getHeader(KafkaConstants.KEY);
+            long offset = (Long) exchange.getMessage().getHeader(KafkaConstants.OFFSET);
+            processed.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(offset);
+            // let the records of the other keys overtake this record
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            count.incrementAndGet();
+        });
+
+        // the records of a key are spread over two polls
+        for (int poll = 0; poll < 2; poll++) {
+            Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = Map.of(
+                    partition0, records(partition0, poll * 30, 30, i -> "key-0-" + i % 6),
+                    partition1, records(partition1, poll * 30, 30, i -> "key-1-" + i % 6));
+            ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(records));
+            assertFalse(result.isBreakOnErrorHit());
+        }
+        // the position of the consumer after the polls
+        consumer.seek(partition0, 60);
+        consumer.seek(partition1, 60);
+
+        awaitProcessed(facade, count, 120);
+        facade.onPollingStopped();
+
+        assertEquals(12, processed.size());
+        for (Map.Entry<Object, List<Long>> entry : processed.entrySet()) {
+            List<Long> offsets = entry.getValue();
+            assertEquals(10, offsets.size(), "All the records of key " + entry.getKey() + " should be processed");
+            List<Long> sorted = new ArrayList<>(offsets);
+            Collections.sort(sorted);
+            assertEquals(sorted, offsets, "The records of key " + entry.getKey() + " should be processed in order");
+        }
+
+        verify(commitManager).recordOffset(partition0, 59);
+        verify(commitManager).recordOffset(partition1, 59);
+        verify(commitManager, atLeastOnce()).commit(partition0);
+        verify(commitManager, atLeastOnce()).commit(partition1);
+        // all the records are processed, so the consumer continues after the poll
+        assertEquals(60, consumer.position(partition0));
+        assertEquals(60, consumer.position(partition1));
+    }
+
+    @Test
+    @DisplayName("Tests whether the offset recorded for commit waits for a record which is slow to process")
+    void recordsWatermarkOffset() {
+        // the records after the first record are processed first
+        CountDownLatch others = new CountDownLatch(3);
+        AtomicInteger count = new AtomicInteger();
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            if ("a".equals(exchange.getMessage().getHeader(KafkaConstants.KEY))) {
+                assertTrue(others.await(10, TimeUnit.SECONDS));
+            } else {
+                others.countDown();
+            }
+            count.incrementAndGet();
+        });
+
+        // the offsets are not contiguous, such as for a compacted topic, and the keys end up in different lanes
+        List<ConsumerRecord<Object, Object>> partitionRecords = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 0, "a", "A"),
+                new ConsumerRecord<>(TOPIC, 0, 2, "b", "B"),
+                new ConsumerRecord<>(TOPIC, 0, 5, "c", "C"),
+                new ConsumerRecord<>(TOPIC, 0, 9, "d", "D"));
+        consumer.seek(partition0, 10);
+
+        ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition0, partitionRecords)));
+        assertFalse(result.isFailed());
+
+        awaitProcessed(facade, count, 4);
+        facade.onPollingStopped();
+
+        ArgumentCaptor<Long> offsets = ArgumentCaptor.forClass(Long.class);
+        verify(commitManager).recordOffset(eq(partition0), offsets.capture());
+        assertEquals(List.of(9L), offsets.getAllValues(),
+                "The offset should only be recorded once the first record is processed");
+        verify(commitManager, times(1)).commit(partition0);
+        assertEquals(10, consumer.position(partition0));
+    }
+
+    @Test
+    @DisplayName("Tests whether the consumer seeks back to the first record not processed when breaking on the first error")
+    void seeksBackOnBreakOnFirstError() {
+        configuration.setBreakOnFirstError(true);
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            long offset = (Long) exchange.getMessage().getHeader(KafkaConstants.OFFSET);
+            processed.add(offset);
+            if (offset == 12) {
+                throw new IllegalArgumentException("Forced error on offset " + offset);
+            }
+        });
+
+        // the records have the same key, so they are processed one by one
+        consumer.seek(partition0, 15);
+        AtomicReference<ProcessingResult> result = new AtomicReference<>(facade.processPolledRecords(
+                new ConsumerRecords<>(Map.of(partition0, records(partition0, 10, 5, i -> "a")))));
+
+        // the next polls tell about the error
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            if (!result.get().isBreakOnErrorHit()) {
+                result.set(facade.processPolledRecords(ConsumerRecords.empty()));
+            }
+            return result.get().isBreakOnErrorHit();
+        });
+        assertEquals(List.of(10L, 11L, 12L), processed, "The records after the failed record should not be processed");
+
+        ArgumentCaptor<Long> offsets = ArgumentCaptor.forClass(Long.class);
+        verify(commitManager, times(2)).recordOffset(eq(partition0), offsets.capture());
+        assertEquals(List.of(10L, 11L), offsets.getAllValues());
+        // the records processed so far are committed
+        verify(commitManager, atLeastOnce()).commit(partition0);
+        verify(commitManager, never()).recordOffset(eq(partition1), anyLong());
+        // and the failed record is consumed again
+        assertEquals(12, consumer.position(partition0));
+    }
+
+    @Test
+    @DisplayName("Tests whether the consumer polls again while the records of the previous poll are processed")
+    void pollsWhileProcessing() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            count.incrementAndGet();
+        });
+
+        facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition0, records(partition0, 0, 10, i -> "a"))));
+        // the records of the first poll are still being processed
+        facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition0, records(partition0, 10, 10, i -> "a"))));
+        assertEquals(0, count.get());
+        verify(commitManager, never()).recordOffset(eq(partition0), anyLong());
+
+        release.countDown();
+        awaitProcessed(facade, count, 20);
+        facade.onPollingStopped();
+
+        verify(commitManager).recordOffset(partition0, 19);
+    }
+
+    @Test
+    @DisplayName("Tests whether only the partition with too many records to process is paused until these are processed")
+    void pausesPartitionWithBacklog() {
+        configuration.setMaxPollRecords(10);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            count.incrementAndGet();
+        });
+
+        facade.processPolledRecords(new ConsumerRecords<>(Map.of(
+                partition0, records(partition0, 0, 12, i -> "a"),
+                partition1, records(partition1, 0, 3, i -> "b"))));
+        assertEquals(Set.of(partition0), consumer.paused());
+
+        release.countDown();
+        awaitProcessed(facade, count, 15);
+        facade.processPolledRecords(ConsumerRecords.empty());
+        assertTrue(consumer.paused().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tests whether the record being processed completes, and the records not processed are skipped, on revoke")
+    void completesRecordsOfRevokedPartition() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+        KafkaRecordParallelProcessorFacade facade = createFacade(exchange -> {
+            long offset = (Long) exchange.getMessage().getHeader(KafkaConstants.OFFSET);
+            if (offset == 0) {
+                started.countDown();
+                // let the revoke wait for this record
+                Thread.sleep(100);
+            }
+            processed.add(offset);
+        });
+
+        facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition0, records(partition0, 0, 5, i -> "a"))));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        facade.onPartitionsRevoked(List.of(partition0));
+
+        assertEquals(List.of(0L), processed);
+        verify(commitManager).recordOffset(partition0, 0);
+    }
+
+    private static void awaitProcessed(KafkaRecordParallelProcessorFacade facade, AtomicInteger count, int expected) {
+        // the polling thread keeps on polling while the records are processed
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            facade.processPolledRecords(ConsumerRecords.empty());
+            return count.get() == expected;
+        });
+    }
+
+    private KafkaRecordParallelProcessorFacade createFacade(Processor processor) {
+        when(camelKafkaConsumer.getProcessor()).thenReturn(processor);
+        return new KafkaRecordParallelProcessorFacade(camelKafkaConsumer, "test", commitManager, null, consumer);
+    }
+
+    private static List<ConsumerRecord<Object, Object>> records(
+            TopicPartition partition, long offset, int count, IntFunction<Object> key) {
+        List<ConsumerRecord<Object, Object>> answer = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            answer.add(new ConsumerRecord<>(
+                    partition.topic(), partition.partition(), offset + i, key.apply(i), "Message " + i));
+        }
+        return answer;
+    }
+}
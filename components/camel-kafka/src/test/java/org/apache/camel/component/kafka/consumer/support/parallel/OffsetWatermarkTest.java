@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetWatermarkTest {
+
+    @Test
+    @DisplayName("Tests whether the watermark advances when the records are processed in order")
+    void processedInOrder() {
+        OffsetWatermark watermark = watermark(10, 11, 12);
+
+        assertEquals(-1, watermark.getOffset());
+        assertEquals(10, watermark.getNextOffset());
+
+        assertTrue(watermark.processed(0));
+        assertEquals(10, watermark.getOffset());
+        assertTrue(watermark.processed(1));
+        assertTrue(watermark.processed(2));
+
+        assertEquals(12, watermark.getOffset());
+        assertEquals(-1, watermark.getNextOffset());
+        assertTrue(watermark.isDone());
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark waits for a record which is slow to process")
+    void processedOutOfOrder() {
+        OffsetWatermark watermark = watermark(10, 11, 12, 13);
+
+        assertFalse(watermark.processed(1), "The first record has not been processed yet");
+        assertFalse(watermark.processed(3), "The first record has not been processed yet");
+        assertEquals(-1, watermark.getOffset());
+        assertEquals(10, watermark.getNextOffset());
+
+        assertTrue(watermark.processed(0));
+        assertEquals(11, watermark.getOffset());
+        assertEquals(12, watermark.getNextOffset());
+        assertFalse(watermark.isDone());
+
+        assertTrue(watermark.processed(2));
+        assertEquals(13, watermark.getOffset());
+        assertTrue(watermark.isDone());
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark uses the offsets of the records when these are not contiguous")
+    void offsetsWithGaps() {
+        OffsetWatermark watermark = watermark(5, 8, 20);
+
+        assertTrue(watermark.processed(0));
+        assertFalse(watermark.processed(2));
+        assertEquals(5, watermark.getOffset());
+        assertEquals(8, watermark.getNextOffset());
+
+        assertTrue(watermark.processed(1));
+        assertEquals(20, watermark.getOffset());
+        assertTrue(watermark.isDone());
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark tracks the records of several polls, while earlier records are still pending")
+    void recordsOfSeveralPolls() {
+        OffsetWatermark watermark = watermark(0, 1);
+        assertFalse(watermark.processed(1));
+
+        // the records of the next polls are added while the first record is still being processed
+        for (long offset = 2; offset < 100; offset++) {
+            assertEquals(offset, watermark.add(offset));
+        }
+        assertEquals(100, watermark.getPending());
+        for (long sequence = 2; sequence < 100; sequence++) {
+            assertFalse(watermark.processed(sequence));
+        }
+        assertEquals(-1, watermark.getOffset());
+
+        assertTrue(watermark.processed(0));
+        assertEquals(99, watermark.getOffset());
+        assertEquals(0, watermark.getPending());
+        assertTrue(watermark.isDone());
+
+        // the sequence continues after the records which are done
+        assertEquals(100, watermark.add(150));
+        assertEquals(150, watermark.getNextOffset());
+        assertTrue(watermark.processed(100));
+        assertEquals(150, watermark.getOffset());
+    }
+
+    private static OffsetWatermark watermark(long... offsets) {
+        OffsetWatermark watermark = new OffsetWatermark();
+        for (long offset : offsets) {
+            watermark.add(offset);
+        }
+        return watermark;
+    }
+}
@@ -170,6 +170,21 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
         return null;
     }
 
+    /**
+     * Creates the {@link TimeoutMap} which keeps track of the requests waiting for a response.
+     * <p/>
+     * Override this to use another implementation, such as {@link org.apache.camel.support.TimingWheelTimeoutMap} when
+     * there are many requests waiting for a response at the same time.
+     *
+     * @param  executor       the scheduler to use for checking for timeouts
+     * @param  timeoutChecker time in millis how frequent to check for timeouts
+     * @return                the timeout map
+     */
+    protected TimeoutMap<String, NettyCamelState> createTimeoutMap(
+            ScheduledExecutorService executor, long timeoutChecker) {
+        return new DefaultTimeoutMap<>(executor, timeoutChecker);
+    }
+
     @Override
     protected void doStart() throws Exception {
         ObjectHelper.notNull(camelContext, "CamelContext", this);
@@ -186,7 +201,7 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
             stopWorkerPool = true;
         }
 
-        map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        map = createTimeoutMap(scheduledExecutorService, timeoutChecker);
         map.addListener(this::onEviction);
 
         ServiceHelper.startService(map);
@@ -16,9 +16,8 @@
  */
 package org.apache.camel.component.seda;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.camel.Exchange;
 
@@ -32,9 +31,10 @@ public final class QueueReference {
 
     private final BlockingQueue<Exchange> queue;
     private Integer size;
-    private Boolean multipleConsumers;
+    private volatile Boolean multipleConsumers;
 
-    private List<SedaEndpoint> endpoints = new LinkedList<>();
+    // the endpoints are read for every exchange sent to the queue, and only changed when endpoints are started/stopped
+    private final CopyOnWriteArrayList<SedaEndpoint> endpoints = new CopyOnWriteArrayList<>();
 
     QueueReference(BlockingQueue<Exchange> queue, Integer size, Boolean multipleConsumers) {
         this.queue = queue;
@@ -42,9 +42,8 @@ public final class QueueReference {
         this.multipleConsumers = multipleConsumers;
     }
 
-    synchronized void addReference(SedaEndpoint endpoint) {
-        if (!endpoints.contains(endpoint)) {
-            endpoints.add(endpoint);
+    void addReference(SedaEndpoint endpoint) {
+        if (endpoints.addIfAbsent(endpoint)) {
             // update the multipleConsumers setting if need
             if (endpoint.isMultipleConsumers()) {
                 multipleConsumers = true;
@@ -52,16 +51,14 @@ public final class QueueReference {
         }
     }
 
-    synchronized void removeReference(SedaEndpoint endpoint) {
-        if (endpoints.contains(endpoint)) {
-            endpoints.remove(endpoint);
-        }
+    void removeReference(SedaEndpoint endpoint) {
+        endpoints.remove(endpoint);
     }
 
     /**
      * Gets the reference counter
      */
-    public synchronized int getCount() {
+    public int getCount() {
         return endpoints.size();
     }
 
@@ -85,7 +82,7 @@ public final class QueueReference {
         return queue;
     }
 
-    public synchronized boolean hasConsumers() {
+    public boolean hasConsumers() {
         for (SedaEndpoint endpoint : endpoints) {
             if (!endpoint.getConsumers().isEmpty()) {
                 return true;
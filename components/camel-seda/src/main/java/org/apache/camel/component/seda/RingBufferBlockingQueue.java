@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded multi-producer multi-consumer {@link BlockingQueue} backed by a ring buffer.
+ * <p/>
+ * Each slot in the ring has a sequence number, which tells producers and consumers whether the slot is free or holds
+ * an element, so {@link #offer(Object)} and {@link #poll()} only use a CAS to claim a slot and never take a lock.
+ * {@link #drainTo(Collection, int)} claims all the available elements (up to the max) with a single CAS, which allows
+ * consumers to drain in batches.
+ * <p/>
+ * A lock is only used to park and signal threads that are blocked in {@link #put(Object)}, {@link #take()} or the
+ * timed offer/poll methods, and is only taken by the other side when there are such waiting threads.
+ * <p/>
+ * The ring size is the capacity rounded up to a power of two, but the queue never holds more elements than the
+ * capacity. {@link #remove(Object)} is supported by marking the element as removed, where it is skipped when polled,
+ * which means {@link #size()} may include removed elements until they are polled.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The maximum capacity of the queue
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Capacity must be a positive number up to " + MAX_CAPACITY + ", was: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.capacity = capacity;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long seq = sequences.get(index);
+            if (seq == pos) {
+                if (pos - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.set(index, e);
+                    // publish the element to consumers
+                    sequences.set(index, pos + 1);
+                    if (waitingConsumers.get() > 0) {
+                        signal(notEmpty);
+                    }
+                    return true;
+                }
+            } else if (seq < pos) {
+                // the slot has not been consumed yet, so the ring is full
+                return false;
+            }
+            // another producer claimed the slot so try again
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (offer(e)) {
+            return;
+        }
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                notFull.await();
+            }
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            long seq = sequences.get(index);
+            if (seq == pos + 1) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object e = release(index, pos);
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                }
+            } else if (seq <= pos) {
+                // the slot has not been published yet, so the ring is empty
+                return null;
+            }
+            // another consumer claimed the slot so try again
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return e;
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                notEmpty.await();
+            }
+            return e;
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) (pos & mask);
+            Object e = elements.get(index);
+            if (sequences.get(index) == pos + 1 && e != null && e != REMOVED) {
+                return (E) e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int total = 0;
+        while (total < maxElements) {
+            long pos = head.get();
+            // find how many consecutive elements are published, and claim them all at once
+            int count = 0;
+            int max = maxElements - total;
+            while (count < max && sequences.get((int) ((pos + count) & mask)) == pos + count + 1) {
+                count++;
+            }
+            if (count == 0) {
+                break;
+            }
+            if (head.compareAndSet(pos, pos + count)) {
+                for (int i = 0; i < count; i++) {
+                    long p = pos + i;
+                    Object e = release((int) (p & mask), p);
+                    if (e != REMOVED) {
+                        c.add((E) e);
+                        total++;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) (pos & mask);
+            // only mark the element as removed if its still in the queue, the consumer will then skip it
+            if (sequences.get(index) == pos + 1 && elements.compareAndSet(index, o, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // noop
+        }
+    }
+
+    @Override
+    public int size() {
+        // read head first, so the size is never negative
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * The capacity of the queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * A weakly consistent iterator over a snapshot of the elements in the queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) (pos & mask);
+            Object e = elements.get(index);
+            if (sequences.get(index) == pos + 1 && e != null && e != REMOVED) {
+                snapshot.add((E) e);
+            }
+        }
+        return new SnapshotIterator(snapshot.iterator());
+    }
+
+    private Object release(int index, long pos) {
+        Object e = elements.getAndSet(index, null);
+        // free the slot for the producer of the next lap
+        sequences.set(index, pos + mask + 1);
+        if (waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return e;
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class SnapshotIterator implements Iterator<E> {
+
+        private final Iterator<E> it;
+        private E last;
+
+        private SnapshotIterator(Iterator<E> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (!it.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = it.next();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            RingBufferBlockingQueue.this.remove(last);
+            last = null;
+        }
+    }
+}
@@ -16,15 +16,19 @@
  */
 package org.apache.camel.component.seda;
 
+import java.io.Closeable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.Component;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +59,8 @@ public class SedaComponent extends DefaultComponent {
 
     private final Map<String, QueueReference> queues = new HashMap<>();
     private final Map<String, Integer> customSize = new HashMap<>();
+    // use a lock instead of synchronized to not pin virtual threads to their carrier thread
+    private final Lock queuesLock = new ReentrantLock();
 
     public SedaComponent() {
     }
@@ -144,7 +150,17 @@ public class SedaComponent extends DefaultComponent {
         this.defaultPollTimeout = defaultPollTimeout;
     }
 
-    public synchronized QueueReference getOrCreateQueue(
+    public QueueReference getOrCreateQueue(
+            SedaEndpoint endpoint, Integer size, Boolean multipleConsumers, BlockingQueueFactory<Exchange> customQueueFactory) {
+        queuesLock.lock();
+        try {
+            return doGetOrCreateQueue(endpoint, size, multipleConsumers, customQueueFactory);
+        } finally {
+            queuesLock.unlock();
+        }
+    }
+
+    private QueueReference doGetOrCreateQueue(
             SedaEndpoint endpoint, Integer size, Boolean multipleConsumers, BlockingQueueFactory<Exchange> customQueueFactory) {
 
         String key = getQueueKey(endpoint.getEndpointUri());
@@ -196,17 +212,21 @@ public class SedaComponent extends DefaultComponent {
         return ref;
     }
 
-    public synchronized QueueReference registerQueue(SedaEndpoint endpoint, BlockingQueue<Exchange> queue) {
+    public QueueReference registerQueue(SedaEndpoint endpoint, BlockingQueue<Exchange> queue) {
         String key = getQueueKey(endpoint.getEndpointUri());
 
-        QueueReference ref = getQueues().get(key);
-        if (ref == null) {
-            ref = new QueueReference(queue, endpoint.getSize(), endpoint.isMultipleConsumers());
-            ref.addReference(endpoint);
-            getQueues().put(key, ref);
+        queuesLock.lock();
+        try {
+            QueueReference ref = getQueues().get(key);
+            if (ref == null) {
+                ref = new QueueReference(queue, endpoint.getSize(), endpoint.isMultipleConsumers());
+                ref.addReference(endpoint);
+                getQueues().put(key, ref);
+            }
+            return ref;
+        } finally {
+            queuesLock.unlock();
         }
-
-        return ref;
     }
 
     public Map<String, QueueReference> getQueues() {
@@ -290,6 +310,7 @@ public class SedaComponent extends DefaultComponent {
 
     @Override
     protected void doStop() throws Exception {
+        getQueues().values().forEach(ref -> closeQueue(ref.getQueue()));
         getQueues().clear();
         customSize.clear();
         super.doStop();
@@ -310,8 +331,16 @@ public class SedaComponent extends DefaultComponent {
             if (ref.getCount() <= 0) {
                 // reference no longer needed so remove from queues
                 getQueues().remove(key);
+                closeQueue(ref.getQueue());
             }
         }
     }
 
+    private void closeQueue(BlockingQueue<Exchange> queue) {
+        // queues such as persistent queues may hold resources that must be released
+        if (queue instanceof Closeable) {
+            IOHelper.close((Closeable) queue, "queue", log);
+        }
+    }
+
 }
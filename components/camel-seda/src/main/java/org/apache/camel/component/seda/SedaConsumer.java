@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -49,15 +51,19 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the number of exchanges drained from the queue in batches that are not yet being processed
+    private final AtomicInteger batchPending = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int pollBatchSize;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.pollBatchSize = endpoint.getPollBatchSize();
     }
 
     @Override
@@ -79,7 +85,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        return getEndpoint().getQueue().size() + batchPending.get();
     }
 
     @Override
@@ -136,6 +142,8 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        // the remainder of a batch is drained into this list after a successful poll
+        List<Exchange> batch = pollBatchSize > 1 ? new ArrayList<>(pollBatchSize - 1) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -181,16 +189,12 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                             exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        final Exchange original = exchange;
-                        // prepare the exchange before sending to consumer
-                        final Exchange prepared = prepareExchange(exchange);
-                        // callback to be executed when sending to consumer and processing is done
-                        AsyncCallback callback = doneSync -> onProcessingDone(original, prepared);
-                        // process the exchange
-                        sendToConsumers(prepared, callback);
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    processExchange(exchange);
+                    if (batch != null) {
+                        // drain the rest of the batch without waiting
+                        queue.drainTo(batch, pollBatchSize - 1);
+                        processBatch(queue, batch);
+                        batch.clear();
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -210,6 +214,59 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Processes the exchanges drained from the queue one by one. If the consumer is being suspended or stopped while
+     * processing the batch, then the exchanges that are not processed yet are returned to the queue.
+     */
+    private void processBatch(BlockingQueue<Exchange> queue, List<Exchange> batch) {
+        batchPending.addAndGet(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!isRunAllowed() || isSuspending() || isSuspended()) {
+                returnToQueue(queue, batch.subList(i, batch.size()));
+                return;
+            }
+            batchPending.decrementAndGet();
+            processExchange(batch.get(i));
+        }
+    }
+
+    private void returnToQueue(BlockingQueue<Exchange> queue, List<Exchange> exchanges) {
+        LOG.debug("Consumer is suspending or stopping, so returning {} exchanges of the batch to the queue", exchanges.size());
+        if (queue instanceof BlockingDeque<Exchange> deque) {
+            // keep the order by adding the exchanges in reverse order to the head of the queue
+            for (int i = exchanges.size() - 1; i >= 0; i--) {
+                onReturned(deque.offerFirst(exchanges.get(i)), exchanges.get(i));
+            }
+        } else {
+            for (Exchange exchange : exchanges) {
+                onReturned(queue.offer(exchange), exchange);
+            }
+        }
+    }
+
+    private void onReturned(boolean added, Exchange exchange) {
+        batchPending.decrementAndGet();
+        if (!added) {
+            // the queue is full so the exchange must be processed anyway
+            LOG.debug("Queue is full, so processing exchange {} of the batch", exchange.getExchangeId());
+            processExchange(exchange);
+        }
+    }
+
+    private void processExchange(Exchange exchange) {
+        try {
+            final Exchange original = exchange;
+            // prepare the exchange before sending to consumer
+            final Exchange prepared = prepareExchange(exchange);
+            // callback to be executed when sending to consumer and processing is done
+            AsyncCallback callback = doneSync -> onProcessingDone(original, prepared);
+            // process the exchange
+            sendToConsumers(prepared, callback);
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to invoke when the exchange is done being processed.
      * <p/>
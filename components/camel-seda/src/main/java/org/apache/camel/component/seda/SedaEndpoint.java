@@ -23,6 +23,8 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncEndpoint;
 import org.apache.camel.AsyncProcessor;
@@ -65,12 +67,13 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private volatile AsyncProcessor consumerMulticastProcessor;
     private volatile boolean multicastStarted;
     private volatile ExecutorService multicastExecutor;
+    private final Lock queueLock = new ReentrantLock();
 
     @UriPath(description = "Name of queue")
     @Metadata(required = true)
     private String name;
     @UriParam(label = "advanced", description = "Define the queue instance which will be used by the endpoint")
-    private BlockingQueue<Exchange> queue;
+    private volatile BlockingQueue<Exchange> queue;
     @UriParam(defaultValue = "" + SedaConstants.QUEUE_SIZE)
     private int size = SedaConstants.QUEUE_SIZE;
     @UriParam(label = "advanced", defaultValue = "100",
@@ -87,6 +90,8 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int pollBatchSize = 1;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -183,7 +188,20 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         return answer;
     }
 
-    public synchronized BlockingQueue<Exchange> getQueue() {
+    public BlockingQueue<Exchange> getQueue() {
+        BlockingQueue<Exchange> answer = queue;
+        if (answer != null) {
+            return answer;
+        }
+        queueLock.lock();
+        try {
+            return doGetQueue();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private BlockingQueue<Exchange> doGetQueue() {
         if (queue == null) {
             // prefer to lookup queue from component, so if this endpoint is re-created or re-started
             // then the existing queue from the component can be used, so new producers and consumers
@@ -192,14 +210,14 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
                 // use null to indicate default size (= use what the existing queue has been configured with)
                 Integer size = (getSize() == Integer.MAX_VALUE || getSize() == SedaConstants.QUEUE_SIZE) ? null : getSize();
                 QueueReference ref = getComponent().getOrCreateQueue(this, size, isMultipleConsumers(), queueFactory);
+                // set the size we are using before the queue is visible to callers outside the lock
+                if (ref.getSize() != null) {
+                    setSize(ref.getSize());
+                }
                 queue = ref.getQueue();
                 String key = getComponent().getQueueKey(getEndpointUri());
                 LOG.debug("Endpoint {} is using shared queue: {} with size: {}", this, key,
                         ref.getSize() != null ? ref.getSize() : Integer.MAX_VALUE);
-                // and set the size we are using
-                if (ref.getSize() != null) {
-                    setSize(ref.getSize());
-                }
             } else {
                 // fallback and create queue (as this endpoint has no component)
                 queue = createQueue();
@@ -240,16 +258,30 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         return null;
     }
 
-    protected synchronized AsyncProcessor getConsumerMulticastProcessor() {
-        if (!multicastStarted && consumerMulticastProcessor != null) {
-            // only start it on-demand to avoid starting it during stopping
-            ServiceHelper.startService(consumerMulticastProcessor);
-            multicastStarted = true;
+    protected AsyncProcessor getConsumerMulticastProcessor() {
+        queueLock.lock();
+        try {
+            if (!multicastStarted && consumerMulticastProcessor != null) {
+                // only start it on-demand to avoid starting it during stopping
+                ServiceHelper.startService(consumerMulticastProcessor);
+                multicastStarted = true;
+            }
+            return consumerMulticastProcessor;
+        } finally {
+            queueLock.unlock();
         }
-        return consumerMulticastProcessor;
     }
 
-    protected synchronized void updateMulticastProcessor() throws Exception {
+    protected void updateMulticastProcessor() throws Exception {
+        queueLock.lock();
+        try {
+            doUpdateMulticastProcessor();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private void doUpdateMulticastProcessor() throws Exception {
         // only needed if we support multiple consumers
         if (!isMultipleConsumersSupported()) {
             return;
@@ -481,6 +513,20 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of messages each consumer thread drains from the queue in one poll, which are then processed
+     * one by one. A higher value reduces the contention on the queue when there are many messages. The default value
+     * is 1, which polls a single message at a time.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -17,11 +17,14 @@
 package org.apache.camel.component.seda;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProducer;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTimedOutException;
 import org.apache.camel.StreamCache;
@@ -32,7 +35,7 @@ import org.apache.camel.support.SynchronizationAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class SedaProducer extends DefaultAsyncProducer {
+public class SedaProducer extends DefaultAsyncProducer implements BatchProducer {
 
     private static final Logger LOG = LoggerFactory.getLogger(SedaProducer.class);
     private final SedaEndpoint endpoint;
@@ -55,13 +58,7 @@ public class SedaProducer extends DefaultAsyncProducer {
 
     @Override
     public boolean process(final Exchange exchange, final AsyncCallback callback) {
-        WaitForTaskToComplete wait = waitForTaskToComplete;
-        if (exchange.getProperty(Exchange.ASYNC_WAIT) != null) {
-            wait = exchange.getProperty(Exchange.ASYNC_WAIT, WaitForTaskToComplete.class);
-        }
-
-        if (wait == WaitForTaskToComplete.Always
-                || wait == WaitForTaskToComplete.IfReplyExpected && ExchangeHelper.isOutCapable(exchange)) {
+        if (isWaitForTaskToComplete(exchange)) {
 
             // do not handover the completion as we wait for the copy to complete, and copy its result back when it done
             Exchange copy = prepareCopy(exchange, false);
@@ -70,40 +67,7 @@ public class SedaProducer extends DefaultAsyncProducer {
             final CountDownLatch latch = new CountDownLatch(1);
 
             // we should wait for the reply so install a on completion so we know when its complete
-            copy.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
-                @Override
-                public void onDone(Exchange response) {
-                    // check for timeout, which then already would have invoked the latch
-                    if (latch.getCount() == 0) {
-                        if (LOG.isTraceEnabled()) {
-                            LOG.trace("{}. Timeout occurred so response will be ignored: {}", this, response.getMessage());
-                        }
-                        return;
-                    } else {
-                        if (LOG.isTraceEnabled()) {
-                            LOG.trace("{} with response: {}", this, response.getMessage());
-                        }
-                        try {
-                            ExchangeHelper.copyResults(exchange, response);
-                        } finally {
-                            // always ensure latch is triggered
-                            latch.countDown();
-                        }
-                    }
-                }
-
-                @Override
-                public boolean allowHandover() {
-                    // do not allow handover as we want to seda producer to have its completion triggered
-                    // at this point in the routing (at this leg), instead of at the very last (this ensure timeout is honored)
-                    return false;
-                }
-
-                @Override
-                public String toString() {
-                    return "onDone at endpoint: " + endpoint;
-                }
-            });
+            copy.getExchangeExtension().addOnCompletion(new WaitForReply(exchange, latch));
 
             try {
                 // do not copy as we already did the copy
@@ -161,6 +125,77 @@ public class SedaProducer extends DefaultAsyncProducer {
         return true;
     }
 
+    /**
+     * Adds all the exchanges of the batch to the queue before waiting for any of them to complete, so the consumers can
+     * process the batch concurrently, instead of one exchange at a time.
+     */
+    @Override
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        List<Exchange> waiting = new ArrayList<>();
+        List<Exchange> copies = new ArrayList<>();
+        List<CountDownLatch> latches = new ArrayList<>();
+
+        for (Exchange exchange : exchanges) {
+            boolean wait = isWaitForTaskToComplete(exchange);
+            Exchange copy = null;
+            if (wait) {
+                copy = prepareCopy(exchange, false);
+                CountDownLatch latch = new CountDownLatch(1);
+                copy.getExchangeExtension().addOnCompletion(new WaitForReply(exchange, latch));
+                waiting.add(exchange);
+                copies.add(copy);
+                latches.add(latch);
+            }
+            try {
+                if (wait) {
+                    addToQueue(copy, false);
+                } else {
+                    addToQueue(exchange, true);
+                }
+            } catch (SedaConsumerNotAvailableException | IOException e) {
+                exchange.setException(e);
+                if (wait) {
+                    // not added so there is nothing to wait for
+                    latches.get(latches.size() - 1).countDown();
+                }
+            }
+        }
+
+        // the timeout applies to the batch as a whole, as the exchanges are processed concurrently
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        for (int i = 0; i < waiting.size(); i++) {
+            Exchange exchange = waiting.get(i);
+            CountDownLatch latch = latches.get(i);
+            boolean done = false;
+            try {
+                if (timeout > 0) {
+                    done = latch.await(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } else {
+                    latch.await();
+                    done = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!done && latch.getCount() > 0) {
+                exchange.setException(new ExchangeTimedOutException(exchange, timeout));
+                // remove timed out Exchange from queue
+                endpoint.getQueue().remove(copies.get(i));
+                // count down to indicate timeout
+                latch.countDown();
+            }
+        }
+    }
+
+    private boolean isWaitForTaskToComplete(Exchange exchange) {
+        WaitForTaskToComplete wait = waitForTaskToComplete;
+        if (exchange.getProperty(Exchange.ASYNC_WAIT) != null) {
+            wait = exchange.getProperty(Exchange.ASYNC_WAIT, WaitForTaskToComplete.class);
+        }
+        return wait == WaitForTaskToComplete.Always
+                || wait == WaitForTaskToComplete.IfReplyExpected && ExchangeHelper.isOutCapable(exchange);
+    }
+
     protected Exchange prepareCopy(Exchange exchange, boolean handover) {
         // use a new copy of the exchange to route async (and use same message id)
         // if handover we need to do special handover to avoid handing over
@@ -259,4 +294,48 @@ public class SedaProducer extends DefaultAsyncProducer {
         }
     }
 
+    /**
+     * Copies the result of the copy sent to the queue back to the exchange which waits for it
+     */
+    private final class WaitForReply extends SynchronizationAdapter {
+        private final Exchange exchange;
+        private final CountDownLatch latch;
+
+        private WaitForReply(Exchange exchange, CountDownLatch latch) {
+            this.exchange = exchange;
+            this.latch = latch;
+        }
+
+        @Override
+        public void onDone(Exchange response) {
+            // check for timeout, which then already would have invoked the latch
+            if (latch.getCount() == 0) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("{}. Timeout occurred so response will be ignored: {}", this, response.getMessage());
+                }
+            } else {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("{} with response: {}", this, response.getMessage());
+                }
+                try {
+                    ExchangeHelper.copyResults(exchange, response);
+                } finally {
+                    // always ensure latch is triggered
+                    latch.countDown();
+                }
+            }
+        }
+
+        @Override
+        public boolean allowHandover() {
+            // do not allow handover as we want to seda producer to have its completion triggered
+            // at this point in the routing (at this leg), instead of at the very last (this ensure timeout is honored)
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "onDone at endpoint: " + endpoint;
+        }
+    }
 }
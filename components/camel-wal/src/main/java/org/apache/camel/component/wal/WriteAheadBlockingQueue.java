@@ -0,0 +1,644 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.wal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
+import org.apache.camel.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link BlockingQueue} of exchanges, which journals every exchange to a write-ahead log before it is added to the
+ * queue, so the exchanges that were not processed yet are replayed when the queue is created again after a crash or
+ * restart.
+ * <p/>
+ * When an exchange is taken from the queue, its entry in the log is marked as processed (or failed) once the exchange
+ * completes. Removing an exchange from the queue marks its entry as ignored. Only the entries that are still new are
+ * replayed, so failed exchanges are not redelivered: use an error handler to deal with failures.
+ * <p/>
+ * The log is split in segment files holding up to {@code segmentSize} entries, and a segment file is deleted as soon
+ * as all of its exchanges have been completed.
+ * <p/>
+ * By default the log is synced to disk periodically, so an exchange is added to the queue before it is durable, and the
+ * exchanges journaled since the last sync can be lost if the operating system crashes. If {@code syncOnWrite} is
+ * enabled, an exchange is only added to the queue once the log is synced. The writers waiting for a sync are synced
+ * together by a single thread (group commit), while other exchanges can still be journaled.
+ */
+public class WriteAheadBlockingQueue extends AbstractQueue<Exchange> implements BlockingQueue<Exchange>, Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteAheadBlockingQueue.class);
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String UNREPLAYED_SUFFIX = ".unreplayed";
+
+    private final CamelContext camelContext;
+    private final File logDirectory;
+    private final String name;
+    private final Pattern segmentPattern;
+    private final int segmentSize;
+    private final long syncInterval;
+    private final boolean syncOnWrite;
+    private final int maxMessageSize;
+    private final boolean allowSerializedHeaders;
+    private final String deserializationFilter;
+
+    private final BlockingQueue<Exchange> queue;
+    private final Map<String, Journaled> journaled = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    private Segment current;
+    private long nextSequence;
+    private long appendedCount;
+    private volatile long syncedCount;
+    private volatile boolean closed;
+
+    WriteAheadBlockingQueue(WriteAheadBlockingQueueFactory factory, File logDirectory, int capacity) {
+        this.camelContext = factory.getCamelContext();
+        this.logDirectory = logDirectory;
+        this.name = factory.getName();
+        this.segmentPattern = Pattern.compile(Pattern.quote(name) + "-(\\d+)" + Pattern.quote(SEGMENT_SUFFIX));
+        this.segmentSize = factory.getSegmentSize();
+        this.syncInterval = factory.getSyncInterval();
+        this.syncOnWrite = factory.isSyncOnWrite();
+        this.maxMessageSize = factory.getMaxMessageSize();
+        this.allowSerializedHeaders = factory.isAllowSerializedHeaders();
+        this.deserializationFilter = factory.getDeserializationFilter();
+
+        if (!logDirectory.isDirectory() && !logDirectory.mkdirs()) {
+            throw new RuntimeCamelException("Unable to create the log directory: " + logDirectory);
+        }
+        this.scheduler = camelContext.getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "WriteAheadBlockingQueue[" + name + "]");
+
+        List<File> replayedFiles = new ArrayList<>();
+        List<Exchange> replayed = replay(replayedFiles);
+        this.queue = new LinkedBlockingQueue<>(Math.max(capacity, replayed.size()));
+        for (Exchange exchange : replayed) {
+            journal(exchange);
+            queue.offer(exchange);
+        }
+        // the replayed exchanges are journaled in a new segment, so the old segments can be deleted
+        lock.lock();
+        try {
+            if (current != null) {
+                current.writer.flush();
+            }
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Unable to sync the write-ahead log of queue " + name, e);
+        } finally {
+            lock.unlock();
+        }
+        for (File file : replayedFiles) {
+            if (!FileUtil.deleteFile(file)) {
+                LOG.warn("Unable to delete the write-ahead log segment {}", file);
+            }
+        }
+        LOG.debug("Replayed {} exchanges from the write-ahead log of queue {}", replayed.size(), name);
+    }
+
+    @Override
+    public boolean offer(Exchange exchange) {
+        Objects.requireNonNull(exchange);
+        if (queue.remainingCapacity() == 0) {
+            return false;
+        }
+        journal(exchange);
+        if (queue.offer(exchange)) {
+            return true;
+        }
+        discard(exchange);
+        return false;
+    }
+
+    @Override
+    public boolean offer(Exchange exchange, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(exchange);
+        journal(exchange);
+        boolean added = false;
+        try {
+            added = queue.offer(exchange, timeout, unit);
+        } finally {
+            if (!added) {
+                discard(exchange);
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void put(Exchange exchange) throws InterruptedException {
+        Objects.requireNonNull(exchange);
+        journal(exchange);
+        boolean added = false;
+        try {
+            queue.put(exchange);
+            added = true;
+        } finally {
+            if (!added) {
+                discard(exchange);
+            }
+        }
+    }
+
+    @Override
+    public Exchange poll() {
+        return track(queue.poll());
+    }
+
+    @Override
+    public Exchange poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return track(queue.poll(timeout, unit));
+    }
+
+    @Override
+    public Exchange take() throws InterruptedException {
+        return track(queue.take());
+    }
+
+    @Override
+    public Exchange peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Exchange> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Exchange> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        List<Exchange> drained = new ArrayList<>();
+        int count = queue.drainTo(drained, maxElements);
+        for (Exchange exchange : drained) {
+            c.add(track(exchange));
+        }
+        return count;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (queue.remove(o)) {
+            discard((Exchange) o);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        List<Exchange> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        drained.forEach(this::discard);
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    @Override
+    public Iterator<Exchange> iterator() {
+        final Iterator<Exchange> it = queue.iterator();
+        return new Iterator<>() {
+            private Exchange last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Exchange next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                discard(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Closes the queue and its log files. The exchanges that are not completed yet are replayed when the queue is
+     * created again.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            journaled.clear();
+            for (Segment segment : segments) {
+                segment.writer.close();
+                if (segment.outstanding == 0) {
+                    FileUtil.deleteFile(segment.file);
+                }
+            }
+            segments.clear();
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        camelContext.getExecutorServiceManager().shutdown(scheduler);
+    }
+
+    /**
+     * Whether the queue is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Number of exchanges that have been journaled but not completed yet, including the exchanges in the queue.
+     */
+    public int getPendingCount() {
+        return journaled.size();
+    }
+
+    /**
+     * Writes the exchange to the log, before it is added to the queue
+     */
+    private void journal(Exchange exchange) {
+        byte[] key = exchange.getExchangeId().getBytes(StandardCharsets.UTF_8);
+        byte[] value = marshal(exchange);
+        if (LogEntry.size(key, value) > maxMessageSize) {
+            throw new IllegalArgumentException(
+                    "The exchange " + exchange.getExchangeId() + " is larger than the max message size of " + maxMessageSize
+                                               + " bytes");
+        }
+
+        long count;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The write-ahead queue " + name + " is closed");
+            }
+            Segment segment = currentSegment();
+            EntryInfo.CachedEntryInfo entryInfo
+                    = segment.writer.append(new LogEntry(LogEntry.EntryState.NEW, 0, key, 0, value));
+            segment.appended++;
+            segment.outstanding++;
+            segment.unsynced = true;
+            count = ++appendedCount;
+            journaled.put(exchange.getExchangeId(), new Journaled(segment, entryInfo));
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Unable to journal exchange " + exchange.getExchangeId(), e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (syncOnWrite) {
+            try {
+                sync(count);
+            } catch (IOException e) {
+                discard(exchange);
+                throw new RuntimeCamelException("Unable to sync the write-ahead log of queue " + name, e);
+            }
+        }
+    }
+
+    /**
+     * Syncs the log to disk until (at least) the given number of appended entries. The thread holding the sync lock
+     * syncs all the entries appended so far with a single force of each unsynced segment, outside the append lock, so
+     * the writers waiting for the sync lock meanwhile find their entries already synced (group commit).
+     */
+    private void sync(long count) throws IOException {
+        syncLock.lock();
+        try {
+            if (syncedCount >= count) {
+                return;
+            }
+            long target;
+            List<Segment> unsynced = new ArrayList<>(1);
+            lock.lock();
+            try {
+                target = appendedCount;
+                for (Segment segment : segments) {
+                    if (segment.unsynced) {
+                        segment.unsynced = false;
+                        unsynced.add(segment);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            for (int i = 0; i < unsynced.size(); i++) {
+                try {
+                    unsynced.get(i).writer.flush();
+                } catch (ClosedChannelException e) {
+                    // the segment is synced when its writer is closed
+                } catch (IOException e) {
+                    lock.lock();
+                    try {
+                        unsynced.subList(i, unsynced.size()).forEach(segment -> segment.unsynced = true);
+                    } finally {
+                        lock.unlock();
+                    }
+                    throw e;
+                }
+            }
+            syncedCount = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the entry of an exchange that has been removed from the queue as ignored
+     */
+    private void discard(Exchange exchange) {
+        if (exchange != null) {
+            acknowledge(exchange.getExchangeId(), LogEntry.EntryState.IGNORED);
+        }
+    }
+
+    /**
+     * Acknowledges the entry of an exchange taken from the queue, once the exchange completes
+     */
+    private Exchange track(Exchange exchange) {
+        if (exchange != null) {
+            exchange.getExchangeExtension().addOnCompletion(new Acknowledgement());
+        }
+        return exchange;
+    }
+
+    private void acknowledge(String exchangeId, LogEntry.EntryState state) {
+        Journaled entry = journaled.remove(exchangeId);
+        if (entry == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Segment segment = entry.segment;
+            segment.writer.updateState(entry.entryInfo, state);
+            // the segment is no longer needed once all of its exchanges are completed
+            if (--segment.outstanding == 0 && segment != current) {
+                deleteSegment(segment);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to update the state of exchange {} to {} in the write-ahead log: {}", exchangeId, state,
+                    e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Segment currentSegment() throws IOException {
+        if (current != null && current.appended >= segmentSize) {
+            Segment previous = current;
+            current = null;
+            if (previous.outstanding == 0) {
+                deleteSegment(previous);
+            }
+        }
+        if (current == null) {
+            current = new Segment(new File(logDirectory, name + "-" + nextSequence++ + SEGMENT_SUFFIX));
+            segments.add(current);
+        }
+        return current;
+    }
+
+    private void deleteSegment(Segment segment) {
+        segment.writer.close();
+        segments.remove(segment);
+        if (!FileUtil.deleteFile(segment.file)) {
+            LOG.warn("Unable to delete the write-ahead log segment {}", segment.file);
+        }
+    }
+
+    /**
+     * Reads the exchanges that were not completed from the existing segment files, which are deleted afterwards
+     */
+    private List<Exchange> replay(List<File> replayedFiles) {
+        TreeMap<Long, File> files = new TreeMap<>();
+        File[] list = logDirectory.listFiles();
+        if (list != null) {
+            for (File file : list) {
+                Matcher matcher = segmentPattern.matcher(file.getName());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // entries are keyed by exchange id, as an exchange can be in multiple segments if replay was interrupted
+        Map<String, PendingEntry> pending = new LinkedHashMap<>();
+        for (File file : files.values()) {
+            readSegment(file, pending);
+        }
+        nextSequence = files.lastKey() + 1;
+
+        List<Exchange> answer = new ArrayList<>(pending.size());
+        Set<File> unreplayed = new HashSet<>();
+        for (Map.Entry<String, PendingEntry> entry : pending.entrySet()) {
+            try {
+                answer.add(unmarshal(entry.getValue().value));
+            } catch (IOException | ClassNotFoundException e) {
+                LOG.warn("Unable to replay exchange {} from the write-ahead log segment {}: {}", entry.getKey(),
+                        entry.getValue().file, e.getMessage(), e);
+                unreplayed.add(entry.getValue().file);
+            }
+        }
+
+        for (File file : files.values()) {
+            if (unreplayed.contains(file)) {
+                // keep the file, so the exchanges can be recovered manually
+                File target = new File(file.getPath() + UNREPLAYED_SUFFIX);
+                try {
+                    if (!FileUtil.renameFile(file, target, true)) {
+                        LOG.warn("Unable to rename the write-ahead log segment {} to {}", file, target);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Unable to rename the write-ahead log segment {} to {}: {}", file, target, e.getMessage(), e);
+                }
+            } else {
+                replayedFiles.add(file);
+            }
+        }
+        return answer;
+    }
+
+    private void readSegment(File file, Map<String, PendingEntry> pending) {
+        try (LogReader reader = new LogReader(file, maxMessageSize)) {
+            PersistedLogEntry entry;
+            while ((entry = reader.readEntry()) != null) {
+                String key = new String(entry.getKey(), StandardCharsets.UTF_8);
+                if (entry.getEntryState() == LogEntry.EntryState.NEW) {
+                    pending.putIfAbsent(key, new PendingEntry(file, entry.getValue()));
+                } else {
+                    pending.remove(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the tail of the log may be incomplete if the process crashed while writing
+            LOG.warn("Unable to read the write-ahead log segment {} completely: {}", file, e.getMessage(), e);
+        }
+    }
+
+    private byte[] marshal(Exchange exchange) {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+        try (ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+             ObjectOutputStream objectOut = new ObjectOutputStream(bytesOut)) {
+            objectOut.writeObject(holder);
+            objectOut.flush();
+            return bytesOut.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Unable to serialize exchange " + exchange.getExchangeId(), e);
+        }
+    }
+
+    private Exchange unmarshal(byte[] value) throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = camelContext.getApplicationContextClassLoader();
+        try (ObjectInputStream objectIn
+                = new ClassLoadingAwareObjectInputStream(classLoader, new ByteArrayInputStream(value))) {
+            objectIn.setObjectInputFilter(ObjectInputFilter.Config.createFilter(deserializationFilter));
+            DefaultExchangeHolder holder = (DefaultExchangeHolder) objectIn.readObject();
+            Exchange answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, holder);
+            return answer;
+        }
+    }
+
+    private final class Acknowledgement extends SynchronizationAdapter {
+
+        @Override
+        public void onComplete(Exchange exchange) {
+            acknowledge(exchange.getExchangeId(), LogEntry.EntryState.PROCESSED);
+        }
+
+        @Override
+        public void onFailure(Exchange exchange) {
+            acknowledge(exchange.getExchangeId(), LogEntry.EntryState.FAILED);
+        }
+    }
+
+    /**
+     * A segment file of the log. The segment is also the {@link LogSupervisor} of its writer, which syncs the file on
+     * the shared scheduler of the queue.
+     */
+    private final class Segment implements LogSupervisor {
+        private final File file;
+        private final LogWriter writer;
+        private ScheduledFuture<?> future;
+        private int appended;
+        private int outstanding;
+        private boolean unsynced;
+
+        private Segment(File file) throws IOException {
+            this.file = file;
+            // the writer never rolls over, as the segment is rotated once it is full
+            this.writer = new LogWriter(file, this, segmentSize);
+        }
+
+        @Override
+        public void start(Runnable runnable) {
+            if (syncInterval > 0) {
+                future = scheduler.scheduleWithFixedDelay(runnable, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static final class Journaled {
+        private final Segment segment;
+        private final EntryInfo.CachedEntryInfo entryInfo;
+
+        private Journaled(Segment segment, EntryInfo.CachedEntryInfo entryInfo) {
+            this.segment = segment;
+            this.entryInfo = entryInfo;
+        }
+    }
+
+    private static final class PendingEntry {
+        private final File file;
+        private final byte[] value;
+
+        private PendingEntry(File file, byte[] value) {
+            this.file = file;
+            this.value = value;
+        }
+    }
+}
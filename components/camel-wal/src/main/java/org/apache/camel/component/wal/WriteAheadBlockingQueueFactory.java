@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.wal;
+
+import java.io.File;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.seda.BlockingQueueFactory;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing {@link WriteAheadBlockingQueue}, which journals the queued
+ * exchanges to a write-ahead log, so they survive a crash.
+ * <p/>
+ * A factory is used for a single SEDA queue, as the queue is stored in the log directory using the name of the
+ * factory. Only one queue created by this factory can be open at a time. Creating a new queue after the previous queue
+ * is closed replays its unacknowledged exchanges.
+ */
+public class WriteAheadBlockingQueueFactory implements BlockingQueueFactory<Exchange>, CamelContextAware {
+
+    /**
+     * The default filter for the classes allowed when deserializing the exchanges
+     */
+    public static final String DEFAULT_DESERIALIZATION_FILTER = "java.**;org.apache.camel.**;!*";
+
+    private CamelContext camelContext;
+    private String logDirectory;
+    private String name = "queue";
+    private int segmentSize = 1000;
+    private long syncInterval = WriteAheadResumeStrategyConfiguration.DEFAULT_SUPERVISOR_INTERVAL;
+    private boolean syncOnWrite;
+    private int maxMessageSize = LogReader.DEFAULT_CAPACITY;
+    private boolean allowSerializedHeaders;
+    private String deserializationFilter = DEFAULT_DESERIALIZATION_FILTER;
+    private WriteAheadBlockingQueue queue;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public String getLogDirectory() {
+        return logDirectory;
+    }
+
+    /**
+     * The directory where the log files of the queue are stored
+     */
+    public void setLogDirectory(String logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The name of the queue, which is used as prefix for the log files
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * The maximum number of exchanges journaled in a single log file. A log file is deleted once all of its exchanges
+     * have been processed. The journaled exchanges of the current log file are also kept in memory.
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * The interval (in millis) for syncing the log to disk. All the exchanges journaled within the interval are synced
+     * together. Use 0 to not sync periodically.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    /**
+     * Whether to sync the log to disk every time an exchange is journaled, before it is added to the queue. The
+     * exchanges journaled concurrently are synced together (group commit). This is the most durable, but also the
+     * slowest option. Otherwise, an exchange is added to the queue before it is synced to disk.
+     */
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * The maximum size (in bytes) of a serialized exchange. Larger exchanges are rejected.
+     */
+    public void setMaxMessageSize(int maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public boolean isAllowSerializedHeaders() {
+        return allowSerializedHeaders;
+    }
+
+    /**
+     * Whether headers on the message, exchange properties and variables that are Java objects (implementing
+     * Serializable) are journaled as well. By default, only primitive and String based values are journaled.
+     */
+    public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
+        this.allowSerializedHeaders = allowSerializedHeaders;
+    }
+
+    public String getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    /**
+     * Sets a deserialization filter, used when replaying the journaled exchanges. The default value is
+     * {@link #DEFAULT_DESERIALIZATION_FILTER}.
+     */
+    public void setDeserializationFilter(String deserializationFilter) {
+        this.deserializationFilter = deserializationFilter;
+    }
+
+    @Override
+    public WriteAheadBlockingQueue create() {
+        return create(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized WriteAheadBlockingQueue create(int capacity) {
+        ObjectHelper.notNull(camelContext, "camelContext", this);
+        ObjectHelper.notNull(logDirectory, "logDirectory", this);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("The segment size must be a positive number, was: " + segmentSize);
+        }
+
+        // only a single queue can write to the log files
+        if (queue != null && !queue.isClosed()) {
+            throw new IllegalStateException(
+                    "The write-ahead log " + name + " in " + logDirectory
+                                            + " is already used by an open queue. Use a factory per queue.");
+        }
+        queue = new WriteAheadBlockingQueue(this, new File(logDirectory), capacity);
+        return queue;
+    }
+}
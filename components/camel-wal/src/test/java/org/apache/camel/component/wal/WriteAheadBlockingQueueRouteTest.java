@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.wal;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadBlockingQueueRouteTest {
+
+    private static final String ENDPOINT = "seda:orders?queueFactory=#wal";
+
+    @TempDir
+    protected File testDir;
+
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testReplayAfterRestart() throws Exception {
+        // the consumer is not started, so the exchanges are still queued when the context is stopped
+        CamelContext context = createCamelContext(false, null);
+        try {
+            ProducerTemplate template = context.createProducerTemplate();
+            for (int i = 0; i < 3; i++) {
+                template.sendBody(ENDPOINT, "Order " + i);
+            }
+        } finally {
+            context.stop();
+        }
+        assertTrue(received.isEmpty());
+        assertEquals(1, segmentFiles().length);
+
+        // the exchanges are replayed and consumed by the route, which acknowledges them once they complete
+        CountDownLatch latch = new CountDownLatch(3);
+        context = createCamelContext(true, latch);
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of("Order 0", "Order 1", "Order 2"), received);
+        } finally {
+            context.stop();
+        }
+        assertEquals(0, segmentFiles().length, "The completed exchanges should not be journaled anymore");
+
+        // the acknowledged exchanges are not replayed again
+        received.clear();
+        context = createCamelContext(true, null);
+        try {
+            context.createProducerTemplate().sendBody(ENDPOINT, "Order 3");
+        } finally {
+            context.stop();
+        }
+        assertEquals(List.of("Order 3"), received);
+    }
+
+    private CamelContext createCamelContext(boolean autoStartup, CountDownLatch latch) throws Exception {
+        CamelContext context = new DefaultCamelContext();
+
+        WriteAheadBlockingQueueFactory factory = new WriteAheadBlockingQueueFactory();
+        factory.setCamelContext(context);
+        factory.setLogDirectory(testDir.getPath());
+        factory.setName("orders");
+        factory.setSyncOnWrite(true);
+        context.getRegistry().bind("wal", factory);
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(ENDPOINT).autoStartup(autoStartup)
+                        .process(exchange -> {
+                            received.add(exchange.getMessage().getBody());
+                            if (latch != null) {
+                                latch.countDown();
+                            }
+                        });
+            }
+        });
+        context.start();
+        return context;
+    }
+
+    private File[] segmentFiles() {
+        return testDir.listFiles((dir, name) -> name.endsWith(".wal"));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.wal;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadBlockingQueueTest {
+
+    @TempDir
+    protected File testDir;
+
+    private CamelContext context;
+    private WriteAheadBlockingQueueFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+
+        factory = new WriteAheadBlockingQueueFactory();
+        factory.setCamelContext(context);
+        factory.setLogDirectory(testDir.getPath());
+        factory.setName("test");
+        factory.setSegmentSize(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testReplayPendingExchanges() throws Exception {
+        WriteAheadBlockingQueue queue = factory.create(10);
+        List<String> ids = offer(queue, 5);
+
+        // the first exchange completes, and the second fails
+        complete(queue.poll(), false);
+        complete(queue.poll(), true);
+        // the third is in-flight when the queue is closed
+        assertNotNull(queue.poll());
+        assertEquals(3, queue.getPendingCount());
+        queue.close();
+
+        WriteAheadBlockingQueue replayed = factory.create(10);
+        try {
+            assertEquals(3, replayed.size());
+            for (int i = 2; i < 5; i++) {
+                Exchange exchange = replayed.poll();
+                assertEquals(ids.get(i), exchange.getExchangeId());
+                assertEquals("Hello " + i, exchange.getMessage().getBody());
+                assertEquals(i, exchange.getMessage().getHeader("index"));
+                assertEquals("Order " + i, exchange.getProperty("order"));
+                assertEquals(i * 10, exchange.getVariable("amount"));
+            }
+        } finally {
+            replayed.close();
+        }
+    }
+
+    @Test
+    void testRemovedExchangesAreNotReplayed() throws Exception {
+        WriteAheadBlockingQueue queue = factory.create(10);
+        offer(queue, 3);
+
+        queue.remove(queue.peek());
+        queue.close();
+
+        WriteAheadBlockingQueue replayed = factory.create(10);
+        try {
+            assertEquals(2, replayed.size());
+            assertEquals("Hello 1", replayed.poll().getMessage().getBody());
+        } finally {
+            replayed.close();
+        }
+    }
+
+    @Test
+    void testCompletedSegmentsAreDeleted() throws Exception {
+        WriteAheadBlockingQueue queue = factory.create(10);
+        try {
+            offer(queue, 5);
+            assertEquals(3, segmentFiles().size());
+
+            List<Exchange> drained = new ArrayList<>();
+            queue.drainTo(drained, 4);
+            for (Exchange exchange : drained) {
+                complete(exchange, false);
+            }
+
+            // only the segment holding the last exchange is kept
+            assertEquals(List.of("test-2.wal"), segmentFiles());
+            assertEquals(1, queue.getPendingCount());
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    void testCreateWhenQueueOpen() throws Exception {
+        WriteAheadBlockingQueue queue = factory.create(10);
+        try {
+            offer(queue, 1);
+            // a second queue must not write to the log files of the open queue
+            assertThrows(IllegalStateException.class, () -> factory.create(10));
+            assertEquals(1, queue.size());
+            assertTrue(queue.offer(createExchange(1)));
+        } finally {
+            queue.close();
+        }
+
+        WriteAheadBlockingQueue replayed = factory.create(10);
+        try {
+            assertEquals(2, replayed.size());
+        } finally {
+            replayed.close();
+        }
+    }
+
+    @Test
+    void testOfferWhenFull() throws Exception {
+        WriteAheadBlockingQueue queue = factory.create(2);
+        try {
+            offer(queue, 2);
+            assertFalse(queue.offer(createExchange(2)));
+            assertEquals(2, queue.getPendingCount());
+            assertEquals(0, queue.remainingCapacity());
+        } finally {
+            queue.close();
+        }
+    }
+
+    private List<String> offer(WriteAheadBlockingQueue queue, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Exchange exchange = createExchange(i);
+            assertTrue(queue.offer(exchange));
+            ids.add(exchange.getExchangeId());
+        }
+        return ids;
+    }
+
+    private Exchange createExchange(int index) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody("Hello " + index);
+        exchange.getMessage().setHeader("index", index);
+        exchange.setProperty("order", "Order " + index);
+        exchange.setVariable("amount", index * 10);
+        return exchange;
+    }
+
+    private static void complete(Exchange exchange, boolean failed) {
+        for (Synchronization synchronization : exchange.getExchangeExtension().handoverCompletions()) {
+            if (failed) {
+                synchronization.onFailure(exchange);
+            } else {
+                synchronization.onComplete(exchange);
+            }
+        }
+    }
+
+    private List<String> segmentFiles() {
+        List<String> answer = new ArrayList<>();
+        for (File file : testDir.listFiles()) {
+            answer.add(file.getName());
+        }
+        answer.sort(null);
+        return answer;
+    }
+}
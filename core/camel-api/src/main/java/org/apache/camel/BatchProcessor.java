@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import java.util.List;
+
+/**
+ * A {@link Processor} which can process a batch of message exchanges in one operation, such as producers which can
+ * send many messages in a single round trip to the remote system (bulk insert, batch send etc).
+ * <p/>
+ * The routing engine calls {@link #processBatch(List, AsyncCallback)} when the message body is a {@link List} of
+ * {@link Exchange}, such as the output from the Aggregator EIP using the grouped exchange aggregation strategy
+ * (<tt>GroupedExchangeAggregationStrategy</tt>). When the message body is not a list of exchanges, then the exchange is
+ * processed as usual via {@link #process(Exchange)}. Processors which are not a {@link BatchProcessor} are given the
+ * grouped exchange as-is, with the list of exchanges as message body.
+ * <p/>
+ * The default implementations fall back to processing the exchanges of the batch one at a time via
+ * {@link #process(Exchange)}, so implementations only have to override the methods for which they can do better.
+ *
+ * @see BatchProducer
+ */
+public interface BatchProcessor extends Processor {
+
+    /**
+     * Processes the batch of {@link Exchange}s.
+     * <p/>
+     * If an individual exchange in the batch fails, then the exception should be set on the given exchange via
+     * {@link Exchange#setException(Throwable)}, so the error can be handled for the exchange(s) that failed. Throwing
+     * an exception means the entire batch failed.
+     * <p/>
+     * The default implementation processes the exchanges one at a time via {@link #process(Exchange)}.
+     *
+     * @param  exchanges the batch of exchanges
+     * @throws Exception is thrown if the entire batch failed
+     */
+    default void processBatch(List<Exchange> exchanges) throws Exception {
+        for (Exchange exchange : exchanges) {
+            try {
+                process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+        }
+    }
+
+    /**
+     * Processes the batch of {@link Exchange}s asynchronously.
+     * <p/>
+     * If an individual exchange in the batch fails, then the exception should be set on the given exchange via
+     * {@link Exchange#setException(Throwable)}. If the entire batch failed, then the exception should be set on all the
+     * exchanges of the batch.
+     * <p/>
+     * The default implementation calls {@link #processBatch(List)} and completes synchronously.
+     *
+     * @param  exchanges the batch of exchanges
+     * @param  callback  the callback to invoke when the batch has been processed
+     * @return           (doneSync) <tt>true</tt> to continue execute synchronously, <tt>false</tt> to continue being
+     *                   executed asynchronously
+     */
+    default boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        try {
+            processBatch(exchanges);
+        } catch (Exception e) {
+            for (Exchange exchange : exchanges) {
+                exchange.setException(e);
+            }
+        }
+        callback.done(true);
+        return true;
+    }
+
+}
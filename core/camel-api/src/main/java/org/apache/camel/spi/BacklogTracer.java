@@ -169,6 +169,22 @@ public interface BacklogTracer {
      */
     void setTraceFilter(String filter);
 
+    /**
+     * Sample rate where only 1 out of N exchanges is traced. The default value is 1, which traces every exchange.
+     */
+    default int getSampleRate() {
+        return 1;
+    }
+
+    /**
+     * Sample rate where only 1 out of N exchanges is traced. The default value is 1, which traces every exchange.
+     * <p/>
+     * Tracers that do not support sampling ignore this option and trace every exchange.
+     */
+    default void setSampleRate(int sampleRate) {
+        // noop
+    }
+
     /**
      * Gets the trace counter (total number of traced messages)
      */
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A pool of {@link ByteBuffer}s which can be shared among Camel and its components to reuse buffers for I/O (such as
+ * when copying streams), instead of allocating new buffers for every message.
+ * <p/>
+ * A buffer acquired from the pool must be released back to the pool when no longer in use, and must not be used after
+ * it has been released.
+ */
+public interface ByteBufferPool {
+
+    /**
+     * Utilization statistics of the pool.
+     */
+    interface Statistics {
+
+        /**
+         * Number of buffers acquired which were reused from the pool
+         */
+        long getHitCounter();
+
+        /**
+         * Number of buffers acquired which had to be allocated as the pool had no free buffer
+         */
+        long getMissCounter();
+
+        /**
+         * Number of buffers acquired and not yet released back to the pool
+         */
+        long getOutstanding();
+
+        /**
+         * Number of free buffers currently kept in the pool
+         */
+        int getPooled();
+
+        /**
+         * Reset the counters
+         */
+        void reset();
+    }
+
+    /**
+     * Acquires a heap buffer from the pool, which is backed by an accessible array (with an array offset of zero).
+     *
+     * @param  capacity the minimum capacity of the buffer
+     * @return          a cleared buffer with at least the given capacity
+     */
+    ByteBuffer acquire(int capacity);
+
+    /**
+     * Acquires a direct buffer from the pool.
+     *
+     * @param  capacity the minimum capacity of the buffer
+     * @return          a cleared buffer with at least the given capacity
+     */
+    ByteBuffer acquireDirect(int capacity);
+
+    /**
+     * Releases the buffer back to the pool.
+     *
+     * @param buffer the buffer
+     */
+    void release(ByteBuffer buffer);
+
+    /**
+     * Gets the utilization statistics of this pool
+     */
+    Statistics getStatistics();
+
+}
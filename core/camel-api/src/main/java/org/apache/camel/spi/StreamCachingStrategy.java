@@ -224,6 +224,30 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Whether to spool to disk using memory mapped files.
+     * <p/>
+     * The data is written into memory mapped regions of the spool file, and reading the stream cache (and any copies
+     * of the stream cache, such as from multicast or wire-tap) reads from the memory mapped regions which are shared
+     * among the readers, instead of reading the file again via stream I/O.
+     * <p/>
+     * This option is not in use when a spool cipher is configured, as the data is then encrypted when spooled to disk.
+     * <p/>
+     * This option is default <tt>false</tt>
+     */
+    void setSpoolMapped(boolean spoolMapped);
+
+    boolean isSpoolMapped();
+
+    /**
+     * The size in bytes of each memory mapped region when spooling to disk using memory mapped files.
+     * <p/>
+     * The default size is 8mb
+     */
+    void setSpoolMappedChunkSize(int chunkSize);
+
+    int getSpoolMappedChunkSize();
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
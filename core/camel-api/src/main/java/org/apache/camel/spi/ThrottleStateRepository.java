@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Service;
+
+/**
+ * Repository for the state of the <a href="http://camel.apache.org/throttler.html">Throttler</a> EIP, which keeps track
+ * of the requests that have been allowed within a time period.
+ * <p/>
+ * By default, the throttler keeps its state in memory, which means that each Camel application throttles on its own. A
+ * repository that stores the state in a shared store (such as a data grid) allows several Camel applications (such as
+ * in a cluster) to share the same rate limit.
+ * <p/>
+ * The permits are acquired per key, which is the correlation key of the throttler. Several throttlers using the same
+ * repository and key share the same rate limit.
+ */
+public interface ThrottleStateRepository extends Service {
+
+    /**
+     * Attempts to acquire the given number of permits for the given key, where no more than
+     * <tt>maximumRequests</tt> permits can be acquired within the time period.
+     *
+     * @param  key              the key (correlation key of the throttler)
+     * @param  permits          the number of permits to acquire
+     * @param  maximumRequests  the maximum number of requests within the time period
+     * @param  timePeriodMillis the time period in millis
+     * @return                  <tt>true</tt> if the permits were acquired, or <tt>false</tt> if not enough permits are
+     *                          available
+     */
+    boolean tryAcquire(String key, int permits, int maximumRequests, long timePeriodMillis);
+
+}
@@ -125,6 +125,25 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
      */
     TypeConverter lookup(Class<?> toType, Class<?> fromType);
 
+    /**
+     * Resolves a type converter for converting between the given types, which can be kept and reused by callers that
+     * convert values of the same type over and over again.
+     * <p/>
+     * The returned type converter remembers the converter resolved from this registry, and therefore avoids looking up
+     * the registry on every conversion. Values of other types are converted by this registry as usual.
+     *
+     * <p/>
+     * The default implementation returns the type converter of the {@link org.apache.camel.CamelContext}, which looks
+     * up the registry on every conversion.
+     *
+     * @param  toType   the type to convert to
+     * @param  fromType the type to convert from
+     * @return          the type converter (never <tt>null</tt>)
+     */
+    default TypeConverter resolveTypeConverter(Class<?> toType, Class<?> fromType) {
+        return getCamelContext().getTypeConverter();
+    }
+
     /**
      * Sets the injector to be used for creating new instances during type conversions.
      *
@@ -30,6 +30,7 @@ import org.apache.camel.Predicate;
 import org.apache.camel.spi.BacklogTracerEventMessage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.PatternHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.StringHelper;
@@ -70,6 +71,7 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
     private String[] patterns;
     private String traceFilter;
     private Predicate predicate;
+    private int sampleRate = 1;
 
     private BacklogTracer(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -97,6 +99,10 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         if (!enabled) {
             return false;
         }
+        if (sampleRate > 1 && !ExchangeHelper.isSampled(exchange, sampleRate)) {
+            // skip before the message is dumped, so unsampled exchanges have no overhead
+            return false;
+        }
 
         boolean pattern = true;
         boolean filter = true;
@@ -310,6 +316,19 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         }
     }
 
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("The sample rate must be a positive number, was: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
     @Override
     public long getTraceCounter() {
         return traceCounter.get();
@@ -92,6 +92,7 @@ import org.apache.camel.spi.BeanIntrospection;
 import org.apache.camel.spi.BeanProcessorFactory;
 import org.apache.camel.spi.BeanProxyFactory;
 import org.apache.camel.spi.BootstrapCloseable;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.CamelBeanPostProcessor;
 import org.apache.camel.spi.CamelContextNameStrategy;
 import org.apache.camel.spi.CamelContextTracker;
@@ -381,6 +382,7 @@ public abstract class AbstractCamelContext extends BaseService
         camelContextExtension.lazyAddContextPlugin(AnnotationBasedProcessorFactory.class,
                 this::createAnnotationBasedProcessorFactory);
         camelContextExtension.lazyAddContextPlugin(DumpRoutesStrategy.class, this::createDumpRoutesStrategy);
+        camelContextExtension.lazyAddContextPlugin(ByteBufferPool.class, this::createByteBufferPool);
     }
 
     protected static <T> T lookup(CamelContext context, String ref, Class<T> type) {
@@ -4251,6 +4253,10 @@ public abstract class AbstractCamelContext extends BaseService
 
     protected abstract DumpRoutesStrategy createDumpRoutesStrategy();
 
+    protected ByteBufferPool createByteBufferPool() {
+        return new DefaultByteBufferPool();
+    }
+
     protected abstract Tracer createTracer();
 
     protected abstract LanguageResolver createLanguageResolver();
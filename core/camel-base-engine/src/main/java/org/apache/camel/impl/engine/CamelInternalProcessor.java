@@ -136,15 +136,12 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
     @Override
     protected void doBuild() throws Exception {
-        boolean pooled = camelContext.getCamelContextExtension().getExchangeFactory().isPooled();
-
-        // only create pooled task factory
-        if (pooled) {
-            taskFactory = new CamelInternalPooledTaskFactory();
-            int capacity = camelContext.getCamelContextExtension().getExchangeFactory().getCapacity();
-            taskFactory.setCapacity(capacity);
-            LOG.trace("Using TaskFactory: {}", taskFactory);
-        }
+        // the after tasks (and their advice states) are always pooled (regardless if exchanges are pooled)
+        // as they are only used internally during routing, which avoids allocating per exchange in steady state
+        taskFactory = new CamelInternalPooledTaskFactory();
+        int capacity = camelContext.getCamelContextExtension().getExchangeFactory().getCapacity();
+        taskFactory.setCapacity(capacity);
+        LOG.trace("Using TaskFactory: {}", taskFactory);
 
         ServiceHelper.buildService(taskFactory, processor);
     }
@@ -294,7 +291,8 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
         // create internal callback which will execute the advices in reverse order when done
         CamelInternalTask afterTask = taskFactory != null ? taskFactory.acquire() : null;
-        if (afterTask == null) {
+        if (afterTask == null || afterTask.getStates().length != statefulAdvices) {
+            // no pooled task or the task is stale (advices with state has been added after it was pooled)
             states = statefulAdvices > 0 ? new Object[statefulAdvices] : EMPTY_STATES;
             afterTask = new AsyncAfterTask(states);
         } else {
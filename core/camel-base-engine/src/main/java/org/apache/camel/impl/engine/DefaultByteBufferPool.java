@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.spi.ByteBufferPool;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Default {@link ByteBufferPool} which keeps free buffers in arenas by size classes (powers of two), with separate
+ * arenas for heap and direct buffers.
+ * <p/>
+ * Buffers are acquired with the capacity of the smallest size class that fits the requested capacity. Requests larger
+ * than the largest size class are allocated (and not pooled).
+ * <p/>
+ * The pool is ready for use when created. Initializing the pool applies the configured maximum number of free buffers
+ * per size class, and stopping the pool drops the free buffers.
+ */
+public class DefaultByteBufferPool extends ServiceSupport implements ByteBufferPool {
+
+    public static final int MIN_BUFFER_SIZE = 4 * 1024;
+    public static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SHIFT + 1;
+
+    private final DefaultStatistics statistics = new DefaultStatistics();
+    private int maxPooledPerSize = 16;
+    private volatile Arena[] heap = createArenas();
+    private volatile Arena[] direct = createArenas();
+
+    public int getMaxPooledPerSize() {
+        return maxPooledPerSize;
+    }
+
+    /**
+     * Maximum number of free buffers to keep in the pool for each size class (for heap and direct buffers each).
+     * <p/>
+     * The default value is 16.
+     */
+    public void setMaxPooledPerSize(int maxPooledPerSize) {
+        this.maxPooledPerSize = maxPooledPerSize;
+    }
+
+    @Override
+    public ByteBuffer acquire(int capacity) {
+        return acquire(heap, capacity, false);
+    }
+
+    @Override
+    public ByteBuffer acquireDirect(int capacity) {
+        return acquire(direct, capacity, true);
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        statistics.released.increment();
+        Arena[] arenas = buffer.isDirect() ? direct : heap;
+        int index = sizeClass(buffer.capacity());
+        if (arenas != null && index < SIZE_CLASSES && arenas[index].size == buffer.capacity() && !buffer.isReadOnly()) {
+            buffer.clear();
+            arenas[index].offer(buffer);
+        }
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        heap = createArenas();
+        direct = createArenas();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // drop all the free buffers so they can be garbage collected
+        heap = createArenas();
+        direct = createArenas();
+    }
+
+    private Arena[] createArenas() {
+        Arena[] answer = new Arena[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            answer[i] = new Arena(MIN_BUFFER_SIZE << i, maxPooledPerSize);
+        }
+        return answer;
+    }
+
+    private ByteBuffer acquire(Arena[] arenas, int capacity, boolean isDirect) {
+        statistics.acquired.increment();
+        int index = sizeClass(capacity);
+        if (arenas == null || index >= SIZE_CLASSES) {
+            statistics.misses.increment();
+            return isDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+        Arena arena = arenas[index];
+        ByteBuffer answer = arena.poll();
+        if (answer != null) {
+            statistics.hits.increment();
+            return answer;
+        }
+        statistics.misses.increment();
+        return isDirect ? ByteBuffer.allocateDirect(arena.size) : ByteBuffer.allocate(arena.size);
+    }
+
+    /**
+     * The index of the smallest size class that can hold the given capacity
+     */
+    private static int sizeClass(int capacity) {
+        if (capacity <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        // round up to the next power of two
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SHIFT;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultByteBufferPool[maxPooledPerSize=" + maxPooledPerSize + "]";
+    }
+
+    /**
+     * The free buffers of a given size, kept in slots which are taken and filled atomically.
+     */
+    private static final class Arena {
+        private final int size;
+        private final AtomicReferenceArray<ByteBuffer> slots;
+
+        Arena(int size, int capacity) {
+            this.size = size;
+            this.slots = new AtomicReferenceArray<>(Math.max(0, capacity));
+        }
+
+        ByteBuffer poll() {
+            int len = slots.length();
+            int start = start(len);
+            for (int i = 0; i < len; i++) {
+                int index = (start + i) % len;
+                if (slots.get(index) != null) {
+                    ByteBuffer answer = slots.getAndSet(index, null);
+                    if (answer != null) {
+                        return answer;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void offer(ByteBuffer buffer) {
+            int len = slots.length();
+            int start = start(len);
+            for (int i = 0; i < len; i++) {
+                int index = (start + i) % len;
+                if (slots.get(index) == null && slots.compareAndSet(index, null, buffer)) {
+                    return;
+                }
+            }
+            // the arena is full so the buffer is garbage collected
+        }
+
+        int count() {
+            int answer = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) != null) {
+                    answer++;
+                }
+            }
+            return answer;
+        }
+
+        private static int start(int len) {
+            // spread the threads over the slots to reduce contention
+            return len == 0 ? 0 : (int) (Thread.currentThread().getId() % len);
+        }
+    }
+
+    private final class DefaultStatistics implements Statistics {
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder released = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        @Override
+        public long getHitCounter() {
+            return hits.sum();
+        }
+
+        @Override
+        public long getMissCounter() {
+            return misses.sum();
+        }
+
+        @Override
+        public long getOutstanding() {
+            return acquired.sum() - released.sum();
+        }
+
+        @Override
+        public int getPooled() {
+            int answer = 0;
+            for (Arena[] arenas : new Arena[][] { heap, direct }) {
+                if (arenas != null) {
+                    for (Arena arena : arenas) {
+                        answer += arena.count();
+                    }
+                }
+            }
+            return answer;
+        }
+
+        @Override
+        public void reset() {
+            hits.reset();
+            misses.reset();
+        }
+
+        @Override
+        public String toString() {
+            return "ByteBufferPool[hits=" + getHitCounter() + ", misses=" + getMissCounter() + ", outstanding="
+                   + getOutstanding() + ", pooled=" + getPooled() + "]";
+        }
+    }
+}
@@ -133,14 +133,34 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
             return Collections.emptyList();
         }
 
-        Stream<Exchange> values;
-        if (fromRouteId == null) {
-            // all values
-            values = inflight.values().stream();
+        return browse(inflight.values().stream(), fromRouteId, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public InflightExchange oldest(String fromRouteId) {
+        if (!inflightExchangeEnabled) {
+            return null;
+        }
+
+        return oldest(inflight.values().stream(), fromRouteId);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
         } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+    }
+
+    static Collection<InflightExchange> browse(
+            Stream<Exchange> values, String fromRouteId, int limit, boolean sortByLongestDuration) {
+        if (fromRouteId != null) {
             // only if route match
-            values = inflight.values().stream()
-                    .filter(e -> fromRouteId.equals(e.getFromRouteId()));
+            values = values.filter(e -> fromRouteId.equals(e.getFromRouteId()));
         }
 
         if (sortByLongestDuration) {
@@ -163,21 +183,10 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return values.map(InflightExchangeEntry::new).collect(Collectors.toUnmodifiableList());
     }
 
-    @Override
-    public InflightExchange oldest(String fromRouteId) {
-        if (!inflightExchangeEnabled) {
-            return null;
-        }
-
-        Stream<Exchange> values;
-
-        if (fromRouteId == null) {
-            // all values
-            values = inflight.values().stream();
-        } else {
+    static InflightExchange oldest(Stream<Exchange> values, String fromRouteId) {
+        if (fromRouteId != null) {
             // only if route match
-            values = inflight.values().stream()
-                    .filter(e -> fromRouteId.equals(e.getFromRouteId()));
+            values = values.filter(e -> fromRouteId.equals(e.getFromRouteId()));
         }
 
         // sort by duration and grab the first
@@ -195,17 +204,6 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         }
     }
 
-    @Override
-    protected void doStop() throws Exception {
-        int count = size();
-        if (count > 0) {
-            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
-        } else {
-            LOG.debug("Shutting down with no inflight exchanges.");
-        }
-        routeCount.clear();
-    }
-
     private static long getExchangeDuration(Exchange exchange) {
         return exchange.getClock().elapsed();
     }
@@ -16,18 +16,39 @@
  */
 package org.apache.camel.impl.engine;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NamedNode;
 import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.MessageHistoryFactory;
 import org.apache.camel.support.DefaultMessageHistory;
+import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.PatternHelper;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.SampleRingBuffer;
 
+/**
+ * Default {@link MessageHistoryFactory}.
+ * <p/>
+ * The message history can be sampled, so it is cheap enough to keep enabled in production:
+ * <ul>
+ * <li>head-based sampling ({@link #setSampleRate(int)}) records the history for only 1 out of N exchanges, where the
+ * other exchanges do not create any {@link MessageHistory}.</li>
+ * <li>tail-based sampling ({@link #setSampleFailed(boolean)} and {@link #setSampleSlowThreshold(long)}) decides when
+ * the exchange is done whether to keep its history, for exchanges that failed or that were slower than the threshold.
+ * The kept histories are stored in a bounded ring buffer ({@link #setSampleBufferSize(int)}) and can be browsed with
+ * {@link #getSampledMessageHistories()}.</li>
+ * </ul>
+ */
 @ManagedResource(description = "Managed MessageHistoryFactory")
 public class DefaultMessageHistoryFactory extends ServiceSupport implements MessageHistoryFactory {
 
@@ -35,6 +56,11 @@ public class DefaultMessageHistoryFactory extends ServiceSupport implements Mess
     private boolean copyMessage;
     private String nodePattern;
     private volatile String[] nodePatternParts;
+    private int sampleRate = 1;
+    private boolean sampleFailed;
+    private long sampleSlowThreshold;
+    private int sampleBufferSize = 100;
+    private volatile SampleRingBuffer<SampledMessageHistory> sampled;
 
     @Override
     public CamelContext getCamelContext() {
@@ -48,6 +74,13 @@ public class DefaultMessageHistoryFactory extends ServiceSupport implements Mess
 
     @Override
     public MessageHistory newMessageHistory(String routeId, NamedNode node, Exchange exchange) {
+        boolean first = (sampleRate > 1 || sampled != null)
+                && exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY) == null;
+        if (first && !ExchangeHelper.isSampled(exchange, sampleRate)) {
+            // the exchange is not sampled (an exchange with existing history is sampled, eg a copy from a splitter)
+            return null;
+        }
+
         if (nodePatternParts != null) {
             String name = node.getShortName();
             for (String part : nodePatternParts) {
@@ -65,6 +98,12 @@ public class DefaultMessageHistoryFactory extends ServiceSupport implements Mess
 
         DefaultMessageHistory answer = new DefaultMessageHistory(routeId, node, msg);
         answer.setAcceptDebugger(node.acceptDebugger(exchange));
+
+        SampleRingBuffer<SampledMessageHistory> buffer = sampled;
+        if (first && buffer != null) {
+            // tail-based sampling is decided when the exchange is done
+            exchange.getExchangeExtension().addOnCompletion(new SampleOnCompletion(buffer, routeId));
+        }
         return answer;
     }
 
@@ -100,4 +139,188 @@ public class DefaultMessageHistoryFactory extends ServiceSupport implements Mess
         }
     }
 
+    @ManagedAttribute(description = "Sample rate where the message history is recorded for 1 out of N exchanges")
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the sample rate (head-based sampling) where the message history is only recorded for 1 out of N exchanges.
+     * <p/>
+     * The default value is 1, which records the history of every exchange.
+     */
+    @ManagedAttribute(description = "Sample rate where the message history is recorded for 1 out of N exchanges")
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("SampleRate must be a positive number, was: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @ManagedAttribute(description = "Whether to keep the message history of exchanges that failed")
+    public boolean isSampleFailed() {
+        return sampleFailed;
+    }
+
+    /**
+     * Whether to keep the message history of exchanges that failed in the sample buffer (tail-based sampling).
+     */
+    @ManagedAttribute(description = "Whether to keep the message history of exchanges that failed")
+    public void setSampleFailed(boolean sampleFailed) {
+        this.sampleFailed = sampleFailed;
+        updateSampleBuffer();
+    }
+
+    @ManagedAttribute(description = "Threshold in millis for keeping the message history of slow exchanges")
+    public long getSampleSlowThreshold() {
+        return sampleSlowThreshold;
+    }
+
+    /**
+     * Threshold in millis, where the message history of exchanges that took longer is kept in the sample buffer
+     * (tail-based sampling). The default value is 0, which is turned off.
+     */
+    @ManagedAttribute(description = "Threshold in millis for keeping the message history of slow exchanges")
+    public void setSampleSlowThreshold(long sampleSlowThreshold) {
+        this.sampleSlowThreshold = sampleSlowThreshold;
+        updateSampleBuffer();
+    }
+
+    @ManagedAttribute(description = "Maximum number of sampled message histories to keep")
+    public int getSampleBufferSize() {
+        return sampleBufferSize;
+    }
+
+    /**
+     * Maximum number of sampled message histories to keep (rounded up to a power of two), where the oldest is
+     * discarded when the buffer is full. The default value is 100.
+     */
+    public void setSampleBufferSize(int sampleBufferSize) {
+        if (sampleBufferSize < 1) {
+            throw new IllegalArgumentException("SampleBufferSize must be a positive number, was: " + sampleBufferSize);
+        }
+        this.sampleBufferSize = sampleBufferSize;
+        this.sampled = null;
+        updateSampleBuffer();
+    }
+
+    @ManagedAttribute(description = "Total number of message histories that has been sampled")
+    public long getSampledCount() {
+        SampleRingBuffer<SampledMessageHistory> buffer = sampled;
+        return buffer != null ? buffer.getAddedCount() : 0;
+    }
+
+    /**
+     * The message histories kept by tail-based sampling, ordered from oldest to newest.
+     */
+    public List<SampledMessageHistory> getSampledMessageHistories() {
+        SampleRingBuffer<SampledMessageHistory> buffer = sampled;
+        return buffer != null ? buffer.snapshot() : Collections.emptyList();
+    }
+
+    @ManagedOperation(description = "Clears the sampled message histories")
+    public void clearSampledMessageHistories() {
+        SampleRingBuffer<SampledMessageHistory> buffer = sampled;
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    private void updateSampleBuffer() {
+        if (sampleFailed || sampleSlowThreshold > 0) {
+            if (sampled == null) {
+                sampled = new SampleRingBuffer<>(sampleBufferSize);
+            }
+        } else {
+            sampled = null;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clearSampledMessageHistories();
+    }
+
+    private final class SampleOnCompletion extends SynchronizationAdapter {
+
+        private final SampleRingBuffer<SampledMessageHistory> buffer;
+        private final String routeId;
+
+        private SampleOnCompletion(SampleRingBuffer<SampledMessageHistory> buffer, String routeId) {
+            this.buffer = buffer;
+            this.routeId = routeId;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onDone(Exchange exchange) {
+            long elapsed = exchange.getClock().elapsed();
+            Throwable cause = exchange.getException();
+            boolean keep = sampleFailed && exchange.isFailed() || sampleSlowThreshold > 0 && elapsed > sampleSlowThreshold;
+            if (keep) {
+                List<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class);
+                if (list != null) {
+                    buffer.add(new SampledMessageHistory(
+                            exchange.getExchangeId(), routeId, exchange.getClock().getCreated(), elapsed, cause,
+                            List.copyOf(list)));
+                }
+            }
+        }
+    }
+
+    /**
+     * The message history of an exchange that was kept by tail-based sampling.
+     */
+    public static final class SampledMessageHistory {
+
+        private final String exchangeId;
+        private final String routeId;
+        private final long created;
+        private final long elapsed;
+        private final Throwable exception;
+        private final List<MessageHistory> messageHistory;
+
+        public SampledMessageHistory(String exchangeId, String routeId, long created, long elapsed, Throwable exception,
+                                     List<MessageHistory> messageHistory) {
+            this.exchangeId = exchangeId;
+            this.routeId = routeId;
+            this.created = created;
+            this.elapsed = elapsed;
+            this.exception = exception;
+            this.messageHistory = messageHistory;
+        }
+
+        public String getExchangeId() {
+            return exchangeId;
+        }
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * The exception, if the exchange failed.
+         */
+        public Throwable getException() {
+            return exception;
+        }
+
+        public List<MessageHistory> getMessageHistory() {
+            return messageHistory;
+        }
+
+        @Override
+        public String toString() {
+            return "SampledMessageHistory[" + exchangeId + " in " + elapsed + " ms]";
+        }
+    }
+
 }
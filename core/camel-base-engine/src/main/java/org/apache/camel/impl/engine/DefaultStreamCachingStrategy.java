@@ -61,6 +61,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private int spoolUsedHeapMemoryThreshold;
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
+    private boolean spoolMapped;
+    private int spoolMappedChunkSize = 8 * 1024 * 1024;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
@@ -180,6 +182,26 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.spoolCipher = spoolCipher;
     }
 
+    @Override
+    public boolean isSpoolMapped() {
+        return spoolMapped;
+    }
+
+    @Override
+    public void setSpoolMapped(boolean spoolMapped) {
+        this.spoolMapped = spoolMapped;
+    }
+
+    @Override
+    public int getSpoolMappedChunkSize() {
+        return spoolMappedChunkSize;
+    }
+
+    @Override
+    public void setSpoolMappedChunkSize(int spoolMappedChunkSize) {
+        this.spoolMappedChunkSize = spoolMappedChunkSize;
+    }
+
     @Override
     public int getBufferSize() {
         return bufferSize;
@@ -402,6 +424,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             throw new IllegalArgumentException(
                     "SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
+        if (spoolMapped && spoolMappedChunkSize <= 0) {
+            throw new IllegalArgumentException("SpoolMappedChunkSize must be higher than 0, was: " + spoolMappedChunkSize);
+        }
 
         // if we can overflow to disk then make sure directory exists / is created
         if (spoolEnabled && (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0)) {
@@ -483,6 +508,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + "spoolDirectoryEnabled=" + spoolEnabled
                + ", spoolDirectory=" + spoolDirectory
                + ", spoolCipher=" + spoolCipher
+               + ", spoolMapped=" + spoolMapped
+               + ", spoolMappedChunkSize=" + spoolMappedChunkSize
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link InflightRepository} for high throughput, where the counters are striped per CPU core (using
+ * {@link LongAdder}) and the browse view is only tracked when inflight browsing is enabled.
+ * <p/>
+ * Unlike {@link DefaultInflightRepository} the inflight exchanges are tracked by identity, so an exchange id is not
+ * created for every exchange. The exchanges can also be sampled (see {@link #setBrowseSampleRate(int)}) so only 1 out
+ * of N exchanges is tracked, which keeps the hash map writes off most exchanges. When sampling, the browse view is a
+ * sample of the inflight exchanges, whereas {@link #size()} and {@link #size(String)} are always exact.
+ */
+public class StripedInflightRepository extends ServiceSupport implements InflightRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedInflightRepository.class);
+
+    private final LongAdder size = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final Set<Exchange> inflight = ConcurrentHashMap.newKeySet();
+    private volatile boolean inflightBrowseEnabled;
+    private int browseSampleRate = 1;
+
+    @Override
+    public void add(Exchange exchange) {
+        size.increment();
+
+        if (inflightBrowseEnabled && sample()) {
+            inflight.add(exchange);
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange) {
+        size.decrement();
+
+        if (inflightBrowseEnabled) {
+            inflight.remove(exchange);
+        }
+    }
+
+    @Override
+    public void add(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.increment();
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.decrement();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void addRoute(String routeId) {
+        routeCount.putIfAbsent(routeId, new LongAdder());
+    }
+
+    @Override
+    public void removeRoute(String routeId) {
+        routeCount.remove(routeId);
+    }
+
+    @Override
+    public int size(String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? existing.intValue() : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+        if (!inflightBrowseEnabled) {
+            // exchanges added while enabled would otherwise never be removed
+            inflight.clear();
+        }
+    }
+
+    public int getBrowseSampleRate() {
+        return browseSampleRate;
+    }
+
+    /**
+     * Sets the sample rate when inflight browsing is enabled, where 1 out of N exchanges is tracked for browsing.
+     * <p/>
+     * The default value is 1, which tracks every exchange.
+     */
+    public void setBrowseSampleRate(int browseSampleRate) {
+        if (browseSampleRate < 1) {
+            throw new IllegalArgumentException("BrowseSampleRate must be a positive number, was: " + browseSampleRate);
+        }
+        this.browseSampleRate = browseSampleRate;
+    }
+
+    @Override
+    public Collection<InflightExchange> browse() {
+        return browse(null, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId) {
+        return browse(fromRouteId, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(int limit, boolean sortByLongestDuration) {
+        return browse(null, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId, int limit, boolean sortByLongestDuration) {
+        if (!inflightBrowseEnabled) {
+            return Collections.emptyList();
+        }
+
+        return DefaultInflightRepository.browse(inflight.stream(), fromRouteId, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public InflightExchange oldest(String fromRouteId) {
+        if (!inflightBrowseEnabled) {
+            return null;
+        }
+
+        return DefaultInflightRepository.oldest(inflight.stream(), fromRouteId);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
+        } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+        inflight.clear();
+    }
+
+    private boolean sample() {
+        int rate = browseSampleRate;
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+}
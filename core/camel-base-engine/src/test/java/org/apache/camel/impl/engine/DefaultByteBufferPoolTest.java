@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultByteBufferPoolTest {
+
+    @Test
+    public void testAcquireAndRelease() {
+        DefaultByteBufferPool pool = new DefaultByteBufferPool();
+        pool.start();
+
+        ByteBuffer buffer = pool.acquire(5000);
+        assertEquals(8192, buffer.capacity());
+        assertTrue(buffer.hasArray());
+        assertFalse(buffer.isDirect());
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer other = pool.acquire(8192);
+        assertSame(buffer, other);
+        assertEquals(0, other.position());
+        assertEquals(8192, other.limit());
+
+        // smaller size class
+        assertEquals(DefaultByteBufferPool.MIN_BUFFER_SIZE, pool.acquire(10).capacity());
+
+        assertEquals(1, pool.getStatistics().getHitCounter());
+        assertEquals(2, pool.getStatistics().getMissCounter());
+        assertEquals(2, pool.getStatistics().getOutstanding());
+        assertEquals(0, pool.getStatistics().getPooled());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testDirect() {
+        DefaultByteBufferPool pool = new DefaultByteBufferPool();
+        pool.start();
+
+        ByteBuffer buffer = pool.acquireDirect(4096);
+        assertTrue(buffer.isDirect());
+        pool.release(buffer);
+
+        // heap and direct buffers are kept apart
+        assertNotSame(buffer, pool.acquire(4096));
+        assertSame(buffer, pool.acquireDirect(4096));
+
+        pool.stop();
+    }
+
+    @Test
+    public void testNotPooled() {
+        DefaultByteBufferPool pool = new DefaultByteBufferPool();
+        pool.setMaxPooledPerSize(1);
+        pool.start();
+
+        // larger than the largest size class
+        ByteBuffer large = pool.acquire(DefaultByteBufferPool.MAX_BUFFER_SIZE + 1);
+        assertEquals(DefaultByteBufferPool.MAX_BUFFER_SIZE + 1, large.capacity());
+        pool.release(large);
+        assertEquals(0, pool.getStatistics().getPooled());
+
+        // not a size class, or read-only
+        pool.release(ByteBuffer.allocate(5000));
+        pool.release(ByteBuffer.allocate(4096).asReadOnlyBuffer());
+        assertEquals(0, pool.getStatistics().getPooled());
+
+        // only one buffer per size class is kept
+        pool.release(ByteBuffer.allocate(4096));
+        pool.release(ByteBuffer.allocate(4096));
+        assertEquals(1, pool.getStatistics().getPooled());
+
+        pool.stop();
+        assertEquals(0, pool.getStatistics().getPooled());
+    }
+
+    @Test
+    public void testPooledBeforeStarted() {
+        DefaultByteBufferPool pool = new DefaultByteBufferPool();
+
+        ByteBuffer buffer = pool.acquire(4096);
+        pool.release(buffer);
+        assertSame(buffer, pool.acquire(4096));
+        assertEquals(1, pool.getStatistics().getHitCounter());
+    }
+
+}
@@ -16,11 +16,14 @@
  */
 package org.apache.camel.impl.converter;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.CamelExecutionException;
@@ -57,6 +60,9 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
     private static final Logger LOG = LoggerFactory.getLogger(CoreTypeConverterRegistry.class);
 
+    // the maximum number of type pairs to remember that cannot be converted
+    private static final int MISS_CACHE_SIZE = 1000;
+
     // fallback converters
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     // special enum converter for optional performance
@@ -70,6 +76,10 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     // Why 256: as of Camel 4, we have about 230 type converters. Therefore, set the capacity to a few more to provide
     // space for others added during runtime
     private final Map<TypeConvertible<?, ?>, TypeConverter> converters = new ConcurrentHashMap<>(256);
+    // the type pairs we have previously attempted to convert but missed
+    private final Set<TypeConvertible<?, ?>> misses = ConcurrentHashMap.newKeySet();
+    // incremented whenever converters are added or removed so pre-resolved converters are refreshed
+    private final AtomicInteger generation = new AtomicInteger();
 
     protected CoreTypeConverterRegistry(boolean statisticsEnabled) {
         if (statisticsEnabled) {
@@ -148,8 +158,12 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+        return convertTo(type, exchange, value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T convertTo(Class<T> type, Exchange exchange, Object value, TypeConverterHandle handle) {
         // optimize for a few common conversions
 
         if (value != null) {
@@ -161,7 +175,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
             // NOTE: we cannot optimize any more if value is String as it may be time pattern and other patterns
         }
 
-        return (T) doConvertToAndStat(type, exchange, value, false);
+        return (T) doConvertToAndStat(type, exchange, value, false, handle);
     }
 
     private static Boolean customParseBoolean(String str) {
@@ -180,8 +194,13 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         return mandatoryConvertTo(type, null, value);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value) throws NoTypeConversionAvailableException {
+        return mandatoryConvertTo(type, exchange, value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value, TypeConverterHandle handle)
+            throws NoTypeConversionAvailableException {
         // optimize for a few common conversions
         if (value != null) {
             T ret = fastConvertTo(type, exchange, value);
@@ -190,7 +209,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
             }
         }
 
-        Object answer = doConvertToAndStat(type, exchange, value, false);
+        Object answer = doConvertToAndStat(type, exchange, value, false, handle);
         if (answer == null) {
             // Could not find suitable conversion
             throw new NoTypeConversionAvailableException(value, type);
@@ -202,8 +221,12 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         return tryConvertTo(type, null, value);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T tryConvertTo(Class<T> type, Exchange exchange, Object value) {
+        return tryConvertTo(type, exchange, value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T tryConvertTo(Class<T> type, Exchange exchange, Object value, TypeConverterHandle handle) {
         // optimize for a few common conversions
         if (value != null) {
             if (type.isInstance(value)) {
@@ -249,7 +272,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
             // NOTE: we cannot optimize any more if value is String as it may be time pattern and other patterns
         }
 
-        return (T) doConvertToAndStat(type, exchange, value, true);
+        return (T) doConvertToAndStat(type, exchange, value, true, handle);
     }
 
     private static <T> void requireNonNullBoolean(Class<T> type, Object value, Object answer) {
@@ -263,10 +286,16 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     protected Object doConvertToAndStat(
             final Class<?> type, final Exchange exchange, final Object value,
             final boolean tryConvert) {
+        return doConvertToAndStat(type, exchange, value, tryConvert, null);
+    }
+
+    private Object doConvertToAndStat(
+            final Class<?> type, final Exchange exchange, final Object value,
+            final boolean tryConvert, final TypeConverterHandle handle) {
 
         Object answer = null;
         try {
-            answer = doConvertTo(type, exchange, value, tryConvert);
+            answer = doConvertTo(type, exchange, value, tryConvert, handle);
         } catch (Exception e) {
             // only record if not try
             if (!tryConvert) {
@@ -339,6 +368,12 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     protected Object doConvertTo(
             final Class<?> type, final Exchange exchange, final Object value,
             final boolean tryConvert) {
+        return doConvertTo(type, exchange, value, tryConvert, null);
+    }
+
+    private Object doConvertTo(
+            final Class<?> type, final Exchange exchange, final Object value,
+            final boolean tryConvert, TypeConverterHandle handle) {
 
         if (value == null) {
             // no type conversion was needed
@@ -370,9 +405,18 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
         // attempt bulk first which is the fastest (also taking into account primitives)
         final Class<?> aClass = type.isPrimitive() ? ObjectHelper.convertPrimitiveTypeToWrapperType(type) : type;
-        final TypeConvertible<?, ?> typeConvertible = new TypeConvertible<>(value.getClass(), aClass);
+        final TypeConvertible<?, ?> typeConvertible;
+        final TypeConverter typeConverter;
+        if (handle != null) {
+            // the converter is pre-resolved so we can skip creating the key and looking up the converter
+            typeConvertible = handle.getTypeConvertible();
+            typeConverter = handle.resolve();
+        } else {
+            typeConvertible = new TypeConvertible<>(value.getClass(), aClass);
+            typeConverter = converters.get(typeConvertible);
+        }
 
-        final Object ret = tryCachedConverters(type, exchange, value, typeConvertible);
+        final Object ret = tryCachedConverters(type, exchange, value, typeConvertible, typeConverter);
         if (ret != null) {
             return ret;
         }
@@ -397,13 +441,19 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         }
 
         converters.put(typeConvertible, MISS_CONVERTER);
+        misses.add(typeConvertible);
+        if (misses.size() > MISS_CACHE_SIZE) {
+            // do not let the misses grow unbounded (such as when converting from many different types)
+            clearMisses();
+        }
 
         // Could not find suitable conversion, so return Void to indicate not found
         return TypeConverter.MISS_VALUE;
     }
 
-    private Object tryCachedConverters(Class<?> type, Exchange exchange, Object value, TypeConvertible<?, ?> typeConvertible) {
-        final TypeConverter typeConverter = converters.get(typeConvertible);
+    private Object tryCachedConverters(
+            Class<?> type, Exchange exchange, Object value, TypeConvertible<?, ?> typeConvertible,
+            TypeConverter typeConverter) {
         if (typeConverter != null) {
             final Object ret = typeConverter.convertTo(type, exchange, value);
             if (ret != null) {
@@ -468,9 +518,42 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         return converters.get(new TypeConvertible<>(fromType, toType));
     }
 
+    TypeConverter getTypeConverter(TypeConvertible<?, ?> typeConvertible) {
+        return converters.get(typeConvertible);
+    }
+
+    int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Invoked when converters are added or removed, which refreshes the pre-resolved converters and forgets about the
+     * type pairs that could previously not be converted, as they may be convertible now.
+     */
+    private void onConvertersChanged() {
+        generation.incrementAndGet();
+        if (!misses.isEmpty()) {
+            clearMisses();
+        }
+    }
+
+    private void clearMisses() {
+        // only visit the misses instead of all the converters
+        for (Iterator<TypeConvertible<?, ?>> it = misses.iterator(); it.hasNext();) {
+            converters.remove(it.next(), MISS_CONVERTER);
+            it.remove();
+        }
+    }
+
+    @Override
+    public TypeConverter resolveTypeConverter(Class<?> toType, Class<?> fromType) {
+        return new TypeConverterHandle(this, toType, fromType);
+    }
+
     @Override
     public void addConverter(TypeConvertible<?, ?> typeConvertible, TypeConverter typeConverter) {
         converters.put(typeConvertible, typeConverter);
+        onConvertersChanged();
     }
 
     @Override
@@ -491,6 +574,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed, so add this converter
             converters.put(typeConvertible, typeConverter);
+            onConvertersChanged();
             return;
         }
 
@@ -508,6 +592,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 converters.put(typeConvertible, typeConverter);
+                onConvertersChanged();
             }
         }
     }
@@ -532,6 +617,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
         final TypeConverter removed = converters.remove(new TypeConvertible<>(fromType, toType));
+        onConvertersChanged();
         return removed != null;
     }
 
@@ -546,10 +632,13 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        onConvertersChanged();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
-        return doLookup(toType, fromType);
+        TypeConverter answer = doLookup(toType, fromType);
+        // a previous miss is not a type converter
+        return answer != MISS_CONVERTER ? answer : null;
     }
 
     @Deprecated(since = "4.0.0")
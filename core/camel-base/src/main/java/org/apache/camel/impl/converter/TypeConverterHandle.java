@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.TypeConvertible;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A type converter that is bound to a given pair of types, which remembers the converter resolved from the registry.
+ * <p>
+ * Converting values of the bound type avoids creating the lookup key and looking up the converter in the registry on
+ * every conversion. The resolved converter is refreshed whenever type converters are added to or removed from the
+ * registry. Values of other types are converted by the registry as usual.
+ */
+final class TypeConverterHandle extends TypeConverterSupport {
+
+    private final CoreTypeConverterRegistry registry;
+    private final TypeConvertible<?, ?> typeConvertible;
+    private volatile Binding binding;
+
+    TypeConverterHandle(CoreTypeConverterRegistry registry, Class<?> toType, Class<?> fromType) {
+        this.registry = registry;
+        Class<?> to = toType.isPrimitive() ? ObjectHelper.convertPrimitiveTypeToWrapperType(toType) : toType;
+        this.typeConvertible = new TypeConvertible<>(fromType, to);
+    }
+
+    TypeConvertible<?, ?> getTypeConvertible() {
+        return typeConvertible;
+    }
+
+    /**
+     * Resolves the type converter from the registry
+     *
+     * @return the type converter, or <tt>null</tt> if the registry has no converter for the pair of types (yet)
+     */
+    TypeConverter resolve() {
+        // read the generation before looking up so a concurrent change is detected on the next call
+        final int generation = registry.getGeneration();
+        final Binding b = binding;
+        if (b != null && b.generation == generation) {
+            return b.converter;
+        }
+        final TypeConverter converter = registry.getTypeConverter(typeConvertible);
+        if (converter != null) {
+            binding = new Binding(converter, generation);
+        }
+        return converter;
+    }
+
+    @Override
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+        return registry.convertTo(type, exchange, value, bound(type, value));
+    }
+
+    @Override
+    public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value)
+            throws TypeConversionException, NoTypeConversionAvailableException {
+        return registry.mandatoryConvertTo(type, exchange, value, bound(type, value));
+    }
+
+    @Override
+    public <T> T tryConvertTo(Class<T> type, Exchange exchange, Object value) {
+        return registry.tryConvertTo(type, exchange, value, bound(type, value));
+    }
+
+    private TypeConverterHandle bound(Class<?> type, Object value) {
+        if (value != null && value.getClass() == typeConvertible.getFrom()) {
+            Class<?> to = type.isPrimitive() ? ObjectHelper.convertPrimitiveTypeToWrapperType(type) : type;
+            if (to == typeConvertible.getTo()) {
+                return this;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeConverterHandle[" + typeConvertible + "]";
+    }
+
+    private static final class Binding {
+        private final TypeConverter converter;
+        private final int generation;
+
+        private Binding(TypeConverter converter, int generation) {
+            this.converter = converter;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.util.Map;
+
+import org.apache.camel.spi.ByteBufferPool;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.console.AbstractDevConsole;
+import org.apache.camel.util.json.JsonObject;
+
+@DevConsole(name = "byte-buffer-pool", description = "Camel Byte Buffer Pool information")
+public class ByteBufferPoolDevConsole extends AbstractDevConsole {
+
+    public ByteBufferPoolDevConsole() {
+        super("camel", "byte-buffer-pool", "Byte Buffer Pool", "Camel Byte Buffer Pool information");
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+
+        ByteBufferPool pool = PluginHelper.getByteBufferPool(getCamelContext());
+        if (pool != null) {
+            ByteBufferPool.Statistics statistics = pool.getStatistics();
+            sb.append(String.format("\n    Pool: %s", pool.getClass().getName()));
+            sb.append(String.format("\n    Hit: %s", statistics.getHitCounter()));
+            sb.append(String.format("\n    Miss: %s", statistics.getMissCounter()));
+            sb.append(String.format("\n    Outstanding: %s", statistics.getOutstanding()));
+            sb.append(String.format("\n    Pooled: %s", statistics.getPooled()));
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+
+        ByteBufferPool pool = PluginHelper.getByteBufferPool(getCamelContext());
+        if (pool != null) {
+            ByteBufferPool.Statistics statistics = pool.getStatistics();
+            root.put("pool", pool.getClass().getName());
+            root.put("hitCounter", statistics.getHitCounter());
+            root.put("missCounter", statistics.getMissCounter());
+            root.put("outstanding", statistics.getOutstanding());
+            root.put("pooled", statistics.getPooled());
+        }
+
+        return root;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.console.AbstractDevConsole;
+import org.apache.camel.util.concurrent.ThreadType;
+import org.apache.camel.util.json.JsonArray;
+import org.apache.camel.util.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Console that reports whether virtual threads are in use, and which includes a carrier-pinning detector that reports
+ * the places in Camel where virtual threads have been pinned to their carrier thread (such as blocking while holding a
+ * monitor in a {@code synchronized} block).
+ * <p/>
+ * The detector uses the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event (Java 21+), and is only active when
+ * virtual threads are enabled (system property {@code camel.threads.virtual.enabled=true}).
+ */
+@DevConsole(name = "virtual-thread", displayName = "Virtual Threads",
+            description = "Displays virtual threads information and carrier pinning hot spots")
+@Configurer(bootstrap = true, extended = true)
+public class VirtualThreadDevConsole extends AbstractDevConsole {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadDevConsole.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Metadata(defaultValue = "20",
+              description = "Minimum duration (millis) a virtual thread must be pinned before being reported as a hot spot")
+    private long pinnedThreshold = 20;
+
+    private final Map<String, PinnedHotSpot> hotSpots = new ConcurrentHashMap<>();
+    private final LongAdder pinnedCounter = new LongAdder();
+    private RecordingStream stream;
+
+    public VirtualThreadDevConsole() {
+        super("jvm", "virtual-thread", "Virtual Threads", "Displays virtual threads information and carrier pinning hot spots");
+    }
+
+    public long getPinnedThreshold() {
+        return pinnedThreshold;
+    }
+
+    public void setPinnedThreshold(long pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (ThreadType.current() == ThreadType.VIRTUAL) {
+            try {
+                stream = new RecordingStream();
+                stream.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ofMillis(pinnedThreshold));
+                stream.onEvent(PINNED_EVENT, this::onPinned);
+                stream.startAsync();
+                LOG.debug("Virtual thread pinning detector started with threshold: {} ms", pinnedThreshold);
+            } catch (Exception e) {
+                // JFR may not be available on this JVM
+                LOG.debug("Cannot start virtual thread pinning detector due to: {}. This exception is ignored.",
+                        e.getMessage(), e);
+                stream = null;
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+        hotSpots.clear();
+        pinnedCounter.reset();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        String key = findCamelFrame(event.getStackTrace());
+        if (key != null) {
+            hotSpots.computeIfAbsent(key, PinnedHotSpot::new).update(event.getDuration());
+        }
+    }
+
+    /**
+     * Finds the top most frame from Camel itself, which is where the virtual thread was pinned from the perspective of
+     * the routing engine.
+     */
+    private static String findCamelFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod() != null) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith("org.apache.camel.")) {
+                    return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<PinnedHotSpot> sortedHotSpots() {
+        List<PinnedHotSpot> answer = new ArrayList<>(hotSpots.values());
+        answer.sort(Comparator.comparingLong(PinnedHotSpot::getCount).reversed());
+        return answer;
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("Thread Type: %s\n", ThreadType.current()));
+        sb.append(String.format("Pinning Detector: %s\n", stream != null ? "enabled" : "disabled"));
+        if (stream != null) {
+            sb.append(String.format("Pinned Threshold: %s ms\n", pinnedThreshold));
+            sb.append(String.format("Total Pinned: %s\n", pinnedCounter.sum()));
+            for (PinnedHotSpot hs : sortedHotSpots()) {
+                sb.append(String.format("\n    %s (count: %s max: %s ms total: %s ms)", hs.location, hs.getCount(),
+                        hs.getMax(), hs.getTotal()));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+
+        root.put("threadType", ThreadType.current().name());
+        root.put("pinningDetector", stream != null);
+        if (stream != null) {
+            root.put("pinnedThreshold", pinnedThreshold);
+            root.put("totalPinned", pinnedCounter.sum());
+            JsonArray arr = new JsonArray();
+            for (PinnedHotSpot hs : sortedHotSpots()) {
+                JsonObject jo = new JsonObject();
+                jo.put("location", hs.location);
+                jo.put("count", hs.getCount());
+                jo.put("max", hs.getMax());
+                jo.put("total", hs.getTotal());
+                arr.add(jo);
+            }
+            root.put("hotSpots", arr);
+        }
+
+        return root;
+    }
+
+    private static final class PinnedHotSpot {
+
+        private final String location;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private volatile long max;
+
+        PinnedHotSpot(String location) {
+            this.location = location;
+        }
+
+        void update(Duration duration) {
+            long millis = duration.toMillis();
+            count.increment();
+            total.add(millis);
+            if (millis > max) {
+                max = millis;
+            }
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getTotal() {
+            return total.sum();
+        }
+
+        long getMax() {
+            return max;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -136,10 +137,22 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createIsExpression(
             final CamelContext camelContext, final String expression, final Expression leftExp, final Expression rightExp) {
-        return new Expression() {
-            @Override
-            public <T> T evaluate(Exchange exchange, Class<T> type) {
+        // resolve the class once if its a constant
+        String constant = PredicateExpression.constantText(right);
+        if (constant != null && camelContext != null && !"null".equals(constant)) {
+            Class<?> rightType = camelContext.getClassResolver().resolveClass(constant);
+            if (rightType != null) {
+                Predicate predicate = PredicateBuilder.isInstanceOf(leftExp, rightType);
+                if (operator == BinaryOperatorType.NOT_IS) {
+                    predicate = PredicateBuilder.not(predicate);
+                }
+                return createExpression(camelContext, predicate);
+            }
+        }
 
+        return new PredicateExpression(camelContext) {
+            @Override
+            public boolean matches(Exchange exchange) {
                 String name = rightExp.evaluate(exchange, String.class);
                 if (name == null || "null".equals(name)) {
                     throwMissingClass();
@@ -153,9 +166,7 @@ public class BinaryExpression extends BaseSimpleNode {
                 if (operator == BinaryOperatorType.NOT_IS) {
                     predicate = PredicateBuilder.not(predicate);
                 }
-                boolean answer = predicate.matches(exchange);
-
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return predicate.matches(exchange);
             }
 
             private void throwClassNotFound(String name) {
@@ -179,16 +190,29 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createRegexExpression(
             final CamelContext camelContext, final Expression leftExp, final Expression rightExp) {
-        return new Expression() {
+        // compile the pattern once if its a constant
+        String constant = PredicateExpression.constantText(right);
+        if (constant != null) {
+            try {
+                Predicate predicate = PredicateBuilder.regex(leftExp, Pattern.compile(constant));
+                if (operator == BinaryOperatorType.NOT_REGEX) {
+                    predicate = PredicateBuilder.not(predicate);
+                }
+                return createExpression(camelContext, predicate);
+            } catch (PatternSyntaxException e) {
+                // ignore and fail when evaluating the expression
+            }
+        }
+
+        return new PredicateExpression(camelContext) {
             @Override
-            public <T> T evaluate(Exchange exchange, Class<T> type) {
+            public boolean matches(Exchange exchange) {
                 // reg ex should use String pattern, so we evaluate the right hand side as a String
                 Predicate predicate = PredicateBuilder.regex(leftExp, rightExp.evaluate(exchange, String.class));
                 if (operator == BinaryOperatorType.NOT_REGEX) {
                     predicate = PredicateBuilder.not(predicate);
                 }
-                boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                return predicate.matches(exchange);
             }
 
             @Override
@@ -200,25 +224,17 @@ public class BinaryExpression extends BaseSimpleNode {
 
     private Expression createInExpression(
             final CamelContext camelContext, final Expression leftExp, final Expression rightExp) {
-        return new Expression() {
+        // build the list of values once if its a constant
+        String constant = PredicateExpression.constantText(right);
+        if (constant != null) {
+            return createExpression(camelContext, createInPredicate(leftExp, constant));
+        }
+
+        return new PredicateExpression(camelContext) {
             @Override
-            public <T> T evaluate(Exchange exchange, Class<T> type) {
-                // okay the in operator is a bit more complex as we need to build a list of values
-                // from the right hand side expression.
-                // each element on the right hand side must be separated by comma (default for create iterator)
-                Iterator<?> it = ObjectHelper.createIterator(rightExp.evaluate(exchange, Object.class));
-                List<Object> values = new ArrayList<>();
-                while (it.hasNext()) {
-                    values.add(it.next());
-                }
-                // then reuse value builder to create the in predicate with the list of values
-                ValueBuilder vb = new ValueBuilder(leftExp);
-                Predicate predicate = vb.in(values.toArray());
-                if (operator == BinaryOperatorType.NOT_IN) {
-                    predicate = PredicateBuilder.not(predicate);
-                }
-                boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+            public boolean matches(Exchange exchange) {
+                Predicate predicate = createInPredicate(leftExp, rightExp.evaluate(exchange, Object.class));
+                return predicate.matches(exchange);
             }
 
             @Override
@@ -228,34 +244,38 @@ public class BinaryExpression extends BaseSimpleNode {
         };
     }
 
+    private Predicate createInPredicate(final Expression leftExp, final Object right) {
+        // okay the in operator is a bit more complex as we need to build a list of values
+        // from the right hand side expression.
+        // each element on the right hand side must be separated by comma (default for create iterator)
+        Iterator<?> it = ObjectHelper.createIterator(right);
+        List<Object> values = new ArrayList<>();
+        while (it.hasNext()) {
+            values.add(it.next());
+        }
+        // then reuse value builder to create the in predicate with the list of values
+        ValueBuilder vb = new ValueBuilder(leftExp);
+        Predicate predicate = vb.in(values.toArray());
+        if (operator == BinaryOperatorType.NOT_IN) {
+            predicate = PredicateBuilder.not(predicate);
+        }
+        return predicate;
+    }
+
     private Expression createRangeExpression(
             final CamelContext camelContext, final String expression, final Expression leftExp, final Expression rightExp) {
-        return new Expression() {
-            @Override
-            public <T> T evaluate(Exchange exchange, Class<T> type) {
-                Predicate predicate;
+        // build the range once if its a constant
+        String constant = PredicateExpression.constantText(right);
+        if (constant != null && RANGE_PATTERN.matcher(constant).matches()) {
+            return createExpression(camelContext, createRangePredicate(expression, leftExp, constant));
+        }
 
+        return new PredicateExpression(camelContext) {
+            @Override
+            public boolean matches(Exchange exchange) {
                 String range = rightExp.evaluate(exchange, String.class);
-                Matcher matcher = RANGE_PATTERN.matcher(range);
-                if (matcher.matches()) {
-                    // wrap as constant expression for the from and to values
-                    Expression from = ExpressionBuilder.constantExpression(matcher.group(1));
-                    Expression to = ExpressionBuilder.constantExpression(matcher.group(3));
-
-                    // build a compound predicate for the range
-                    predicate = PredicateBuilder.isGreaterThanOrEqualTo(leftExp, from);
-                    predicate = PredicateBuilder.and(predicate, PredicateBuilder.isLessThanOrEqualTo(leftExp, to));
-                } else {
-                    throw new SimpleIllegalSyntaxException(
-                            expression, right.getToken().getIndex(),
-                            operator + " operator is not valid. Valid syntax:'from..to' (where from and to are numbers).");
-                }
-                if (operator == BinaryOperatorType.NOT_RANGE) {
-                    predicate = PredicateBuilder.not(predicate);
-                }
-
-                boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+                Predicate predicate = createRangePredicate(expression, leftExp, range);
+                return predicate.matches(exchange);
             }
 
             @Override
@@ -265,13 +285,48 @@ public class BinaryExpression extends BaseSimpleNode {
         };
     }
 
+    private Predicate createRangePredicate(final String expression, final Expression leftExp, final String range) {
+        Predicate predicate;
+        Matcher matcher = RANGE_PATTERN.matcher(range);
+        if (matcher.matches()) {
+            // wrap as constant expression for the from and to values
+            Expression from = ExpressionBuilder.constantExpression(matcher.group(1));
+            Expression to = ExpressionBuilder.constantExpression(matcher.group(3));
+
+            // build a compound predicate for the range
+            predicate = PredicateBuilder.isGreaterThanOrEqualTo(leftExp, from);
+            predicate = PredicateBuilder.and(predicate, PredicateBuilder.isLessThanOrEqualTo(leftExp, to));
+        } else {
+            throw new SimpleIllegalSyntaxException(
+                    expression, right.getToken().getIndex(),
+                    operator + " operator is not valid. Valid syntax:'from..to' (where from and to are numbers).");
+        }
+        if (operator == BinaryOperatorType.NOT_RANGE) {
+            predicate = PredicateBuilder.not(predicate);
+        }
+        return predicate;
+    }
+
     private Expression createExpression(
             final CamelContext camelContext, final Expression left, final Expression right, final Predicate predicate) {
-        return new Expression() {
+        return new PredicateExpression(camelContext) {
+            @Override
+            public boolean matches(Exchange exchange) {
+                return predicate.matches(exchange);
+            }
+
+            @Override
+            public String toString() {
+                return left + " " + token.getText() + " " + right;
+            }
+        };
+    }
+
+    private Expression createExpression(final CamelContext camelContext, final Predicate predicate) {
+        return new PredicateExpression(camelContext) {
             @Override
-            public <T> T evaluate(Exchange exchange, Class<T> type) {
-                boolean answer = predicate.matches(exchange);
-                return camelContext.getTypeConverter().convertTo(type, answer);
+            public boolean matches(Exchange exchange) {
+                return predicate.matches(exchange);
             }
 
             @Override
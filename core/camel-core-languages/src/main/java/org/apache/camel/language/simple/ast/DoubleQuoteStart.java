@@ -34,6 +34,10 @@ public class DoubleQuoteStart extends BaseSimpleNode implements BlockStart {
         this.block = new CompositeNodes(token);
     }
 
+    public CompositeNodes getBlock() {
+        return block;
+    }
+
     @Override
     public String toString() {
         // output a nice toString so it makes debugging easier as we can see the entire block
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple.ast;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+
+/**
+ * Base class for the expressions created by the binary and logical operators, which can be evaluated directly as a
+ * {@link Predicate} without converting the boolean result.
+ */
+abstract class PredicateExpression implements Expression, Predicate {
+
+    private final CamelContext camelContext;
+
+    /**
+     * @param camelContext the camel context used for converting the result, or <tt>null</tt> to use the camel context
+     *                     from the exchange
+     */
+    PredicateExpression(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public <T> T evaluate(Exchange exchange, Class<T> type) {
+        boolean answer = matches(exchange);
+        CamelContext context = camelContext != null ? camelContext : exchange.getContext();
+        return context.getTypeConverter().convertTo(type, answer);
+    }
+
+    @Override
+    public void init(CamelContext context) {
+        // noop
+    }
+
+    /**
+     * Returns the text of the given node if the node is a literal constant (such as a quoted text without any
+     * functions), or <tt>null</tt> if the node is not a constant.
+     */
+    static String constantText(SimpleNode node) {
+        if (node != null && node.getClass() == LiteralExpression.class) {
+            return ((LiteralExpression) node).getText();
+        }
+        CompositeNodes block = null;
+        if (node instanceof SingleQuoteStart quote) {
+            block = quote.getBlock();
+        } else if (node instanceof DoubleQuoteStart quote) {
+            block = quote.getBlock();
+        }
+        if (block != null) {
+            if (block.getChildren().isEmpty()) {
+                return "";
+            } else if (block.getChildren().size() == 1) {
+                return constantText(block.getChildren().get(0));
+            }
+        }
+        return null;
+    }
+}
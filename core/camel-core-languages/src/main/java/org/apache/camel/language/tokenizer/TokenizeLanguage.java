@@ -17,6 +17,9 @@
 package org.apache.camel.language.tokenizer;
 
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -25,6 +28,7 @@ import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.support.IteratorConvertTo;
 import org.apache.camel.support.SingleInputTypedLanguageSupport;
 import org.apache.camel.support.builder.ExpressionBuilder;
+import org.apache.camel.util.ObjectHelper;
 
 /**
  * A language for tokenizer expressions.
@@ -35,12 +39,16 @@ import org.apache.camel.support.builder.ExpressionBuilder;
  * <li>pair - using both start and end tokens</li>
  * <li>xml - using both start and end tokens in XML mode, support inheriting namespaces</li>
  * </ul>
- * The default mode supports the <tt>headerName</tt> and <tt>regex</tt> options. Where as the pair mode only supports
- * <tt>token</tt> and <tt>endToken</tt>. And the <tt>xml</tt> mode supports the <tt>inheritNamespaceTagName</tt> option.
+ * The default mode supports the <tt>headerName</tt>, <tt>regex</tt> and <tt>parallelism</tt> options. Where as the pair
+ * mode only supports <tt>token</tt> and <tt>endToken</tt>. And the <tt>xml</tt> mode supports the
+ * <tt>inheritNamespaceTagName</tt> option.
  */
 @org.apache.camel.spi.annotations.Language("tokenize")
 public class TokenizeLanguage extends SingleInputTypedLanguageSupport {
 
+    private final Lock lock = new ReentrantLock();
+    private volatile ExecutorService executorService;
+
     @Override
     protected boolean supportResultType() {
         // result type is handled specially in tokenizer
@@ -59,6 +67,7 @@ public class TokenizeLanguage extends SingleInputTypedLanguageSupport {
         boolean includeTokens = property(boolean.class, properties, 8, false);
         String group = property(String.class, properties, 9, null);
         boolean skipFirst = property(boolean.class, properties, 10, false);
+        int parallelism = property(int.class, properties, 11, 0);
 
         if (endToken != null && inheritNamespaceTagName != null) {
             throw new IllegalArgumentException("Cannot have both xml and pair tokenizer enabled.");
@@ -69,6 +78,9 @@ public class TokenizeLanguage extends SingleInputTypedLanguageSupport {
         if (endToken == null && includeTokens) {
             throw new IllegalArgumentException("The option includeTokens requires endToken to be specified.");
         }
+        if (parallelism > 1 && (xml || endToken != null)) {
+            throw new IllegalArgumentException("The option parallelism cannot be used with xml or pair tokenizer.");
+        }
 
         Expression answer = null;
         if (xml) {
@@ -79,7 +91,12 @@ public class TokenizeLanguage extends SingleInputTypedLanguageSupport {
 
         if (answer == null) {
             // use the regular tokenizer
-            if (regex) {
+            if (parallelism > 1) {
+                // the scanner always treats the token as a regular expression
+                Expression exp = regex
+                        ? ExpressionBuilder.constantExpression(token) : ExpressionBuilder.simpleExpression(token);
+                answer = ExpressionBuilder.tokenizeExpression(source, exp, getExecutorService(), parallelism);
+            } else if (regex) {
                 answer = ExpressionBuilder.regexTokenizeExpression(source, token);
             } else {
                 answer = ExpressionBuilder.tokenizeExpression(source, token);
@@ -132,4 +149,24 @@ public class TokenizeLanguage extends SingleInputTypedLanguageSupport {
         return answer;
     }
 
+    /**
+     * The thread pool which tokenizes files in parallel, which is shared by all the tokenize expressions with the
+     * parallelism option, as each expression only uses as many threads as its parallelism. The thread pool is shut down
+     * when the camel context is stopped, and idle threads are discarded.
+     */
+    private ExecutorService getExecutorService() {
+        if (executorService == null) {
+            lock.lock();
+            try {
+                if (executorService == null) {
+                    CamelContext context = ObjectHelper.notNull(getCamelContext(), "camelContext");
+                    executorService = context.getExecutorServiceManager().newCachedThreadPool(this, "Tokenize");
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return executorService;
+    }
+
 }
@@ -1900,6 +1900,39 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return answer;
     }
 
+    /**
+     * <a href="http://camel.apache.org/throttler.html">Throttler EIP:</a> Creates a throttler that limits the number
+     * of concurrent requests, where the limit adapts itself to the observed latency of the requests, so the downstream
+     * system is not overloaded.
+     * <p/>
+     * The limit is adjusted between the minimum limit (1 by default) and the given maximum number of concurrent
+     * requests.
+     *
+     * @param  maximumConcurrentRequests the maximum number of concurrent requests
+     * @return                           the builder
+     */
+    public ThrottleDefinition adaptiveThrottle(long maximumConcurrentRequests) {
+        return adaptiveThrottle(ExpressionBuilder.constantExpression(maximumConcurrentRequests));
+    }
+
+    /**
+     * <a href="http://camel.apache.org/throttler.html">Throttler EIP:</a> Creates a throttler that limits the number
+     * of concurrent requests, where the limit adapts itself to the observed latency of the requests, so the downstream
+     * system is not overloaded.
+     * <p/>
+     * The limit is adjusted between the minimum limit (1 by default) and the maximum number of concurrent requests,
+     * which is evaluated by the given expression.
+     *
+     * @param  maximumConcurrentRequests an expression to calculate the maximum number of concurrent requests
+     * @return                           the builder
+     */
+    public ThrottleDefinition adaptiveThrottle(Expression maximumConcurrentRequests) {
+        ThrottleDefinition answer = new ThrottleDefinition(maximumConcurrentRequests);
+        answer.adaptiveConcurrentRequestsMode();
+        addOutput(answer);
+        return answer;
+    }
+
     /**
      * <a href="http://camel.apache.org/loop.html">Loop EIP:</a> Creates a loop allowing to process the a message a
      * number of times and possibly process them in a different way. Useful mostly for testing.
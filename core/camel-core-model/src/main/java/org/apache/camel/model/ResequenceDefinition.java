@@ -201,6 +201,19 @@ public class ResequenceDefinition extends OutputDefinition<ResequenceDefinition>
         return this;
     }
 
+    /**
+     * Sets the concurrentEngine flag to use a resequencer engine that allows messages to be inserted concurrently
+     *
+     * @return the builder
+     */
+    public ResequenceDefinition concurrentEngine() {
+        if (streamConfig == null) {
+            throw new IllegalStateException("concurrentEngine() only supported for stream resequencer");
+        }
+        streamConfig.setConcurrentEngine(Boolean.toString(true));
+        return this;
+    }
+
     /**
      * Sets the in batch size for number of exchanges received
      *
@@ -71,6 +71,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(javaType = "java.lang.Boolean")
     private String streaming;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String maxInFlight;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String stopOnException;
     @XmlAttribute
@@ -102,6 +105,7 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.parallelProcessing = source.parallelProcessing;
         this.synchronous = source.synchronous;
         this.streaming = source.streaming;
+        this.maxInFlight = source.maxInFlight;
         this.stopOnException = source.stopOnException;
         this.timeout = source.timeout;
         this.executorService = source.executorService;
@@ -395,6 +399,39 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of split messages which can be in-flight at the same time when using parallel
+     * processing. When the limit is reached, then the splitter waits until a reply has been aggregated before it splits
+     * the next message, which bounds the memory usage when splitting big messages in streaming mode.
+     * <p/>
+     * When in use, then the replies are aggregated in the same order as the messages was split, also in streaming
+     * mode.
+     * <p/>
+     * Is by default 0 which means unbounded.
+     *
+     * @return the builder
+     */
+    public SplitDefinition maxInFlight(int maxInFlight) {
+        return maxInFlight(Integer.toString(maxInFlight));
+    }
+
+    /**
+     * Sets the maximum number of split messages which can be in-flight at the same time when using parallel
+     * processing. When the limit is reached, then the splitter waits until a reply has been aggregated before it splits
+     * the next message, which bounds the memory usage when splitting big messages in streaming mode.
+     * <p/>
+     * When in use, then the replies are aggregated in the same order as the messages was split, also in streaming
+     * mode.
+     * <p/>
+     * Is by default 0 which means unbounded.
+     *
+     * @return the builder
+     */
+    public SplitDefinition maxInFlight(String maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -615,6 +652,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.streaming = streaming;
     }
 
+    public String getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(String maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     @Deprecated(since = "4.7.0")
     public String getParallelAggregate() {
         return parallelAggregate;
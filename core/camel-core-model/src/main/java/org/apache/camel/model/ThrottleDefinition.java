@@ -30,6 +30,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottleStateRepository;
 
 /**
  * Controls the rate at which messages are passed to the next node in the route
@@ -42,10 +43,12 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     @XmlTransient
     private ExecutorService executorServiceBean;
+    @XmlTransient
+    private ThrottleStateRepository throttleStateRepositoryBean;
 
     @XmlAttribute
     @Metadata(javaType = "org.apache.camel.model.ThrottlingMode", defaultValue = "TotalRequests",
-              enums = "TotalRequests,ConcurrentRequests")
+              enums = "TotalRequests,ConcurrentRequests,AdaptiveConcurrentRequests")
     private String mode;
     @XmlElement(name = "correlationExpression")
     private ExpressionSubElementDefinition correlationExpression;
@@ -64,6 +67,18 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(defaultValue = "1000", javaType = "java.time.Duration")
     private String timePeriodMillis;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "org.apache.camel.spi.ThrottleStateRepository")
+    private String throttleStateRepository;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "Gradient", enums = "Gradient,Vegas")
+    private String adaptiveAlgorithm;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "20", javaType = "java.lang.Integer")
+    private String adaptiveInitialLimit;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "1", javaType = "java.lang.Integer")
+    private String adaptiveMinLimit;
 
     public ThrottleDefinition() {
         totalRequestsMode();
@@ -80,6 +95,11 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.callerRunsWhenRejected = source.callerRunsWhenRejected;
         this.rejectExecution = source.rejectExecution;
         this.timePeriodMillis = source.timePeriodMillis;
+        this.throttleStateRepositoryBean = source.throttleStateRepositoryBean;
+        this.throttleStateRepository = source.throttleStateRepository;
+        this.adaptiveAlgorithm = source.adaptiveAlgorithm;
+        this.adaptiveInitialLimit = source.adaptiveInitialLimit;
+        this.adaptiveMinLimit = source.adaptiveMinLimit;
     }
 
     public ThrottleDefinition(Expression maximumRequestsPerPeriod) {
@@ -117,6 +137,11 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    public ThrottleDefinition adaptiveConcurrentRequestsMode() {
+        this.mode = ThrottlingMode.AdaptiveConcurrentRequests.name();
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Throttle[" + description() + "]";
@@ -125,6 +150,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     protected String description() {
         if (mode.equals(ThrottlingMode.TotalRequests.name())) {
             return getExpression() + " request per " + getTimePeriodMillis() + " millis";
+        } else if (mode.equals(ThrottlingMode.AdaptiveConcurrentRequests.name())) {
+            return getExpression() + " maximum adaptive concurrent requests";
         } else {
             return getExpression() + " maximum concurrent requests";
         }
@@ -355,11 +382,103 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * To use a custom repository for the state of the throttler, which allows to share the rate limit with other
+     * throttlers, such as throttlers running on other nodes in a cluster.
+     * <p/>
+     * This is only supported when using total requests mode.
+     *
+     * @param  throttleStateRepository the repository to use
+     * @return                         the builder
+     */
+    public ThrottleDefinition throttleStateRepository(ThrottleStateRepository throttleStateRepository) {
+        this.throttleStateRepositoryBean = throttleStateRepository;
+        return this;
+    }
+
+    /**
+     * To use a custom repository for the state of the throttler, which allows to share the rate limit with other
+     * throttlers, such as throttlers running on other nodes in a cluster.
+     * <p/>
+     * This is only supported when using total requests mode.
+     *
+     * @param  throttleStateRepository reference to the repository to lookup in the registry
+     * @return                         the builder
+     */
+    public ThrottleDefinition throttleStateRepository(String throttleStateRepository) {
+        setThrottleStateRepository(throttleStateRepository);
+        return this;
+    }
+
+    /**
+     * The adaptive algorithm to use for adjusting the limit of concurrent requests, either <tt>Gradient</tt> or
+     * <tt>Vegas</tt>.
+     * <p/>
+     * This is only in use when using adaptive concurrent requests mode.
+     *
+     * @param  adaptiveAlgorithm the algorithm
+     * @return                   the builder
+     */
+    public ThrottleDefinition adaptiveAlgorithm(String adaptiveAlgorithm) {
+        setAdaptiveAlgorithm(adaptiveAlgorithm);
+        return this;
+    }
+
+    /**
+     * The initial limit of concurrent requests, which is then adjusted by the adaptive algorithm.
+     * <p/>
+     * This is only in use when using adaptive concurrent requests mode.
+     *
+     * @param  adaptiveInitialLimit the initial limit
+     * @return                      the builder
+     */
+    public ThrottleDefinition adaptiveInitialLimit(int adaptiveInitialLimit) {
+        return adaptiveInitialLimit(Integer.toString(adaptiveInitialLimit));
+    }
+
+    /**
+     * The initial limit of concurrent requests, which is then adjusted by the adaptive algorithm.
+     * <p/>
+     * This is only in use when using adaptive concurrent requests mode.
+     *
+     * @param  adaptiveInitialLimit the initial limit
+     * @return                      the builder
+     */
+    public ThrottleDefinition adaptiveInitialLimit(String adaptiveInitialLimit) {
+        setAdaptiveInitialLimit(adaptiveInitialLimit);
+        return this;
+    }
+
+    /**
+     * The minimum limit of concurrent requests, which the adaptive algorithm does not go below.
+     * <p/>
+     * This is only in use when using adaptive concurrent requests mode.
+     *
+     * @param  adaptiveMinLimit the minimum limit
+     * @return                  the builder
+     */
+    public ThrottleDefinition adaptiveMinLimit(int adaptiveMinLimit) {
+        return adaptiveMinLimit(Integer.toString(adaptiveMinLimit));
+    }
+
+    /**
+     * The minimum limit of concurrent requests, which the adaptive algorithm does not go below.
+     * <p/>
+     * This is only in use when using adaptive concurrent requests mode.
+     *
+     * @param  adaptiveMinLimit the minimum limit
+     * @return                  the builder
+     */
+    public ThrottleDefinition adaptiveMinLimit(String adaptiveMinLimit) {
+        setAdaptiveMinLimit(adaptiveMinLimit);
+        return this;
+    }
+
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *              `ConcurrentRequests`
+     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *              `ConcurrentRequests` or `AdaptiveConcurrentRequests`
      * @see         ThrottlingMode
      * @return      the builder
      */
@@ -451,15 +570,68 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.executorService = executorService;
     }
 
+    public ThrottleStateRepository getThrottleStateRepositoryBean() {
+        return throttleStateRepositoryBean;
+    }
+
+    public String getThrottleStateRepository() {
+        return throttleStateRepository;
+    }
+
+    /**
+     * To use a custom repository for the state of the throttler, which allows to share the rate limit with other
+     * throttlers, such as throttlers running on other nodes in a cluster. This is only supported when using total
+     * requests mode.
+     */
+    public void setThrottleStateRepository(String throttleStateRepository) {
+        this.throttleStateRepository = throttleStateRepository;
+    }
+
     public String getMode() {
         return mode;
     }
 
+    public String getAdaptiveAlgorithm() {
+        return adaptiveAlgorithm;
+    }
+
+    /**
+     * The adaptive algorithm to use for adjusting the limit of concurrent requests, either Gradient or Vegas. This is
+     * only in use when using adaptive concurrent requests mode.
+     */
+    public void setAdaptiveAlgorithm(String adaptiveAlgorithm) {
+        this.adaptiveAlgorithm = adaptiveAlgorithm;
+    }
+
+    public String getAdaptiveInitialLimit() {
+        return adaptiveInitialLimit;
+    }
+
+    /**
+     * The initial limit of concurrent requests, which is then adjusted by the adaptive algorithm. This is only in use
+     * when using adaptive concurrent requests mode.
+     */
+    public void setAdaptiveInitialLimit(String adaptiveInitialLimit) {
+        this.adaptiveInitialLimit = adaptiveInitialLimit;
+    }
+
+    public String getAdaptiveMinLimit() {
+        return adaptiveMinLimit;
+    }
+
+    /**
+     * The minimum limit of concurrent requests, which the adaptive algorithm does not go below. This is only in use
+     * when using adaptive concurrent requests mode.
+     */
+    public void setAdaptiveMinLimit(String adaptiveMinLimit) {
+        this.adaptiveMinLimit = adaptiveMinLimit;
+    }
+
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *             `ConcurrentRequests`
+     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *             `ConcurrentRequests` or `AdaptiveConcurrentRequests`
      * @see        ThrottlingMode
      */
     public void setMode(String mode) {
@@ -32,12 +32,21 @@ public enum ThrottlingMode {
      * Uses a throttling mode that uses a leaky-bucket algorithm to limit the outflow based on a maximum number of
      * concurrent requests
      */
-    ConcurrentRequests;
+    ConcurrentRequests,
+
+    /**
+     * Uses a throttling mode that limits the number of concurrent requests, where the limit adapts itself to the
+     * observed latency of the requests, up to a maximum number of concurrent requests
+     */
+    AdaptiveConcurrentRequests;
 
     public static ThrottlingMode toMode(String mode) {
         if (mode.equals(ThrottlingMode.TotalRequests.name())) {
             return ThrottlingMode.TotalRequests;
         }
+        if (mode.equals(ThrottlingMode.AdaptiveConcurrentRequests.name())) {
+            return ThrottlingMode.AdaptiveConcurrentRequests;
+        }
 
         return ThrottlingMode.ConcurrentRequests;
     }
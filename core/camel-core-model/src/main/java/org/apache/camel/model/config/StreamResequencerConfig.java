@@ -52,6 +52,9 @@ public class StreamResequencerConfig extends ResequencerConfig {
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String rejectOld;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String concurrentEngine;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "org.apache.camel.processor.resequencer.ExpressionResultComparator")
     private String comparator;
 
@@ -122,6 +125,7 @@ public class StreamResequencerConfig extends ResequencerConfig {
         this.deliveryAttemptInterval = source.deliveryAttemptInterval;
         this.ignoreInvalidExchanges = source.ignoreInvalidExchanges;
         this.rejectOld = source.rejectOld;
+        this.concurrentEngine = source.concurrentEngine;
         this.comparator = source.comparator;
     }
 
@@ -219,4 +223,17 @@ public class StreamResequencerConfig extends ResequencerConfig {
         return rejectOld;
     }
 
+    public String getConcurrentEngine() {
+        return concurrentEngine;
+    }
+
+    /**
+     * Whether to use a resequencer engine that allows messages to be inserted concurrently, instead of serializing the
+     * inserts on a single lock. This can improve the throughput when many threads are sending messages to the
+     * resequencer.
+     */
+    public void setConcurrentEngine(String concurrentEngine) {
+        this.concurrentEngine = concurrentEngine;
+    }
+
 }
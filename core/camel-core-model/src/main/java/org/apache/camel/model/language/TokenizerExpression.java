@@ -57,6 +57,9 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String skipFirst;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String parallelism;
 
     public TokenizerExpression() {
     }
@@ -72,6 +75,7 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
         this.group = source.group;
         this.groupDelimiter = source.groupDelimiter;
         this.skipFirst = source.skipFirst;
+        this.parallelism = source.parallelism;
     }
 
     public TokenizerExpression(String token) {
@@ -89,6 +93,7 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
         this.group = builder.group;
         this.groupDelimiter = builder.groupDelimiter;
         this.skipFirst = builder.skipFirst;
+        this.parallelism = builder.parallelism;
     }
 
     @Override
@@ -209,6 +214,20 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
         this.skipFirst = skipFirst;
     }
 
+    public String getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * To tokenize files using the given number of threads. The file is divided into ranges of bytes which end at a
+     * token, and each range is read and tokenized by its own thread, while the parts are still returned in the order
+     * they appear in the file. This is only in use when the message body is a file, which is not in an encoding with
+     * multiple bytes per character other than UTF-8, and when not using pair or XML mode.
+     */
+    public void setParallelism(String parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public String toString() {
         if (endToken != null) {
             return "tokenize{body() using tokens: " + token + "..." + endToken + "}";
@@ -236,6 +255,7 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
         private String group;
         private String groupDelimiter;
         private String skipFirst;
+        private String parallelism;
 
         /**
          * The (start) token to use as tokenizer, for example, you can use the new line token. You can use simple
@@ -363,6 +383,24 @@ public class TokenizerExpression extends SingleInputTypedExpressionDefinition {
             return this;
         }
 
+        /**
+         * To tokenize files using the given number of threads, where the file is divided into ranges of bytes which
+         * are tokenized in parallel, while the parts are still returned in the order they appear in the file.
+         */
+        public Builder parallelism(String parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * To tokenize files using the given number of threads, where the file is divided into ranges of bytes which
+         * are tokenized in parallel, while the parts are still returned in the order they appear in the file.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = Integer.toString(parallelism);
+            return this;
+        }
+
         @Override
         public TokenizerExpression end() {
             return new TokenizerExpression(this);
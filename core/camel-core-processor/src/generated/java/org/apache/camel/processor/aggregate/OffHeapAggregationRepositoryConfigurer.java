@@ -0,0 +1,90 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.processor.aggregate;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.processor.aggregate.OffHeapAggregationRepository;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class OffHeapAggregationRepositoryConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.processor.aggregate.OffHeapAggregationRepository target = (org.apache.camel.processor.aggregate.OffHeapAggregationRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": target.setAllowSerializedHeaders(property(camelContext, boolean.class, value)); return true;
+        case "chunksize":
+        case "chunkSize": target.setChunkSize(property(camelContext, int.class, value)); return true;
+        case "deserializationfilter":
+        case "deserializationFilter": target.setDeserializationFilter(property(camelContext, java.lang.String.class, value)); return true;
+        case "maxmemorysize":
+        case "maxMemorySize": target.setMaxMemorySize(property(camelContext, long.class, value)); return true;
+        case "overflowdirectory":
+        case "overflowDirectory": target.setOverflowDirectory(property(camelContext, java.lang.String.class, value)); return true;
+        case "overflowtodisk":
+        case "overflowToDisk": target.setOverflowToDisk(property(camelContext, boolean.class, value)); return true;
+        case "returnoldexchange":
+        case "returnOldExchange": target.setReturnOldExchange(property(camelContext, boolean.class, value)); return true;
+        case "stripes": target.setStripes(property(camelContext, int.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return boolean.class;
+        case "chunksize":
+        case "chunkSize": return int.class;
+        case "deserializationfilter":
+        case "deserializationFilter": return java.lang.String.class;
+        case "maxmemorysize":
+        case "maxMemorySize": return long.class;
+        case "overflowdirectory":
+        case "overflowDirectory": return java.lang.String.class;
+        case "overflowtodisk":
+        case "overflowToDisk": return boolean.class;
+        case "returnoldexchange":
+        case "returnOldExchange": return boolean.class;
+        case "stripes": return int.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.processor.aggregate.OffHeapAggregationRepository target = (org.apache.camel.processor.aggregate.OffHeapAggregationRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return target.isAllowSerializedHeaders();
+        case "chunksize":
+        case "chunkSize": return target.getChunkSize();
+        case "deserializationfilter":
+        case "deserializationFilter": return target.getDeserializationFilter();
+        case "maxmemorysize":
+        case "maxMemorySize": return target.getMaxMemorySize();
+        case "overflowdirectory":
+        case "overflowDirectory": return target.getOverflowDirectory();
+        case "overflowtodisk":
+        case "overflowToDisk": return target.isOverflowToDisk();
+        case "returnoldexchange":
+        case "returnOldExchange": return target.isReturnOldExchange();
+        case "stripes": return target.getStripes();
+        default: return null;
+        }
+    }
+}
+
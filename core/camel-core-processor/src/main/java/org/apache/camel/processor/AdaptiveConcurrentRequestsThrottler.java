@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.processor.throttle.AdaptiveLimit;
+import org.apache.camel.spi.Synchronization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> that limits the number of message exchanges which
+ * can be sent to a processor concurrently, where the limit adapts itself to the observed latency of the exchanges.
+ * <p/>
+ * The limit starts at the initial limit, and is adjusted by an {@link AdaptiveLimit} algorithm whenever an exchange
+ * completes, within the minimum limit and the maximum limit (which is the evaluated maximum requests expression). The
+ * limit grows while the latency is stable, and shrinks when the latency increases, or when exchanges fail, which
+ * indicates that the downstream system is overloaded.
+ * <p/>
+ * The latency of an exchange is measured from when the exchange acquired a permit until the exchange is completed, as
+ * this is when the permit is returned.
+ */
+public class AdaptiveConcurrentRequestsThrottler extends ConcurrentRequestsThrottler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrentRequestsThrottler.class);
+
+    private final String algorithm;
+    private final int initialLimit;
+    private final int minLimit;
+
+    public AdaptiveConcurrentRequestsThrottler(final CamelContext camelContext, final Expression maxRequestsExpression,
+                                               final ScheduledExecutorService asyncExecutor,
+                                               final boolean shutdownAsyncExecutor,
+                                               final boolean rejectExecution, Expression correlation,
+                                               String algorithm, int initialLimit, int minLimit) {
+        super(camelContext, maxRequestsExpression, asyncExecutor, shutdownAsyncExecutor, rejectExecution, correlation);
+        // resolve the name of the algorithm, which also fails fast if the algorithm is unknown
+        this.algorithm = AdaptiveLimit.newLimit(algorithm, initialLimit, minLimit, initialLimit).getAlgorithm();
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+    }
+
+    @Override
+    protected ThrottlingState createThrottlingState(String key) {
+        return new AdaptiveThrottlingState(key);
+    }
+
+    /**
+     * The adaptive algorithm in use
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * The initial limit of concurrent requests
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * The minimum limit of concurrent requests
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Gets the current maximum limit (the evaluated maximum requests expression). If it is grouped throttling applied
+     * with correlationExpression then the max within the group will return
+     */
+    public int getMaxLimit() {
+        return getStates().values().stream()
+                .map(s -> ((AdaptiveThrottlingState) s).limit)
+                .mapToInt(l -> l != null ? l.getMaxLimit() : 0)
+                .max().orElse(0);
+    }
+
+    @Override
+    public String getMode() {
+        return "AdaptiveConcurrentRequests";
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "throttle[adaptive " + getMaximumRequestsExpression() + "]";
+    }
+
+    protected class AdaptiveThrottlingState extends ThrottlingState {
+        private final AtomicInteger inflight = new AtomicInteger();
+        private volatile AdaptiveLimit limit;
+
+        AdaptiveThrottlingState(String key) {
+            super(key);
+        }
+
+        /**
+         * Evaluates the maxConcurrentRequestsExpression and adjusts the maximum limit up or down.
+         */
+        @Override
+        public void calculateAndSetMaxConcurrentRequestsExpression(final Exchange exchange) throws Exception {
+            Integer newMax = getMaximumRequestsExpression().evaluate(exchange, Integer.class);
+
+            if (newMax != null && newMax < 0) {
+                throw new IllegalStateException(
+                        "The maximumConcurrentRequests must be a positive number, was: " + newMax);
+            }
+
+            if (newMax == null && limit == null) {
+                throw new RuntimeExchangeException(
+                        "The maxConcurrentRequestsExpression was evaluated as null: " + getMaximumRequestsExpression(),
+                        exchange);
+            }
+
+            if (newMax != null) {
+                AdaptiveLimit current = limit;
+                if (current == null) {
+                    synchronized (this) {
+                        if (limit == null) {
+                            limit = AdaptiveLimit.newLimit(algorithm, initialLimit, minLimit, newMax);
+                            LOG.debug("Initial adaptive limit {}, triggered by ExchangeId: {}", limit,
+                                    exchange.getExchangeId());
+                        }
+                        current = limit;
+                    }
+                } else if (current.getMaxLimit() != Math.max(minLimit, newMax)) {
+                    current.setMaxLimit(newMax);
+                }
+                changeThrottleRate(current.getLimit(), exchange);
+            }
+        }
+
+        @Override
+        protected void addSynchronization(final Exchange exchange) {
+            final long start = System.nanoTime();
+            final int current = inflight.incrementAndGet();
+            exchange.getExchangeExtension().addOnCompletion(new Synchronization() {
+                @Override
+                public void onComplete(Exchange exchange) {
+                    // an exception handled by the error handler is also a sign of an overloaded system
+                    boolean dropped = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT) != null;
+                    release(exchange, start, current, dropped);
+                }
+
+                @Override
+                public void onFailure(Exchange exchange) {
+                    release(exchange, start, current, true);
+                }
+            });
+        }
+
+        /**
+         * Reports the latency of the exchange to the adaptive limit, and returns the permit.
+         */
+        protected void release(final Exchange exchange, long start, int inflight, boolean dropped) {
+            this.inflight.decrementAndGet();
+            limit.onSample(System.nanoTime() - start, inflight, dropped);
+            // use the latest limit, as other exchanges may have completed concurrently
+            changeThrottleRate(limit.getLimit(), exchange);
+            release(exchange);
+        }
+    }
+}
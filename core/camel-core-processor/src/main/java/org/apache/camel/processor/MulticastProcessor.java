@@ -174,6 +174,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private final AggregationStrategy aggregationStrategy;
     private final boolean parallelProcessing;
     private boolean synchronous;
+    private int maxInFlight;
     private final boolean streaming;
     private final boolean parallelAggregate;
     private final boolean stopOnException;
@@ -286,6 +287,22 @@ public class MulticastProcessor extends AsyncProcessorSupport
         this.synchronous = synchronous;
     }
 
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which can be in-flight (sent but not yet aggregated) at the same time when
+     * using parallel processing. When the limit is reached, then no further exchanges are sent (such as taking the next
+     * element from the split iterator) until an exchange has been aggregated. When in use, then the replies are always
+     * aggregated in order, also in streaming mode.
+     * <p/>
+     * Is by default 0 which means unbounded.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     @Override
     protected void doBuild() throws Exception {
         if (processorExchangeFactory != null) {
@@ -443,6 +460,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean paused = new AtomicBoolean();
+        final AtomicInteger aggregateRequests = new AtomicInteger();
         final Map<String, String> mdc;
         final ScheduledFuture<?> timeoutTask;
 
@@ -465,11 +484,14 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.mdc = null;
             }
+            // when using a bounded in-flight window then the replies are aggregated in order, as only the
+            // window is held in memory while waiting for a slow reply
+            boolean ordered = !isStreaming() || isInFlightWindow();
             if (capacity > 0) {
                 this.completion
-                        = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, !isStreaming(), lock, capacity);
+                        = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, ordered, lock, capacity);
             } else {
-                this.completion = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, !isStreaming(), lock);
+                this.completion = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, ordered, lock);
             }
         }
 
@@ -486,8 +508,15 @@ public class MulticastProcessor extends AsyncProcessorSupport
         }
 
         protected void aggregate() {
-            Lock lock = this.lock;
-            if (lock.tryLock()) {
+            // only one thread aggregates at a time, and it keeps aggregating while other threads have requested it
+            // in the meantime, so an exchange completed while another thread was aggregating is never left behind
+            if (aggregateRequests.getAndIncrement() > 0) {
+                return;
+            }
+            int requests = 1;
+            do {
+                Lock lock = this.lock;
+                lock.lock();
                 try {
                     Exchange exchange;
                     while (!done.get() && (exchange = completion.poll()) != null) {
@@ -503,7 +532,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 } finally {
                     lock.unlock();
                 }
-            }
+                requests = aggregateRequests.addAndGet(-requests);
+            } while (requests > 0);
         }
 
         protected void timeout() {
@@ -640,12 +670,23 @@ public class MulticastProcessor extends AsyncProcessorSupport
                         // next step
                         if (hasNext && !isParallelProcessing()) {
                             schedule(this);
+                        } else if (isInFlightWindow()) {
+                            resume();
                         }
                     });
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
                 if (hasNext && isParallelProcessing()) {
-                    schedule(this);
+                    if (isInFlightWindow() && isInFlightWindowFull()) {
+                        // the window is full so pause sending until an exchange has been aggregated
+                        paused.set(true);
+                        // check again in case exchanges were aggregated before we paused
+                        if (!isInFlightWindowFull() && paused.compareAndSet(true, false)) {
+                            schedule(this);
+                        }
+                    } else {
+                        schedule(this);
+                    }
                 }
             } catch (Exception e) {
                 original.setException(e);
@@ -653,6 +694,25 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        @Override
+        protected void timeout() {
+            super.timeout();
+            if (isInFlightWindow()) {
+                // wake up a paused task so it sees the multicast is done
+                resume();
+            }
+        }
+
+        private boolean isInFlightWindowFull() {
+            return nbExchangeSent.get() - nbAggregated.get() >= maxInFlight;
+        }
+
+        private void resume() {
+            if (paused.get() && (done.get() || !isInFlightWindowFull()) && paused.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
+
         private ProcessorExchangePair getNextProcessorExchangePair() {
             ProcessorExchangePair tpair = null;
             while (tpair == null && iterator.hasNext()) {
@@ -1295,6 +1355,13 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return streaming;
     }
 
+    /**
+     * Whether the number of in-flight exchanges is bounded when using parallel processing
+     */
+    protected boolean isInFlightWindow() {
+        return maxInFlight > 0 && isParallelProcessing();
+    }
+
     /**
      * Should the multicast processor stop processing further exchanges in case of an exception occurred?
      */
@@ -172,24 +172,16 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
 
     @Override
     protected void doBuild() throws Exception {
-        boolean pooled = camelContext.getCamelContextExtension().getExchangeFactory().isPooled();
-        if (pooled) {
-            taskFactory = new PooledTaskFactory(getId()) {
-                @Override
-                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
-                    return new PipelineTask();
-                }
-            };
-            int capacity = camelContext.getCamelContextExtension().getExchangeFactory().getCapacity();
-            taskFactory.setCapacity(capacity);
-        } else {
-            taskFactory = new PrototypeTaskFactory() {
-                @Override
-                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
-                    return new PipelineTask();
-                }
-            };
-        }
+        // the pipeline tasks are always pooled (regardless if exchanges are pooled) as they are only used
+        // internally during routing, which avoids allocating a new task per exchange in steady state
+        taskFactory = new PooledTaskFactory(getId()) {
+            @Override
+            public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
+                return new PipelineTask();
+            }
+        };
+        int capacity = camelContext.getCamelContextExtension().getExchangeFactory().getCapacity();
+        taskFactory.setCapacity(capacity);
         LOG.trace("Using TaskFactory: {}", taskFactory);
 
         ServiceHelper.buildService(taskFactory, processors);
@@ -16,12 +16,17 @@
  */
 package org.apache.camel.processor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointAware;
 import org.apache.camel.Exchange;
@@ -52,12 +57,16 @@ import org.slf4j.LoggerFactory;
 public class SendProcessor extends AsyncProcessorSupport implements Traceable, EndpointAware, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(SendProcessor.class);
+    private static final int BATCH_PENDING = 0;
+    private static final int BATCH_DONE_SYNC = 1;
+    private static final int BATCH_DONE_ASYNC = 2;
 
     protected transient String traceLabelToString;
     protected final CamelContext camelContext;
     protected final ExchangePattern pattern;
     protected ProducerCache producerCache;
     protected AsyncProducer producer;
+    protected BatchProcessor batchProcessor;
     protected HeadersMapFactory headersMapFactory;
     protected final Endpoint destination;
     protected String variableSend;
@@ -127,6 +136,14 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
             return true;
         }
 
+        // the producer can process the grouped exchanges as a batch
+        if (batchProcessor != null && variableSend == null && variableReceive == null) {
+            List<Exchange> batch = getBatch(exchange);
+            if (batch != null) {
+                return processBatch(exchange, batch, callback);
+            }
+        }
+
         // we should preserve existing MEP so remember old MEP
         // if you want to permanently to change the MEP then use .setExchangePattern in the DSL
         final ExchangePattern existingPattern = exchange.getPattern();
@@ -250,6 +267,144 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
         }
     }
 
+    /**
+     * Processes the grouped exchanges as a batch using the {@link BatchProcessor}.
+     * <p/>
+     * Each exchange of the batch is sent the same way as a single exchange, so the MEP is changed while sending and
+     * the sending and sent events are emitted. If any of the exchanges in the batch failed, then the exchange holding
+     * the batch is failed with a {@link CamelExchangeException} so the error handler can react. Upon redelivery only
+     * the exchanges that failed are sent again.
+     */
+    protected boolean processBatch(Exchange exchange, List<Exchange> batch, AsyncCallback callback) {
+        // set property which endpoint we send to
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
+
+        List<Exchange> pending = batch;
+        if (ExchangeHelper.isRedelivered(exchange)) {
+            // only redeliver the exchanges that failed
+            pending = new ArrayList<>();
+            for (Exchange e : batch) {
+                if (e.getException() != null) {
+                    e.setException(null);
+                    pending.add(e);
+                }
+            }
+        }
+
+        if (extendedStatistics) {
+            counter.addAndGet(pending.size());
+        }
+
+        if (pending.isEmpty()) {
+            callback.done(true);
+            return true;
+        }
+
+        // we should preserve existing MEP so remember old MEP
+        final ExchangePattern targetPattern = destinationExchangePattern != null ? destinationExchangePattern : pattern;
+        final ExchangePattern[] existingPatterns = new ExchangePattern[pending.size()];
+        final boolean notify = camelContext.getCamelContextExtension().isEventNotificationApplicable();
+        boolean sending = false;
+        for (int i = 0; i < pending.size(); i++) {
+            Exchange target = pending.get(i);
+            existingPatterns[i] = target.getPattern();
+            if (targetPattern != null) {
+                target.setPattern(targetPattern);
+            }
+            target.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
+            if (notify) {
+                sending |= EventHelper.notifyExchangeSending(target.getContext(), target, destination);
+            }
+        }
+        // record timing for sending the batch using the producer
+        final StopWatch watch = sending ? new StopWatch() : null;
+
+        final List<Exchange> sent = pending;
+        // whether the batch is done (synchronously or asynchronously), as the batch processor may call back and then
+        // throw an exception
+        final AtomicInteger state = new AtomicInteger();
+        AsyncCallback ac = doneSync -> {
+            if (!state.compareAndSet(BATCH_PENDING, doneSync ? BATCH_DONE_SYNC : BATCH_DONE_ASYNC)) {
+                return;
+            }
+            try {
+                long timeTaken = watch != null ? watch.taken() : 0;
+                for (int i = 0; i < sent.size(); i++) {
+                    Exchange target = sent.get(i);
+                    // restore previous MEP
+                    target.setPattern(existingPatterns[i]);
+                    // emit event that the exchange was sent to the endpoint
+                    if (watch != null) {
+                        EventHelper.notifyExchangeSent(target.getContext(), target, destination, timeTaken);
+                    }
+                }
+                failBatch(exchange, sent);
+            } finally {
+                callback.done(doneSync);
+            }
+        };
+
+        LOG.debug(">>>> {} batch of {} exchanges", destination, pending.size());
+        try {
+            boolean sync = batchProcessor.processBatch(pending, ac);
+            if (!sync) {
+                EventHelper.notifyExchangeAsyncProcessingStartedEvent(camelContext, exchange);
+            }
+            return sync;
+        } catch (Exception e) {
+            if (state.get() != BATCH_PENDING) {
+                LOG.warn("Sending batch to {} failed after the batch was done. This exception is ignored.", destination, e);
+            } else {
+                // the entire batch failed
+                for (Exchange pe : pending) {
+                    pe.setException(e);
+                }
+            }
+            ac.done(true);
+            return state.get() == BATCH_DONE_SYNC;
+        }
+    }
+
+    /**
+     * Fails the exchange holding the batch if any of the sent exchanges failed
+     */
+    private static void failBatch(Exchange exchange, List<Exchange> sent) {
+        int failed = 0;
+        Exchange firstFailed = null;
+        for (Exchange pe : sent) {
+            if (pe.getException() != null) {
+                failed++;
+                if (firstFailed == null) {
+                    firstFailed = pe;
+                }
+            }
+        }
+        if (firstFailed != null) {
+            exchange.setException(new CamelExchangeException(
+                    "Batch processing failed for " + failed + " of " + sent.size() + " exchanges", firstFailed,
+                    firstFailed.getException()));
+        }
+    }
+
+    /**
+     * Gets the batch of exchanges if the message body is a list of grouped exchanges (such as from the Aggregator EIP)
+     *
+     * @return the batch, or <tt>null</tt> if the message body is not a batch of exchanges
+     */
+    @SuppressWarnings("unchecked")
+    protected static List<Exchange> getBatch(Exchange exchange) {
+        Object body = exchange.getMessage().getBody();
+        if (body instanceof List<?> list && !list.isEmpty()) {
+            for (Object o : list) {
+                if (!(o instanceof Exchange)) {
+                    return null;
+                }
+            }
+            return (List<Exchange>) list;
+        }
+        return null;
+    }
+
     public String getVariableSend() {
         return variableSend;
     }
@@ -314,6 +469,9 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
             if (this.producer instanceof RouteIdAware ria) {
                 ria.setRouteId(getRouteId());
             }
+            if (this.producer instanceof BatchProcessor bp) {
+                this.batchProcessor = bp;
+            }
             // ensure the producer is managed and started
             camelContext.addService(this.producer, true, true);
         } else {
@@ -31,9 +31,11 @@ import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.processor.resequencer.ConcurrentResequencerEngine;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
@@ -58,8 +60,12 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Instances of this class poll for {@link Exchange}s from a given <code>endpoint</code>. Resequencing work and the
  * delivery of messages to the next <code>processor</code> is done within the single polling thread.
+ * <p>
+ * The {@link ConcurrentResequencerEngine} can be used instead of the {@link ResequencerEngine}, to allow exchanges to
+ * be inserted concurrently without serializing the producers on a single lock.
  *
  * @see ResequencerEngine
+ * @see ConcurrentResequencerEngine
  */
 public class StreamResequencer extends AsyncProcessorSupport
         implements SequenceSender<Exchange>, Navigate<Processor>, Traceable, IdAware, RouteIdAware {
@@ -70,7 +76,7 @@ public class StreamResequencer extends AsyncProcessorSupport
     private String routeId;
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
-    private final ResequencerEngine<Exchange> engine;
+    private final StreamResequencerEngine<Exchange> engine;
     private final Processor processor;
     private final Expression expression;
     private Delivery delivery;
@@ -86,9 +92,21 @@ public class StreamResequencer extends AsyncProcessorSupport
      */
     public StreamResequencer(CamelContext camelContext, Processor processor, SequenceElementComparator<Exchange> comparator,
                              Expression expression) {
+        this(camelContext, processor, new ResequencerEngine<>(comparator), expression);
+    }
+
+    /**
+     * Creates a new {@link StreamResequencer} instance.
+     *
+     * @param processor next processor that processes re-ordered exchanges.
+     * @param engine    the resequencer engine to use for re-ordering exchanges.
+     */
+    public StreamResequencer(CamelContext camelContext, Processor processor, StreamResequencerEngine<Exchange> engine,
+                             Expression expression) {
         ObjectHelper.notNull(camelContext, "CamelContext");
+        ObjectHelper.notNull(engine, "engine");
         this.camelContext = camelContext;
-        this.engine = new ResequencerEngine<>(comparator);
+        this.engine = engine;
         this.engine.setSequenceSender(this);
         this.processor = processor;
         this.expression = expression;
@@ -240,7 +258,7 @@ public class StreamResequencer extends AsyncProcessorSupport
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         try {
-            engine.waitUntil(s -> s.size() < capacity);
+            engine.awaitCapacity(capacity);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             // we were interrupted so break out
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -33,6 +34,8 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.spi.ThrottleStateRepository;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +56,12 @@ import org.slf4j.LoggerFactory;
  * those permits). Callers trying to acquire a permit from the DelayQueue will block if necessary. The end result is a
  * rolling window of time. Where from the callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * If a {@link ThrottleStateRepository} is configured, then the permits are acquired from the repository instead, which
+ * allows to share the rate limit with other throttlers, such as throttlers of other nodes in a cluster when the
+ * repository uses a shared store. While throttled, the exchange retries to acquire a permit in intervals of the time it
+ * takes for a single permit to become available. The retries are scheduled on the async executor, and the caller thread
+ * only waits for them when asyncDelayed is disabled (or the exchange is transacted).
  */
 public class TotalRequestsThrottler extends AbstractThrottler {
 
@@ -62,6 +71,8 @@ public class TotalRequestsThrottler extends AbstractThrottler {
     private final long cleanPeriodMillis;
     private final Expression correlationExpression;
     private final Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private final Map<String, RepositoryState> repositoryStates = new ConcurrentHashMap<>();
+    private ThrottleStateRepository throttleStateRepository;
 
     public TotalRequestsThrottler(final CamelContext camelContext, final Expression maxRequestsExpression,
                                   final long timePeriodMillis,
@@ -97,6 +108,9 @@ public class TotalRequestsThrottler extends AbstractThrottler {
             if (correlationExpression != null) {
                 key = correlationExpression.evaluate(exchange, String.class);
             }
+            if (throttleStateRepository != null) {
+                return processWithStateRepository(exchange, callback, key, state, doneSync);
+            }
             ThrottlingState throttlingState = states.computeIfAbsent(key, ThrottlingState::new);
             throttlingState.calculateAndSetMaxRequestsPerPeriod(exchange);
 
@@ -172,6 +186,96 @@ public class TotalRequestsThrottler extends AbstractThrottler {
         }
     }
 
+    /**
+     * Acquires a permit from the {@link ThrottleStateRepository}, and if no permit is available then either rejects
+     * the exchange, retries asynchronously (if asyncDelayed is enabled) or waits for a retry on the async executor.
+     */
+    protected boolean processWithStateRepository(
+            final Exchange exchange, final AsyncCallback callback, String key, State state, boolean doneSync)
+            throws Exception {
+        Integer throttleRate = getMaximumRequestsExpression().evaluate(exchange, Integer.class);
+        if (throttleRate == null) {
+            throw new RuntimeExchangeException(
+                    "The maxRequestsPerPeriodExpression was evaluated as null: " + getMaximumRequestsExpression(), exchange);
+        }
+        if (throttleRate < 0) {
+            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + throttleRate);
+        }
+        RepositoryState repositoryState = repositoryStates.computeIfAbsent(key, RepositoryState::new);
+        repositoryState.update(throttleRate);
+
+        if (!throttleStateRepository.tryAcquire(key, 1, throttleRate, timePeriodMillis)) {
+            if (isRejectExecution()) {
+                throw new ThrottlerRejectedExecutionException(
+                        "Exceeded the max throttle rate of " + throttleRate + " within " + timePeriodMillis + "ms");
+            }
+            // the time it takes for a single permit to become available
+            long delay = throttleRate > 0 ? Math.max(1, timePeriodMillis / throttleRate) : timePeriodMillis;
+            if (state == State.ASYNC || isAsyncDelayed() && !exchange.isTransacted() && state == State.SYNC) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(
+                            "Throttle rate exceeded but AsyncDelayed enabled, so queueing for async processing, exchangeId: {}",
+                            exchange.getExchangeId());
+                }
+                return scheduleAsynchronously(exchange, callback, TimeUnit.MILLISECONDS.toNanos(delay));
+            }
+
+            // block waiting for a permit
+            long start = System.currentTimeMillis();
+            awaitPermit(key, throttleRate, delay);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Throttled for {}ms, exchangeId: {}", System.currentTimeMillis() - start, exchange.getExchangeId());
+            }
+        } else if (LOG.isTraceEnabled()) {
+            LOG.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+        }
+
+        callback.done(doneSync);
+        return doneSync;
+    }
+
+    /**
+     * Waits until a permit is acquired from the {@link ThrottleStateRepository} by retries that are scheduled on the
+     * async executor, until the throttler is stopped. Only if the executor rejects the retry, the current thread sleeps
+     * and retries itself.
+     */
+    private void awaitPermit(String key, int throttleRate, long delay) throws Exception {
+        while (true) {
+            ScheduledFuture<Boolean> retry;
+            try {
+                retry = asyncExecutor.schedule(
+                        () -> isRunAllowed() && throttleStateRepository.tryAcquire(key, 1, throttleRate, timePeriodMillis),
+                        delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                if (!isRunAllowed()) {
+                    throw e;
+                }
+                // the executor is full so retry in the current thread
+                LOG.debug("Throttling retry rejected, retrying in the current thread", e);
+                Thread.sleep(delay);
+                if (throttleStateRepository.tryAcquire(key, 1, throttleRate, timePeriodMillis)) {
+                    return;
+                }
+                continue;
+            }
+            boolean acquired;
+            try {
+                acquired = retry.get();
+            } catch (InterruptedException e) {
+                retry.cancel(false);
+                throw e;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            if (acquired) {
+                return;
+            }
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+        }
+    }
+
     /**
      * Delegate blocking on the DelayQueue to an asyncExecutor. Except if the executor rejects the submission and
      * isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not before changing
@@ -179,12 +283,15 @@ public class TotalRequestsThrottler extends AbstractThrottler {
      */
     protected boolean processAsynchronously(
             final Exchange exchange, final AsyncCallback callback, ThrottlingState throttlingState) {
+        return scheduleAsynchronously(exchange, callback, throttlingState.peek().getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    private boolean scheduleAsynchronously(final Exchange exchange, final AsyncCallback callback, long delay) {
         try {
             if (LOG.isTraceEnabled()) {
                 exchange.setProperty(PROPERTY_EXCHANGE_QUEUED_TIMESTAMP, System.nanoTime());
             }
             exchange.setProperty(PROPERTY_EXCHANGE_STATE, State.ASYNC);
-            long delay = throttlingState.peek().getDelay(TimeUnit.NANOSECONDS);
             asyncExecutor.schedule(() -> process(exchange, callback), delay, TimeUnit.NANOSECONDS);
             return false;
         } catch (final RejectedExecutionException e) {
@@ -205,6 +312,7 @@ public class TotalRequestsThrottler extends AbstractThrottler {
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        ServiceHelper.startService(throttleStateRepository);
     }
 
     @Override
@@ -213,6 +321,8 @@ public class TotalRequestsThrottler extends AbstractThrottler {
             camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
         }
         states.clear();
+        repositoryStates.clear();
+        ServiceHelper.stopService(throttleStateRepository);
         super.doShutdown();
     }
 
@@ -336,6 +446,44 @@ public class TotalRequestsThrottler extends AbstractThrottler {
         }
     }
 
+    /**
+     * The throttle rate of a key when the permits are acquired from the {@link ThrottleStateRepository}, which is
+     * removed when the key is not used within the clean period, the same as the {@link ThrottlingState}.
+     */
+    protected class RepositoryState {
+        private final String key;
+        private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+        private volatile int throttleRate;
+
+        RepositoryState(String key) {
+            this.key = key;
+        }
+
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        public void clean() {
+            repositoryStates.remove(key, this);
+        }
+
+        /**
+         * Sets the current throttle rate and postpones the removal of this state.
+         */
+        public void update(int throttleRate) {
+            this.throttleRate = throttleRate;
+            try {
+                ScheduledFuture<?> next = asyncExecutor.schedule(this::clean, cleanPeriodMillis, TimeUnit.MILLISECONDS);
+                ScheduledFuture<?> prev = cleanFuture.getAndSet(next);
+                if (prev != null) {
+                    prev.cancel(false);
+                }
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Throttling state cleaning rejected", e);
+            }
+        }
+    }
+
     /**
      * Permit that implements the Delayed interface needed by DelayQueue.
      */
@@ -372,9 +520,23 @@ public class TotalRequestsThrottler extends AbstractThrottler {
      */
     @Override
     public int getCurrentMaximumRequests() {
+        if (throttleStateRepository != null) {
+            return repositoryStates.values().stream().mapToInt(RepositoryState::getThrottleRate).max().orElse(0);
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
+    public ThrottleStateRepository getThrottleStateRepository() {
+        return throttleStateRepository;
+    }
+
+    /**
+     * Sets the repository to acquire the permits from, which allows to share the rate limit with other throttlers.
+     */
+    public void setThrottleStateRepository(ThrottleStateRepository throttleStateRepository) {
+        this.throttleStateRepository = throttleStateRepository;
+    }
+
     /**
      * Sets the time period during which the maximum number of requests apply
      */
@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.spi.AggregationRepository;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * An off-heap memory based {@link org.apache.camel.spi.AggregationRepository} which stores compact serialized snapshots
+ * of the {@link Exchange}s outside the Java heap.
+ * <p/>
+ * This is useful when there are a large number of open correlation groups, as only the correlation keys are kept on
+ * the heap, which reduces the heap usage and the garbage collection pauses. The snapshots are stored in a slab
+ * allocator with size classes, and when the memory budget is exhausted, then the snapshots overflow to a memory-mapped
+ * file on disk. The keys are divided over a number of stripes, each with its own allocator and lock, so concurrent
+ * aggregations do not all contend on a single lock. The stripes share the memory budget.
+ * <p/>
+ * The snapshots are created using {@link DefaultExchangeHolder} which only preserves Serializable compatible data
+ * types. If a data type is not such a type its dropped and a WARN is logged. Only the message body, headers and the
+ * aggregation related exchange properties are preserved. The repository is not persistent and the data is lost when
+ * the repository is stopped.
+ */
+@Metadata(label = "bean",
+          description = "An off-heap memory based AggregationRepository which stores compact serialized snapshots of the Exchange"
+                        + " outside the Java heap, with overflow to disk when the memory budget is exhausted.",
+          annotations = { "interfaceName=org.apache.camel.spi.AggregationRepository" })
+@Configurer(metadataOnly = true)
+public class OffHeapAggregationRepository extends ServiceSupport implements AggregationRepository {
+
+    private static final String FROM_ENDPOINT = "CamelAggregatedFromEndpoint";
+
+    private final ConcurrentMap<String, Long> index = new ConcurrentHashMap<>();
+    private Lock[] locks;
+    private OffHeapSlabAllocator[] allocators;
+    private ObjectInputFilter filter;
+
+    @Metadata(description = "The maximum off-heap memory (in bytes) to use for storing the exchanges",
+              defaultValue = "268435456")
+    private long maxMemorySize = 256 * 1024 * 1024L;
+    @Metadata(label = "advanced", description = "The size (in bytes) of the memory chunks which are allocated at once."
+                                                + " Must be a power of two.",
+              defaultValue = "1048576")
+    private int chunkSize = 1024 * 1024;
+    @Metadata(label = "advanced", description = "The number of stripes the repository is divided into, each with its own lock."
+                                                + " More stripes reduce the lock contention when many threads aggregate concurrently.",
+              defaultValue = "4")
+    private int stripes = 4;
+    @Metadata(description = "Whether to overflow to a memory-mapped file on disk when the memory budget is exhausted."
+                            + " If disabled, then adding exchanges fails when the memory budget is exhausted.",
+              defaultValue = "true")
+    private boolean overflowToDisk = true;
+    @Metadata(description = "The directory to store the overflow file. Is default the java temporary directory.")
+    private String overflowDirectory;
+    @Metadata(label = "advanced",
+              description = "Whether headers on the Exchange that are Java objects and Serializable should be included and saved to the repository")
+    private boolean allowSerializedHeaders;
+    @Metadata(label = "advanced", description = "Whether to return the old exchange when adding an exchange to the repository")
+    private boolean returnOldExchange;
+    @Metadata(label = "security", defaultValue = "java.**;org.apache.camel.**;!*",
+              description = "Sets a deserialization filter while reading Object from Aggregation Repository. By default the filter will allow"
+                            + " all java packages and subpackages and all org.apache.camel packages and subpackages, while the remaining will be"
+                            + " blacklisted and not deserialized. This parameter should be customized if you're using classes you trust to be deserialized.")
+    private String deserializationFilter = "java.**;org.apache.camel.**;!*";
+
+    public long getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    public void setMaxMemorySize(long maxMemorySize) {
+        this.maxMemorySize = maxMemorySize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public boolean isOverflowToDisk() {
+        return overflowToDisk;
+    }
+
+    public void setOverflowToDisk(boolean overflowToDisk) {
+        this.overflowToDisk = overflowToDisk;
+    }
+
+    public String getOverflowDirectory() {
+        return overflowDirectory;
+    }
+
+    public void setOverflowDirectory(String overflowDirectory) {
+        this.overflowDirectory = overflowDirectory;
+    }
+
+    public boolean isAllowSerializedHeaders() {
+        return allowSerializedHeaders;
+    }
+
+    public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
+        this.allowSerializedHeaders = allowSerializedHeaders;
+    }
+
+    public boolean isReturnOldExchange() {
+        return returnOldExchange;
+    }
+
+    public void setReturnOldExchange(boolean returnOldExchange) {
+        this.returnOldExchange = returnOldExchange;
+    }
+
+    public String getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    public void setDeserializationFilter(String deserializationFilter) {
+        this.deserializationFilter = deserializationFilter;
+    }
+
+    /**
+     * The off-heap memory in use (in bytes)
+     */
+    public long getMemoryUsed() {
+        OffHeapSlabAllocator[] allocators = this.allocators;
+        Lock[] locks = this.locks;
+        long answer = 0;
+        for (int i = 0; allocators != null && i < allocators.length; i++) {
+            locks[i].lock();
+            try {
+                answer += allocators[i].getMemoryUsed();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * The size of the overflow files in use (in bytes)
+     */
+    public long getOverflowUsed() {
+        OffHeapSlabAllocator[] allocators = this.allocators;
+        Lock[] locks = this.locks;
+        long answer = 0;
+        for (int i = 0; allocators != null && i < allocators.length; i++) {
+            locks[i].lock();
+            try {
+                answer += allocators[i].getOverflowUsed();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Number of exchanges in the repository
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public Exchange add(CamelContext camelContext, String key, Exchange exchange) {
+        byte[] data = marshal(exchange);
+        byte[] old = null;
+        int stripe = stripe(key);
+        OffHeapSlabAllocator allocator = allocators[stripe];
+        Lock lock = locks[stripe];
+        lock.lock();
+        try {
+            Long previous = index.put(key, allocator.store(data));
+            if (previous != null) {
+                if (returnOldExchange) {
+                    old = allocator.load(previous);
+                }
+                allocator.free(previous);
+            }
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error adding key " + key + " to repository", e);
+        } finally {
+            lock.unlock();
+        }
+        return old != null ? unmarshal(camelContext, old) : null;
+    }
+
+    @Override
+    public Exchange get(CamelContext camelContext, String key) {
+        byte[] data;
+        int stripe = stripe(key);
+        Lock lock = locks[stripe];
+        lock.lock();
+        try {
+            Long handle = index.get(key);
+            if (handle == null) {
+                return null;
+            }
+            data = allocators[stripe].load(handle);
+        } finally {
+            lock.unlock();
+        }
+        return unmarshal(camelContext, data);
+    }
+
+    @Override
+    public void remove(CamelContext camelContext, String key, Exchange exchange) {
+        int stripe = stripe(key);
+        Lock lock = locks[stripe];
+        lock.lock();
+        try {
+            Long handle = index.remove(key);
+            if (handle != null) {
+                allocators[stripe].free(handle);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void confirm(CamelContext camelContext, String exchangeId) {
+        // noop
+    }
+
+    @Override
+    public Set<String> getKeys() {
+        // do not allow edits to the set
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    private int stripe(String key) {
+        int h = key.hashCode();
+        // spread the bits as the keys may only differ in the high bits
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % allocators.length;
+    }
+
+    protected byte[] marshal(Exchange exchange) {
+        DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false, allowSerializedHeaders);
+        // add the aggregation related properties as the only properties we want to retain
+        DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_SIZE,
+                exchange.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, Integer.class));
+        DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_TIMEOUT,
+                exchange.getProperty(ExchangePropertyKey.AGGREGATED_TIMEOUT, Long.class));
+        DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_COMPLETED_BY,
+                exchange.getProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, String.class));
+        DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_CORRELATION_KEY,
+                exchange.getProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, String.class));
+        DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_COLLECTION_GUARD,
+                exchange.getProperty(Exchange.AGGREGATED_COLLECTION_GUARD, String.class));
+        if (exchange.getFromEndpoint() != null) {
+            DefaultExchangeHolder.addProperty(pe, FROM_ENDPOINT, exchange.getFromEndpoint().getEndpointUri());
+        }
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(pe);
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error marshalling exchange " + exchange.getExchangeId(), e);
+        }
+        return bos.toByteArray();
+    }
+
+    protected Exchange unmarshal(CamelContext camelContext, byte[] data) {
+        DefaultExchangeHolder pe;
+        ObjectInputStream ois = null;
+        try {
+            ois = new ClassLoadingAwareObjectInputStream(
+                    camelContext.getApplicationContextClassLoader(), new ByteArrayInputStream(data));
+            ois.setObjectInputFilter(filter);
+            pe = (DefaultExchangeHolder) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeCamelException("Error unmarshalling exchange", e);
+        } finally {
+            IOHelper.close(ois);
+        }
+
+        Exchange answer = new DefaultExchange(camelContext);
+        DefaultExchangeHolder.unmarshal(answer, pe);
+        // restore the from endpoint
+        String fromEndpointUri = (String) answer.removeProperty(FROM_ENDPOINT);
+        if (fromEndpointUri != null) {
+            Endpoint fromEndpoint = camelContext.hasEndpoint(fromEndpointUri);
+            if (fromEndpoint != null) {
+                answer.getExchangeExtension().setFromEndpoint(fromEndpoint);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        File dir = null;
+        if (overflowToDisk) {
+            dir = new File(overflowDirectory != null ? overflowDirectory : System.getProperty("java.io.tmpdir"));
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be at least 1");
+        }
+        AtomicLong memoryUsed = new AtomicLong();
+        locks = new Lock[stripes];
+        allocators = new OffHeapSlabAllocator[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            allocators[i] = new OffHeapSlabAllocator(chunkSize, maxMemorySize, dir, memoryUsed);
+        }
+        filter = ObjectInputFilter.Config.createFilter(deserializationFilter);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (allocators == null) {
+            return;
+        }
+        for (int i = 0; i < allocators.length; i++) {
+            locks[i].lock();
+            try {
+                allocators[i].close();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        index.clear();
+        allocators = null;
+        locks = null;
+    }
+
+}
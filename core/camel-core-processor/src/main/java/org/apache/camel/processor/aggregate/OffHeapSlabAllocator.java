@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A slab allocator which stores byte arrays outside the Java heap.
+ * <p/>
+ * The memory is allocated in chunks (direct {@link ByteBuffer}s) which are divided into slots of a fixed size class
+ * (power of two, from 64 bytes up to the chunk size). Freed slots are reused by later allocations of the same size
+ * class, and a chunk is released when all of its slots are freed (except the last chunk of a size class with free
+ * slots). Data larger than the chunk size is stored in a dedicated chunk which is released when the data is freed.
+ * <p/>
+ * When the memory budget is exhausted, then the chunks are allocated from a memory-mapped overflow file on disk (if
+ * enabled). The extents of the overflow file which are released are reused by later chunks, and the file is truncated
+ * when its tail is released, so the file does not grow beyond the peak overflow usage. The chunks are freed (or
+ * unmapped) explicitly when released, and the overflow file is deleted when the allocator is closed.
+ * <p/>
+ * The memory budget can be shared by several allocators, such as one per lock stripe.
+ * <p/>
+ * Each stored entry is identified by a handle (chunk index in the high 32 bits and slot offset in the low 32 bits), and
+ * the slot starts with the length of the data as an int. This class is not thread-safe.
+ */
+final class OffHeapSlabAllocator {
+
+    static final int MIN_SLOT_SIZE = 64;
+    private static final int HEADER_SIZE = 4;
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapSlabAllocator.class);
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    private final int chunkSize;
+    private final long maxMemorySize;
+    private final File overflowDirectory;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final Deque<Integer> freeChunks = new ArrayDeque<>();
+    private final SizeClass[] sizeClasses;
+    private final AtomicLong sharedMemoryUsed;
+    // free extents of the overflow file (position -> length), adjacent extents are merged
+    private final TreeMap<Long, Long> overflowFree = new TreeMap<>();
+    private long memoryUsed;
+    private long overflowUsed;
+    private long overflowSize;
+    private File overflowFile;
+    private FileChannel overflowChannel;
+
+    /**
+     * Creates the allocator.
+     *
+     * @param chunkSize         the size of the chunks (power of two)
+     * @param maxMemorySize     the maximum off-heap memory to use
+     * @param overflowDirectory directory to store the overflow file, or <tt>null</tt> to not overflow to disk
+     */
+    OffHeapSlabAllocator(int chunkSize, long maxMemorySize, File overflowDirectory) {
+        this(chunkSize, maxMemorySize, overflowDirectory, new AtomicLong());
+    }
+
+    /**
+     * Creates the allocator.
+     *
+     * @param chunkSize         the size of the chunks (power of two)
+     * @param maxMemorySize     the maximum off-heap memory to use
+     * @param overflowDirectory directory to store the overflow file, or <tt>null</tt> to not overflow to disk
+     * @param sharedMemoryUsed  the off-heap memory in use by all the allocators which share the memory budget
+     */
+    OffHeapSlabAllocator(int chunkSize, long maxMemorySize, File overflowDirectory, AtomicLong sharedMemoryUsed) {
+        if (chunkSize < MIN_SLOT_SIZE || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("ChunkSize must be a power of two and at least " + MIN_SLOT_SIZE);
+        }
+        this.chunkSize = chunkSize;
+        this.maxMemorySize = maxMemorySize;
+        this.overflowDirectory = overflowDirectory;
+        this.sharedMemoryUsed = sharedMemoryUsed;
+        this.sizeClasses = new SizeClass[sizeClassIndex(chunkSize) + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(MIN_SLOT_SIZE << i);
+        }
+    }
+
+    /**
+     * Stores the data
+     *
+     * @return the handle to use for loading and freeing the data
+     */
+    long store(byte[] data) throws IOException {
+        int size = data.length + HEADER_SIZE;
+        long handle;
+        if (size > chunkSize) {
+            int index = addChunk(allocateChunk(size), 0);
+            handle = (long) index << 32;
+        } else {
+            handle = sizeClasses[sizeClassIndex(size)].allocate();
+        }
+        ByteBuffer buffer = chunks.get(chunkIndex(handle)).buffer;
+        int offset = slotOffset(handle);
+        buffer.putInt(offset, data.length);
+        buffer.put(offset + HEADER_SIZE, data);
+        return handle;
+    }
+
+    /**
+     * Loads the data for the given handle
+     */
+    byte[] load(long handle) {
+        ByteBuffer buffer = chunks.get(chunkIndex(handle)).buffer;
+        int offset = slotOffset(handle);
+        byte[] data = new byte[buffer.getInt(offset)];
+        buffer.get(offset + HEADER_SIZE, data);
+        return data;
+    }
+
+    /**
+     * Frees the data for the given handle so the memory can be reused.
+     */
+    void free(long handle) {
+        int index = chunkIndex(handle);
+        Chunk chunk = chunks.get(index);
+        if (chunk.slotSize == 0) {
+            // dedicated chunk for large data
+            releaseChunk(index, chunk);
+        } else {
+            sizeClasses[sizeClassIndex(chunk.slotSize)].free(index, chunk, slotOffset(handle));
+        }
+    }
+
+    /**
+     * Frees all the memory and deletes the overflow file.
+     */
+    void close() {
+        // the buffers can be freed, as they are only accessed by the owner of this allocator
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                freeBuffer(chunk.buffer);
+            }
+        }
+        chunks.clear();
+        freeChunks.clear();
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.reset();
+        }
+        sharedMemoryUsed.addAndGet(-memoryUsed);
+        memoryUsed = 0;
+        overflowUsed = 0;
+        overflowSize = 0;
+        overflowFree.clear();
+        IOHelper.close(overflowChannel);
+        overflowChannel = null;
+        if (overflowFile != null) {
+            FileUtil.deleteFile(overflowFile);
+            overflowFile = null;
+        }
+    }
+
+    /**
+     * The off-heap memory in use (in bytes)
+     */
+    long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    /**
+     * The size of the overflow file in use (in bytes)
+     */
+    long getOverflowUsed() {
+        return overflowUsed;
+    }
+
+    /**
+     * The size of the overflow file (in bytes)
+     */
+    long getOverflowSize() {
+        return overflowSize;
+    }
+
+    private Chunk allocateChunk(int size) throws IOException {
+        if (sharedMemoryUsed.addAndGet(size) <= maxMemorySize) {
+            memoryUsed += size;
+            return new Chunk(ByteBuffer.allocateDirect(size), -1);
+        }
+        sharedMemoryUsed.addAndGet(-size);
+        if (overflowDirectory == null) {
+            throw new IllegalStateException(
+                    "Cannot allocate " + size + " bytes as the memory budget of " + maxMemorySize + " bytes is exhausted");
+        }
+        if (overflowChannel == null) {
+            Files.createDirectories(overflowDirectory.toPath());
+            overflowFile = File.createTempFile("camel-aggregation-", ".overflow", overflowDirectory);
+            overflowChannel = FileChannel.open(overflowFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        // the extents are multiples of the chunk size, so released extents are more likely to be reused
+        long length = (size + chunkSize - 1L) / chunkSize * chunkSize;
+        long position = takeOverflowExtent(length);
+        ByteBuffer buffer = overflowChannel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        overflowUsed += length;
+        return new Chunk(buffer, position);
+    }
+
+    private long takeOverflowExtent(long length) {
+        // first fit among the released extents
+        Iterator<Map.Entry<Long, Long>> it = overflowFree.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Long> free = it.next();
+            if (free.getValue() >= length) {
+                long position = free.getKey();
+                it.remove();
+                if (free.getValue() > length) {
+                    overflowFree.put(position + length, free.getValue() - length);
+                }
+                return position;
+            }
+        }
+        // otherwise append to the end of the file
+        long position = overflowSize;
+        overflowSize += length;
+        return position;
+    }
+
+    private void releaseOverflowExtent(long position, long length) {
+        overflowUsed -= length;
+        // merge with the adjacent free extents
+        Map.Entry<Long, Long> before = overflowFree.floorEntry(position);
+        if (before != null && before.getKey() + before.getValue() == position) {
+            overflowFree.remove(before.getKey());
+            position = before.getKey();
+            length += before.getValue();
+        }
+        Long after = overflowFree.remove(position + length);
+        if (after != null) {
+            length += after;
+        }
+        if (position + length == overflowSize) {
+            // the tail of the file is free, so shrink the file
+            try {
+                overflowChannel.truncate(position);
+                overflowSize = position;
+                return;
+            } catch (IOException e) {
+                // the file may not be truncated while it is still mapped (such as on Windows), so keep it as a free extent
+            }
+        }
+        overflowFree.put(position, length);
+    }
+
+    private int addChunk(Chunk chunk, int slotSize) {
+        chunk.slotSize = slotSize;
+        Integer index = freeChunks.poll();
+        if (index != null) {
+            chunks.set(index, chunk);
+            return index;
+        }
+        chunks.add(chunk);
+        return chunks.size() - 1;
+    }
+
+    private void releaseChunk(int index, Chunk chunk) {
+        chunks.set(index, null);
+        freeChunks.push(index);
+        int capacity = chunk.buffer.capacity();
+        // free the memory now instead of when garbage collected, and unmap before the file is truncated
+        freeBuffer(chunk.buffer);
+        if (chunk.overflowPosition < 0) {
+            memoryUsed -= capacity;
+            sharedMemoryUsed.addAndGet(-capacity);
+        } else {
+            long length = (capacity + chunkSize - 1L) / chunkSize * chunkSize;
+            releaseOverflowExtent(chunk.overflowPosition, length);
+        }
+    }
+
+    private static void freeBuffer(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                LOG.debug("Cannot free off-heap buffer due to {}. This exception is ignored.", e.getMessage());
+            }
+        }
+        // otherwise the buffer is freed when garbage collected
+    }
+
+    /**
+     * Looks up sun.misc.Unsafe#invokeCleaner which is the only way to free a direct buffer (or unmap a memory mapped
+     * region) explicitly, before it is garbage collected.
+     */
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(unsafe);
+        } catch (Exception | LinkageError e) {
+            LOG.debug("Cannot free off-heap buffers explicitly due to {}. The buffers are freed when garbage collected.",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private static int sizeClassIndex(int size) {
+        int slotSize = Math.max(MIN_SLOT_SIZE, Integer.highestOneBit(size - 1) << 1);
+        return Integer.numberOfTrailingZeros(slotSize) - Integer.numberOfTrailingZeros(MIN_SLOT_SIZE);
+    }
+
+    private static int chunkIndex(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int slotOffset(long handle) {
+        return (int) handle;
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer buffer;
+        // the position in the overflow file, or -1 if stored in memory
+        private final long overflowPosition;
+        private int slotSize;
+        // the slots in use, the offsets of the freed slots, and the offset of the first slot never used
+        private int live;
+        private int[] free;
+        private int freeCount;
+        private int next;
+
+        Chunk(ByteBuffer buffer, long overflowPosition) {
+            this.buffer = buffer;
+            this.overflowPosition = overflowPosition;
+        }
+
+        boolean hasFreeSlot() {
+            return freeCount > 0 || next + slotSize <= buffer.capacity();
+        }
+
+        int takeSlot() {
+            live++;
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            int offset = next;
+            next += slotSize;
+            return offset;
+        }
+
+        void freeSlot(int offset) {
+            live--;
+            if (free == null) {
+                free = new int[16];
+            } else if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = offset;
+        }
+    }
+
+    private final class SizeClass {
+        private final int slotSize;
+        // the indexes of the chunks with free slots
+        private final Deque<Integer> available = new ArrayDeque<>();
+
+        SizeClass(int slotSize) {
+            this.slotSize = slotSize;
+        }
+
+        long allocate() throws IOException {
+            Integer index = available.peek();
+            if (index == null) {
+                index = addChunk(allocateChunk(chunkSize), slotSize);
+                available.push(index);
+            }
+            Chunk chunk = chunks.get(index);
+            int offset = chunk.takeSlot();
+            if (!chunk.hasFreeSlot()) {
+                available.poll();
+            }
+            return (long) index << 32 | offset;
+        }
+
+        void free(int index, Chunk chunk, int offset) {
+            boolean full = !chunk.hasFreeSlot();
+            chunk.freeSlot(offset);
+            if (chunk.live == 0 && (full || available.size() > 1)) {
+                // the chunk is empty, so give it back, unless it is the only chunk left to allocate from
+                available.remove(index);
+                releaseChunk(index, chunk);
+            } else if (full) {
+                available.push(index);
+            }
+        }
+
+        void reset() {
+            available.clear();
+        }
+    }
+
+}
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link StreamResequencerEngine} that allows elements to be inserted concurrently, without serializing the
+ * producers on a single lock as the {@link ResequencerEngine} does.
+ * <p>
+ * The elements are kept in a {@link ConcurrentSkipListMap} ordered by the {@link SequenceElementComparator}, so finding
+ * the immediate predecessor and successor of an inserted element are <tt>O(log n)</tt> lock-free operations.
+ * <p>
+ * The resequencing semantics are the same as with the {@link ResequencerEngine}. An out-of-sequence element becomes
+ * <i>ready-for-delivery</i> when it times out, or when its immediate predecessor arrives. Instead of scheduling a timer
+ * task per element, each element records its own deadline, which is checked when the element is at the head of the
+ * sequence and a delivery is attempted. As elements are only delivered when a delivery is triggered via
+ * {@link #deliver()} or {@link #deliverNext()}, this gives the same behaviour without any timer thread.
+ * <p>
+ * The elements are delivered by one thread at a time.
+ */
+public class ConcurrentResequencerEngine<E> implements StreamResequencerEngine<E> {
+
+    /**
+     * The sequence of elements keyed by the contained objects.
+     */
+    private final ConcurrentSkipListMap<E, Slot> sequence;
+
+    /**
+     * A strategy for comparing sequence elements.
+     */
+    private final SequenceElementComparator<E> comparator;
+
+    /**
+     * The number of elements in the sequence (the size of a {@link ConcurrentSkipListMap} is not a constant-time
+     * operation).
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The number of threads waiting for capacity.
+     */
+    private final AtomicInteger capacityWaiters = new AtomicInteger();
+
+    private final Lock capacityLock = new ReentrantLock();
+    private final Condition capacityCondition = capacityLock.newCondition();
+
+    private final Lock deliveryLock = new ReentrantLock();
+
+    /**
+     * The element that most recently has been delivered or <code>null</code> if no element has been delivered yet.
+     */
+    private volatile E lastDelivered;
+
+    /**
+     * Minimum amount of time to wait for out-of-sequence elements.
+     */
+    private volatile long timeout;
+
+    /**
+     * A strategy for sending sequence elements.
+     */
+    private SequenceSender<E> sequenceSender;
+
+    /**
+     * Indicates whether an error should be thrown if message older (based on Comparator) than the last delivered
+     * message is received.
+     */
+    private Boolean rejectOld;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
+     *
+     * @param comparator a sequence element comparator.
+     */
+    public ConcurrentResequencerEngine(SequenceElementComparator<E> comparator) {
+        this.comparator = comparator;
+        this.sequence = new ConcurrentSkipListMap<>(comparator);
+        this.timeout = 2000L;
+    }
+
+    @Override
+    public void start() {
+        // noop
+    }
+
+    @Override
+    public void stop() {
+        // noop
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public void awaitCapacity(int capacity) throws InterruptedException {
+        if (size.get() < capacity) {
+            return;
+        }
+        capacityLock.lock();
+        try {
+            // register as waiter before checking the size again, so a delivery cannot be missed
+            capacityWaiters.incrementAndGet();
+            try {
+                while (size.get() >= capacity) {
+                    capacityCondition.await();
+                }
+            } finally {
+                capacityWaiters.decrementAndGet();
+            }
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Boolean getRejectOld() {
+        return rejectOld;
+    }
+
+    @Override
+    public void setRejectOld(Boolean rejectOld) {
+        this.rejectOld = rejectOld;
+    }
+
+    @Override
+    public SequenceSender<E> getSequenceSender() {
+        return sequenceSender;
+    }
+
+    @Override
+    public void setSequenceSender(SequenceSender<E> sequenceSender) {
+        this.sequenceSender = sequenceSender;
+    }
+
+    /**
+     * Returns the last delivered element.
+     *
+     * @return the last delivered element or <code>null</code> if no delivery has been made yet.
+     */
+    E getLastDelivered() {
+        return lastDelivered;
+    }
+
+    /**
+     * Sets the last delivered element. This is for testing purposes only.
+     *
+     * @param o an element.
+     */
+    void setLastDelivered(E o) {
+        lastDelivered = o;
+    }
+
+    /**
+     * Inserts the given element into this resequencer. If the element is not ready for immediate delivery and has no
+     * immediate predecessor then its timeout is started. After being timed out it is ready for delivery.
+     * <p>
+     * Elements that are equal to an element already in the sequence are ignored.
+     *
+     * @param  o                        an element.
+     * @throws IllegalArgumentException if the element cannot be used with this resequencer engine
+     */
+    @Override
+    public void insert(E o) {
+        // validate the exchange has no problem
+        if (!comparator.isValid(o)) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
+        }
+
+        // validate the exchange shouldn't be 'rejected' (if applicable)
+        if (rejectOld != null && rejectOld && beforeLastDelivered(o)) {
+            throw new MessageRejectedException(
+                    "rejecting message [" + o + "], it should have been sent before the last delivered message ["
+                                               + lastDelivered + "]");
+        }
+
+        // add element to sequence in proper order
+        Slot slot = new Slot();
+        if (sequence.putIfAbsent(o, slot) != null) {
+            return;
+        }
+        size.incrementAndGet();
+
+        // check if there is an immediate successor and mark it as ready
+        // (no need to wait any more for timeout)
+        Map.Entry<E, Slot> successor = sequence.higherEntry(o);
+        if (successor != null && comparator.successor(successor.getKey(), o)) {
+            successor.getValue().ready();
+        }
+
+        // the predecessor must be looked up before the last delivered element, as the delivering thread
+        // updates the last delivered element before it removes the element from the sequence
+        Map.Entry<E, Slot> predecessor = sequence.lowerEntry(o);
+        if (predecessor != null && comparator.predecessor(predecessor.getKey(), o) || successorOfLastDelivered(o)) {
+            slot.ready();
+        } else {
+            slot.schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("StatementWithEmptyBody")
+    public void deliver() throws Exception {
+        deliveryLock.lock();
+        try {
+            while (deliverNext()) {
+                // do nothing here
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    /**
+     * Attempts to deliver a single element from the head of the resequencer queue (sequence). Only elements which are
+     * not waiting for their timeout, or which already timed out, can be delivered. Elements are delivered via
+     * {@link SequenceSender#sendElement(Object)}.
+     *
+     * @return           <code>true</code> if the element has been delivered <code>false</code> otherwise.
+     *
+     * @throws Exception thrown by {@link SequenceSender#sendElement(Object)}.
+     */
+    @Override
+    public boolean deliverNext() throws Exception {
+        deliveryLock.lock();
+        try {
+            // inspect element with the lowest sequence value
+            Map.Entry<E, Slot> head = sequence.firstEntry();
+            if (head == null || !head.getValue().isReady()) {
+                return false;
+            }
+            E element = head.getKey();
+            // the head may have been marked as ready by the insert of its predecessor
+            // in the meantime, in which case the predecessor must be delivered first
+            while (sequence.firstKey() != element) {
+                head = sequence.firstEntry();
+                if (!head.getValue().isReady()) {
+                    return false;
+                }
+                element = head.getKey();
+            }
+
+            // set the delivered element to last delivered element before removing it from the sequence
+            lastDelivered = element;
+            sequence.remove(element);
+            size.decrementAndGet();
+
+            try {
+                // deliver the sequence element
+                sequenceSender.sendElement(element);
+            } finally {
+                signalCapacity();
+            }
+
+            // element has been delivered
+            return true;
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    private void signalCapacity() {
+        if (capacityWaiters.get() > 0) {
+            capacityLock.lock();
+            try {
+                capacityCondition.signalAll();
+            } finally {
+                capacityLock.unlock();
+            }
+        }
+    }
+
+    private boolean successorOfLastDelivered(E element) {
+        E last = lastDelivered;
+        return last != null && comparator.successor(element, last);
+    }
+
+    private boolean beforeLastDelivered(E element) {
+        E last = lastDelivered;
+        return last != null && comparator.compare(element, last) < 0;
+    }
+
+    /**
+     * The state of an element in the sequence. A newly inserted element is pending until it is either marked as ready,
+     * or its timeout is started. Marking an element as ready takes precedence over starting its timeout.
+     */
+    private static final class Slot {
+
+        private static final int PENDING = 0;
+        private static final int SCHEDULED = 1;
+        private static final int READY = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile long deadline;
+
+        void schedule(long deadline) {
+            this.deadline = deadline;
+            state.compareAndSet(PENDING, SCHEDULED);
+        }
+
+        void ready() {
+            state.set(READY);
+        }
+
+        boolean isReady() {
+            int s = state.get();
+            return s == READY || s == SCHEDULED && System.nanoTime() - deadline >= 0;
+        }
+    }
+
+}
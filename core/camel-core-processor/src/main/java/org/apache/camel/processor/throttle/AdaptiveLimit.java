@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that adapts itself to the observed latency (round trip time) of the exchanges processed within
+ * the limit.
+ * <p/>
+ * Each exchange that completes is reported as a sample via {@link #onSample(long, int, boolean)}, which lets the
+ * algorithm increase the limit while the latency is stable, and decrease the limit when the latency increases, which
+ * indicates that requests are queuing up downstream, or when an exchange failed (was dropped).
+ * <p/>
+ * The limit is always kept within the minimum and maximum limit.
+ */
+public abstract class AdaptiveLimit {
+
+    private final Lock lock = new ReentrantLock();
+    private final int minLimit;
+    private volatile int maxLimit;
+    private volatile int limit;
+
+    protected AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("The minimum limit must be a positive number, was: " + minLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Creates an adaptive limit.
+     *
+     * @param  algorithm    the algorithm, either <tt>Gradient</tt> or <tt>Vegas</tt>
+     * @param  initialLimit the initial limit
+     * @param  minLimit     the minimum limit
+     * @param  maxLimit     the maximum limit
+     * @return              the adaptive limit
+     */
+    public static AdaptiveLimit newLimit(String algorithm, int initialLimit, int minLimit, int maxLimit) {
+        if (algorithm == null || "Gradient".equalsIgnoreCase(algorithm)) {
+            return new GradientLimit(initialLimit, minLimit, maxLimit);
+        } else if ("Vegas".equalsIgnoreCase(algorithm)) {
+            return new VegasLimit(initialLimit, minLimit, maxLimit);
+        }
+        throw new IllegalArgumentException("Unknown adaptive algorithm: " + algorithm + ". Use Gradient or Vegas.");
+    }
+
+    /**
+     * The name of the algorithm
+     */
+    public abstract String getAlgorithm();
+
+    /**
+     * The current limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Changes the maximum limit, and lowers the current limit if it exceeds the new maximum.
+     */
+    public void setMaxLimit(int maxLimit) {
+        lock.lock();
+        try {
+            this.maxLimit = Math.max(minLimit, maxLimit);
+            this.limit = clamp(limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports a sample of an exchange that was processed within the limit.
+     *
+     * @param  rttNanos the time the exchange took in nanos
+     * @param  inflight the number of exchanges in flight when the exchange was started (including itself)
+     * @param  dropped  whether the exchange failed
+     * @return          the new limit
+     */
+    public int onSample(long rttNanos, int inflight, boolean dropped) {
+        lock.lock();
+        try {
+            limit = clamp(update(limit, Math.max(1, rttNanos), inflight, dropped));
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calculates the new limit from the sample. This is called while holding a lock, so implementations do not need to
+     * be thread-safe.
+     *
+     * @param  limit    the current limit
+     * @param  rttNanos the time the exchange took in nanos
+     * @param  inflight the number of exchanges in flight when the exchange was started (including itself)
+     * @param  dropped  whether the exchange failed
+     * @return          the new limit (is clamped to the minimum and maximum limit)
+     */
+    protected abstract int update(int limit, long rttNanos, int inflight, boolean dropped);
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    @Override
+    public String toString() {
+        return getAlgorithm() + "[limit=" + limit + ", min=" + minLimit + ", max=" + maxLimit + "]";
+    }
+}
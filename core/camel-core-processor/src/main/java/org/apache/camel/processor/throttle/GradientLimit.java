@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle;
+
+/**
+ * An adaptive limit based on the gradient between the long term and the short term latency, as in the <i>gradient2</i>
+ * algorithm of Netflix concurrency-limits.
+ * <p/>
+ * The long term latency is an exponential moving average of the latency, which represents the latency of the system
+ * when not overloaded. When the latency of an exchange exceeds the long term latency by more than the tolerance, the
+ * gradient becomes less than 1 and the limit is decreased proportionally. Otherwise the limit grows by a small queue
+ * size allowance, which lets the limit probe for more capacity.
+ * <p/>
+ * The limit is not increased while less than half of it is in use, as the latency then does not tell whether the
+ * system could cope with more requests.
+ */
+public class GradientLimit extends AdaptiveLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+    private static final int WARMUP_WINDOW = 10;
+
+    private double estimatedLimit;
+    private double longRtt;
+    private int count;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+        this.estimatedLimit = getLimit();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "Gradient";
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        // the limit may have been lowered by a new maximum limit
+        estimatedLimit = Math.min(estimatedLimit, getMaxLimit());
+
+        if (dropped) {
+            estimatedLimit = Math.max(getMinLimit(), estimatedLimit * BACKOFF_RATIO);
+            return (int) estimatedLimit;
+        }
+
+        double shortRtt = rttNanos;
+        double longRtt = updateLongRtt(shortRtt);
+
+        // the system is recovering from a period with higher latency, so let the long term latency decay faster
+        if (longRtt / shortRtt > 2) {
+            this.longRtt = longRtt * 0.95;
+        }
+
+        // do not grow the limit while it is not used, as there is no evidence that the system can cope with more
+        if (inflight < estimatedLimit / 2) {
+            return (int) estimatedLimit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(getMinLimit(), Math.min(getMaxLimit(), newLimit));
+        return (int) estimatedLimit;
+    }
+
+    private double updateLongRtt(double rtt) {
+        if (count < WARMUP_WINDOW) {
+            // simple average during warmup
+            count++;
+            longRtt = longRtt + (rtt - longRtt) / count;
+        } else {
+            double factor = 2.0 / (LONG_WINDOW + 1);
+            longRtt = longRtt * (1 - factor) + rtt * factor;
+        }
+        return longRtt;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle;
+
+/**
+ * An adaptive limit based on TCP Vegas, as in the <i>vegas</i> algorithm of Netflix concurrency-limits.
+ * <p/>
+ * The minimum observed latency is used as the latency of the system without any queuing. The size of the queue
+ * downstream is estimated as <tt>limit * (1 - minRtt / rtt)</tt>. The limit is increased while the estimated queue is
+ * small, and decreased when the queue grows beyond a threshold, which are all relative to <tt>log10(limit)</tt>.
+ * <p/>
+ * The minimum latency is probed again periodically, in case the latency of the system without any queuing has
+ * increased.
+ */
+public class VegasLimit extends AdaptiveLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private long rttNoLoad;
+    private long probeCount;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "Vegas";
+    }
+
+    @Override
+    protected int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        // probe for a new minimum latency once in a while
+        if (++probeCount >= (long) PROBE_MULTIPLIER * limit) {
+            probeCount = 0;
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+
+        int log10 = log10(limit);
+        if (dropped) {
+            return limit - log10;
+        }
+        // do not grow the limit while it is not used, as there is no evidence that the system can cope with more
+        if (inflight * 2 < limit) {
+            return limit;
+        }
+
+        int queueSize = (int) Math.ceil(limit * (1 - (double) rttNoLoad / rttNanos));
+        int alpha = 3 * log10;
+        int beta = 6 * log10;
+        if (queueSize <= log10) {
+            return limit + beta;
+        } else if (queueSize < alpha) {
+            return limit + log10;
+        } else if (queueSize > beta) {
+            return limit - log10;
+        }
+        return limit;
+    }
+
+    private static int log10(int limit) {
+        return Math.max(1, (int) Math.log10(limit));
+    }
+}
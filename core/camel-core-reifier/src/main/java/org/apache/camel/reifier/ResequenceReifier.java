@@ -17,6 +17,7 @@
 package org.apache.camel.reifier;
 
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.Route;
@@ -27,8 +28,11 @@ import org.apache.camel.model.config.ResequencerConfig;
 import org.apache.camel.model.config.StreamResequencerConfig;
 import org.apache.camel.processor.Resequencer;
 import org.apache.camel.processor.StreamResequencer;
+import org.apache.camel.processor.resequencer.ConcurrentResequencerEngine;
 import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
 import org.apache.camel.processor.resequencer.ExpressionResultComparator;
+import org.apache.camel.processor.resequencer.ResequencerEngine;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
 import org.apache.camel.support.PluginHelper;
 import org.apache.camel.util.ObjectHelper;
 
@@ -127,7 +131,13 @@ public class ResequenceReifier extends ProcessorReifier<ResequenceDefinition> {
         }
         comparator.setExpression(expression);
 
-        StreamResequencer resequencer = new StreamResequencer(camelContext, target, comparator, expression);
+        StreamResequencerEngine<Exchange> engine;
+        if (parseBoolean(config.getConcurrentEngine(), false)) {
+            engine = new ConcurrentResequencerEngine<>(comparator);
+        } else {
+            engine = new ResequencerEngine<>(comparator);
+        }
+        StreamResequencer resequencer = new StreamResequencer(camelContext, target, engine, expression);
         Long dur = parseDuration(config.getTimeout());
         if (dur != null) {
             resequencer.setTimeout(dur);
@@ -24,8 +24,10 @@ import org.apache.camel.Route;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ThrottleDefinition;
 import org.apache.camel.model.ThrottlingMode;
+import org.apache.camel.processor.AdaptiveConcurrentRequestsThrottler;
 import org.apache.camel.processor.ConcurrentRequestsThrottler;
 import org.apache.camel.processor.TotalRequestsThrottler;
+import org.apache.camel.spi.ThrottleStateRepository;
 
 public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
@@ -52,9 +54,30 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
             throw new IllegalArgumentException("MaxRequestsPerPeriod expression must be provided on " + this);
         }
 
-        if (ThrottlingMode.toMode(parseString(definition.getMode())) == ThrottlingMode.ConcurrentRequests) {
-            ConcurrentRequestsThrottler answer = new ConcurrentRequestsThrottler(
-                    camelContext, maxRequestsExpression, threadPool, shutdownThreadPool, reject, correlation);
+        ThrottleStateRepository repository = definition.getThrottleStateRepositoryBean();
+        if (repository == null && definition.getThrottleStateRepository() != null) {
+            repository = mandatoryLookup(definition.getThrottleStateRepository(), ThrottleStateRepository.class);
+        }
+
+        ThrottlingMode mode = ThrottlingMode.toMode(parseString(definition.getMode()));
+        if (mode != ThrottlingMode.TotalRequests && repository != null) {
+            throw new IllegalArgumentException(
+                    "ThrottleStateRepository can only be used when using total requests mode on " + this);
+        }
+
+        if (mode == ThrottlingMode.ConcurrentRequests || mode == ThrottlingMode.AdaptiveConcurrentRequests) {
+            ConcurrentRequestsThrottler answer;
+            if (mode == ThrottlingMode.AdaptiveConcurrentRequests) {
+                String algorithm = parseString(definition.getAdaptiveAlgorithm());
+                int initialLimit = parseInt(definition.getAdaptiveInitialLimit(), 20);
+                int minLimit = parseInt(definition.getAdaptiveMinLimit(), 1);
+                answer = new AdaptiveConcurrentRequestsThrottler(
+                        camelContext, maxRequestsExpression, threadPool, shutdownThreadPool, reject, correlation,
+                        algorithm, initialLimit, minLimit);
+            } else {
+                answer = new ConcurrentRequestsThrottler(
+                        camelContext, maxRequestsExpression, threadPool, shutdownThreadPool, reject, correlation);
+            }
 
             answer.setAsyncDelayed(async);
             // should be true by default
@@ -70,6 +93,7 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
             answer.setAsyncDelayed(async);
             // should be true by default
             answer.setCallerRunsWhenRejected(parseBoolean(definition.getCallerRunsWhenRejected(), true));
+            answer.setThrottleStateRepository(repository);
 
             return answer;
         }
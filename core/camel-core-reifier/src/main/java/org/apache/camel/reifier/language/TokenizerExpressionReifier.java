@@ -27,7 +27,7 @@ public class TokenizerExpressionReifier extends SingleInputTypedExpressionReifie
     }
 
     protected Object[] createProperties() {
-        Object[] properties = new Object[11];
+        Object[] properties = new Object[12];
         properties[0] = asResultType();
         properties[1] = parseString(definition.getSource());
         // special for new line tokens, if defined from XML then its 2
@@ -45,6 +45,7 @@ public class TokenizerExpressionReifier extends SingleInputTypedExpressionReifie
         properties[8] = parseBoolean(definition.getIncludeTokens());
         properties[9] = parseString(definition.getGroup());
         properties[10] = parseBoolean(definition.getSkipFirst());
+        properties[11] = parseInt(definition.getParallelism());
         return properties;
     }
 
@@ -98,6 +98,7 @@ import org.apache.camel.model.validator.ValidatorsDefinition;
 import org.apache.camel.reifier.transformer.TransformerReifier;
 import org.apache.camel.reifier.validator.ValidatorReifier;
 import org.apache.camel.spi.AsyncProcessorAwaitManager;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.CamelBeanPostProcessor;
 import org.apache.camel.spi.ClassResolver;
 import org.apache.camel.spi.DataType;
@@ -538,6 +539,13 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             LOG.info("Using custom UnitOfWorkFactory: {}", unitOfWorkFactory);
             getContext().getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class, unitOfWorkFactory);
         }
+        ByteBufferPool byteBufferPool = getBeanForType(ByteBufferPool.class);
+        if (byteBufferPool != null) {
+            LOG.info("Using custom ByteBufferPool: {}", byteBufferPool);
+            getContext().getCamelContextExtension().addContextPlugin(ByteBufferPool.class, byteBufferPool);
+            // let the pool be started and stopped with camel
+            getContext().addService(byteBufferPool);
+        }
         RuntimeEndpointRegistry runtimeEndpointRegistry = getBeanForType(RuntimeEndpointRegistry.class);
         if (runtimeEndpointRegistry != null) {
             LOG.info("Using custom RuntimeEndpointRegistry: {}", runtimeEndpointRegistry);
@@ -897,6 +905,14 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (spoolCipher != null) {
             getContext().getStreamCachingStrategy().setSpoolCipher(spoolCipher);
         }
+        Boolean spoolMapped = CamelContextHelper.parseBoolean(getContext(), streamCaching.getSpoolMapped());
+        if (spoolMapped != null) {
+            getContext().getStreamCachingStrategy().setSpoolMapped(spoolMapped);
+        }
+        Integer spoolMappedChunkSize = CamelContextHelper.parseInteger(getContext(), streamCaching.getSpoolMappedChunkSize());
+        if (spoolMappedChunkSize != null) {
+            getContext().getStreamCachingStrategy().setSpoolMappedChunkSize(spoolMappedChunkSize);
+        }
         Boolean remove = CamelContextHelper.parseBoolean(getContext(), streamCaching.getRemoveSpoolDirectoryWhenStopping());
         if (remove != null) {
             getContext().getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(remove);
@@ -49,6 +49,12 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String spoolCipher;
     @XmlAttribute
+    @Metadata(defaultValue = "false", javaType = "java.lang.Boolean")
+    private String spoolMapped;
+    @XmlAttribute
+    @Metadata(defaultValue = "8388608")
+    private String spoolMappedChunkSize;
+    @XmlAttribute
     @Metadata(defaultValue = "" + StreamCache.DEFAULT_SPOOL_THRESHOLD)
     private String spoolThreshold;
     @XmlAttribute
@@ -159,6 +165,34 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.spoolCipher = spoolCipher;
     }
 
+    public String getSpoolMapped() {
+        return spoolMapped;
+    }
+
+    /**
+     * Whether to spool to disk using memory mapped files.
+     * <p/>
+     * The memory mapped regions of the spool file are shared among all the readers of the stream cache (such as
+     * multicast or wire-tap), which avoids reading the file again via stream I/O. This option is not in use if a spool
+     * cipher is configured.
+     */
+    public void setSpoolMapped(String spoolMapped) {
+        this.spoolMapped = spoolMapped;
+    }
+
+    public String getSpoolMappedChunkSize() {
+        return spoolMappedChunkSize;
+    }
+
+    /**
+     * The size in bytes of each memory mapped region when spooling to disk using memory mapped files.
+     * <p/>
+     * The default size is 8mb.
+     */
+    public void setSpoolMappedChunkSize(String spoolMappedChunkSize) {
+        this.spoolMappedChunkSize = spoolMappedChunkSize;
+    }
+
     public String getSpoolThreshold() {
         return spoolThreshold;
     }
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+public class FileConsumerScanParallelismTest extends ContextTestSupport {
+
+    @Test
+    public void testParallelScanKeepsListedOrder() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("a", "b1", "b2", "c1", "c2", "d");
+
+        template.sendBodyAndHeader(fileUri("ordered"), "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(fileUri("ordered"), "b1", Exchange.FILE_NAME, "b/b1.txt");
+        template.sendBodyAndHeader(fileUri("ordered"), "b2", Exchange.FILE_NAME, "b/b2.txt");
+        template.sendBodyAndHeader(fileUri("ordered"), "c1", Exchange.FILE_NAME, "c/c1/c1.txt");
+        template.sendBodyAndHeader(fileUri("ordered"), "c2", Exchange.FILE_NAME, "c/c2.txt");
+        template.sendBodyAndHeader(fileUri("ordered"), "d", Exchange.FILE_NAME, "d.txt");
+
+        context.getRouteController().startRoute("ordered");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testParallelScanMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:limit");
+        mock.expectedMessageCount(10);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(1).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(2).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader(fileUri("limit"), "Hello " + i, Exchange.FILE_NAME, "dir" + (i % 4) + "/" + i + ".txt");
+        }
+
+        context.getRouteController().startRoute("limit");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testParallelScanMaxMessagesPerPollIdempotent() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:idempotent");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader(fileUri("idempotent"), "Hello " + i, Exchange.FILE_NAME, "dir" + (i % 4) + "/" + i + ".txt");
+            template.sendBodyAndHeader(fileUri("idempotent"), "Bye " + i, Exchange.FILE_NAME, "dir" + (i % 4) + "/" + i + ".dat");
+        }
+
+        context.getRouteController().startRoute("idempotent");
+
+        // the files beyond the limit of a poll must not be marked as consumed, so they are picked up by the next polls
+        assertMockEndpointsSatisfied();
+        mock.expectedMessageCount(10);
+        mock.assertIsSatisfied(100);
+    }
+
+    @Test
+    public void testParallelScanDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:done");
+
+        template.sendBodyAndHeader(fileUri("done"), "Hello World", Exchange.FILE_NAME, "sub/hello.txt");
+        context.getRouteController().startRoute("done");
+
+        // the file is not consumed until the done file exists
+        mock.expectedMessageCount(0);
+        mock.assertIsSatisfied(100);
+
+        mock.reset();
+        mock.expectedBodiesReceived("Hello World");
+        template.sendBodyAndHeader(fileUri("done"), "", Exchange.FILE_NAME, "sub/hello.txt.done");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testIncrementalScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:incremental");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader(fileUri("incremental"), "Hello World", Exchange.FILE_NAME, "foo/hello.txt");
+        context.getRouteController().startRoute("incremental");
+
+        assertMockEndpointsSatisfied();
+
+        // the directories are now empty, so only changed directories are listed again
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Bye World", "Hi World");
+        template.sendBodyAndHeader(fileUri("incremental"), "Bye World", Exchange.FILE_NAME, "foo/bye.txt");
+        template.sendBodyAndHeader(fileUri("incremental"), "Hi World", Exchange.FILE_NAME, "bar/baz/hi.txt");
+
+        // the watch service may deliver events with some delay
+        mock.setResultWaitTime(20000);
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(fileUri("ordered?initialDelay=0&delay=10&recursive=true&preSort=true&scanParallelism=4"))
+                        .routeId("ordered").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("limit?initialDelay=0&delay=10&recursive=true&maxMessagesPerPoll=3&scanParallelism=4"))
+                        .routeId("limit").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:limit");
+
+                from(fileUri(
+                        "idempotent?initialDelay=0&delay=10&recursive=true&noop=true&include=.*\\.txt&maxMessagesPerPoll=3&scanParallelism=4"))
+                        .routeId("idempotent").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:idempotent");
+
+                from(fileUri("done?initialDelay=0&delay=10&recursive=true&doneFileName=${file:name}.done&scanParallelism=2"))
+                        .routeId("done").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:done");
+
+                from(fileUri("incremental?initialDelay=0&delay=10&recursive=true&scanParallelism=1&incrementalScan=true"))
+                        .routeId("incremental").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:incremental");
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileProducerAppendChannelCacheTest extends ContextTestSupport {
+
+    @Test
+    public void testAppendKeepsFileOpen() throws Exception {
+        String uri = fileUri("?fileExist=Append&appendChannelCacheSize=2");
+        template.sendBodyAndHeader(uri, "Hello\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(uri, "World\n".getBytes(), Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(uri, new ByteArrayInputStream("Bye\n".getBytes()), Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists(testFile("hello.txt"), "Hello\nWorld\nBye\n");
+    }
+
+    @Test
+    public void testAppendEvictsLeastRecentlyUsed() throws Exception {
+        String uri = fileUri("?fileExist=Append&appendChannelCacheSize=2&appendChars=@");
+        for (int i = 0; i < 3; i++) {
+            for (String name : new String[] { "a.txt", "b.txt", "c.txt" }) {
+                template.sendBodyAndHeader(uri, name.substring(0, 1) + i, Exchange.FILE_NAME, name);
+            }
+        }
+
+        assertFileExists(testFile("a.txt"), "a0@a1@a2@");
+        assertFileExists(testFile("b.txt"), "b0@b1@b2@");
+        assertFileExists(testFile("c.txt"), "c0@c1@c2@");
+    }
+
+    @Test
+    public void testAppendFlushInterval() throws Exception {
+        String uri = fileUri("?fileExist=Append&appendChannelCacheSize=1&appendChannelFlushInterval=10"
+                             + "&appendChannelSyncInterval=50");
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader(uri, "Line " + i + "\n", Exchange.FILE_NAME, "lines.txt");
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(
+                () -> assertFileExists(testFile("lines.txt"), "Line 0\nLine 1\nLine 2\nLine 3\nLine 4\n"));
+    }
+
+    @Test
+    public void testAppendFlushIntervalWithDoneFile() throws Exception {
+        // the flush interval is long, so the data is only in the file if written before the done file
+        String uri = fileUri("?fileExist=Append&appendChannelCacheSize=1&appendChannelFlushInterval=60000"
+                             + "&doneFileName=done");
+        template.sendBodyAndHeader(uri, "Line 0\n", Exchange.FILE_NAME, "lines.txt");
+        template.sendBodyAndHeader(uri, "Line 1\n", Exchange.FILE_NAME, "lines.txt");
+
+        assertFileExists(testFile("done"));
+        assertFileExists(testFile("lines.txt"), "Line 0\nLine 1\n");
+    }
+
+    @Test
+    public void testStreamCacheBody() throws Exception {
+        File spool = testDirectory("spool", true).resolve("cache.tmp").toFile();
+        Files.writeString(spool.toPath(), "Hello World");
+
+        template.sendBodyAndHeader(fileUri(), new FileInputStreamCache(spool), Exchange.FILE_NAME, "copy.txt");
+        assertFileExists(testFile("copy.txt"), "Hello World");
+
+        String uri = fileUri("?fileExist=Append&appendChars=\\n");
+        template.sendBodyAndHeader(uri, new FileInputStreamCache(spool), Exchange.FILE_NAME, "append.txt");
+        template.sendBodyAndHeader(uri, new FileInputStreamCache(spool), Exchange.FILE_NAME, "append.txt");
+        assertFileExists(testFile("append.txt"), "Hello World\nHello World\n");
+
+        uri = fileUri("?fileExist=Append&appendChannelCacheSize=1");
+        template.sendBodyAndHeader(uri, new FileInputStreamCache(spool), Exchange.FILE_NAME, "cached.txt");
+        template.sendBodyAndHeader(uri, new FileInputStreamCache(spool), Exchange.FILE_NAME, "cached.txt");
+        assertFileExists(testFile("cached.txt"), "Hello WorldHello World");
+
+        assertEquals("Hello World", Files.readString(spool.toPath()));
+    }
+}
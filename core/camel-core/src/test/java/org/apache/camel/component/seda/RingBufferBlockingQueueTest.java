@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertEquals(3, queue.remainingCapacity());
+
+        assertTrue(queue.offer("a"));
+        assertTrue(queue.offer("b"));
+        assertTrue(queue.offer("c"));
+        // the ring is 4 slots but the capacity is 3
+        assertFalse(queue.offer("d"));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals("a", queue.peek());
+
+        assertEquals("a", queue.poll());
+        assertTrue(queue.offer("d"));
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertEquals("d", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<>(0));
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(4, queue.drainTo(batch, 4));
+        assertEquals(List.of(0, 1, 2, 3), batch);
+
+        batch.clear();
+        assertEquals(6, queue.drainTo(batch));
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), batch);
+        assertEquals(0, queue.drainTo(batch, 4));
+    }
+
+    @Test
+    public void testRemove() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(8);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertEquals(List.of("a", "c"), new ArrayList<>(queue));
+
+        // the removed element is skipped
+        assertEquals("a", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testPollTimeout() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(4);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                Thread.sleep(50);
+                return queue.offer("a");
+            });
+            assertEquals("a", queue.poll(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPutBlocksWhenFull() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1);
+        queue.put("a");
+        assertFalse(queue.offer("b", 10, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.submit(() -> {
+                queue.put("b");
+                latch.countDown();
+                return null;
+            });
+            assertFalse(latch.await(50, TimeUnit.MILLISECONDS));
+            assertEquals("a", queue.take());
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("b", queue.take());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int count = 10000;
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(64);
+        Set<Integer> received = Collections.synchronizedSet(new HashSet<>());
+        CountDownLatch done = new CountDownLatch(producers * count);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * count;
+                executor.submit(() -> {
+                    for (int i = 0; i < count; i++) {
+                        queue.put(base + i);
+                    }
+                    return null;
+                });
+            }
+            for (int c = 0; c < consumers; c++) {
+                executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>();
+                    while (!Thread.currentThread().isInterrupted()) {
+                        Integer e = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (e != null) {
+                            batch.add(e);
+                            queue.drainTo(batch, 9);
+                            for (Integer i : batch) {
+                                assertTrue(received.add(i), "Duplicate element: " + i);
+                                done.countDown();
+                            }
+                            batch.clear();
+                        }
+                    }
+                    return null;
+                });
+            }
+            assertTrue(done.await(20, TimeUnit.SECONDS));
+            assertEquals(producers * count, received.size());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
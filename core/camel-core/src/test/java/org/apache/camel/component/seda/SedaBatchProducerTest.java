@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.GroupedExchangeAggregationStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class SedaBatchProducerTest extends ContextTestSupport {
+
+    @Test
+    public void testBatchWaitForTaskToComplete() throws Exception {
+        getMockEndpoint("mock:foo").expectedMessageCount(3);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the replies of the seda consumers are copied back to each exchange in the batch
+        List<?> batch = getMockEndpoint("mock:result").getReceivedExchanges().get(0).getMessage().getBody(List.class);
+        assertEquals(3, batch.size());
+        for (int i = 0; i < 3; i++) {
+            Exchange exchange = assertInstanceOf(Exchange.class, batch.get(i));
+            assertEquals("Bye Hello " + i, exchange.getMessage().getBody(String.class));
+        }
+    }
+
+    @Test
+    public void testBatchInOnly() throws Exception {
+        getMockEndpoint("mock:bar").expectedBodiesReceivedInAnyOrder("Hello 0", "Hello 1", "Hello 2");
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:inonly", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to("seda:foo?waitForTaskToComplete=Always")
+                        .to("mock:result");
+
+                from("direct:inonly")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to("seda:bar");
+
+                from("seda:foo?concurrentConsumers=3")
+                        .transform(body().prepend("Bye "))
+                        .to("mock:foo");
+
+                from("seda:bar").to("mock:bar");
+            }
+        };
+    }
+}
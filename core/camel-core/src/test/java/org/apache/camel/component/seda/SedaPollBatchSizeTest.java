@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaPollBatchSizeTest extends ContextTestSupport {
+
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch proceed = new CountDownLatch(1);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ringQueueFactory", new RingBufferBlockingQueueFactory<Exchange>());
+        return context;
+    }
+
+    @Test
+    public void testPollBatchSize() throws Exception {
+        SedaEndpoint endpoint = getMandatoryEndpoint("seda:foo", SedaEndpoint.class);
+        assertIsInstanceOf(RingBufferBlockingQueue.class, endpoint.getQueue());
+        assertEquals(10, endpoint.getPollBatchSize());
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(200);
+
+        for (int i = 0; i < 200; i++) {
+            template.sendBody("seda:foo", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPollBatchSizeInOut() {
+        String out = template.requestBody("seda:foo", "Hello World", String.class);
+        assertEquals("Bye World", out);
+    }
+
+    @Test
+    public void testSuspendReturnsBatchToQueue() throws Exception {
+        SedaEndpoint endpoint = getMandatoryEndpoint("seda:bar?pollBatchSize=10", SedaEndpoint.class);
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedBodiesReceived(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:bar", i);
+        }
+
+        // the consumer polls the first exchange, drains the rest as a batch and blocks while processing the second
+        context.getRouteController().startRoute("bar");
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        assertEquals(0, endpoint.getQueue().size());
+
+        // suspend the consumer (such as a route policy does) while it processes the batch
+        SedaConsumer consumer = (SedaConsumer) endpoint.getConsumers().iterator().next();
+        consumer.suspend();
+        proceed.countDown();
+
+        // the rest of the batch is returned to the queue instead of being processed while suspended
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(8, endpoint.getQueue().size()));
+        assertEquals(2, mock.getReceivedCounter());
+
+        consumer.resume();
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:foo?queueFactory=#ringQueueFactory&concurrentConsumers=2&pollBatchSize=10")
+                        .choice().when(body().isEqualTo("Hello World")).transform().constant("Bye World").end()
+                        .to("mock:result");
+
+                from("seda:bar?pollBatchSize=10").routeId("bar").autoStartup(false)
+                        .process(exchange -> {
+                            if (exchange.getMessage().getBody(Integer.class) == 1) {
+                                processing.countDown();
+                                proceed.await(5, TimeUnit.SECONDS);
+                            }
+                        })
+                        .to("mock:bar");
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedFileInputStreamCacheTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+                                              + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolMapped(true);
+        // use a small chunk size so the data spans several memory mapped regions
+        context.getStreamCachingStrategy().setSpoolMappedChunkSize(10);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.getExchangeExtension().setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testMappedStreamCache() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        File dir = testDirectory().toFile();
+        String[] files = dir.list();
+        assertNotNull(files);
+        assertEquals(1, files.length, "we should have a temp file");
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(MappedFileInputStreamCache.class, cache);
+        assertFalse(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+
+        String s = context.getTypeConverter().convertTo(String.class, (InputStream) cache);
+        assertEquals(TEST_STRING, s);
+        assertEquals(TEST_STRING.length(), cache.position());
+
+        // read again after reset
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+
+        cache.reset();
+        InputStream is = (InputStream) cache;
+        assertEquals(5, is.skip(5));
+        assertEquals(TEST_STRING.charAt(5), is.read());
+        assertEquals(TEST_STRING.length() - 6, is.available());
+
+        IOHelper.close(cos);
+        exchange.getUnitOfWork().done(exchange);
+
+        // the exchange is done, so the temp file is gone
+        files = dir.list();
+        assertNotNull(files);
+        assertEquals(0, files.length, "we should not have a temp file");
+        assertThrows(Exception.class, cache::reset);
+    }
+
+    @Test
+    public void testMappedStreamCacheCopy() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        IOHelper.close(cos);
+
+        StreamCache cache = cos.newStreamCache();
+        // read half of the stream before copying
+        byte[] buf = new byte[20];
+        assertEquals(10, ((InputStream) cache).read(buf, 0, 20));
+
+        Exchange copy = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(copy);
+        copy.getExchangeExtension().setUnitOfWork(uow);
+        StreamCache other = cache.copy(copy);
+
+        // each copy reads the shared data on its own
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, (InputStream) other));
+        assertEquals(TEST_STRING.substring(10), context.getTypeConverter().convertTo(String.class, (InputStream) cache));
+
+        File dir = testDirectory().toFile();
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(1, dir.list().length, "the copy is still in use");
+
+        copy.getUnitOfWork().done(copy);
+        assertEquals(0, dir.list().length, "we should not have a temp file");
+    }
+
+    @Test
+    public void testMappedStreamCacheWriteToChannel() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        IOHelper.close(cos);
+
+        MappedFileInputStreamCache cache = assertInstanceOf(MappedFileInputStreamCache.class, cos.newStreamCache());
+        assertEquals(5, cache.skip(5));
+
+        Path target = testDirectory().resolve("out").resolve("target.txt");
+        Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // only the remaining content is written
+            assertEquals(TEST_STRING.length() - 5, cache.writeTo(channel));
+        }
+        assertEquals(TEST_STRING.substring(5), Files.readString(target));
+        assertEquals(TEST_STRING.length(), cache.position());
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the temp file is deleted, and the closed cache cannot be read from nor copied anymore
+        String[] files = testDirectory().toFile().list((dir, name) -> name.endsWith(".tmp"));
+        assertNotNull(files);
+        assertEquals(0, files.length, "we should not have a temp file");
+        assertThrows(IOException.class, cache::read);
+        assertThrows(IOException.class, () -> cache.copy(exchange));
+    }
+
+}
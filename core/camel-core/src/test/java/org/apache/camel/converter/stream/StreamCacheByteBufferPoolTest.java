@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultByteBufferPool;
+import org.apache.camel.spi.ByteBufferPool;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.PluginHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamCacheByteBufferPoolTest extends ContextTestSupport {
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testStreamCachingUsesPool() throws Exception {
+        context.start();
+
+        ByteBufferPool pool = PluginHelper.getByteBufferPool(context);
+        DefaultByteBufferPool dbp = assertInstanceOf(DefaultByteBufferPool.class, pool);
+        assertEquals(ServiceStatus.Started, dbp.getStatus());
+
+        String data = "Hello World ".repeat(1000);
+        for (int i = 0; i < 3; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            InputStream is = new BufferedInputStream(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+            StreamCache cache = context.getTypeConverter().convertTo(StreamCache.class, exchange, is);
+
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            cache.writeTo(bos);
+            assertEquals(data, bos.toString(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(0, pool.getStatistics().getOutstanding());
+        assertTrue(pool.getStatistics().getHitCounter() >= 2);
+        assertEquals(1, pool.getStatistics().getMissCounter());
+    }
+
+    @Test
+    public void testPoolStoppedWithContext() throws Exception {
+        context.start();
+
+        DefaultByteBufferPool pool
+                = assertInstanceOf(DefaultByteBufferPool.class, PluginHelper.getByteBufferPool(context));
+        pool.release(pool.acquire(4096));
+        assertEquals(1, pool.getStatistics().getPooled());
+
+        context.stop();
+        assertEquals(ServiceStatus.Stopped, pool.getStatus());
+        assertEquals(0, pool.getStatistics().getPooled());
+    }
+
+}
@@ -17,8 +17,10 @@
 package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.sax.SAXSource;
@@ -39,6 +41,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for {@link StreamCacheConverter}
@@ -130,6 +133,26 @@ public class StreamCacheConverterTest extends ContextTestSupport {
         assertNotNull(bytes);
     }
 
+    @Test
+    public void testConvertToStreamCacheClosesFailedInputStream() throws Exception {
+        context.start();
+
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Forced");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertThrows(IOException.class, () -> StreamCacheConverter.convertToStreamCache(is, exchange));
+        assertTrue(closed.get(), "The input stream should be closed");
+    }
+
     protected InputStream getTestFileStream() {
         InputStream answer = getClass().getClassLoader().getResourceAsStream(TEST_FILE);
         assertNotNull(answer, "Should have found the file: " + TEST_FILE + " on the classpath");
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.ArrayHeadersMapFactory;
+import org.apache.camel.support.ArrayHeadersMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class ArrayHeadersMapFactoryRouteTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getCamelContextExtension().setHeadersMapFactory(new ArrayHeadersMapFactory());
+        return context;
+    }
+
+    @Test
+    public void testArrayHeaders() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B", "C");
+        getMockEndpoint("mock:result").expectedHeaderValuesReceivedInAnyOrder("part", "A", "B", "C");
+        getMockEndpoint("mock:result").allMessages().header("FOO").isEqualTo(456);
+        getMockEndpoint("mock:result").allMessages().header("bar").isEqualTo("yes");
+        getMockEndpoint("mock:done").expectedHeaderReceived("foo", 456);
+        getMockEndpoint("mock:done").message(0).header("part").isNull();
+
+        template.sendBodyAndHeader("direct:start", "A,B,C", "Foo", 123);
+
+        assertMockEndpointsSatisfied();
+
+        assertInstanceOf(ArrayHeadersMap.class,
+                getMockEndpoint("mock:done").getReceivedExchanges().get(0).getMessage().getHeaders());
+        assertEquals(2, getMockEndpoint("mock:done").getReceivedExchanges().get(0).getMessage().getHeaders().size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .setHeader("foo", constant(456))
+                        .setHeader("Bar", constant("yes"))
+                        .split(body().tokenize(","))
+                            // the headers of the splits are changed without affecting the original message
+                            .setHeader("part", body())
+                            .to("mock:result")
+                        .end()
+                        .to("mock:done");
+            }
+        };
+    }
+
+}
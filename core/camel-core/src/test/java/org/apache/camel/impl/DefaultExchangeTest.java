@@ -18,6 +18,12 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -30,7 +36,9 @@ import org.apache.camel.SafeCopyProperty;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultMessage;
+import org.apache.camel.support.DefaultPooledExchange;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.util.CaseInsensitiveMap;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -408,6 +416,182 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
 
     }
 
+    @Test
+    public void testCopyOnWriteProperties() {
+        exchange.setProperty("beer", "Carlsberg");
+        exchange.setProperty("wine", "Bordeaux");
+
+        Exchange copy = exchange.copy();
+        Exchange copy2 = exchange.copy();
+        assertEquals("Carlsberg", copy.getProperty("beer"));
+        assertEquals("Carlsberg", copy2.getProperty("beer"));
+
+        // changing the copy does not affect the original
+        copy.setProperty("beer", "Heineken");
+        copy.removeProperty("wine");
+        assertEquals("Carlsberg", exchange.getProperty("beer"));
+        assertEquals("Bordeaux", exchange.getProperty("wine"));
+
+        // changing the original does not affect the other copy
+        exchange.getProperties().put("beer", "Tuborg");
+        exchange.removeProperties("*");
+        assertFalse(exchange.hasProperties());
+        assertEquals("Carlsberg", copy2.getProperty("beer"));
+        assertEquals("Bordeaux", copy2.getProperty("wine"));
+        assertEquals("Heineken", copy.getProperty("beer"));
+        assertNull(copy.getProperty("wine"));
+    }
+
+    @Test
+    public void testCopyOnWriteHeaders() {
+        exchange.getIn().setHeader("beer", "Carlsberg");
+
+        Exchange copy = exchange.copy();
+        Exchange copy2 = exchange.copy();
+        assertEquals("Carlsberg", copy.getIn().getHeader("beer"));
+        assertEquals("abc", copy.getIn().getHeader("foo"));
+
+        // changing the copy does not affect the original
+        copy.getIn().setHeader("beer", "Heineken");
+        copy.getIn().removeHeaders("*");
+        assertEquals("Carlsberg", exchange.getIn().getHeader("beer"));
+        assertEquals("abc", exchange.getIn().getHeader("foo"));
+        assertFalse(copy.getIn().hasHeaders());
+
+        // changing the original does not affect the other copy
+        exchange.getIn().getHeaders().put("beer", "Tuborg");
+        exchange.getIn().removeHeader("foo");
+        assertEquals("Carlsberg", copy2.getIn().getHeader("beer"));
+        assertEquals("abc", copy2.getIn().getHeader("foo"));
+        assertEquals(3, copy2.getIn().getHeaders().size());
+        assertEquals(2, exchange.getIn().getHeaders().size());
+    }
+
+    @Test
+    public void testCopyOnWriteVariablesGetVariables() {
+        exchange.setVariable("beer", "Carlsberg");
+
+        Exchange copy = exchange.copy();
+        copy.getVariables().put("beer", "Heineken");
+        assertEquals("Carlsberg", exchange.getVariable("beer"));
+        assertEquals("Heineken", copy.getVariable("beer"));
+
+        copy.removeVariable("*");
+        assertFalse(copy.hasVariables());
+        assertEquals("Carlsberg", exchange.getVariable("beer"));
+    }
+
+    @Test
+    public void testCopyExposedMaps() {
+        exchange.setProperty("beer", "Carlsberg");
+        exchange.setVariable("wine", "Bordeaux");
+        Map<String, Object> properties = exchange.getProperties();
+        Map<String, Object> variables = exchange.getVariables();
+        Map<String, Object> headers = exchange.getIn().getHeaders();
+
+        Exchange copy = exchange.copy();
+
+        // changing the maps kept by the caller must not affect the copy
+        properties.put("beer", "Heineken");
+        variables.put("wine", "Rioja");
+        headers.put("foo", "changed");
+        assertEquals("Heineken", exchange.getProperty("beer"));
+        assertEquals("Rioja", exchange.getVariable("wine"));
+        assertEquals("changed", exchange.getIn().getHeader("foo"));
+        assertEquals("Carlsberg", copy.getProperty("beer"));
+        assertEquals("Bordeaux", copy.getVariable("wine"));
+        assertEquals("abc", copy.getIn().getHeader("foo"));
+    }
+
+    @Test
+    public void testCopySetHeadersMap() {
+        Map<String, Object> headers = new CaseInsensitiveMap();
+        headers.put("beer", "Carlsberg");
+        exchange.getIn().setHeaders(headers);
+
+        Exchange copy = exchange.copy();
+
+        // changing the map given to setHeaders must not affect the copy
+        headers.put("beer", "Heineken");
+        assertEquals("Heineken", exchange.getIn().getHeader("beer"));
+        assertEquals("Carlsberg", copy.getIn().getHeader("beer"));
+    }
+
+    @Test
+    public void testCopyOnWriteAfterCopyChanged() {
+        exchange.setProperty("beer", "Carlsberg");
+
+        Exchange copy = exchange.copy();
+        Exchange copy2 = copy.copy();
+        copy.setProperty("beer", "Heineken");
+        copy2.setProperty("beer", "Tuborg");
+        exchange.setProperty("beer", "Bavaria");
+
+        assertEquals("Bavaria", exchange.getProperty("beer"));
+        assertEquals("Heineken", copy.getProperty("beer"));
+        assertEquals("Tuborg", copy2.getProperty("beer"));
+    }
+
+    @Test
+    public void testCopyOnWriteConcurrentCopies() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                Exchange parent = new DefaultExchange(context);
+                parent.setProperty("beer", "Carlsberg");
+                parent.setVariable("wine", "Bordeaux");
+                parent.getIn().setHeader("cheese", "gauda");
+
+                // the parent is copied by several threads at the same time, and each copy changes its maps
+                List<Future<Exchange>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    String value = "copy" + i;
+                    futures.add(executor.submit(() -> {
+                        Exchange copy = parent.copy();
+                        copy.setProperty("beer", value);
+                        copy.setVariable("wine", value);
+                        copy.getIn().setHeader("cheese", value);
+                        return copy;
+                    }));
+                }
+                for (Future<Exchange> future : futures) {
+                    future.get();
+                }
+
+                assertEquals("Carlsberg", parent.getProperty("beer"));
+                assertEquals("Bordeaux", parent.getVariable("wine"));
+                assertEquals("gauda", parent.getIn().getHeader("cheese"));
+                for (int i = 0; i < 4; i++) {
+                    Exchange copy = futures.get(i).get();
+                    assertEquals("copy" + i, copy.getProperty("beer"));
+                    assertEquals("copy" + i, copy.getVariable("wine"));
+                    assertEquals("copy" + i, copy.getIn().getHeader("cheese"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCopyOnWritePooledExchangeDone() {
+        DefaultPooledExchange pooled = new DefaultPooledExchange(context);
+        pooled.setProperty("beer", "Carlsberg");
+        pooled.setVariable("wine", "Bordeaux");
+        pooled.getIn().setHeader("cheese", "gauda");
+
+        Exchange copy = pooled.copy();
+        // reset the pooled exchange for reuse must not affect the copy
+        pooled.done();
+        assertFalse(pooled.hasProperties());
+        assertFalse(pooled.hasVariables());
+        assertFalse(pooled.getIn().hasHeaders());
+
+        assertEquals("Carlsberg", copy.getProperty("beer"));
+        assertEquals("Bordeaux", copy.getVariable("wine"));
+        assertEquals("gauda", copy.getIn().getHeader("cheese"));
+    }
+
     private static final class SafeProperty implements SafeCopyProperty {
 
         private SafeProperty() {
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collection;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.StripedInflightRepository;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedInflightRepositoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setInflightRepository(new StripedInflightRepository());
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testSize() {
+        StripedInflightRepository repo = new StripedInflightRepository();
+        repo.addRoute("foo");
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        assertEquals(2, repo.size());
+        assertEquals(1, repo.size("foo"));
+
+        // browsing is not enabled
+        assertTrue(repo.browse().isEmpty());
+        assertNull(repo.oldest(null));
+
+        repo.remove(e2);
+        repo.remove(e1, "foo");
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.size("foo"));
+    }
+
+    @Test
+    public void testBrowseSampleRate() {
+        StripedInflightRepository repo = new StripedInflightRepository();
+        repo.setInflightBrowseEnabled(true);
+        repo.setBrowseSampleRate(10);
+
+        Exchange[] exchanges = new Exchange[1000];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = new DefaultExchange(context);
+            repo.add(exchanges[i]);
+        }
+
+        // the size is exact but only a sample is browsable
+        assertEquals(1000, repo.size());
+        int sampled = repo.browse().size();
+        assertTrue(sampled > 0 && sampled < 1000, "Should be a sample, was: " + sampled);
+
+        for (Exchange exchange : exchanges) {
+            repo.remove(exchange);
+        }
+        assertEquals(0, repo.size());
+        assertTrue(repo.browse().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> repo.setBrowseSampleRate(0));
+    }
+
+    @Test
+    public void testInflight() {
+        assertEquals(0, context.getInflightRepository().browse().size());
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertEquals(0, context.getInflightRepository().size());
+        assertEquals(0, context.getInflightRepository().browse().size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").routeId("foo").process(exchange -> {
+                    InflightRepository repo = context.getInflightRepository();
+                    assertEquals(1, repo.size());
+                    assertEquals(1, repo.size("foo"));
+
+                    Collection<InflightRepository.InflightExchange> list = repo.browse("foo");
+                    assertEquals(1, list.size());
+
+                    InflightRepository.InflightExchange inflight = list.iterator().next();
+                    assertNotNull(inflight);
+                    assertSame(exchange, inflight.getExchange());
+                    assertEquals("foo", inflight.getFromRouteId());
+                    assertEquals("myProcessor", inflight.getNodeId());
+
+                    assertSame(exchange, repo.oldest("foo").getExchange());
+                    assertNull(repo.oldest("bar"));
+                }).id("myProcessor").to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResolveTypeConverterTest extends ContextTestSupport {
+
+    @Test
+    public void testResolveTypeConverter() throws Exception {
+        TypeConverter tc = context.getTypeConverterRegistry().resolveTypeConverter(Integer.class, String.class);
+        assertNotNull(tc);
+
+        assertEquals(123, tc.convertTo(Integer.class, "123"));
+        assertEquals(456, tc.convertTo(int.class, "456"));
+        assertEquals(789, tc.mandatoryConvertTo(Integer.class, "789"));
+        assertNull(tc.convertTo(Integer.class, null));
+
+        // other types are converted by the registry
+        assertEquals(123L, tc.convertTo(Long.class, "123"));
+        assertEquals(Boolean.TRUE, tc.convertTo(Boolean.class, "true"));
+        assertEquals(5, tc.convertTo(Integer.class, 5L));
+
+        assertNull(tc.tryConvertTo(Integer.class, "abc"));
+        assertThrows(TypeConversionException.class, () -> tc.convertTo(Integer.class, "abc"));
+    }
+
+    @Test
+    public void testResolveTypeConverterMandatory() {
+        TypeConverter tc = context.getTypeConverterRegistry().resolveTypeConverter(Country.class, String.class);
+
+        assertNull(tc.convertTo(Country.class, "en"));
+        assertThrows(NoTypeConversionAvailableException.class, () -> tc.mandatoryConvertTo(Country.class, "en"));
+    }
+
+    @Test
+    public void testResolveTypeConverterRefreshed() {
+        TypeConverter tc = context.getTypeConverterRegistry().resolveTypeConverter(Country.class, String.class);
+
+        // the miss is remembered but not exposed as a type converter
+        assertNull(tc.convertTo(Country.class, "en"));
+        assertNull(context.getTypeConverterRegistry().lookup(Country.class, String.class));
+
+        context.getTypeConverterRegistry().addTypeConverters(new MyConverters());
+
+        Country country = tc.convertTo(Country.class, "en");
+        assertNotNull(country);
+        assertEquals("England", country.getName());
+        assertNotNull(context.getTypeConverterRegistry().lookup(Country.class, String.class));
+    }
+
+    @Test
+    public void testCommonTypes() throws Exception {
+        TypeConverter tc = context.getTypeConverter();
+
+        assertEquals("Hello", tc.convertTo(String.class, "Hello".getBytes()));
+        assertEquals(12, tc.mandatoryConvertTo(int.class, "12".getBytes()));
+        assertEquals(12L, tc.mandatoryConvertTo(long.class, "12"));
+        assertEquals(12L, tc.mandatoryConvertTo(Long.class, 12));
+        assertEquals(12, tc.mandatoryConvertTo(Integer.class, 12L));
+        assertEquals(Boolean.FALSE, tc.mandatoryConvertTo(Boolean.class, "false".getBytes()));
+        assertNull(tc.tryConvertTo(Integer.class, "abc"));
+    }
+}
@@ -16,8 +16,11 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.regex.PatternSyntaxException;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.LanguageTestSupport;
+import org.apache.camel.Predicate;
 import org.apache.camel.language.simple.types.SimpleIllegalSyntaxException;
 import org.apache.camel.spi.Registry;
 import org.junit.jupiter.api.Test;
@@ -550,6 +553,14 @@ public class SimpleOperatorTest extends LanguageTestSupport {
 
         assertPredicate("${in.header.bar} regex '^\\d{3}'", true);
         assertPredicate("${in.header.bar} regex '^\\d{2}'", false);
+        assertPredicate("${in.header.unknown} regex '^a..$'", false);
+    }
+
+    @Test
+    public void testRegexInvalidPattern() {
+        // an invalid constant pattern is not folded, so it only fails when evaluated
+        Predicate predicate = context.resolveLanguage("simple").createPredicate("${in.header.foo} regex '['");
+        assertThrows(PatternSyntaxException.class, () -> predicate.matches(exchange));
     }
 
     @Test
@@ -728,6 +739,37 @@ public class SimpleOperatorTest extends LanguageTestSupport {
         assertEquals(31, e6.getIndex());
     }
 
+    @Test
+    public void testConstantOperands() {
+        // null on the left hand side of a folded constant
+        assertPredicate("${in.header.unknown} in 'abc,def'", false);
+        assertPredicate("${in.header.unknown} not in 'abc,def'", true);
+        assertPredicate("${in.header.unknown} not regex '^a..$'", true);
+        assertPredicate("${in.header.unknown} range '100..200'", false);
+        assertPredicate("${in.header.unknown} not range '100..200'", true);
+        assertPredicate("${in.header.unknown} is 'String'", false);
+        assertPredicate("${in.header.unknown} not is 'String'", true);
+
+        // null and numeric constants on the right hand side
+        assertPredicate("${in.header.foo} in null", false);
+        assertPredicate("${in.header.foo} not in null", true);
+        assertPredicate("${in.header.bar} in 123", true);
+        assertPredicate("${in.header.bar} in 100", false);
+        assertPredicate("${in.header.bar} not in 123", false);
+        assertPredicate("${in.header.bar} in '123'", true);
+        assertPredicate("${in.header.foo} in ''", false);
+        assertPredicate("${in.header.foo} regex ''", false);
+
+        // string constants on both sides
+        assertPredicate("'abc' in 'abc,def'", true);
+        assertPredicate("'abc' not in 'abc,def'", false);
+        assertPredicate("'abc' regex '^a..$'", true);
+        assertPredicate("'123' range '100..200'", true);
+        assertPredicate("'abc' range '100..200'", false);
+        assertPredicate("'abc' is 'String'", true);
+        assertPredicate("'abc' not is 'String'", false);
+    }
+
     @Test
     public void testUnaryInc() {
         assertExpression("${in.header.bar}++", 124);
@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProducer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.GroupedExchangeAggregationStrategy;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeSendingEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeSentEvent;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.EventNotifierSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class BatchProducerTest extends ContextTestSupport {
+
+    private final List<Integer> batches = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+    private final List<String> single = new ArrayList<>();
+    private volatile int failures;
+    private final List<String> sending = new CopyOnWriteArrayList<>();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getManagementStrategy().addEventNotifier(new EventNotifierSupport() {
+            @Override
+            public void notify(CamelEvent event) {
+                if (event instanceof ExchangeSendingEvent e && e.getEndpoint() instanceof MyEndpoint) {
+                    sending.add(e.getExchange().getMessage().getBody(String.class));
+                } else if (event instanceof ExchangeSentEvent e && e.getEndpoint() instanceof MyEndpoint) {
+                    sent.add(e.getExchange().getMessage().getBody(String.class));
+                }
+            }
+
+            @Override
+            public boolean isEnabled(CamelEvent event) {
+                return event instanceof ExchangeSendingEvent || event instanceof ExchangeSentEvent;
+            }
+        });
+        return context;
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(List.of(3, 3), batches);
+        assertEquals(6, bodies.size());
+        assertEquals(0, single.size());
+    }
+
+    @Test
+    public void testBatchEvents() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // an event per exchange in the batch, and not for the exchange holding the batch
+        assertEquals(List.of("Hello 0", "Hello 1", "Hello 2"), sending);
+        assertEquals(List.of("Hello 0", "Hello 1", "Hello 2"), sent);
+    }
+
+    @Test
+    public void testBatchAsync() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:async", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(List.of(3), batches);
+        assertEquals(List.of("Hello 0", "Hello 1", "Hello 2"), bodies);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testBatchCallbackThenException() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(1);
+        // the batch must only be done once
+        result.setAssertPeriod(200);
+        getMockEndpoint("mock:dead").expectedMessageCount(0);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:throwing", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(List.of(3), batches);
+    }
+
+    @Test
+    public void testBatchFallback() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:fallback", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the default batch implementation processes the exchanges one at a time
+        assertEquals(List.of("Hello 0", "Hello 1", "Hello 2"), single);
+        assertEquals(0, batches.size());
+    }
+
+    @Test
+    public void testSingle() {
+        template.sendBody("direct:single", "Hello World");
+
+        assertEquals(List.of("Hello World"), single);
+        assertEquals(0, batches.size());
+    }
+
+    @Test
+    public void testBatchRedeliverFailed() throws Exception {
+        // the first attempt fails for 1 of the exchanges, and only that exchange should be redelivered
+        failures = 1;
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello 0");
+        template.sendBody("direct:start", "Kaboom");
+        template.sendBody("direct:start", "Hello 2");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(List.of(3, 1), batches);
+        assertEquals(List.of("Hello 0", "Hello 2", "Kaboom"), bodies);
+    }
+
+    @Test
+    public void testBatchExhausted() throws Exception {
+        failures = 10;
+
+        MockEndpoint dead = getMockEndpoint("mock:dead");
+        dead.expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello 0");
+        template.sendBody("direct:start", "Kaboom");
+        template.sendBody("direct:start", "Hello 2");
+
+        assertMockEndpointsSatisfied();
+
+        // first attempt + 2 redeliveries of the failed exchange
+        assertEquals(List.of(3, 1, 1), batches);
+
+        Exchange out = dead.getReceivedExchanges().get(0);
+        CamelExchangeException cause
+                = assertInstanceOf(CamelExchangeException.class, out.getProperty(Exchange.EXCEPTION_CAUGHT));
+        assertEquals("Kaboom", cause.getExchange().getMessage().getBody());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                MyEndpoint batch = new MyEndpoint("mybatch", context, MyBatchProducer::new);
+                MyEndpoint async = new MyEndpoint("myasync", context, MyAsyncBatchProducer::new);
+                MyEndpoint fallback = new MyEndpoint("myfallback", context, MySingleProducer::new);
+                MyEndpoint throwing = new MyEndpoint("mythrowing", context, MyThrowingBatchProducer::new);
+
+                errorHandler(deadLetterChannel("mock:dead").maximumRedeliveries(2).redeliveryDelay(0));
+
+                from("direct:start")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to(batch)
+                        .to("mock:result");
+
+                from("direct:async")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to(async)
+                        .to("mock:result");
+
+                from("direct:fallback")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to(fallback)
+                        .to("mock:result");
+
+                from("direct:throwing")
+                        .aggregate(constant(true), new GroupedExchangeAggregationStrategy()).completionSize(3)
+                        .to(throwing)
+                        .to("mock:result");
+
+                from("direct:single").to(batch);
+            }
+        };
+    }
+
+    private static final class MyEndpoint extends DefaultEndpoint {
+
+        private final Function<Endpoint, Producer> factory;
+
+        private MyEndpoint(String endpointUri, CamelContext camelContext, Function<Endpoint, Producer> factory) {
+            this.factory = factory;
+            setCamelContext(camelContext);
+            setEndpointUri(endpointUri);
+        }
+
+        @Override
+        public Producer createProducer() {
+            return factory.apply(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) {
+            throw new UnsupportedOperationException("Consumer not supported");
+        }
+    }
+
+    private class MyBatchProducer extends DefaultProducer implements BatchProducer {
+
+        MyBatchProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void process(Exchange exchange) {
+            single.add(exchange.getMessage().getBody(String.class));
+        }
+
+        @Override
+        public void processBatch(List<Exchange> exchanges) {
+            batches.add(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                String body = exchange.getMessage().getBody(String.class);
+                if ("Kaboom".equals(body) && failures-- > 0) {
+                    exchange.setException(new IllegalArgumentException("Forced"));
+                } else {
+                    bodies.add(body);
+                }
+            }
+        }
+    }
+
+    private class MyAsyncBatchProducer extends DefaultProducer implements BatchProducer {
+
+        MyAsyncBatchProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void process(Exchange exchange) {
+            single.add(exchange.getMessage().getBody(String.class));
+        }
+
+        @Override
+        public void processBatch(List<Exchange> exchanges) {
+            throw new UnsupportedOperationException("Should be processed asynchronously");
+        }
+
+        @Override
+        public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+            Thread thread = new Thread(() -> {
+                batches.add(exchanges.size());
+                for (Exchange exchange : exchanges) {
+                    bodies.add(exchange.getMessage().getBody(String.class));
+                }
+                callback.done(false);
+            }, "MyAsyncBatchProducer");
+            thread.start();
+            return false;
+        }
+    }
+
+    private class MyThrowingBatchProducer extends MyAsyncBatchProducer {
+
+        MyThrowingBatchProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+            batches.add(exchanges.size());
+            // call back, and then fail while cleaning up
+            callback.done(true);
+            throw new IllegalStateException("Forced after done");
+        }
+    }
+
+    private class MySingleProducer extends DefaultProducer implements BatchProducer {
+
+        MySingleProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void process(Exchange exchange) {
+            single.add(exchange.getMessage().getBody(String.class));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.DefaultMessageHistoryFactory;
+import org.apache.camel.impl.engine.DefaultMessageHistoryFactory.SampledMessageHistory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageHistorySamplingTest extends ContextTestSupport {
+
+    private DefaultMessageHistoryFactory factory() {
+        return (DefaultMessageHistoryFactory) context.getMessageHistoryFactory();
+    }
+
+    @Test
+    public void testHeadSampling() {
+        factory().setSampleRate(4);
+
+        int sampled = 0;
+        for (int i = 0; i < 400; i++) {
+            Exchange out = template.request("direct:start", e -> e.getMessage().setBody("Hello World"));
+            List<MessageHistory> history = out.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            if (history != null) {
+                // a sampled exchange has its full history
+                assertEquals("choice", history.get(0).getNode().getId());
+                assertEquals("result", history.get(history.size() - 1).getNode().getId());
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 0 && sampled < 400, "Should sample some exchanges, was: " + sampled);
+    }
+
+    @Test
+    public void testTailSamplingFailed() {
+        factory().setSampleFailed(true);
+
+        template.request("direct:start", e -> e.getMessage().setBody("Hello World"));
+        template.request("direct:start", e -> e.getMessage().setBody("Kaboom"));
+        template.request("direct:start", e -> e.getMessage().setBody("Bye World"));
+
+        // only the failed exchange is kept
+        List<SampledMessageHistory> list = factory().getSampledMessageHistories();
+        assertEquals(1, list.size());
+        SampledMessageHistory history = list.get(0);
+        assertEquals("start", history.getRouteId());
+        assertNotNull(history.getExchangeId());
+        assertInstanceOf(IllegalArgumentException.class, history.getException());
+        List<MessageHistory> nodes = history.getMessageHistory();
+        assertEquals("choice", nodes.get(0).getNode().getId());
+        assertEquals("kaboom", nodes.get(nodes.size() - 1).getNode().getId());
+        assertEquals(1, factory().getSampledCount());
+
+        factory().clearSampledMessageHistories();
+        assertEquals(0, factory().getSampledMessageHistories().size());
+    }
+
+    @Test
+    public void testTailSamplingSlow() {
+        factory().setSampleSlowThreshold(50);
+
+        template.request("direct:start", e -> e.getMessage().setBody("Hello World"));
+        template.request("direct:start", e -> e.getMessage().setBody("Slow"));
+
+        List<SampledMessageHistory> list = factory().getSampledMessageHistories();
+        assertEquals(1, list.size());
+        assertTrue(list.get(0).getElapsed() > 50);
+        List<MessageHistory> nodes = list.get(0).getMessageHistory();
+        assertEquals("result", nodes.get(nodes.size() - 1).getNode().getId());
+    }
+
+    @Test
+    public void testSampleBufferIsBounded() {
+        factory().setSampleBufferSize(4);
+        factory().setSampleFailed(true);
+
+        for (int i = 0; i < 10; i++) {
+            template.request("direct:start", e -> e.getMessage().setBody("Kaboom"));
+        }
+
+        assertEquals(4, factory().getSampledMessageHistories().size());
+        assertEquals(10, factory().getSampledCount());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                context.setMessageHistory(true);
+
+                from("direct:start").routeId("start")
+                        .choice().id("choice")
+                            .when(body().isEqualTo("Kaboom")).throwException(new IllegalArgumentException("Forced")).id("kaboom")
+                            .when(body().isEqualTo("Slow")).delay(100).id("slow").end()
+                        .end()
+                        .to("mock:result").id("result");
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitParallelMaxInFlightTest extends ContextTestSupport {
+
+    private static final int SIZE = 200;
+    private static final int MAX_IN_FLIGHT = 5;
+
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    public void testMaxInFlight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:start", new CountingIterator());
+
+        assertMockEndpointsSatisfied();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            expected.add(i);
+        }
+        // the replies should be aggregated in order also in streaming mode
+        assertEquals(expected, mock.getReceivedExchanges().get(0).getMessage().getBody());
+        assertTrue(maxInFlight.get() <= MAX_IN_FLIGHT, "In-flight exceeded the window: " + maxInFlight.get());
+    }
+
+    @Test
+    public void testMaxInFlightFastReplies() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:fast");
+        mock.expectedMessageCount(20);
+
+        // replies completing at the same time should not leave the window paused
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:fast", new CountingIterator());
+        }
+
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            assertEquals(SIZE, exchange.getMessage().getBody(List.class).size());
+        }
+    }
+
+    @Test
+    public void testMaxInFlightTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedMessageCount(1);
+
+        // the window is full with slow exchanges, so the timeout should complete the split
+        template.sendBody("direct:timeout", new CountingIterator());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .split(body(), new ListAggregationStrategy()).parallelProcessing().streaming()
+                        .maxInFlight(MAX_IN_FLIGHT)
+                            .process(e -> Thread.sleep(ThreadLocalRandom.current().nextInt(5)))
+                        .end()
+                        .to("mock:result");
+
+                from("direct:fast")
+                        .split(body(), new ListAggregationStrategy()).parallelProcessing().streaming()
+                        .maxInFlight(MAX_IN_FLIGHT)
+                            .to("log:fast?level=OFF")
+                        .end()
+                        .to("mock:fast");
+
+                from("direct:timeout")
+                        .split(body(), new ListAggregationStrategy()).parallelProcessing().streaming()
+                        .maxInFlight(2).timeout(250)
+                            .process(e -> Thread.sleep(1000))
+                        .end()
+                        .to("mock:timeout");
+            }
+        };
+    }
+
+    private class CountingIterator implements Iterator<Integer> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < SIZE;
+        }
+
+        @Override
+        public Integer next() {
+            int inFlight = index - aggregated.get() + 1;
+            maxInFlight.accumulateAndGet(inFlight, Math::max);
+            return index++;
+        }
+    }
+
+    private class ListAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            aggregated.incrementAndGet();
+            Integer body = newExchange.getMessage().getBody(Integer.class);
+            if (oldExchange == null) {
+                List<Integer> list = new ArrayList<>();
+                list.add(body);
+                newExchange.getMessage().setBody(list);
+                return newExchange;
+            }
+            oldExchange.getMessage().getBody(List.class).add(body);
+            return oldExchange;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SplitTokenizerParallelismTest extends ContextTestSupport {
+
+    // enough lines for the file to be divided into several ranges
+    private static final int LINES = 50000;
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<Integer> indexes = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSplitFileInParallel() throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(testFile("big.txt"))) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("Line " + i + " of the file to split using more threads\n");
+            }
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:done");
+        mock.expectedMessageCount(1);
+        context.getRouteController().startRoute("lines");
+        assertMockEndpointsSatisfied();
+
+        assertEquals(LINES, bodies.size());
+        for (int i = 0; i < LINES; i++) {
+            assertEquals("Line " + i + " of the file to split using more threads", bodies.get(i));
+            assertEquals(i, indexes.get(i));
+        }
+    }
+
+    @Test
+    public void testSplitFileInParallelGroup() throws Exception {
+        template.sendBodyAndHeader(fileUri(), "A\nB\nC\nD\nE\n", Exchange.FILE_NAME, "group.csv");
+
+        MockEndpoint mock = getMockEndpoint("mock:group");
+        mock.expectedBodiesReceived("B\nC", "D\nE");
+        context.getRouteController().startRoute("group");
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(fileUri("?initialDelay=0&delay=10&include=.*txt")).routeId("lines").autoStartup(false)
+                        .split(expression().tokenize().token("\n").parallelism(3).end()).streaming()
+                            .process(e -> {
+                                bodies.add(e.getMessage().getBody(String.class));
+                                indexes.add(e.getProperty(Exchange.SPLIT_INDEX, Integer.class));
+                            })
+                        .end()
+                        .to("mock:done");
+
+                from(fileUri("?initialDelay=0&delay=10&include=.*csv")).routeId("group").autoStartup(false)
+                        .split(expression().tokenize().token("\n").group(2).skipFirst(true).parallelism(2).end())
+                            .to("mock:group");
+            }
+        };
+    }
+}
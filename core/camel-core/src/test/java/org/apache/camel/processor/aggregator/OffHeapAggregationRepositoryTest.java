@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.OffHeapAggregationRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapAggregationRepositoryTest extends ContextTestSupport {
+
+    @TempDir
+    Path overflowDir;
+
+    @Test
+    public void testAggregate() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedBodiesReceived("A+B+C", "D+E+F");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "D", "id", "bar");
+        template.sendBodyAndHeader("direct:start", "B", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "E", "id", "bar");
+        template.sendBodyAndHeader("direct:start", "C", "id", "foo");
+        template.sendBodyAndHeader("direct:start", "F", "id", "bar");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals("foo", mock.getReceivedExchanges().get(0).getProperty(Exchange.AGGREGATED_CORRELATION_KEY));
+        assertEquals(3, mock.getReceivedExchanges().get(0).getProperty(Exchange.AGGREGATED_SIZE));
+    }
+
+    @Test
+    public void testAddGetRemove() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.start();
+        try {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody("Hello World");
+            exchange.getMessage().setHeader("foo", 123);
+
+            assertNull(repo.add(context, "a", exchange));
+
+            Exchange answer = repo.get(context, "a");
+            assertNotNull(answer);
+            assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+            assertEquals("Hello World", answer.getMessage().getBody());
+            assertEquals(123, answer.getMessage().getHeader("foo"));
+            assertTrue(repo.getKeys().contains("a"));
+
+            repo.remove(context, "a", answer);
+            assertNull(repo.get(context, "a"));
+            assertEquals(0, repo.size());
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testOverflowToDisk() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.setChunkSize(4096);
+        repo.setMaxMemorySize(16 * 1024);
+        repo.setOverflowDirectory(overflowDir.toString());
+        repo.start();
+        try {
+            for (int i = 0; i < 500; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getMessage().setBody("Message " + i);
+                repo.add(context, "key" + i, exchange);
+            }
+            // store one larger than the chunk size
+            Exchange big = new DefaultExchange(context);
+            big.getMessage().setBody("X".repeat(10000));
+            repo.add(context, "big", big);
+
+            assertEquals(16 * 1024, repo.getMemoryUsed());
+            assertTrue(repo.getOverflowUsed() > 0);
+            assertEquals(501, repo.size());
+
+            for (int i = 0; i < 500; i++) {
+                assertEquals("Message " + i, repo.get(context, "key" + i).getMessage().getBody());
+            }
+            assertEquals(10000, repo.get(context, "big").getMessage().getBody(String.class).length());
+
+            // replace an existing key
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody("Bye World");
+            repo.add(context, "key0", exchange);
+            assertEquals("Bye World", repo.get(context, "key0").getMessage().getBody());
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testOverflowSpaceReused() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.setChunkSize(4096);
+        repo.setMaxMemorySize(4096);
+        repo.setStripes(1);
+        repo.setOverflowDirectory(overflowDir.toString());
+        repo.start();
+        try {
+            long peak = -1;
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 10; i++) {
+                    Exchange big = new DefaultExchange(context);
+                    big.getMessage().setBody(String.valueOf(round).repeat(10000 + i * 100));
+                    repo.add(context, "big" + i, big);
+                }
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(10000 + i * 100, repo.get(context, "big" + i).getMessage().getBody(String.class).length());
+                }
+                long size = overflowSize();
+                if (peak == -1) {
+                    peak = size;
+                }
+                // the space released by the previous round is reused
+                assertTrue(size <= peak, "Overflow file should not grow: " + size + " > " + peak);
+                for (int i = 0; i < 10; i++) {
+                    repo.remove(context, "big" + i, null);
+                }
+                assertEquals(0, repo.getOverflowUsed());
+            }
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testStripes() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.setChunkSize(4096);
+        repo.setStripes(8);
+        repo.start();
+        try {
+            for (int i = 0; i < 100; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getMessage().setBody("Message " + i);
+                repo.add(context, "key" + i, exchange);
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals("Message " + i, repo.get(context, "key" + i).getMessage().getBody());
+            }
+            for (int i = 0; i < 100; i++) {
+                repo.remove(context, "key" + i, null);
+            }
+            assertEquals(0, repo.size());
+        } finally {
+            repo.stop();
+        }
+    }
+
+    private long overflowSize() throws IOException {
+        long size = 0;
+        try (Stream<Path> files = Files.list(overflowDir)) {
+            for (Path file : files.toList()) {
+                size += Files.size(file);
+            }
+        }
+        return size;
+    }
+
+    @Test
+    public void testEmptyChunksReleased() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.setChunkSize(4096);
+        repo.setMaxMemorySize(16 * 1024);
+        repo.setStripes(1);
+        repo.setOverflowDirectory(overflowDir.toString());
+        repo.start();
+        try {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 200; i++) {
+                    Exchange exchange = new DefaultExchange(context);
+                    exchange.getMessage().setBody("Message " + i);
+                    repo.add(context, "key" + i, exchange);
+                }
+                assertEquals(16 * 1024, repo.getMemoryUsed());
+                assertTrue(repo.getOverflowUsed() > 0);
+                for (int i = 0; i < 200; i++) {
+                    repo.remove(context, "key" + i, null);
+                }
+                // only the last chunk to allocate from is kept
+                assertEquals(4096, repo.getMemoryUsed());
+                assertEquals(0, repo.getOverflowUsed());
+                assertEquals(0, overflowSize());
+            }
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testMemoryBudgetExhausted() throws Exception {
+        OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+        repo.setChunkSize(4096);
+        repo.setMaxMemorySize(4096);
+        repo.setOverflowToDisk(false);
+        repo.start();
+        try {
+            Exchange big = new DefaultExchange(context);
+            big.getMessage().setBody("X".repeat(10000));
+            assertThrows(IllegalStateException.class, () -> repo.add(context, "big", big));
+            assertNull(repo.get(context, "big"));
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                OffHeapAggregationRepository repo = new OffHeapAggregationRepository();
+
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy()).aggregationRepository(repo)
+                        .completionSize(3).to("mock:aggregated");
+            }
+        };
+    }
+}
@@ -103,6 +103,19 @@ public class ConvertBodyTest extends ContextTestSupport {
         assertMockEndpointsSatisfied();
     }
 
+    @Test
+    public void testConvertToIntegerDifferentBodyTypes() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived(11, 12, 13, 14);
+
+        template.sendBody("direct:start", "11");
+        template.sendBody("direct:start", "12".getBytes());
+        template.sendBody("direct:start", 13L);
+        template.sendBody("direct:start", "14");
+
+        assertMockEndpointsSatisfied();
+    }
+
     @Test
     public void testConvertToIntegerNotMandatory() throws Exception {
         // mandatory should fail
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentResequencerEngineTest extends TestSupport {
+
+    private ConcurrentResequencerEngine<Integer> engine;
+    private SequenceBuffer<Integer> buffer;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        buffer = new SequenceBuffer<>();
+        engine = new ConcurrentResequencerEngine<>(new IntegerComparator());
+        engine.setSequenceSender(buffer);
+        engine.setTimeout(500);
+        engine.start();
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        engine.insert(4);
+        engine.deliver();
+        assertNull(buffer.poll(0));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            engine.deliver();
+            return buffer.size() == 1;
+        });
+        assertEquals(4, buffer.take());
+        assertEquals(4, engine.getLastDelivered());
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testTimeoutGap() throws Exception {
+        engine.setLastDelivered(2);
+        engine.insert(4);
+        engine.deliver();
+        assertNull(buffer.poll(0));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            engine.deliver();
+            return buffer.size() == 1;
+        });
+        assertEquals(4, buffer.take());
+    }
+
+    @Test
+    void testSuccessorOfLastDelivered() throws Exception {
+        engine.setLastDelivered(3);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(4, buffer.poll(0));
+        assertEquals(4, engine.getLastDelivered());
+    }
+
+    @Test
+    void testPredecessorArrives() throws Exception {
+        engine.setLastDelivered(2);
+        engine.insert(5);
+        engine.insert(4);
+        engine.deliver();
+        assertNull(buffer.poll(0));
+
+        // the gap is closed so all elements are ready for delivery
+        engine.insert(3);
+        engine.deliver();
+        assertEquals(3, buffer.poll(0));
+        assertEquals(4, buffer.poll(0));
+        assertEquals(5, buffer.poll(0));
+        assertEquals(5, engine.getLastDelivered());
+    }
+
+    @Test
+    void testDuplicate() throws Exception {
+        engine.setLastDelivered(0);
+        engine.insert(2);
+        engine.insert(2);
+        assertEquals(1, engine.size());
+
+        engine.insert(1);
+        engine.deliver();
+        assertEquals(1, buffer.poll(0));
+        assertEquals(2, buffer.poll(0));
+        assertNull(buffer.poll(0));
+    }
+
+    @Test
+    void testRejectOld() throws Exception {
+        engine.setRejectOld(true);
+        engine.setLastDelivered(5);
+        assertThrows(MessageRejectedException.class, () -> engine.insert(3));
+        assertEquals(0, engine.size());
+
+        engine.setRejectOld(false);
+        engine.insert(3);
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> engine.insert(null));
+    }
+
+    @Test
+    void testAwaitCapacity() throws Exception {
+        engine.setLastDelivered(0);
+        engine.insert(1);
+        engine.insert(2);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                engine.awaitCapacity(2);
+                latch.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+
+        assertTrue(engine.deliverNext());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    void testConcurrentInserts() throws Exception {
+        // use a long timeout, so every element must be released by the arrival of its predecessor
+        engine.setTimeout(60000);
+        engine.setLastDelivered(-1);
+
+        int threads = 8;
+        int count = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread delivery = new Thread(() -> {
+            while (!done.get()) {
+                try {
+                    engine.deliver();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        delivery.start();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int start = t;
+                executor.execute(() -> {
+                    for (int i = start; i < count; i += threads) {
+                        engine.insert(i);
+                    }
+                });
+            }
+
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, buffer.poll(5000));
+            }
+            assertEquals(0, engine.size());
+        } finally {
+            done.set(true);
+            delivery.join();
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testNewLimit() {
+        assertInstanceOf(GradientLimit.class, AdaptiveLimit.newLimit(null, 10, 1, 100));
+        assertInstanceOf(GradientLimit.class, AdaptiveLimit.newLimit("gradient", 10, 1, 100));
+        assertInstanceOf(VegasLimit.class, AdaptiveLimit.newLimit("Vegas", 10, 1, 100));
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.newLimit("Reno", 10, 1, 100));
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.newLimit("Gradient", 10, 0, 100));
+    }
+
+    @Test
+    public void testInitialLimitClamped() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 500, 5, 100);
+        assertEquals(100, limit.getLimit());
+
+        limit = AdaptiveLimit.newLimit("Vegas", 1, 5, 100);
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testGradientGrowsWithStableLatency() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 10, 1, 100);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    public void testGradientDoesNotGrowWhenUnused() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 10, 1, 100);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void testGradientShrinksWithRisingLatency() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 50, 2, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, 50, false);
+        }
+        int before = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT * 10, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < before / 2, "Limit should shrink, was: " + limit.getLimit());
+    }
+
+    @Test
+    public void testGradientDropped() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 50, 2, 100);
+        assertEquals(45, limit.onSample(RTT, 50, true));
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 50, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testVegasGrowsWithStableLatency() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Vegas", 10, 1, 100);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    public void testVegasShrinksWithRisingLatency() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Vegas", 50, 2, 100);
+        limit.onSample(RTT, 50, false);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 10, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < 50, "Limit should shrink, was: " + limit.getLimit());
+    }
+
+    @Test
+    public void testVegasDropped() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Vegas", 50, 2, 100);
+        limit.onSample(RTT, 50, false);
+        assertEquals(49, limit.onSample(RTT, 50, true));
+    }
+
+    @Test
+    public void testLowerMaxLimit() {
+        AdaptiveLimit limit = AdaptiveLimit.newLimit("Gradient", 50, 1, 100);
+        limit.setMaxLimit(20);
+        assertEquals(20, limit.getLimit());
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.AdaptiveConcurrentRequestsThrottler;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// time-bound that does not run well in shared environments
+@DisabledOnOs(OS.WINDOWS)
+@DisabledIfSystemProperty(named = "ci.env.name", matches = "github.com", disabledReason = "Flaky on Github CI")
+public class AdaptiveConcurrentRequestsThrottlerTest extends ContextTestSupport {
+    private static final int MESSAGE_COUNT = 50;
+    private static final int MAX_REQUESTS = 5;
+
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @Test
+    public void testLimitGrowsUpToMaximum() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(MESSAGE_COUNT);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                executor.execute(() -> template.sendBody("direct:a", "<message>payload</message>"));
+            }
+            assertMockEndpointsSatisfied();
+        } finally {
+            shutdownAndAwait(executor);
+        }
+
+        assertTrue(maxConcurrent.get() <= MAX_REQUESTS, "Too many concurrent requests: " + maxConcurrent.get());
+
+        AdaptiveConcurrentRequestsThrottler throttler
+                = context.getProcessor("adaptive", AdaptiveConcurrentRequestsThrottler.class);
+        assertEquals("Gradient", throttler.getAlgorithm());
+        assertEquals(2, throttler.getInitialLimit());
+        assertEquals(MAX_REQUESTS, throttler.getMaxLimit());
+        assertTrue(throttler.getCurrentMaximumRequests() > 2,
+                "The limit should grow, was: " + throttler.getCurrentMaximumRequests());
+    }
+
+    @Test
+    public void testSendLotsOfMessagesWithRejectExecution() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+        getMockEndpoint("mock:error").expectedMessageCount(4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            for (int i = 0; i < 6; i++) {
+                executor.execute(() -> template.sendBody("direct:start", "<message>payload</message>"));
+            }
+            assertMockEndpointsSatisfied();
+        } finally {
+            shutdownAndAwait(executor);
+        }
+    }
+
+    @Test
+    public void testFailuresLowerLimit() throws Exception {
+        getMockEndpoint("mock:error").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:failure", "<message>payload</message>");
+        }
+        assertMockEndpointsSatisfied();
+
+        AdaptiveConcurrentRequestsThrottler throttler
+                = context.getProcessor("failure", AdaptiveConcurrentRequestsThrottler.class);
+        assertEquals(20, throttler.getMaxLimit());
+        assertTrue(throttler.getCurrentMaximumRequests() < 10,
+                "The limit should be lowered, was: " + throttler.getCurrentMaximumRequests());
+    }
+
+    private void shutdownAndAwait(final ExecutorService executorService) {
+        executorService.shutdown();
+        try {
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS),
+                    "Test ExecutorService shutdown is not expected to take longer than 10 seconds.");
+        } catch (InterruptedException e) {
+            fail("Test ExecutorService shutdown is not expected to be interrupted.");
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:a").adaptiveThrottle(MAX_REQUESTS).adaptiveInitialLimit(2).id("adaptive")
+                        .process(exchange -> {
+                            int current = concurrent.incrementAndGet();
+                            maxConcurrent.accumulateAndGet(current, Math::max);
+                        })
+                        .delay(20)
+                        .process(exchange -> concurrent.decrementAndGet())
+                        .to("mock:result");
+
+                from("direct:start").adaptiveThrottle(2).rejectExecution(true).delay(1000).to("mock:result");
+
+                from("direct:failure").errorHandler(deadLetterChannel("mock:error"))
+                        .adaptiveThrottle(20).adaptiveAlgorithm("Gradient").adaptiveInitialLimit(10).id("failure")
+                        .process(exchange -> {
+                            throw new IllegalArgumentException("Forced");
+                        });
+            }
+        };
+    }
+}
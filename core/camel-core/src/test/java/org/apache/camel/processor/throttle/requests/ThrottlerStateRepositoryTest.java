@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.requests;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.processor.TotalRequestsThrottler;
+import org.apache.camel.spi.Registry;
+import org.apache.camel.support.processor.throttle.MemoryThrottleStateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+public class ThrottlerStateRepositoryTest extends ContextTestSupport {
+    private static final int INTERVAL = 500;
+
+    private final MemoryThrottleStateRepository repository = new MemoryThrottleStateRepository();
+
+    @Override
+    protected Registry createCamelRegistry() throws Exception {
+        Registry jndi = super.createCamelRegistry();
+        jndi.bind("myRepo", repository);
+        return jndi;
+    }
+
+    @Test
+    public void testSharedRateLimit() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:error").expectedMessageCount(3);
+
+        // the two routes share the rate limit of 3 messages per minute
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:a", "Hello " + i);
+            template.sendBody("direct:b", "Bye " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBlockUntilPermitAvailable() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:blocking", "Hello " + i);
+        }
+        assertMockEndpointsSatisfied();
+
+        // 3 messages can pass at once, and the other 3 needs to wait for the bucket to be refilled
+        long delta = System.currentTimeMillis() - start;
+        assertTrue(delta >= INTERVAL - 100, "Should take at least " + (INTERVAL - 100) + "ms, was: " + delta);
+    }
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("seda:async", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testStateCleaned() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader("direct:clean", "Hello " + i, "key", "key" + i);
+        }
+        assertMockEndpointsSatisfied();
+
+        TotalRequestsThrottler throttler = context.getProcessor("clean", TotalRequestsThrottler.class);
+        assertEquals(3, throttler.getCurrentMaximumRequests());
+
+        // the state of the keys is removed when not used for ten time periods
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, throttler.getCurrentMaximumRequests()));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:a").throttle(3).timePeriodMillis(60000).rejectExecution(true)
+                        .throttleStateRepository("myRepo").correlationExpression(constant("shared"))
+                        .to("mock:result");
+
+                from("direct:b").throttle(3).timePeriodMillis(60000).rejectExecution(true)
+                        .throttleStateRepository(repository).correlationExpression(constant("shared"))
+                        .to("mock:result");
+
+                from("direct:blocking").throttle(3).timePeriodMillis(INTERVAL)
+                        .throttleStateRepository(repository).correlationExpression(constant("blocking"))
+                        .to("mock:result");
+
+                from("direct:clean").throttle(3).timePeriodMillis(20)
+                        .throttleStateRepository(repository).correlationExpression(header("key")).id("clean")
+                        .to("mock:result");
+
+                from("seda:async").throttle(3).timePeriodMillis(INTERVAL).asyncDelayed()
+                        .throttleStateRepository(repository).correlationExpression(constant("async"))
+                        .to("mock:result");
+            }
+        };
+    }
+}
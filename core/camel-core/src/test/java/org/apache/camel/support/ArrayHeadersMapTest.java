@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayHeadersMapTest {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOO"));
+        assertNull(map.get("unknown"));
+        assertNull(map.get(123));
+    }
+
+    @Test
+    public void testPreserveOriginalKeyCase() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        map.put("Foo", "cheese");
+        assertEquals("cheese", map.put("FOO", "beer"));
+
+        assertEquals(1, map.size());
+        assertEquals("Foo", map.keySet().iterator().next());
+        assertEquals("beer", map.get("foo"));
+    }
+
+    @Test
+    public void testKnownKeys() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        map.put("camelfilename", "bye.txt");
+        map.put(Exchange.CONTENT_TYPE, "text/plain");
+
+        assertEquals(2, map.size());
+        assertEquals("bye.txt", map.get(Exchange.FILE_NAME));
+        assertEquals("bye.txt", map.get(new String("CamelFileName")));
+        assertEquals("text/plain", map.get("content-type"));
+    }
+
+    @Test
+    public void testInsertionOrderAndGrow() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        int i = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            assertEquals("key" + i, entry.getKey());
+            assertEquals(i, entry.getValue());
+            i++;
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        // remove and add again a number of times to reclaim the removed entries
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 100; i += 2) {
+                assertEquals(i, map.remove("Key" + i));
+            }
+            assertEquals(50, map.size());
+            assertNull(map.remove("Key0"));
+            for (int i = 0; i < 100; i += 2) {
+                map.put("key" + i, i);
+            }
+            assertEquals(100, map.size());
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("key" + i));
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("key1"));
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue() {
+        Map<String, Object> map = new ArrayHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+        map.put("baz", "wine");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("bar")) {
+                it.remove();
+            } else {
+                entry.setValue(entry.getValue() + "!");
+            }
+        }
+
+        assertEquals(2, map.size());
+        assertEquals("cheese!", map.get("foo"));
+        assertEquals("wine!", map.get("baz"));
+        assertFalse(map.containsKey("bar"));
+
+        it = map.entrySet().iterator();
+        it.next();
+        map.put("new", "value");
+        Iterator<Map.Entry<String, Object>> failing = it;
+        assertThrows(ConcurrentModificationException.class, failing::next);
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        ArrayHeadersMap map = new ArrayHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        ArrayHeadersMap copy = new ArrayHeadersMap(map);
+        ArrayHeadersMap copy2 = new ArrayHeadersMap();
+        copy2.putAll(map);
+        assertEquals(map, copy);
+        assertEquals(map, copy2);
+
+        copy.put("foo", "wine");
+        copy.remove("bar");
+        copy2.put("baz", "water");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+        assertEquals(2, map.size());
+
+        assertEquals("wine", copy.get("foo"));
+        assertNull(copy.get("bar"));
+        assertEquals(1, copy.size());
+
+        assertEquals(3, copy2.size());
+        assertEquals("water", copy2.get("baz"));
+        assertNull(map.get("baz"));
+
+        // changing the original does not affect the copies
+        ArrayHeadersMap copy3 = new ArrayHeadersMap(map);
+        map.clear();
+        map.put("foo", "milk");
+        assertEquals("cheese", copy3.get("foo"));
+        assertEquals("beer", copy3.get("bar"));
+    }
+
+    @Test
+    public void testPutAll() {
+        Map<String, Object> other = new HashMap<>();
+        other.put("Foo", "cheese");
+        other.put("BAR", "beer");
+
+        Map<String, Object> map = new ArrayHeadersMap(other);
+        assertEquals(2, map.size());
+        assertEquals("beer", map.get("bar"));
+
+        ArrayHeadersMap more = new ArrayHeadersMap();
+        more.put("foo", "wine");
+        more.put("baz", "water");
+        map.putAll(more);
+
+        assertEquals(3, map.size());
+        assertEquals("wine", map.get("FOO"));
+        assertEquals("water", map.get("Baz"));
+
+        // the original key case is kept, and new keys are added last
+        List<String> keys = new ArrayList<>(map.keySet());
+        assertTrue(keys.containsAll(List.of("Foo", "BAR")));
+        assertEquals("baz", keys.get(2));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ArrayHeadersMap map = new ArrayHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(map);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> copy = (Map<String, Object>) in.readObject();
+            assertEquals(map, copy);
+            assertEquals("cheese", copy.get("FOO"));
+            copy.put("baz", "wine");
+            assertEquals(3, copy.size());
+        }
+    }
+}
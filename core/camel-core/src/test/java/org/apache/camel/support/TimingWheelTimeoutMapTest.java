@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTimeoutMapTest {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTimingWheelTimeoutMapPurge() {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        map.start();
+        assertEquals(512, map.getWheelSize());
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testGetRemove() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+
+        assertNull(map.put("A", 123, 50));
+        assertEquals(123, map.put("A", 456, 50));
+        assertEquals(456, map.putIfAbsent("A", 789, 50));
+        assertEquals(1, map.size());
+
+        assertEquals(456, (int) map.get("A"));
+        assertEquals(456, map.remove("A"));
+        assertNull(map.get("A"));
+        assertNull(map.remove("A"));
+        assertEquals(0, map.size());
+
+        assertEquals(List.of("Put:A", "Put:A", "Remove:A"), map.events);
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 140);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        map.advance(60);
+        assertEquals(List.of("Evict:D", "Evict:B", "Evict:E", "Evict:A"), map.evicted());
+        assertEquals(2, map.size());
+
+        map.advance(100);
+        assertEquals(List.of("Evict:D", "Evict:B", "Evict:E", "Evict:A", "Evict:C"), map.evicted());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testTimeoutLongerThanWheel() {
+        // the wheel covers 8 x 100 millis, so the entry stays in the wheel for several rounds
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+        map.put("A", 1, 2500);
+
+        for (int i = 0; i < 24; i++) {
+            map.advance(100);
+            assertEquals(1, map.size(), "Should not expire after " + map.now + " millis");
+        }
+        map.advance(200);
+        assertEquals(0, map.size());
+        assertEquals(List.of("Evict:A"), map.evicted());
+    }
+
+    @Test
+    public void testPurgeCatchUp() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+        map.put("A", 1, 150);
+        map.put("B", 2, 650);
+        map.put("C", 3, 5000);
+
+        // purge was not run for more than a round of the wheel
+        map.now += 2000;
+        map.purge();
+
+        assertEquals(List.of("Evict:A", "Evict:B"), map.evicted());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testNotValidForEvictionCheckedNextTick() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+        map.put("A", 1, 150);
+        map.vetoes = 1;
+
+        map.advance(200);
+        assertEquals(1, map.size(), "Should not evict an entry which is not valid for eviction");
+
+        // the entry is checked again on the next tick, and not after a round of the wheel
+        map.advance(100);
+        assertEquals(0, map.size());
+        assertEquals(List.of("Evict:A"), map.evicted());
+    }
+
+    @Test
+    public void testGetRefreshesTimeout() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+        map.put("A", 1, 250);
+
+        map.advance(200);
+        assertEquals(1, map.get("A"));
+
+        map.advance(200);
+        assertEquals(1, map.size());
+
+        map.advance(100);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testStopClears() {
+        ManualClockTimeoutMap map = new ManualClockTimeoutMap(100, 8);
+        map.start();
+        map.put("A", 1, 500);
+        assertEquals(1, map.size());
+        map.stop();
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 50);
+        map.advance(100);
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * A timeout map where the time only moves when the test advances it
+     */
+    private final class ManualClockTimeoutMap extends TimingWheelTimeoutMap<String, Integer> {
+        private final List<String> events = new ArrayList<>();
+        private long now = 1000000;
+        private int vetoes;
+
+        ManualClockTimeoutMap(long tick, int wheelSize) {
+            super(executor, tick, wheelSize);
+            addListener(this::onEvent);
+        }
+
+        private void onEvent(TimeoutMap.Listener.Type type, String key, Integer value) {
+            events.add(type + ":" + key);
+        }
+
+        List<String> evicted() {
+            return events.stream().filter(e -> e.startsWith("Evict")).toList();
+        }
+
+        void advance(long millis) {
+            now += millis;
+            purge();
+        }
+
+        @Override
+        protected void schedulePoll() {
+            // the test purges by advancing the clock
+        }
+
+        @Override
+        protected long currentTime() {
+            return now;
+        }
+
+        @Override
+        protected boolean isValidForEviction(TimeoutMapEntry<String, Integer> entry) {
+            if (vetoes > 0) {
+                vetoes--;
+                return false;
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterIdempotentRepositoryTest extends TestSupport {
+
+    private final AtomicLong clock = new AtomicLong(1000000);
+    private File directory;
+    private BloomFilterIdempotentRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        directory = testDirectory().resolve("idempotent").toFile();
+        repository = createRepository();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.stop();
+    }
+
+    private BloomFilterIdempotentRepository createRepository() {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(directory) {
+            @Override
+            protected long currentTimeMillis() {
+                return clock.get();
+            }
+        };
+        answer.setSegmentSize(100);
+        return answer;
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        repository.start();
+
+        assertTrue(repository.add("A"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.add("A"));
+    }
+
+    @Test
+    public void testSealedSegments() {
+        repository.start();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        assertEquals(10, repository.getSealedSegmentCount());
+        assertEquals(1000, repository.getSize());
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.contains("key-" + i));
+            assertFalse(repository.add("key-" + i));
+        }
+        for (int i = 1000; i < 2000; i++) {
+            assertFalse(repository.contains("key-" + i));
+        }
+    }
+
+    @Test
+    public void testRecoverAfterRestart() {
+        repository.start();
+        for (int i = 0; i < 250; i++) {
+            repository.add("key-" + i);
+        }
+        repository.remove("key-249");
+        repository.stop();
+
+        repository = createRepository();
+        repository.start();
+        assertEquals(2, repository.getSealedSegmentCount());
+        assertEquals(249, repository.getSize());
+        for (int i = 0; i < 249; i++) {
+            assertTrue(repository.contains("key-" + i));
+        }
+        assertFalse(repository.contains("key-249"));
+    }
+
+    @Test
+    public void testRecoverAfterCrash() throws Exception {
+        repository.start();
+        for (int i = 0; i < 150; i++) {
+            repository.add("key-" + i);
+        }
+
+        // simulate a crash while appending to the log, by writing an incomplete record
+        File[] logs = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        assertEquals(1, logs.length);
+        try (FileOutputStream fos = new FileOutputStream(logs[0], true)) {
+            fos.write(new byte[] { 1, 0, 0, 0, 42, 'k', 'e' });
+        }
+
+        BloomFilterIdempotentRepository recovered = createRepository();
+        recovered.start();
+        try {
+            assertEquals(150, recovered.getSize());
+            for (int i = 0; i < 150; i++) {
+                assertTrue(recovered.contains("key-" + i));
+            }
+            assertTrue(recovered.add("key-150"));
+        } finally {
+            recovered.stop();
+        }
+    }
+
+    @Test
+    public void testRemoveFromSealedSegment() {
+        repository.start();
+        for (int i = 0; i < 150; i++) {
+            repository.add("key-" + i);
+        }
+        assertEquals(1, repository.getSealedSegmentCount());
+
+        assertTrue(repository.remove("key-10"));
+        assertFalse(repository.contains("key-10"));
+        assertEquals(149, repository.getSize());
+        repository.stop();
+
+        repository = createRepository();
+        repository.start();
+        assertFalse(repository.contains("key-10"));
+        assertTrue(repository.contains("key-11"));
+        assertTrue(repository.add("key-10"));
+    }
+
+    @Test
+    public void testRemoveFromSegmentFailedToSeal() {
+        repository.start();
+        // the index file cannot be written when its temporary file is a directory
+        File tmp = new File(directory, "idempotent-0.idx.tmp");
+        assertTrue(tmp.mkdirs());
+        for (int i = 0; i < 150; i++) {
+            repository.add("key-" + i);
+        }
+        assertEquals(0, repository.getSealedSegmentCount());
+        assertEquals(150, repository.getSize());
+
+        assertTrue(repository.remove("key-10"));
+        assertFalse(repository.contains("key-10"));
+        repository.stop();
+        assertTrue(tmp.delete());
+
+        // the removed key is replayed from the log of the segment
+        repository = createRepository();
+        repository.start();
+        assertEquals(149, repository.getSize());
+        assertFalse(repository.contains("key-10"));
+        assertTrue(repository.contains("key-11"));
+    }
+
+    @Test
+    public void testRemoveFromSealedSegmentFailedToCompact() {
+        repository.start();
+        for (int i = 0; i < 150; i++) {
+            repository.add("key-" + i);
+        }
+        assertEquals(1, repository.getSealedSegmentCount());
+
+        File tmp = new File(directory, "idempotent-0.idx.tmp");
+        assertTrue(tmp.mkdirs());
+        assertThrows(RuntimeCamelException.class, () -> repository.remove("key-10"));
+        // the segment is still usable
+        assertEquals(1, repository.getSealedSegmentCount());
+        assertTrue(repository.contains("key-10"));
+        assertTrue(repository.contains("key-11"));
+        assertFalse(repository.add("key-12"));
+
+        assertTrue(tmp.delete());
+        assertTrue(repository.remove("key-10"));
+        assertFalse(repository.contains("key-10"));
+        assertTrue(repository.contains("key-11"));
+    }
+
+    @Test
+    public void testTimeToLive() {
+        repository.setTimeToLive(10000);
+        repository.start();
+
+        repository.add("A");
+        // the active segment is sealed after a tenth of the time to live
+        clock.addAndGet(1000);
+        repository.add("B");
+        assertEquals(1, repository.getSealedSegmentCount());
+        repository.add("C");
+
+        clock.addAndGet(9999);
+        assertTrue(repository.contains("A"));
+
+        // the sealed segment with A and B expires, but C is still in the active segment
+        clock.addAndGet(1);
+        assertFalse(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertTrue(repository.contains("C"));
+        assertTrue(repository.add("A"));
+        assertEquals(1, repository.getSealedSegmentCount());
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        repository.start();
+
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (repository.add("key-" + i)) {
+                        added.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, added.get());
+        assertEquals(1000, repository.getSize());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryThrottleStateRepositoryTest {
+
+    private MemoryThrottleStateRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new MemoryThrottleStateRepository();
+        repository.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.stop();
+    }
+
+    @Test
+    public void testTokenBucket() {
+        TokenBucket bucket = TokenBucket.full(10, 1000);
+        assertEquals(10, bucket.getTokens(), 0.001);
+
+        TokenBucket taken = bucket.take(1, 4);
+        assertEquals(4, taken.taken(bucket));
+        assertEquals(6, taken.getTokens(), 0.001);
+
+        // only 6 left so take as many as possible
+        TokenBucket rest = taken.take(1, 10);
+        assertEquals(6, rest.taken(taken));
+        assertNull(rest.take(1, 1));
+
+        // half the time period refills half the bucket
+        TokenBucket refilled = rest.refill(10, 1000, 1500);
+        assertEquals(5, refilled.getTokens(), 0.001);
+        assertEquals(1500, refilled.getTimestamp());
+
+        // never more than the maximum
+        assertEquals(10, refilled.refill(10, 1000, 10000).getTokens(), 0.001);
+
+        // do not go back in time
+        assertEquals(refilled, refilled.refill(10, 1000, 1200));
+    }
+
+    @Test
+    public void testTryAcquire() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        }
+        assertFalse(repository.tryAcquire("foo", 1, 5, 60000));
+
+        // other keys have their own bucket
+        assertTrue(repository.tryAcquire("bar", 1, 5, 60000));
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testTryAcquireRefill() throws Exception {
+        assertTrue(repository.tryAcquire("foo", 1, 1, 100));
+        assertFalse(repository.tryAcquire("foo", 1, 1, 100));
+
+        Thread.sleep(150);
+        assertTrue(repository.tryAcquire("foo", 1, 1, 100));
+    }
+
+    @Test
+    public void testLease() {
+        repository.stop();
+        repository.setLeaseSize(3);
+        repository.start();
+
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        // the first lease takes 3 of the 5 permits
+        assertEquals(2, repository.getStore().get("foo").getTokens(), 0.001);
+
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        assertEquals(2, repository.getStore().get("foo").getTokens(), 0.001);
+
+        // the second lease only gets the 2 permits left
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        assertFalse(repository.tryAcquire("foo", 1, 5, 60000));
+    }
+
+    @Test
+    public void testLeaseCleaned() throws Exception {
+        repository.stop();
+        repository.setLeaseSize(3);
+        repository.setLeaseDuration(10);
+        repository.start();
+
+        assertTrue(repository.tryAcquire("foo", 1, 5, 60000));
+        assertEquals(1, repository.getLeaseCount());
+
+        // the lease of foo is not used for ten lease durations
+        Thread.sleep(150);
+        assertTrue(repository.tryAcquire("bar", 1, 5, 60000));
+        assertEquals(1, repository.getLeaseCount());
+    }
+
+    @Test
+    public void testSharedByConcurrentCallers() throws Exception {
+        int threads = 8;
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        if (repository.tryAcquire("foo", 1, 250, 60000)) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        // the bucket is hardly refilled within a time period of 1 minute
+        assertTrue(acquired.get() >= 250 && acquired.get() <= 251, "Acquired " + acquired.get());
+    }
+}
@@ -129,6 +129,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("StreamCachingSpoolCipher", java.lang.String.class);
         map.put("StreamCachingSpoolDirectory", java.lang.String.class);
         map.put("StreamCachingSpoolEnabled", boolean.class);
+        map.put("StreamCachingSpoolMapped", boolean.class);
+        map.put("StreamCachingSpoolMappedChunkSize", int.class);
         map.put("StreamCachingSpoolThreshold", long.class);
         map.put("StreamCachingSpoolUsedHeapMemoryLimit", java.lang.String.class);
         map.put("StreamCachingSpoolUsedHeapMemoryThreshold", int.class);
@@ -360,6 +362,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingSpoolDirectory": target.setStreamCachingSpoolDirectory(property(camelContext, java.lang.String.class, value)); return true;
         case "streamcachingspoolenabled":
         case "streamCachingSpoolEnabled": target.setStreamCachingSpoolEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspoolmapped":
+        case "streamCachingSpoolMapped": target.setStreamCachingSpoolMapped(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspoolmappedchunksize":
+        case "streamCachingSpoolMappedChunkSize": target.setStreamCachingSpoolMappedChunkSize(property(camelContext, int.class, value)); return true;
         case "streamcachingspoolthreshold":
         case "streamCachingSpoolThreshold": target.setStreamCachingSpoolThreshold(property(camelContext, long.class, value)); return true;
         case "streamcachingspoolusedheapmemorylimit":
@@ -613,6 +619,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingSpoolDirectory": return java.lang.String.class;
         case "streamcachingspoolenabled":
         case "streamCachingSpoolEnabled": return boolean.class;
+        case "streamcachingspoolmapped":
+        case "streamCachingSpoolMapped": return boolean.class;
+        case "streamcachingspoolmappedchunksize":
+        case "streamCachingSpoolMappedChunkSize": return int.class;
         case "streamcachingspoolthreshold":
         case "streamCachingSpoolThreshold": return long.class;
         case "streamcachingspoolusedheapmemorylimit":
@@ -858,6 +868,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingSpoolDirectory": return target.getStreamCachingSpoolDirectory();
         case "streamcachingspoolenabled":
         case "streamCachingSpoolEnabled": return target.isStreamCachingSpoolEnabled();
+        case "streamcachingspoolmapped":
+        case "streamCachingSpoolMapped": return target.isStreamCachingSpoolMapped();
+        case "streamcachingspoolmappedchunksize":
+        case "streamCachingSpoolMappedChunkSize": return target.getStreamCachingSpoolMappedChunkSize();
         case "streamcachingspoolthreshold":
         case "streamCachingSpoolThreshold": return target.getStreamCachingSpoolThreshold();
         case "streamcachingspoolusedheapmemorylimit":
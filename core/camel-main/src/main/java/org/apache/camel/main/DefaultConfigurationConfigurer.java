@@ -47,6 +47,7 @@ import org.apache.camel.model.ModelLifecycleStrategy;
 import org.apache.camel.spi.AsyncProcessorAwaitManager;
 import org.apache.camel.spi.BacklogDebugger;
 import org.apache.camel.spi.BeanIntrospection;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.CamelContextCustomizer;
 import org.apache.camel.spi.ClassResolver;
 import org.apache.camel.spi.CliConnectorFactory;
@@ -207,6 +208,10 @@ public final class DefaultConfigurationConfigurer {
         camelContext.getStreamCachingStrategy()
                 .setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
+        camelContext.getStreamCachingStrategy().setSpoolMapped(config.isStreamCachingSpoolMapped());
+        if (config.getStreamCachingSpoolMappedChunkSize() > 0) {
+            camelContext.getStreamCachingStrategy().setSpoolMappedChunkSize(config.getStreamCachingSpoolMappedChunkSize());
+        }
         if (config.getStreamCachingSpoolDirectory() != null) {
             camelContext.getStreamCachingStrategy().setSpoolDirectory(config.getStreamCachingSpoolDirectory());
         }
@@ -419,6 +424,12 @@ public final class DefaultConfigurationConfigurer {
         if (uowf != null) {
             camelContext.getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class, uowf);
         }
+        ByteBufferPool bbp = getSingleBeanOfType(registry, ByteBufferPool.class);
+        if (bbp != null) {
+            camelContext.getCamelContextExtension().addContextPlugin(ByteBufferPool.class, bbp);
+            // let the pool be started and stopped with camel
+            camelContext.addService(bbp);
+        }
         RuntimeEndpointRegistry rer = getSingleBeanOfType(registry, RuntimeEndpointRegistry.class);
         if (rer != null) {
             camelContext.setRuntimeEndpointRegistry(rer);
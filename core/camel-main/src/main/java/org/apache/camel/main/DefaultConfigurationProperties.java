@@ -64,6 +64,8 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean streamCachingSpoolEnabled;
     private String streamCachingSpoolDirectory;
     private String streamCachingSpoolCipher;
+    private boolean streamCachingSpoolMapped;
+    private int streamCachingSpoolMappedChunkSize;
     private long streamCachingSpoolThreshold;
     private int streamCachingSpoolUsedHeapMemoryThreshold;
     private String streamCachingSpoolUsedHeapMemoryLimit;
@@ -527,6 +529,31 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingSpoolCipher = streamCachingSpoolCipher;
     }
 
+    public boolean isStreamCachingSpoolMapped() {
+        return streamCachingSpoolMapped;
+    }
+
+    /**
+     * Whether stream caching spool to disk using memory mapped files. The memory mapped regions of the spool file are
+     * shared among all the readers of the stream cache (such as multicast or wire-tap), which avoids reading the file
+     * again via stream I/O. This option is not in use if a spool cipher is configured.
+     */
+    public void setStreamCachingSpoolMapped(boolean streamCachingSpoolMapped) {
+        this.streamCachingSpoolMapped = streamCachingSpoolMapped;
+    }
+
+    public int getStreamCachingSpoolMappedChunkSize() {
+        return streamCachingSpoolMappedChunkSize;
+    }
+
+    /**
+     * The size in bytes of each memory mapped region when stream caching spool to disk using memory mapped files. The
+     * default size is 8mb.
+     */
+    public void setStreamCachingSpoolMappedChunkSize(int streamCachingSpoolMappedChunkSize) {
+        this.streamCachingSpoolMappedChunkSize = streamCachingSpoolMappedChunkSize;
+    }
+
     public long getStreamCachingSpoolThreshold() {
         return streamCachingSpoolThreshold;
     }
@@ -1897,6 +1924,25 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether stream caching spool to disk using memory mapped files. The memory mapped regions of the spool file are
+     * shared among all the readers of the stream cache (such as multicast or wire-tap), which avoids reading the file
+     * again via stream I/O. This option is not in use if a spool cipher is configured.
+     */
+    public T withStreamCachingSpoolMapped(boolean streamCachingSpoolMapped) {
+        this.streamCachingSpoolMapped = streamCachingSpoolMapped;
+        return (T) this;
+    }
+
+    /**
+     * The size in bytes of each memory mapped region when stream caching spool to disk using memory mapped files. The
+     * default size is 8mb.
+     */
+    public T withStreamCachingSpoolMappedChunkSize(int streamCachingSpoolMappedChunkSize) {
+        this.streamCachingSpoolMappedChunkSize = streamCachingSpoolMappedChunkSize;
+        return (T) this;
+    }
+
     /**
      * Stream caching threshold in bytes when overflow to disk is activated. The default threshold is 128kb. Use -1 to
      * disable overflow to disk.
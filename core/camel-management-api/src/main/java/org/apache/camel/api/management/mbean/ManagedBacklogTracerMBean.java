@@ -102,6 +102,12 @@ public interface ManagedBacklogTracerMBean {
     @ManagedAttribute(description = "Whether to include exchange variables in the trace message.")
     void setIncludeExchangeVariables(boolean includeExchangeVariables);
 
+    @ManagedAttribute(description = "Sample rate where only 1 out of N exchanges is traced.")
+    int getSampleRate();
+
+    @ManagedAttribute(description = "Sample rate where only 1 out of N exchanges is traced.")
+    void setSampleRate(int sampleRate);
+
     @ManagedAttribute(description = "Whether tracing routes created from Rest DSL.")
     boolean isTraceRests();
 
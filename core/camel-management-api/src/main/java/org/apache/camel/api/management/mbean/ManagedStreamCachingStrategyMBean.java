@@ -47,6 +47,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Cipher used if writing with encryption")
     String getSpoolCipher();
 
+    @ManagedAttribute(description = "Whether spooling to disk uses memory mapped files")
+    boolean isSpoolMapped();
+
+    @ManagedAttribute(description = "Size in bytes of each memory mapped region when spooling to disk using memory mapped files")
+    int getSpoolMappedChunkSize();
+
     @ManagedAttribute(description = "Threshold in bytes when overflow and spooling to disk instead of keeping in memory")
     void setSpoolThreshold(long threshold);
 
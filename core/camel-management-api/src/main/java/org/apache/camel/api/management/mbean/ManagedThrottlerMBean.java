@@ -44,4 +44,16 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "The adaptive algorithm in use (only when using adaptive concurrent requests mode)")
+    String getAdaptiveAlgorithm();
+
+    @ManagedAttribute(description = "The current adaptive limit of concurrent requests (only when using adaptive concurrent requests mode)")
+    long getAdaptiveLimit();
+
+    @ManagedAttribute(description = "The minimum adaptive limit of concurrent requests (only when using adaptive concurrent requests mode)")
+    long getAdaptiveMinLimit();
+
+    @ManagedAttribute(description = "The maximum adaptive limit of concurrent requests (only when using adaptive concurrent requests mode)")
+    long getAdaptiveMaxLimit();
+
 }
@@ -181,6 +181,16 @@ public class ManagedBacklogTracer implements ManagedBacklogTracerMBean {
         backlogTracer.setIncludeExchangeVariables(includeExchangeVariables);
     }
 
+    @Override
+    public int getSampleRate() {
+        return backlogTracer.getSampleRate();
+    }
+
+    @Override
+    public void setSampleRate(int sampleRate) {
+        backlogTracer.setSampleRate(sampleRate);
+    }
+
     @Override
     public boolean isTraceRests() {
         return backlogTracer.isTraceRests();
@@ -91,6 +91,16 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolCipher();
     }
 
+    @Override
+    public boolean isSpoolMapped() {
+        return streamCachingStrategy.isSpoolMapped();
+    }
+
+    @Override
+    public int getSpoolMappedChunkSize() {
+        return streamCachingStrategy.getSpoolMappedChunkSize();
+    }
+
     @Override
     public void setSpoolThreshold(long threshold) {
         streamCachingStrategy.setSpoolThreshold(threshold);
@@ -20,6 +20,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedThrottlerMBean;
 import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.AdaptiveConcurrentRequestsThrottler;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.processor.TotalRequestsThrottler;
 
@@ -84,4 +85,40 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public Boolean isRejectExecution() {
         return throttler.isRejectExecution();
     }
+
+    @Override
+    public String getAdaptiveAlgorithm() {
+        if (throttler instanceof AdaptiveConcurrentRequestsThrottler t) {
+            return t.getAlgorithm();
+        }
+
+        return null;
+    }
+
+    @Override
+    public long getAdaptiveLimit() {
+        if (throttler instanceof AdaptiveConcurrentRequestsThrottler t) {
+            return t.getCurrentMaximumRequests();
+        }
+
+        return 0;
+    }
+
+    @Override
+    public long getAdaptiveMinLimit() {
+        if (throttler instanceof AdaptiveConcurrentRequestsThrottler t) {
+            return t.getMinLimit();
+        }
+
+        return 0;
+    }
+
+    @Override
+    public long getAdaptiveMaxLimit() {
+        if (throttler instanceof AdaptiveConcurrentRequestsThrottler t) {
+            return t.getMaxLimit();
+        }
+
+        return 0;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedAdaptiveThrottlerTest extends ManagementTestSupport {
+
+    @Test
+    public void testManageAdaptiveThrottler() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName throttlerName = getCamelObjectName(TYPE_PROCESSOR, "mythrottler");
+
+        assertEquals("AdaptiveConcurrentRequests", mbeanServer.getAttribute(throttlerName, "Mode"));
+        assertEquals("Vegas", mbeanServer.getAttribute(throttlerName, "AdaptiveAlgorithm"));
+        assertEquals(2L, mbeanServer.getAttribute(throttlerName, "AdaptiveMinLimit"));
+        assertEquals(50L, mbeanServer.getAttribute(throttlerName, "AdaptiveMaxLimit"));
+
+        Long limit = (Long) mbeanServer.getAttribute(throttlerName, "AdaptiveLimit");
+        assertTrue(limit >= 2 && limit <= 50, "Limit should be within min and max: was " + limit);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").id("route1")
+                        .adaptiveThrottle(50).adaptiveAlgorithm("Vegas").adaptiveMinLimit(2).id("mythrottler")
+                        .delay(10)
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
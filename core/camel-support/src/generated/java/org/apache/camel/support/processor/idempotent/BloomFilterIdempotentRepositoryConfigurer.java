@@ -0,0 +1,74 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.support.processor.idempotent;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class BloomFilterIdempotentRepositoryConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository target = (org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "directory": target.setDirectory(property(camelContext, java.io.File.class, value)); return true;
+        case "falsepositiveprobability":
+        case "falsePositiveProbability": target.setFalsePositiveProbability(property(camelContext, double.class, value)); return true;
+        case "lockstripes":
+        case "lockStripes": target.setLockStripes(property(camelContext, int.class, value)); return true;
+        case "name": target.setName(property(camelContext, java.lang.String.class, value)); return true;
+        case "segmentsize":
+        case "segmentSize": target.setSegmentSize(property(camelContext, int.class, value)); return true;
+        case "timetolive":
+        case "timeToLive": target.setTimeToLive(property(camelContext, long.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "directory": return java.io.File.class;
+        case "falsepositiveprobability":
+        case "falsePositiveProbability": return double.class;
+        case "lockstripes":
+        case "lockStripes": return int.class;
+        case "name": return java.lang.String.class;
+        case "segmentsize":
+        case "segmentSize": return int.class;
+        case "timetolive":
+        case "timeToLive": return long.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository target = (org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "directory": return target.getDirectory();
+        case "falsepositiveprobability":
+        case "falsePositiveProbability": return target.getFalsePositiveProbability();
+        case "lockstripes":
+        case "lockStripes": return target.getLockStripes();
+        case "name": return target.getName();
+        case "segmentsize":
+        case "segmentSize": return target.getSegmentSize();
+        case "timetolive":
+        case "timeToLive": return target.getTimeToLive();
+        default: return null;
+        }
+    }
+}
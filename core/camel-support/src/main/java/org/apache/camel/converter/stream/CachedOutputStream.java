@@ -26,8 +26,9 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.StreamCachingStrategy;
-import org.apache.camel.util.IOHelper;
+import org.apache.camel.support.PluginHelper;
 
 /**
  * This output stream will store the content into a File if the stream context size is exceed the THRESHOLD value. The
@@ -58,6 +59,8 @@ public class CachedOutputStream extends OutputStream {
         this.tempFileManager = new TempFileManager(closedOnCompletion);
         this.tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
+        this.tempFileManager.setByteBufferPool(
+                PluginHelper.getByteBufferPool(exchange.getContext()), strategy.getBufferSize());
         this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
     }
 
@@ -126,6 +129,17 @@ public class CachedOutputStream extends OutputStream {
         currentStream.write(b);
     }
 
+    /**
+     * Copies the data from the input stream into this stream, using a buffer from the {@link ByteBufferPool}.
+     *
+     * @param  input       the input stream
+     * @return             the number of bytes copied
+     * @throws IOException for I/O errors
+     */
+    public long copyFrom(InputStream input) throws IOException {
+        return tempFileManager.copy(input, this);
+    }
+
     public InputStream getInputStream() throws IOException {
         return (InputStream) newStreamCache();
     }
@@ -208,7 +222,7 @@ public class CachedOutputStream extends OutputStream {
 
         @Override
         public void writeTo(OutputStream os) throws IOException {
-            IOHelper.copy(this, os);
+            cachedOutputStream.tempFileManager.copy(this, os);
         }
 
         @Override
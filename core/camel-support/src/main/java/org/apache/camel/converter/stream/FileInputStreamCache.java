@@ -22,6 +22,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -38,6 +42,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.spi.UnitOfWork;
@@ -106,10 +111,33 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         if (stream == null && ciphers == null) {
             Files.copy(file.toPath(), os);
         } else {
-            IOHelper.copy(getInputStream(), os);
+            tempFileManager.copy(getInputStream(), os);
         }
     }
 
+    /**
+     * Writes the content to the given channel. If the content is not encrypted, and has not been read from, then the
+     * temporary file is transferred directly to the channel, without copying the content through the heap (which is
+     * zero-copy when the channel is a file or socket channel).
+     *
+     * @param  channel     the channel to write to
+     * @return             the number of bytes written
+     * @throws IOException is thrown if error writing the content
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        if (stream == null && ciphers == null) {
+            try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, channel);
+                }
+                return position;
+            }
+        }
+        return getInputStream().transferTo(Channels.newOutputStream(channel));
+    }
+
     @Override
     public StreamCache copy(Exchange exchange) throws IOException {
         tempFileManager.addExchange(exchange);
@@ -223,7 +251,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private CipherPair ciphers;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
-        private List<FileInputStreamCache> fileInputStreamCaches;
+        private List<InputStream> fileInputStreamCaches;
+        private ByteBufferPool byteBufferPool;
+        private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
+        private boolean released;
 
         /** Only for testing. */
         private TempFileManager(File file, boolean closedOnCompletion) {
@@ -235,12 +266,37 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             this.closedOnCompletion = closedOnCompletion;
         }
 
+        /**
+         * Sets the pool to use for the buffers when copying the data.
+         */
+        void setByteBufferPool(ByteBufferPool byteBufferPool, int bufferSize) {
+            this.byteBufferPool = byteBufferPool;
+            this.bufferSize = bufferSize;
+        }
+
+        /**
+         * Copies the data from the input stream to the output stream, using a buffer from the pool if in use.
+         */
+        long copy(InputStream input, OutputStream output) throws IOException {
+            if (byteBufferPool == null) {
+                long copied = input.transferTo(output);
+                output.flush();
+                return copied;
+            }
+            ByteBuffer buffer = byteBufferPool.acquire(bufferSize);
+            try {
+                return IOHelper.copy(input, output, buffer.array());
+            } finally {
+                byteBufferPool.release(buffer);
+            }
+        }
+
         /**
          * Adds a FileInputStreamCache instance to the closer.
          * <p>
          * Must be synchronized, because can be accessed by several threads.
          */
-        void add(FileInputStreamCache fileInputStreamCache) {
+        void add(InputStream fileInputStreamCache) {
             lock.lock();
             try {
                 if (fileInputStreamCaches == null) {
@@ -322,6 +378,12 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
+            if (strategy.isSpoolMapped() && ObjectHelper.isEmpty(strategy.getSpoolCipher())) {
+                LOG.trace("Creating temporary memory mapped stream cache file: {}", tempFile);
+                outputStream = new MappedFileOutputStream(tempFile, strategy.getSpoolMappedChunkSize());
+                return outputStream;
+            }
+
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
             OutputStream out = new BufferedOutputStream(
                     Files.newOutputStream(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE));
@@ -349,14 +411,17 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return out;
         }
 
-        FileInputStreamCache newStreamCache() {
+        StreamCache newStreamCache() {
+            if (outputStream instanceof MappedFileOutputStream mapped) {
+                return new MappedFileInputStreamCache(this, mapped.getBuffers(), mapped.length());
+            }
             return new FileInputStreamCache(this);
         }
 
         void closeFileInputStreams() {
             if (fileInputStreamCaches != null) {
-                for (FileInputStreamCache fileInputStreamCache : fileInputStreamCaches) {
-                    fileInputStreamCache.close();
+                for (InputStream fileInputStreamCache : fileInputStreamCaches) {
+                    IOHelper.close(fileInputStreamCache);
                 }
                 fileInputStreamCaches.clear();
             }
@@ -365,8 +430,22 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
+                if (outputStream instanceof MappedFileOutputStream mapped) {
+                    lock.lock();
+                    try {
+                        // no more copies can be made, and late readers fail instead of reading a deleted file
+                        released = true;
+                    } finally {
+                        lock.unlock();
+                    }
+                    mapped.release();
+                }
                 if (tempFile != null) {
-                    FileUtil.deleteFile(tempFile);
+                    if (!FileUtil.deleteFile(tempFile) && tempFile.exists()) {
+                        // a file which is still memory mapped cannot be deleted on some platforms (such as Windows)
+                        LOG.debug("Cannot delete temporary cache file: {}. The file is deleted on exit.", tempFile);
+                        tempFile.deleteOnExit();
+                    }
                     tempFile = null;
                 }
             } catch (Exception e) {
@@ -374,6 +453,23 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
 
+        /**
+         * Checks whether the memory mapped regions can still be read from, which is not the case when the temporary
+         * file has been cleaned up.
+         *
+         * @throws IOException is thrown if the temporary file has been cleaned up
+         */
+        void checkNotReleased(File file) throws IOException {
+            lock.lock();
+            try {
+                if (released) {
+                    throw new IOException("Cannot read stream cache from file " + file + " which has been deleted");
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
         File getTempFile() {
             return tempFile;
         }
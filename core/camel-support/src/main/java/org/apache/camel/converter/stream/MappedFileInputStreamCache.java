@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for {@link File}s which has been spooled to disk using memory mapped files.
+ * <p/>
+ * The memory mapped regions of the file are shared (read-only) among all the copies of this stream cache, such as when
+ * using multicast or wire-tap, so reading the data does not need to read the file via stream I/O.
+ * <p/>
+ * <b>Important:</b> All the classes from the Camel release that implements {@link StreamCache} is NOT intended for end
+ * users to create as instances, but they are part of Camels
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a> functionality.
+ */
+public final class MappedFileInputStreamCache extends InputStream implements StreamCache {
+    private final Lock lock = new ReentrantLock();
+    private final FileInputStreamCache.TempFileManager tempFileManager;
+    private final File file;
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private volatile boolean closed;
+    private ByteBuffer current;
+    private int index;
+    private long position;
+
+    MappedFileInputStreamCache(FileInputStreamCache.TempFileManager closer, ByteBuffer[] buffers, long length) {
+        this.file = closer.getTempFile();
+        this.buffers = buffers;
+        this.length = length;
+        this.tempFileManager = closer;
+        this.tempFileManager.add(this);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            current = null;
+            index = buffers.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            if (!file.exists()) {
+                throw new RuntimeCamelException("Cannot reset stream from file " + file);
+            }
+            closed = false;
+            current = null;
+            index = 0;
+            position = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        writeTo(os instanceof FileOutputStream fos ? fos.getChannel() : Channels.newChannel(os));
+    }
+
+    /**
+     * Writes the remaining content to the given channel, directly from the memory mapped regions, without copying the
+     * content through the heap (when the channel is a file or socket channel).
+     *
+     * @param  channel     the channel to write to
+     * @return             the number of bytes written
+     * @throws IOException is thrown if error writing the content
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        long before = position;
+        while (nextBuffer()) {
+            position += current.remaining();
+            while (current.hasRemaining()) {
+                channel.write(current);
+            }
+        }
+        return position - before;
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        // the temporary file must not be deleted already, as then the copy would have no data
+        tempFileManager.checkNotReleased(file);
+        tempFileManager.addExchange(exchange);
+        return new MappedFileInputStreamCache(tempFileManager, buffers, length);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return false;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, length - position);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextBuffer()) {
+            return -1;
+        }
+        position++;
+        return current.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextBuffer()) {
+            return -1;
+        }
+        int n = Math.min(len, current.remaining());
+        current.get(b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && nextBuffer()) {
+            int step = (int) Math.min(n - skipped, current.remaining());
+            current.position(current.position() + step);
+            skipped += step;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        long before = position;
+        writeTo(out);
+        return position - before;
+    }
+
+    private boolean nextBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || !current.hasRemaining()) {
+            if (index >= buffers.length) {
+                return false;
+            }
+            // fail instead of reading the data of a temporary file which has been deleted
+            tempFileManager.checkNotReleased(file);
+            // each reader has its own view of the shared memory mapped region
+            current = buffers[index++].duplicate();
+        }
+        return true;
+    }
+
+}
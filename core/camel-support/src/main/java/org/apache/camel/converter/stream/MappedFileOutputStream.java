@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link OutputStream} which writes into memory mapped regions of a file. The file is mapped in chunks of the given
+ * size as the data is written.
+ * <p/>
+ * The memory mapped regions stays valid after this stream is closed, which allows the written data to be read from the
+ * regions via {@link #getBuffers()}. The regions are not unmapped explicitly, as a stream cache may still be reading
+ * from them, but when they are garbage collected after {@link #release()} is invoked.
+ */
+final class MappedFileOutputStream extends OutputStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedFileOutputStream.class);
+
+    private final File file;
+    private final int chunkSize;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private FileChannel channel;
+    private MappedByteBuffer current;
+    private long length;
+
+    MappedFileOutputStream(File file, int chunkSize) throws IOException {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity();
+        current.put((byte) b);
+        length++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensureCapacity();
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            length += n;
+        }
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (current == null || !current.hasRemaining()) {
+            if (channel == null) {
+                throw new IOException("Stream closed");
+            }
+            // mapping a region beyond the end of the file will grow the file
+            current = channel.map(FileChannel.MapMode.READ_WRITE, (long) chunks.size() * chunkSize, chunkSize);
+            chunks.add(current);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                // the last region is most likely not fully used
+                channel.truncate(length);
+            } catch (IOException e) {
+                // some platforms do not allow to truncate a file that is mapped
+                LOG.debug("Cannot truncate memory mapped file: {} due to {}. This exception is ignored.", file,
+                        e.getMessage());
+            } finally {
+                // the memory mapped regions are still valid after the channel is closed
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Gets read-only views of the memory mapped regions with the data written so far.
+     */
+    ByteBuffer[] getBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[chunks.size()];
+        long remaining = length;
+        for (int i = 0; i < answer.length; i++) {
+            ByteBuffer buffer = chunks.get(i).asReadOnlyBuffer();
+            buffer.position(0);
+            buffer.limit((int) Math.min(remaining, chunkSize));
+            remaining -= buffer.limit();
+            answer[i] = buffer;
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the memory mapped regions. The regions are unmapped when garbage collected, which is safe even if a stream
+     * cache which has not been closed is still reading from them.
+     */
+    void release() {
+        if (channel != null) {
+            IOHelper.close(channel);
+            channel = null;
+        }
+        chunks.clear();
+        current = null;
+    }
+
+    long length() {
+        return length;
+    }
+
+}
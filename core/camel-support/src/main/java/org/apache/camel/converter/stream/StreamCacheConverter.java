@@ -51,7 +51,11 @@ public final class StreamCacheConverter {
         // transfer the input stream to a cached output stream, and then creates a new stream cache view
         // of the data, which ensures the input stream is cached and re-readable.
         CachedOutputStream cos = new CachedOutputStream(exchange);
-        IOHelper.copyAndCloseInput(stream, cos);
+        try {
+            cos.copyFrom(stream);
+        } finally {
+            IOHelper.close(stream);
+        }
         return cos.newStreamCache();
     }
 
@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExecutionException;
@@ -49,6 +51,11 @@ import org.apache.camel.util.ObjectHelper;
  * @see DefaultExchange
  */
 abstract class AbstractExchange implements Exchange {
+    private static final AtomicReferenceFieldUpdater<AbstractExchange, AtomicInteger> PROPERTIES_SHARED
+            = AtomicReferenceFieldUpdater.newUpdater(AbstractExchange.class, AtomicInteger.class, "propertiesShared");
+    private static final AtomicReferenceFieldUpdater<AbstractExchange, AtomicInteger> VARIABLES_SHARED
+            = AtomicReferenceFieldUpdater.newUpdater(AbstractExchange.class, AtomicInteger.class, "variablesShared");
+
     protected final EnumMap<ExchangePropertyKey, Object> internalProperties;
 
     protected final CamelContext context;
@@ -63,6 +70,14 @@ abstract class AbstractExchange implements Exchange {
     protected boolean rollbackOnlyLast;
     protected Map<String, SafeCopyProperty> safeCopyProperties;
     protected ExchangeVariableRepository variableRepository;
+    // the number of exchanges sharing the properties and variables with this exchange (copy on write), or null if not
+    // shared
+    private volatile AtomicInteger propertiesShared;
+    private volatile AtomicInteger variablesShared;
+    // whether the properties and variables have been returned by getProperties and getVariables, and can no longer be
+    // shared
+    private boolean propertiesExposed;
+    private boolean variablesExposed;
     private final ExtendedExchangeExtension privateExtension;
     private RedeliveryTraitPayload externalRedelivered = RedeliveryTraitPayload.UNDEFINED_REDELIVERY;
 
@@ -126,14 +141,24 @@ abstract class AbstractExchange implements Exchange {
         privateExtension.setErrorHandlerHandled(parent.getExchangeExtension().getErrorHandlerHandled());
         privateExtension.setStreamCacheDisabled(parent.getExchangeExtension().isStreamCacheDisabled());
 
+        // share the variables and properties with the parent until either exchange changes them (copy on write),
+        // unless the parent has returned them to a caller that may still change them
         if (parent.hasVariables()) {
-            if (this.variableRepository == null) {
+            if (parent.variablesExposed) {
                 this.variableRepository = new ExchangeVariableRepository(getContext());
+                this.variableRepository.copyFrom(parent.variableRepository);
+            } else {
+                this.variableRepository = parent.variableRepository;
+                this.variablesShared = share(parent, VARIABLES_SHARED);
             }
-            this.variableRepository.copyFrom(parent.variableRepository);
         }
         if (parent.hasProperties()) {
-            this.properties = safeCopyProperties(parent.properties);
+            if (parent.propertiesExposed) {
+                this.properties = safeCopyProperties(parent.properties);
+            } else {
+                this.properties = parent.properties;
+                this.propertiesShared = share(parent, PROPERTIES_SHARED);
+            }
         }
         if (parent.hasSafeCopyProperties()) {
             this.safeCopyProperties = parent.copySafeCopyProperties();
@@ -265,24 +290,16 @@ abstract class AbstractExchange implements Exchange {
         if (key != null) {
             setProperty(key, value);
         } else if (value != null) {
-            // avoid the NullPointException
-            if (properties == null) {
-                this.properties = new ConcurrentHashMap<>(8);
-            }
-            properties.put(name, value);
-        } else if (properties != null) {
+            writableProperties().put(name, value);
+        } else if (properties != null && properties.containsKey(name)) {
             // if the value is null, we just remove the key from the map
-            properties.remove(name);
+            writableProperties().remove(name);
         }
     }
 
     void setProperties(Map<String, Object> properties) {
-        if (this.properties == null) {
-            this.properties = new ConcurrentHashMap<>(8);
-        } else {
-            this.properties.clear();
-        }
-        this.properties.putAll(properties);
+        clearProperties();
+        writableProperties().putAll(properties);
     }
 
     @Override
@@ -291,10 +308,10 @@ abstract class AbstractExchange implements Exchange {
         if (key != null) {
             return removeProperty(key);
         }
-        if (!hasProperties()) {
+        if (!hasProperties() || !properties.containsKey(name)) {
             return null;
         }
-        return properties.remove(name);
+        return writableProperties().remove(name);
     }
 
     @Override
@@ -306,9 +323,7 @@ abstract class AbstractExchange implements Exchange {
     public boolean removeProperties(String pattern, String... excludePatterns) {
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
-            if (properties != null) {
-                properties.clear();
-            }
+            clearProperties();
             internalProperties.clear();
             return true;
         }
@@ -333,10 +348,11 @@ abstract class AbstractExchange implements Exchange {
                 matches = true;
                 if (toBeRemoved.size() == properties.size()) {
                     // special optimization when all should be removed
-                    properties.clear();
+                    clearProperties();
                 } else {
+                    Map<String, Object> map = writableProperties();
                     for (String key : toBeRemoved) {
-                        properties.remove(key);
+                        map.remove(key);
                     }
                 }
             }
@@ -347,12 +363,46 @@ abstract class AbstractExchange implements Exchange {
 
     @Override
     public Map<String, Object> getProperties() {
+        Map<String, Object> answer = writableProperties();
+        // the caller may keep the map and change it later, so it can no longer be shared with a copy
+        propertiesExposed = true;
+        return answer;
+    }
+
+    /**
+     * Gets the properties for changing them, which takes a copy of the properties if they are shared with another
+     * exchange.
+     */
+    private Map<String, Object> writableProperties() {
         if (properties == null) {
             this.properties = new ConcurrentHashMap<>(8);
+        } else if (propertiesShared != null) {
+            AtomicInteger shared = propertiesShared;
+            propertiesShared = null;
+            // the other exchanges may no longer use the properties, then they can be changed in place
+            if (shared.get() > 1) {
+                this.properties = new ConcurrentHashMap<>(properties);
+                // must decrement after the copy is taken, as the last exchange then changes the properties in place
+                shared.decrementAndGet();
+            }
         }
         return properties;
     }
 
+    /**
+     * Removes all the properties, without changing the properties shared with a copy of this exchange.
+     */
+    void clearProperties() {
+        if (propertiesShared != null) {
+            propertiesShared.decrementAndGet();
+            propertiesShared = null;
+            this.properties = new ConcurrentHashMap<>(8);
+            propertiesExposed = false;
+        } else if (properties != null) {
+            properties.clear();
+        }
+    }
+
     private Map<String, SafeCopyProperty> copySafeCopyProperties() {
         Map<String, SafeCopyProperty> copy = new ConcurrentHashMap<>();
         for (Map.Entry<String, SafeCopyProperty> entry : this.safeCopyProperties.entrySet()) {
@@ -420,10 +470,7 @@ abstract class AbstractExchange implements Exchange {
         if (repo != null) {
             repo.setVariable(name, value);
         } else {
-            if (variableRepository == null) {
-                variableRepository = new ExchangeVariableRepository(getContext());
-            }
-            variableRepository.setVariable(name, value);
+            writableVariables().setVariable(name, value);
         }
     }
 
@@ -439,21 +486,79 @@ abstract class AbstractExchange implements Exchange {
             return repo.removeVariable(name);
         } else if (variableRepository != null) {
             if ("*".equals(name)) {
-                variableRepository.clear();
+                clearVariables();
                 return null;
             }
-            return variableRepository.removeVariable(name);
+            return writableVariables().removeVariable(name);
         }
         return null;
     }
 
     @Override
     public Map<String, Object> getVariables() {
+        Map<String, Object> answer = writableVariables().getVariables();
+        // the caller may keep the map and change it later, so it can no longer be shared with a copy
+        variablesExposed = true;
+        return answer;
+    }
+
+    /**
+     * Gets the variable repository for changing the variables, which is created on demand, or copied if the variables
+     * are shared with another exchange.
+     */
+    private ExchangeVariableRepository writableVariables() {
         if (variableRepository == null) {
-            // force creating variables
             variableRepository = new ExchangeVariableRepository(getContext());
+        } else if (variablesShared != null) {
+            AtomicInteger shared = variablesShared;
+            variablesShared = null;
+            // the other exchanges may no longer use the variables, then they can be changed in place
+            if (shared.get() > 1) {
+                ExchangeVariableRepository repo = new ExchangeVariableRepository(getContext());
+                repo.copyFrom(variableRepository);
+                variableRepository = repo;
+                // must decrement after the copy is taken, as the last exchange then changes the variables in place
+                shared.decrementAndGet();
+            }
+        }
+        return variableRepository;
+    }
+
+    /**
+     * Removes all the variables, without changing the variables shared with a copy of this exchange.
+     */
+    void clearVariables() {
+        if (variablesShared != null) {
+            variablesShared.decrementAndGet();
+            variablesShared = null;
+            variableRepository = null;
+            variablesExposed = false;
+        } else if (variableRepository != null) {
+            variableRepository.clear();
+        }
+    }
+
+    /**
+     * Shares a map of the parent exchange with one more exchange.
+     *
+     * @param  parent  the exchange the map is shared from
+     * @param  updater the field of the parent with the number of exchanges sharing the map
+     * @return         the number of exchanges sharing the map
+     */
+    private static AtomicInteger share(
+            AbstractExchange parent, AtomicReferenceFieldUpdater<AbstractExchange, AtomicInteger> updater) {
+        while (true) {
+            AtomicInteger shared = updater.get(parent);
+            if (shared != null) {
+                shared.incrementAndGet();
+                return shared;
+            }
+            // the parent may be copied by several threads at the same time, so only one of them sets the counter
+            shared = new AtomicInteger(2);
+            if (updater.compareAndSet(parent, null, shared)) {
+                return shared;
+            }
         }
-        return variableRepository.getVariables();
     }
 
     @Override
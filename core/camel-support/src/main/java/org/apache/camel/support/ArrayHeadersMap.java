@@ -0,0 +1,456 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.camel.Exchange;
+
+/**
+ * A compact map that uses case insensitive keys, but preserves the original key cases, which is intended for storing
+ * message headers.
+ * <p/>
+ * The entries are stored in arrays in insertion order, with an open addressing hash index using the hash of the lower
+ * case keys, which means lookup is O(1) and not O(log n) as with the tree based
+ * {@link org.apache.camel.util.CaseInsensitiveMap}. The hashes of the well known header names from {@link Exchange}
+ * are precomputed.
+ * <p/>
+ * A copy of the map (using the copy constructor, or {@link #putAll(Map)} on an empty map) shares the arrays with the
+ * original map until either of the maps is changed (copy on write). This makes copying the headers cheap when creating
+ * many copies of an exchange, such as when splitting, as most copies never change the headers.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed by the
+ * Camel routing engine.
+ */
+public class ArrayHeadersMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final @Serial long serialVersionUID = 5064508209489315231L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final String[] KNOWN_KEYS;
+    private static final int[] KNOWN_HASHES;
+
+    static {
+        List<String> names = new ArrayList<>();
+        for (Field field : Exchange.class.getFields()) {
+            if (field.getType() == String.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    String name = (String) field.get(null);
+                    if (name != null && !names.contains(name)) {
+                        names.add(name);
+                    }
+                } catch (IllegalAccessException e) {
+                    // ignore
+                }
+            }
+        }
+        // keep the table sparse so the probing is short
+        int length = Integer.highestOneBit(Math.max(names.size(), 1) * 4) << 1;
+        KNOWN_KEYS = new String[length];
+        KNOWN_HASHES = new int[length];
+        for (String name : names) {
+            int slot = name.hashCode() & (length - 1);
+            while (KNOWN_KEYS[slot] != null) {
+                slot = (slot + 1) & (length - 1);
+            }
+            KNOWN_KEYS[slot] = name;
+            KNOWN_HASHES[slot] = computeHash(name);
+        }
+    }
+
+    // the entries in insertion order, where removed entries have a null key
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // open addressing index with the position of the entry + 1 (0 is a free slot)
+    private int[] index;
+    private int size;
+    private int used;
+    // whether the arrays are shared with another map, and must be copied before changing
+    private transient boolean shared;
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public ArrayHeadersMap() {
+    }
+
+    public ArrayHeadersMap(Map<? extends String, ?> map) {
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : null;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : defaultValue;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int hash = hash(key);
+        int pos = indexOf(key, hash);
+        if (pos >= 0) {
+            // keep the original key case as the tree based case insensitive map does
+            ensureWritable();
+            Object answer = values[pos];
+            values[pos] = value;
+            return answer;
+        }
+        insert(key, hash, value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map instanceof ArrayHeadersMap other) {
+            if (other == this || other.size == 0) {
+                return;
+            }
+            if (size == 0) {
+                // share the arrays until either map is changed
+                keys = other.keys;
+                values = other.values;
+                hashes = other.hashes;
+                index = other.index;
+                size = other.size;
+                used = other.used;
+                shared = true;
+                other.shared = true;
+                modCount++;
+                return;
+            }
+            // reuse the computed hashes
+            for (int i = 0; i < other.used; i++) {
+                String key = other.keys[i];
+                if (key != null) {
+                    put(key, other.hashes[i], other.values[i]);
+                }
+            }
+        } else {
+            for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return null;
+        }
+        Object answer = values[pos];
+        removeAt(pos);
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        if (used == 0) {
+            return;
+        }
+        if (shared) {
+            keys = null;
+            values = null;
+            hashes = null;
+            index = null;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, used, null);
+            Arrays.fill(values, 0, used, null);
+            Arrays.fill(index, 0);
+        }
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        int count = modCount;
+        for (int i = 0; i < used; i++) {
+            String key = keys[i];
+            if (key != null) {
+                action.accept(key, values[i]);
+            }
+        }
+        if (count != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private void put(String key, int hash, Object value) {
+        int pos = indexOf(key, hash);
+        if (pos >= 0) {
+            ensureWritable();
+            values[pos] = value;
+        } else {
+            insert(key, hash, value);
+        }
+    }
+
+    private void insert(String key, int hash, Object value) {
+        ensureWritable();
+        if (used == keys.length) {
+            // grow the arrays, unless there are many removed entries to reclaim
+            rebuild(size * 2 > keys.length ? keys.length * 2 : keys.length);
+        }
+        int pos = used++;
+        keys[pos] = key;
+        values[pos] = value;
+        hashes[pos] = hash;
+        addToIndex(pos, hash);
+        size++;
+        modCount++;
+    }
+
+    private void removeAt(int pos) {
+        if (size == 1) {
+            clear();
+            return;
+        }
+        ensureWritable();
+        // the slot in the index is kept pointing to the removed entry to not break the probing
+        keys[pos] = null;
+        values[pos] = null;
+        size--;
+        modCount++;
+    }
+
+    private int indexOf(Object key) {
+        if (size == 0 || !(key instanceof String str)) {
+            return -1;
+        }
+        return indexOf(str, hash(str));
+    }
+
+    private int indexOf(String key, int hash) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        int p;
+        while ((p = index[slot]) != 0) {
+            int pos = p - 1;
+            String k = keys[pos];
+            if (k != null && hashes[pos] == hash && (k == key || k.equalsIgnoreCase(key))) {
+                return pos;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addToIndex(int pos, int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = pos + 1;
+    }
+
+    private void ensureWritable() {
+        if (keys == null) {
+            keys = new String[DEFAULT_CAPACITY];
+            values = new Object[DEFAULT_CAPACITY];
+            hashes = new int[DEFAULT_CAPACITY];
+            index = new int[DEFAULT_CAPACITY * 2];
+        } else if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            index = index.clone();
+            shared = false;
+        }
+    }
+
+    private void rebuild(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        index = new int[capacity * 2];
+        used = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] != null) {
+                int pos = used++;
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+                hashes[pos] = oldHashes[i];
+                addToIndex(pos, hashes[pos]);
+            }
+        }
+    }
+
+    private static int hash(String key) {
+        // the string caches its hash code, so this is cheap for the well known keys
+        int mask = KNOWN_KEYS.length - 1;
+        int slot = key.hashCode() & mask;
+        String known;
+        while ((known = KNOWN_KEYS[slot]) != null) {
+            if (known == key || known.equals(key)) {
+                return KNOWN_HASHES[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return computeHash(key);
+    }
+
+    private static int computeHash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            if (ch < 128) {
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 'a' - 'A';
+                }
+            } else {
+                // same as String.equalsIgnoreCase
+                ch = Character.toLowerCase(Character.toUpperCase(ch));
+            }
+            h = 31 * h + ch;
+        }
+        // spread the higher bits as the index uses the lower bits
+        return h ^ (h >>> 16);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ArrayHeadersMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new ArrayEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            expectedModCount = modCount;
+            last = -1;
+        }
+
+        private int advance(int pos) {
+            while (pos < used && keys[pos] == null) {
+                pos++;
+            }
+            return pos;
+        }
+    }
+
+    private final class ArrayEntry extends SimpleEntry<String, Object> {
+        private final int pos;
+
+        ArrayEntry(int pos) {
+            super(keys[pos], values[pos]);
+            this.pos = pos;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            ensureWritable();
+            values[pos] = value;
+            return super.setValue(value);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchProducer;
 import org.apache.camel.DelegateProcessor;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
@@ -188,10 +189,29 @@ public final class AsyncProcessorConverterHelper {
         }
     }
 
+    private static class BatchProducerToAsyncProducerBridge extends ProducerToAsyncProducerBridge implements BatchProducer {
+        BatchProducerToAsyncProducerBridge(BatchProducer producer) {
+            super(producer);
+        }
+
+        @Override
+        public void processBatch(List<Exchange> exchanges) throws Exception {
+            ((BatchProducer) processor).processBatch(exchanges);
+        }
+
+        @Override
+        public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+            return ((BatchProducer) processor).processBatch(exchanges, callback);
+        }
+    }
+
     public static AsyncProducer convert(Producer value) {
         if (value instanceof AsyncProducer asyncProducer) {
             return asyncProducer;
         }
+        if (value instanceof BatchProducer batchProducer) {
+            return new BatchProducerToAsyncProducerBridge(batchProducer);
+        }
         return new ProducerToAsyncProducerBridge(value);
     }
 
@@ -19,10 +19,13 @@ package org.apache.camel.support;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.spi.HeadersMapFactory;
 
 /**
@@ -35,7 +38,14 @@ import org.apache.camel.spi.HeadersMapFactory;
  * implementation uses the {@link org.apache.camel.util.CaseInsensitiveMap CaseInsensitiveMap}.
  */
 public class DefaultMessage extends MessageSupport {
+    private static final AtomicReferenceFieldUpdater<DefaultMessage, AtomicInteger> HEADERS_SHARED
+            = AtomicReferenceFieldUpdater.newUpdater(DefaultMessage.class, AtomicInteger.class, "headersShared");
+
     private Map<String, Object> headers;
+    // the number of messages sharing the headers with this message (copy on write), or null if not shared
+    private volatile AtomicInteger headersShared;
+    // whether the headers have been returned by getHeaders or set by setHeaders, and can no longer be shared
+    private boolean headersExposed;
 
     public DefaultMessage(Exchange exchange) {
         setExchange(exchange);
@@ -52,9 +62,7 @@ public class DefaultMessage extends MessageSupport {
     @Override
     public void reset() {
         super.reset();
-        if (headers != null) {
-            headers.clear();
-        }
+        clearHeaders();
     }
 
     @Override
@@ -202,10 +210,7 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public void setHeader(String name, Object value) {
-        if (headers == null) {
-            headers = createHeaders();
-        }
-        headers.put(name, value);
+        writableHeaders().put(name, value);
     }
 
     @Override
@@ -214,10 +219,10 @@ public class DefaultMessage extends MessageSupport {
             // force creating headers
             headers = createHeaders();
         }
-        if (headers.isEmpty()) {
+        if (headers.isEmpty() || headersShared != null && !headers.containsKey(name)) {
             return null;
         }
-        return headers.remove(name);
+        return writableHeaders().remove(name);
     }
 
     @Override
@@ -237,7 +242,7 @@ public class DefaultMessage extends MessageSupport {
 
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
-            headers.clear();
+            clearHeaders();
             return true;
         }
 
@@ -246,10 +251,11 @@ public class DefaultMessage extends MessageSupport {
         if (toBeRemoved != null) {
             if (toBeRemoved.size() == headers.size()) {
                 // special optimization when all should be removed
-                headers.clear();
+                clearHeaders();
             } else {
+                Map<String, Object> map = writableHeaders();
                 for (String key : toBeRemoved) {
-                    headers.remove(key);
+                    map.remove(key);
                 }
             }
 
@@ -261,18 +267,75 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public Map<String, Object> getHeaders() {
+        Map<String, Object> answer = writableHeaders();
+        // the caller may keep the map and change it later, so it can no longer be shared with a copy
+        headersExposed = true;
+        return answer;
+    }
+
+    /**
+     * Gets the headers for changing them, which takes a copy of the headers if they are shared with another message.
+     */
+    private Map<String, Object> writableHeaders() {
         if (headers == null) {
             headers = createHeaders();
+        } else if (headersShared != null) {
+            unshareHeaders(true);
         }
         return headers;
     }
 
+    /**
+     * Shares the headers with one more message.
+     *
+     * @return the number of messages sharing the headers
+     */
+    private AtomicInteger shareHeaders() {
+        while (true) {
+            AtomicInteger shared = headersShared;
+            if (shared != null) {
+                shared.incrementAndGet();
+                return shared;
+            }
+            // the message may be copied by several threads at the same time, so only one of them sets the counter
+            shared = new AtomicInteger(2);
+            if (HEADERS_SHARED.compareAndSet(this, null, shared)) {
+                return shared;
+            }
+        }
+    }
+
+    /**
+     * Stops sharing the headers with other messages.
+     *
+     * @param keep whether to keep the headers, by taking a copy unless this is the last message sharing them
+     */
+    private void unshareHeaders(boolean keep) {
+        AtomicInteger shared = headersShared;
+        if (shared != null) {
+            headersShared = null;
+            if (keep && shared.get() == 1) {
+                // the other messages no longer use the headers so they can be changed in place
+                return;
+            }
+            if (keep) {
+                headers = newHeaders(headers);
+            }
+            headersExposed = false;
+            // must decrement after the copy is taken, as the last message then changes the headers in place
+            shared.decrementAndGet();
+        }
+    }
+
     @Override
     public void setHeaders(Map<String, Object> headers) {
+        unshareHeaders(false);
         HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
         if (factory != null) {
             if (factory.isInstanceOf(headers)) {
                 this.headers = headers;
+                // the caller may change the map later, so it can no longer be shared with a copy
+                this.headersExposed = true;
             } else {
                 // create a new map
                 this.headers = camelContext.getCamelContextExtension().getHeadersMapFactory().newMap(headers);
@@ -297,6 +360,54 @@ public class DefaultMessage extends MessageSupport {
         return new DefaultMessage(camelContext);
     }
 
+    @Override
+    protected void copyHeadersFrom(Message that) {
+        if (camelContext != null && that instanceof DefaultMessage other && other.camelContext == camelContext) {
+            if (headers != null && other.headers == headers) {
+                return;
+            }
+            if (other.hasHeaders() && !other.headersExposed) {
+                // share the headers until either message changes them (copy on write)
+                unshareHeaders(false);
+                headers = other.headers;
+                headersShared = other.shareHeaders();
+                headersExposed = false;
+            } else {
+                if (headers != null && !headers.isEmpty()) {
+                    clearHeaders();
+                }
+                if (other.hasHeaders()) {
+                    writableHeaders().putAll(other.headers);
+                }
+            }
+        } else {
+            super.copyHeadersFrom(that);
+        }
+    }
+
+    /**
+     * Removes all the headers, without changing the headers shared with a copy of this message.
+     */
+    private void clearHeaders() {
+        if (headersShared != null) {
+            unshareHeaders(false);
+            // must not create the headers using createHeaders as that would populate the initial headers again
+            headers = newHeaders(null);
+        } else if (headers != null) {
+            headers.clear();
+        }
+    }
+
+    private Map<String, Object> newHeaders(Map<String, Object> source) {
+        HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
+        if (factory != null) {
+            return source != null ? factory.newMap(source) : factory.newMap();
+        } else {
+            // should not really happen but some tests rely on using camel context that is not started
+            return source != null ? new HashMap<>(source) : new HashMap<>();
+        }
+    }
+
     /**
      * A factory method to lazily create the headers to make it easy to create efficient Message implementations which
      * only construct and populate the Map on demand
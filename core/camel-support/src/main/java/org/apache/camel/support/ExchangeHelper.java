@@ -25,10 +25,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -57,6 +59,7 @@ import org.apache.camel.spi.NormalizedEndpointUri;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.spi.VariableRepository;
 import org.apache.camel.spi.VariableRepositoryFactory;
+import org.apache.camel.util.ChunkedFileScanner;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.Scanner;
@@ -1043,6 +1046,45 @@ public final class ExchangeHelper {
         return scanner;
     }
 
+    /**
+     * Creates an iterator for scanning the given value, which scans the value in parallel if the value is a file, and
+     * otherwise scans the value using a {@link Scanner}.
+     *
+     * @param  exchange    the current exchange
+     * @param  value       the value, typically the message IN body
+     * @param  delimiter   the delimiter pattern to use
+     * @param  executor    the executor to scan the ranges of the file
+     * @param  parallelism the number of ranges of the file to scan at the same time
+     * @return             the scanner, is newer <tt>null</tt>
+     * @see                ChunkedFileScanner
+     */
+    public static Iterator<String> getScanner(
+            Exchange exchange, Object value, String delimiter, Executor executor, int parallelism) {
+        Path path = null;
+        if (value instanceof WrappedFile<?> gf) {
+            // the body is the file itself, unless the file content has been loaded into the body
+            value = gf.getBody() != null ? gf.getBody() : gf.getFile();
+        }
+        if (value instanceof File file) {
+            path = file.toPath();
+        } else if (value instanceof Path p) {
+            path = p;
+        }
+        if (path != null) {
+            String charsetName = exchange.getProperty(ExchangePropertyKey.CHARSET_NAME, String.class);
+            Charset charset = charsetName != null ? Charset.forName(charsetName) : Charset.defaultCharset();
+            if (ChunkedFileScanner.isSupported(charset)) {
+                try {
+                    return new ChunkedFileScanner(
+                            path, charset, delimiter, executor, parallelism, ChunkedFileScanner.DEFAULT_CHUNK_SIZE);
+                } catch (IOException e) {
+                    throw new RuntimeCamelException(e);
+                }
+            }
+        }
+        return getScanner(exchange, value, delimiter);
+    }
+
     public static String getRouteId(Exchange exchange) {
         String answer = getAtRouteId(exchange);
         if (answer == null) {
@@ -1291,4 +1333,23 @@ public final class ExchangeHelper {
         return exchange.getMessage().getBody(type);
     }
 
+    /**
+     * Whether the exchange is included in a sample of 1 out of N exchanges. The decision is stable for the lifetime of
+     * the exchange, so it can be asked again at every node without storing any state on the exchange.
+     *
+     * @param  exchange   the exchange
+     * @param  sampleRate the sample rate (1 out of N), where 1 or less samples every exchange
+     * @return            <tt>true</tt> if the exchange is sampled
+     */
+    public static boolean isSampled(Exchange exchange, int sampleRate) {
+        if (sampleRate <= 1) {
+            return true;
+        }
+        // mix identity and creation time, so pooled exchanges are not always (or never) sampled
+        long created = exchange.getClock().getCreated();
+        int hash = System.identityHashCode(exchange) ^ (int) (created ^ (created >>> 32));
+        hash *= 0x9E3779B9;
+        return Integer.remainderUnsigned(hash ^ (hash >>> 16), sampleRate) == 0;
+    }
+
 }
@@ -28,6 +28,7 @@ import org.apache.camel.spi.AsyncProcessorAwaitManager;
 import org.apache.camel.spi.BeanIntrospection;
 import org.apache.camel.spi.BeanProcessorFactory;
 import org.apache.camel.spi.BeanProxyFactory;
+import org.apache.camel.spi.ByteBufferPool;
 import org.apache.camel.spi.CamelBeanPostProcessor;
 import org.apache.camel.spi.CamelDependencyInjectionAnnotationFactory;
 import org.apache.camel.spi.ComponentNameResolver;
@@ -575,4 +576,18 @@ public final class PluginHelper {
             ExtendedCamelContext extendedCamelContext) {
         return extendedCamelContext.getContextPlugin(AnnotationBasedProcessorFactory.class);
     }
+
+    /**
+     * Gets the {@link ByteBufferPool} to use.
+     */
+    public static ByteBufferPool getByteBufferPool(CamelContext camelContext) {
+        return getByteBufferPool(camelContext.getCamelContextExtension());
+    }
+
+    /**
+     * Gets the {@link ByteBufferPool} to use.
+     */
+    public static ByteBufferPool getByteBufferPool(ExtendedCamelContext extendedCamelContext) {
+        return extendedCamelContext.getContextPlugin(ByteBufferPool.class);
+    }
 }
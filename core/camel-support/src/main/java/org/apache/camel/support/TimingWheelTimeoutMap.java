@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Comparator.comparing;
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A {@link TimeoutMap} which keeps the entries in a hashed timing wheel.
+ * <p/>
+ * The wheel has a number of buckets, where each bucket covers one tick (the purge poll time) and holds the entries that
+ * expire in that tick (or a later round of the wheel). Adding, removing and refreshing an entry is O(1), and each purge
+ * only visits the buckets for the ticks that have passed since the last purge, instead of all the entries in the map
+ * as {@link DefaultTimeoutMap} does. This makes this implementation a better fit when there are a large number of
+ * entries in the map, such as many in-flight request/reply messages.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used to schedule
+ * a background task which check for old entries to purge. You must also invoke {@link #start()} to startup the timeout
+ * map, before its ready to be used. And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class TimingWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final Lock lock = new ReentrantLock();
+    private final WheelEntry<K, V>[] wheel;
+    private final int mask;
+    // the time the ticks are counted from, and the first tick of the wheel not yet purged
+    private long origin = -1;
+    private long nextTick;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, DEFAULT_WHEEL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be positive, was: " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be positive, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        // use a power of two so the bucket can be computed by masking the tick
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new WheelEntry[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            // the entry may have been removed or replaced in the meantime
+            if (map.get(key) != entry) {
+                return null;
+            }
+            // refresh the expire time by moving the entry to its new bucket
+            unlink(entry);
+            updateExpireTime(entry);
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unlink(result);
+            }
+            link(entry);
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        WheelEntry<K, V> result = null;
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            // just make sure we don't override the old entry
+            result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                link(entry);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            if (result == null) {
+                emitEvent(Put, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        // if no contains, the lock is not necessary
+        if (!map.containsKey(key)) {
+            return null;
+        }
+
+        V value = null;
+        lock.lock();
+        try {
+            WheelEntry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+                value = entry.getValue();
+            }
+            return value;
+        } finally {
+            lock.unlock();
+            if (value != null) {
+                emitEvent(Remove, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Exception t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    protected void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+        if (map.isEmpty()) {
+            return;
+        }
+
+        long now = currentTime();
+
+        List<TimeoutMapEntry<K, V>> expired = null;
+        lock.lock();
+        try {
+            long tick = tickOf(now);
+            // visit the buckets of the ticks that have passed (each bucket at most once)
+            long from = Math.max(nextTick, tick - mask);
+            for (long t = from; t <= tick; t++) {
+                expired = purgeBucket((int) (t & mask), tick, now, expired);
+            }
+            // the bucket of the current tick may hold entries which expire later in this tick
+            nextTick = Math.max(nextTick, tick);
+
+            if (expired != null) {
+                // sort according to the expired time so we got the first expired first
+                expired.sort(comparing(TimeoutMapEntry::getExpireTime));
+            }
+        } finally {
+            lock.unlock();
+            if (expired != null) {
+                for (TimeoutMapEntry<K, V> entry : expired) {
+                    emitEvent(Evict, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private List<TimeoutMapEntry<K, V>> purgeBucket(
+            int index, long tick, long now, List<TimeoutMapEntry<K, V>> expired) {
+        WheelEntry<K, V> entry = wheel[index];
+        while (entry != null) {
+            WheelEntry<K, V> next = entry.next;
+            // the bucket also holds entries for later rounds of the wheel
+            if (entry.getExpireTime() < now) {
+                unlink(entry);
+                if (isValidForEviction(entry)) {
+                    log.debug("Evicting inactive entry ID: {}", entry);
+                    map.remove(entry.getKey(), entry);
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(entry);
+                } else {
+                    // check the entry again on the next purge instead of the next round of the wheel
+                    link(entry, tick + 1);
+                }
+            }
+            entry = next;
+        }
+        return expired;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private static <K, V> V unwrap(TimeoutMapEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    private long tickOf(long time) {
+        if (origin < 0) {
+            // the ticks are counted from the first use of the wheel
+            origin = currentTime();
+        }
+        return Math.max(0, time - origin) / purgePollTime;
+    }
+
+    /**
+     * Adds the entry to the bucket of the tick it expires in (must hold the lock)
+     */
+    private void link(WheelEntry<K, V> entry) {
+        // entries which expire in a tick already purged goes into the next bucket to purge
+        link(entry, Math.max(tickOf(entry.getExpireTime()), nextTick));
+    }
+
+    /**
+     * Adds the entry to the bucket of the given tick (must hold the lock)
+     */
+    private void link(WheelEntry<K, V> entry, long tick) {
+        int index = (int) (tick & mask);
+        entry.bucket = index;
+        entry.prev = null;
+        entry.next = wheel[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        wheel[index] = entry;
+    }
+
+    /**
+     * Removes the entry from its bucket (must hold the lock)
+     */
+    private void unlink(WheelEntry<K, V> entry) {
+        if (entry.bucket < 0) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheel[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Exception t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this::purgeTask, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        lock.lock();
+        try {
+            map.clear();
+            for (int i = 0; i < wheel.length; i++) {
+                WheelEntry<K, V> entry = wheel[i];
+                while (entry != null) {
+                    WheelEntry<K, V> next = entry.next;
+                    entry.prev = null;
+                    entry.next = null;
+                    entry.bucket = -1;
+                    entry = next;
+                }
+                wheel[i] = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+        private int bucket = -1;
+
+        WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+    }
+
+}
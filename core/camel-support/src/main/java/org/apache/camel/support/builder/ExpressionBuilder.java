@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -1712,6 +1713,37 @@ public class ExpressionBuilder {
         };
     }
 
+    /**
+     * Returns a tokenize expression which will tokenize the string with the given token, where files are tokenized in
+     * parallel by the given number of threads of the executor service (which can be shared).
+     */
+    public static Expression tokenizeExpression(
+            final Expression expression,
+            final Expression token,
+            final ExecutorService executorService,
+            final int parallelism) {
+        return new ExpressionAdapter() {
+            @Override
+            public Object evaluate(Exchange exchange) {
+                String text = token.evaluate(exchange, String.class);
+                Object value = expression.evaluate(exchange, Object.class);
+                return ExchangeHelper.getScanner(exchange, value, text, executorService, parallelism);
+            }
+
+            @Override
+            public void init(CamelContext context) {
+                super.init(context);
+                expression.init(context);
+                token.init(context);
+            }
+
+            @Override
+            public String toString() {
+                return "tokenize(" + expression + ", " + token + ", parallelism=" + parallelism + ")";
+            }
+        };
+    }
+
     /**
      * Returns an expression that skips the first element
      */
@@ -22,7 +22,9 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
@@ -43,6 +45,8 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
     private final Class<?> type;
     private final String charset;
     private final boolean mandatory;
+    // the type converter resolved for the last type of body, as the body is most often of the same type
+    private volatile ResolvedConverter converter;
 
     public ConvertBodyProcessor(Class<?> type) {
         ObjectHelper.notNull(type, "type", this);
@@ -112,18 +116,20 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
             // have explicit configured and expects to be used
             exchange.setProperty(ExchangePropertyKey.CHARSET_NAME, charset);
         }
+        // create a new message container so we do not drag specialized message objects along
+        // but that is only needed if the old message is a specialized message
+        boolean copyNeeded = !(old.getClass().equals(DefaultMessage.class));
+
         // use mandatory conversion
         Object value;
-        if (mandatory) {
+        if (!copyNeeded) {
+            value = convertBody(exchange, old);
+        } else if (mandatory) {
             value = old.getMandatoryBody(type);
         } else {
             value = old.getBody(type);
         }
 
-        // create a new message container so we do not drag specialized message objects along
-        // but that is only needed if the old message is a specialized message
-        boolean copyNeeded = !(old.getClass().equals(DefaultMessage.class));
-
         if (copyNeeded) {
             Message msg = new DefaultMessage(exchange.getContext());
             msg.copyFromWithNewBody(old, value);
@@ -146,6 +152,41 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
         }
     }
 
+    /**
+     * Converts the body of the plain message the same way as {@link Message#getMandatoryBody(Class)} and
+     * {@link Message#getBody(Class)}, but with a type converter resolved for the type of the body.
+     */
+    private Object convertBody(Exchange exchange, Message message) throws InvalidPayloadException {
+        Object body = message.getBody();
+        if (type.isInstance(body)) {
+            return body;
+        }
+        TypeConverter tc = resolveConverter(exchange, body.getClass());
+        if (mandatory) {
+            try {
+                return tc.mandatoryConvertTo(type, exchange, body);
+            } catch (Exception cause) {
+                throw new InvalidPayloadException(exchange, type, message, cause);
+            }
+        }
+        Object answer = tc.convertTo(type, exchange, body);
+        if (answer == null) {
+            // fallback and try the message itself
+            answer = exchange.getContext().getTypeConverter().tryConvertTo(type, exchange, message);
+        }
+        return answer;
+    }
+
+    private TypeConverter resolveConverter(Exchange exchange, Class<?> bodyType) {
+        ResolvedConverter rc = converter;
+        if (rc == null || rc.bodyType != bodyType) {
+            rc = new ResolvedConverter(
+                    bodyType, exchange.getContext().getTypeConverterRegistry().resolveTypeConverter(type, bodyType));
+            converter = rc;
+        }
+        return rc.converter;
+    }
+
     @Override
     public CompletableFuture<Exchange> processAsync(Exchange exchange) {
         AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
@@ -171,4 +212,14 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
     public String getCharset() {
         return charset;
     }
+
+    private static final class ResolvedConverter {
+        private final Class<?> bodyType;
+        private final TypeConverter converter;
+
+        private ResolvedConverter(Class<?> bodyType, TypeConverter converter) {
+            this.bodyType = bodyType;
+            this.converter = converter;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+/**
+ * A blocked Bloom filter, where all the bits of a key are in a single block of 512 bits (a cache line), so a lookup
+ * costs a single cache miss.
+ * <p/>
+ * The filter works on a 64-bit hash of the key (see {@link #hash(String)}), so the hash can be computed once and used
+ * to check many filters. The filter is not thread-safe while adding keys, but it can be read concurrently once it has
+ * been safely published.
+ */
+final class BloomFilter {
+
+    private static final int BLOCK_WORDS = 8;
+    private static final int BLOCK_MASK = 511;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;
+
+    BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "False positive probability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        double bitsPerKey = -Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        // blocking makes the filter slightly less accurate, which is compensated by using a few more bits
+        long bits = (long) Math.ceil(Math.max(1, expectedInsertions) * bitsPerKey * 1.1);
+        this.blocks = (int) Math.min(Math.max(1, (bits + BLOCK_MASK) / (BLOCK_MASK + 1)), Integer.MAX_VALUE / BLOCK_WORDS);
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerKey * Math.log(2))));
+        this.words = new long[blocks * BLOCK_WORDS];
+    }
+
+    BloomFilter(long[] words, int hashes) {
+        if (words.length == 0 || words.length % BLOCK_WORDS != 0) {
+            throw new IllegalArgumentException("Invalid number of words: " + words.length);
+        }
+        this.words = words;
+        this.blocks = words.length / BLOCK_WORDS;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Computes the 64-bit hash of the key, which is used to add or check the key in the filter.
+     */
+    static long hash(String key) {
+        // FNV-1a over the chars, followed by the murmur3 finalizer for better distribution of the bits
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    void put(long hash) {
+        int base = block(hash);
+        long h2 = mix(hash + 0x9e3779b97f4a7c15L);
+        int h = (int) h2;
+        int inc = (int) (h2 >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = h & BLOCK_MASK;
+            words[base + (bit >>> 6)] |= 1L << bit;
+            h += inc;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int base = block(hash);
+        long h2 = mix(hash + 0x9e3779b97f4a7c15L);
+        int h = (int) h2;
+        int inc = (int) (h2 >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = h & BLOCK_MASK;
+            if ((words[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            h += inc;
+        }
+        return true;
+    }
+
+    long[] getWords() {
+        return words;
+    }
+
+    int getHashes() {
+        return hashes;
+    }
+
+    private int block(long hash) {
+        // maps the upper 32 bits of the hash to a block without using modulo
+        return (int) (((hash >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,1006 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} for a large number of keys.
+ * <p/>
+ * The keys are stored in segments. New keys are added to the active segment, which is kept in memory and is backed by
+ * an append-only log file. When the active segment is full (see {@link #setSegmentSize(int)}) it is sealed: its keys
+ * are sorted and written to an index file, which has a {@link BloomFilter} and a sparse index that are kept in memory.
+ * Checking a key that is not in a sealed segment is answered by the Bloom filter, and only keys that may be in the
+ * segment are confirmed by reading a small block of the index file.
+ * <p/>
+ * With a time to live (see {@link #setTimeToLive(long)}) the active segment is also sealed when it is older than a
+ * tenth of the time to live, and a sealed segment is deleted once it has been sealed longer than the time to live. This
+ * means a key is kept for at least the time to live, and at most 10% longer.
+ * <p/>
+ * Removing a key from a sealed segment rewrites (compacts) the index file of the segment without the key, which is
+ * rare, as keys are usually removed (on failure) shortly after being added. Adding and checking keys is lock-striped,
+ * so only operations on keys in the same stripe wait for each other.
+ */
+@Metadata(label = "bean",
+          description = "A file based idempotent repository for a large number of keys, which uses Bloom filters in memory"
+                        + " and compacted segment files on disk.",
+          annotations = { "interfaceName=org.apache.camel.spi.IdempotentRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Bloom filter based idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BloomFilterIdempotentRepository.class);
+
+    private static final int LOG_MAGIC = 0x43494c47;
+    private static final int INDEX_MAGIC = 0x43494958;
+    private static final int INDEX_VERSION = 1;
+    // magic, version, sealed time, count, hashes, words, index position, data end
+    private static final int INDEX_HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 8 + 8;
+    private static final int INDEX_INTERVAL = 64;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int SEGMENTS_PER_TIME_TO_LIVE = 10;
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    @Metadata(description = "The directory where the segment files of the repository are stored", required = true)
+    private File directory;
+    @Metadata(description = "The name of the repository, which is used as prefix for the segment files",
+              defaultValue = "idempotent")
+    private String name = "idempotent";
+    @Metadata(description = "The maximum number of keys in the active segment, which is kept in memory, before the segment is sealed",
+              defaultValue = "1000000")
+    private int segmentSize = 1000000;
+    @Metadata(description = "The false positive probability of the Bloom filter of a sealed segment", defaultValue = "0.01")
+    private double falsePositiveProbability = 0.01;
+    @Metadata(description = "The time (in millis) to keep the keys. Use 0 to keep the keys forever.", defaultValue = "0")
+    private long timeToLive;
+    @Metadata(description = "The number of locks to stripe the keys over", defaultValue = "64")
+    private int lockStripes = 64;
+
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+    private final Lock sealLock = new ReentrantLock();
+    private Lock[] stripes;
+    private Pattern filePattern;
+    private volatile ActiveSegment active;
+    private volatile List<ActiveSegment> frozen = List.of();
+    private volatile List<SealedSegment> sealed = List.of();
+    private long nextSequence;
+
+    public BloomFilterIdempotentRepository() {
+    }
+
+    public BloomFilterIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new repository storing the segment files in the given directory.
+     *
+     * @param directory the directory
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(File directory) {
+        return new BloomFilterIdempotentRepository(directory);
+    }
+
+    /**
+     * Creates a new repository storing the segment files in the given directory.
+     *
+     * @param directory   the directory
+     * @param timeToLive  the time (in millis) to keep the keys
+     * @param segmentSize the maximum number of keys in the active segment
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(File directory, long timeToLive, int segmentSize) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(directory);
+        answer.setTimeToLive(timeToLive);
+        answer.setSegmentSize(segmentSize);
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long hash = BloomFilter.hash(key);
+        long now = currentTimeMillis();
+        boolean added;
+
+        segmentsLock.readLock().lock();
+        Lock stripe = stripe(hash);
+        stripe.lock();
+        try {
+            if (containsKey(key, hash, now)) {
+                added = false;
+            } else {
+                ActiveSegment segment = active;
+                segment.append(OP_ADD, key);
+                segment.keys.add(key);
+                added = true;
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            stripe.unlock();
+            segmentsLock.readLock().unlock();
+        }
+
+        if (added && isHousekeepingNeeded(now)) {
+            // only one thread does housekeeping, the other threads continue using the active segment
+            if (sealLock.tryLock()) {
+                try {
+                    housekeeping(now, false);
+                } finally {
+                    sealLock.unlock();
+                }
+            }
+        }
+        return added;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        long hash = BloomFilter.hash(key);
+        segmentsLock.readLock().lock();
+        try {
+            return containsKey(key, hash, currentTimeMillis());
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long hash = BloomFilter.hash(key);
+
+        // the key is usually removed shortly after being added, so its in the active segment
+        segmentsLock.readLock().lock();
+        Lock stripe = stripe(hash);
+        stripe.lock();
+        try {
+            if (removeFromActive(key)) {
+                return true;
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            stripe.unlock();
+            segmentsLock.readLock().unlock();
+        }
+
+        // otherwise the sealed segment with the key must be compacted
+        sealLock.lock();
+        try {
+            segmentsLock.writeLock().lock();
+            try {
+                if (removeFromActive(key)) {
+                    return true;
+                }
+                for (ActiveSegment segment : frozen) {
+                    // a segment that is being (or failed to be) sealed, where the removed key is recorded, so the
+                    // segment is sealed without the key, or the key is removed when the log is replayed on restart
+                    if (segment.keys.remove(key)) {
+                        segment.removed.add(key);
+                        segment.append(OP_REMOVE, key);
+                        return true;
+                    }
+                }
+                for (SealedSegment segment : sealed) {
+                    if (segment.filter.mightContain(hash) && segment.contains(key)) {
+                        compact(segment, key);
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            sealLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        sealLock.lock();
+        try {
+            segmentsLock.writeLock().lock();
+            try {
+                closeSegments();
+                deleteSegmentFiles();
+                active = createActive(currentTimeMillis());
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            sealLock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The directory where the segment files of the repository are stored
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The name of the repository")
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The name of the repository, which is used as prefix for the segment files. The default is idempotent.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys in the active segment")
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * The maximum number of keys in the active segment, which is kept in memory, before the segment is sealed. The
+     * default is 1000000.
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the Bloom filters")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * The false positive probability of the Bloom filter of a sealed segment, which is the probability of reading the
+     * index file when checking a key that is not in the segment. The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The time (in millis) to keep the keys")
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * The time (in millis) to keep the keys. Use 0 (default) to keep the keys forever.
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * The number of locks to stripe the keys over. The default is 64.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public long getSize() {
+        segmentsLock.readLock().lock();
+        try {
+            long answer = active != null ? active.keys.size() : 0;
+            for (ActiveSegment segment : frozen) {
+                answer += segment.keys.size();
+            }
+            for (SealedSegment segment : sealed) {
+                answer += segment.count;
+            }
+            return answer;
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of sealed segments")
+    public int getSealedSegmentCount() {
+        return sealed.size();
+    }
+
+    /**
+     * Seals the active segment, and deletes the expired segments.
+     */
+    @ManagedOperation(description = "Seals the active segment and deletes the expired segments")
+    public void seal() {
+        sealLock.lock();
+        try {
+            housekeeping(currentTimeMillis(), true);
+        } finally {
+            sealLock.unlock();
+        }
+    }
+
+    /**
+     * The current time, used for the time to live of the keys.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private Lock stripe(long hash) {
+        return stripes[(int) hash & (stripes.length - 1)];
+    }
+
+    private boolean containsKey(String key, long hash, long now) throws IOException {
+        if (active.keys.contains(key)) {
+            return true;
+        }
+        for (ActiveSegment segment : frozen) {
+            if (segment.keys.contains(key)) {
+                return true;
+            }
+        }
+        List<SealedSegment> segments = sealed;
+        // check the newest segments first
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            SealedSegment segment = segments.get(i);
+            if (!isExpired(segment, now) && segment.filter.mightContain(hash) && segment.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFromActive(String key) throws IOException {
+        ActiveSegment segment = active;
+        if (segment.keys.remove(key)) {
+            segment.append(OP_REMOVE, key);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isExpired(SealedSegment segment, long now) {
+        return timeToLive > 0 && segment.sealedTime + timeToLive <= now;
+    }
+
+    private boolean isHousekeepingNeeded(long now) {
+        ActiveSegment segment = active;
+        if (segment.keys.size() >= segmentSize) {
+            return true;
+        }
+        if (timeToLive > 0) {
+            if (now - segment.created >= timeToLive / SEGMENTS_PER_TIME_TO_LIVE) {
+                return true;
+            }
+            List<SealedSegment> segments = sealed;
+            return !segments.isEmpty() && isExpired(segments.get(0), now);
+        }
+        return false;
+    }
+
+    /**
+     * Seals the active segment when needed, and deletes the expired segments. Must be called holding the seal lock.
+     */
+    private void housekeeping(long now, boolean force) {
+        try {
+            ActiveSegment sealing = null;
+            List<SealedSegment> expired = new ArrayList<>();
+            segmentsLock.writeLock().lock();
+            try {
+                ActiveSegment segment = active;
+                if (force || segment.keys.size() >= segmentSize
+                        || timeToLive > 0 && now - segment.created >= timeToLive / SEGMENTS_PER_TIME_TO_LIVE) {
+                    // the keys of the segment can still be found while the segment is written to disk
+                    sealing = segment;
+                    active = createActive(now);
+                    frozen = append(frozen, sealing);
+                }
+                List<SealedSegment> kept = new ArrayList<>(sealed.size());
+                for (SealedSegment s : sealed) {
+                    if (isExpired(s, now)) {
+                        expired.add(s);
+                    } else {
+                        kept.add(s);
+                    }
+                }
+                sealed = List.copyOf(kept);
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+
+            for (SealedSegment segment : expired) {
+                LOG.debug("Deleting expired segment: {} with {} keys", segment.file, segment.count);
+                segment.close();
+                FileUtil.deleteFile(segment.file);
+            }
+            if (sealing != null) {
+                writeSealed(sealing, now);
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private void writeSealed(ActiveSegment segment, long now) {
+        SealedSegment answer = null;
+        try {
+            while (true) {
+                // the keys are copied holding the segments lock, so a key removed from the frozen segment meanwhile
+                // is detected, and the index file is written again without the key
+                String[] keys;
+                int removed;
+                segmentsLock.readLock().lock();
+                try {
+                    keys = segment.keys.toArray(new String[0]);
+                    removed = segment.removed.size();
+                } finally {
+                    segmentsLock.readLock().unlock();
+                }
+                if (keys.length > 0) {
+                    Arrays.sort(keys);
+                    File file = segmentFile(segment.sequence, INDEX_SUFFIX);
+                    writeIndex(file, keys, now);
+                    answer = new SealedSegment(segment.sequence, file);
+                }
+
+                segmentsLock.writeLock().lock();
+                try {
+                    if (removed == segment.removed.size()) {
+                        if (answer != null) {
+                            sealed = append(sealed, answer);
+                            LOG.debug("Sealed segment: {} with {} keys", answer.file, keys.length);
+                        }
+                        List<ActiveSegment> list = new ArrayList<>(frozen);
+                        list.remove(segment);
+                        frozen = List.copyOf(list);
+                        break;
+                    }
+                } finally {
+                    segmentsLock.writeLock().unlock();
+                }
+                answer = discard(answer);
+            }
+        } catch (IOException e) {
+            // the segment is kept in memory, and is replayed from its log file on restart (so no index file must be
+            // left over)
+            discard(answer);
+            FileUtil.deleteFile(segmentFile(segment.sequence, INDEX_SUFFIX));
+            LOG.warn("Error sealing segment: {} of idempotent repository: {}. This exception is ignored.",
+                    segment.sequence, e.getMessage(), e);
+            return;
+        }
+        segment.closeLog();
+        FileUtil.deleteFile(segment.file);
+    }
+
+    /**
+     * Closes and deletes the index file of a segment which is not used, as the keys of the segment changed meanwhile,
+     * or the segment failed to be sealed.
+     */
+    private static SealedSegment discard(SealedSegment segment) {
+        if (segment != null) {
+            segment.close();
+            FileUtil.deleteFile(segment.file);
+        }
+        return null;
+    }
+
+    /**
+     * Rewrites the index file of the segment without the removed key. Must be called holding the segments write lock.
+     */
+    private void compact(SealedSegment segment, String key) throws IOException {
+        List<String> keys = segment.readKeys();
+        keys.remove(key);
+        segment.close();
+
+        List<SealedSegment> list = new ArrayList<>(sealed);
+        int index = list.indexOf(segment);
+        try {
+            if (keys.isEmpty()) {
+                list.remove(index);
+                FileUtil.deleteFile(segment.file);
+            } else {
+                writeIndex(segment.file, keys.toArray(new String[0]), segment.sealedTime);
+                list.set(index, new SealedSegment(segment.sequence, segment.file));
+            }
+        } catch (IOException e) {
+            // the index file is atomically replaced, so the segment is reopened from the old index file
+            try {
+                list.set(index, new SealedSegment(segment.sequence, segment.file));
+            } catch (IOException e2) {
+                LOG.warn("Error reopening segment: {} of idempotent repository: {} due to: {}. The segment is dropped.",
+                        segment.file, name, e2.getMessage(), e2);
+                list.remove(index);
+            }
+            throw e;
+        } finally {
+            sealed = List.copyOf(list);
+        }
+        LOG.debug("Compacted segment: {} after removing key: {}", segment.file, key);
+    }
+
+    private ActiveSegment createActive(long now) throws IOException {
+        return new ActiveSegment(nextSequence++, segmentFile(nextSequence - 1, LOG_SUFFIX), now);
+    }
+
+    private File segmentFile(long sequence, String suffix) {
+        return new File(directory, name + "-" + sequence + suffix);
+    }
+
+    /**
+     * Writes the sorted keys to the index file, which is first written to a temporary file that is atomically moved
+     */
+    private void writeIndex(File file, String[] keys, long sealedTime) throws IOException {
+        BloomFilter filter = new BloomFilter(keys.length, falsePositiveProbability);
+        byte[][] data = new byte[keys.length][];
+        long dataEnd = INDEX_HEADER_SIZE + (long) filter.getWords().length * Long.BYTES;
+        long indexPosition = dataEnd;
+        for (int i = 0; i < keys.length; i++) {
+            filter.put(BloomFilter.hash(keys[i]));
+            data[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+            indexPosition += Integer.BYTES + data[i].length;
+        }
+        dataEnd = indexPosition;
+
+        File tmp = new File(file.getPath() + TMP_SUFFIX);
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 64 * 1024))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(sealedTime);
+            out.writeInt(keys.length);
+            out.writeInt(filter.getHashes());
+            out.writeInt(filter.getWords().length);
+            out.writeLong(indexPosition);
+            out.writeLong(dataEnd);
+            for (long word : filter.getWords()) {
+                out.writeLong(word);
+            }
+            long position = INDEX_HEADER_SIZE + (long) filter.getWords().length * Long.BYTES;
+            List<Integer> indexEntries = new ArrayList<>();
+            List<Long> indexOffsets = new ArrayList<>();
+            for (int i = 0; i < data.length; i++) {
+                if (i % INDEX_INTERVAL == 0) {
+                    indexEntries.add(i);
+                    indexOffsets.add(position);
+                }
+                out.writeInt(data[i].length);
+                out.write(data[i]);
+                position += Integer.BYTES + data[i].length;
+            }
+            // the sparse index of every n'th key, which is loaded into memory
+            out.writeInt(indexEntries.size());
+            for (int i = 0; i < indexEntries.size(); i++) {
+                byte[] bytes = data[indexEntries.get(i)];
+                out.writeLong(indexOffsets.get(i));
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the segment files, and replays the log files of the segments that were not sealed
+     */
+    private void load() throws IOException {
+        TreeMap<Long, List<File>> files = new TreeMap<>();
+        File[] list = directory.listFiles();
+        if (list != null) {
+            for (File file : list) {
+                Matcher matcher = filePattern.matcher(file.getName());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                if (matcher.group(2) != null) {
+                    // left over from a crash while writing an index file
+                    FileUtil.deleteFile(file);
+                } else {
+                    files.computeIfAbsent(Long.parseLong(matcher.group(1)), k -> new ArrayList<>()).add(file);
+                }
+            }
+        }
+
+        long now = currentTimeMillis();
+        List<SealedSegment> loaded = new ArrayList<>();
+        List<File> replay = new ArrayList<>();
+        for (Map.Entry<Long, List<File>> entry : files.entrySet()) {
+            File index = null;
+            File log = null;
+            for (File file : entry.getValue()) {
+                if (file.getName().endsWith(INDEX_SUFFIX)) {
+                    index = file;
+                } else {
+                    log = file;
+                }
+            }
+            if (index != null) {
+                // the log is left over from a crash after the segment was sealed
+                if (log != null) {
+                    FileUtil.deleteFile(log);
+                }
+                SealedSegment segment = new SealedSegment(entry.getKey(), index);
+                if (isExpired(segment, now)) {
+                    segment.close();
+                    FileUtil.deleteFile(index);
+                } else {
+                    loaded.add(segment);
+                }
+            } else if (log != null) {
+                replay.add(log);
+            }
+        }
+        nextSequence = files.isEmpty() ? 0 : files.lastKey() + 1;
+        sealed = List.copyOf(loaded);
+
+        // the keys of the log files are replayed into a new active segment, and the old log files are deleted once
+        // the active segment is sealed
+        ActiveSegment segment = createActive(now);
+        for (File log : replay) {
+            long created = replayLog(log, segment);
+            segment.created = Math.min(segment.created, created);
+        }
+        // write the keys to the log of the active segment, so the old log files are not needed after a crash
+        for (String key : segment.keys) {
+            segment.append(OP_ADD, key);
+        }
+        segment.channel.force(false);
+        for (File log : replay) {
+            FileUtil.deleteFile(log);
+        }
+        active = segment;
+
+        LOG.debug("Loaded {} sealed segments and {} keys from {} log files of idempotent repository: {}", loaded.size(),
+                segment.keys.size(), replay.size(), name);
+    }
+
+    /**
+     * Replays the log into the segment, ignoring an incomplete record at the end of the log after a crash
+     *
+     * @return the time the log was created
+     */
+    private long replayLog(File log, ActiveSegment segment) throws IOException {
+        long created = currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(log), 64 * 1024))) {
+            if (in.readInt() != LOG_MAGIC) {
+                LOG.warn("Ignoring invalid log file: {} of idempotent repository: {}", log, name);
+                return created;
+            }
+            created = in.readLong();
+            while (true) {
+                byte op = in.readByte();
+                int length = in.readInt();
+                byte[] bytes = in.readNBytes(length);
+                if (bytes.length < length) {
+                    throw new EOFException();
+                }
+                String key = new String(bytes, StandardCharsets.UTF_8);
+                if (op == OP_ADD) {
+                    segment.keys.add(key);
+                } else if (op == OP_REMOVE) {
+                    segment.keys.remove(key);
+                }
+            }
+        } catch (EOFException e) {
+            // end of the log, which may have an incomplete record
+        }
+        return created;
+    }
+
+    private void closeSegments() {
+        if (active != null) {
+            active.closeLog();
+        }
+        for (ActiveSegment segment : frozen) {
+            segment.closeLog();
+        }
+        for (SealedSegment segment : sealed) {
+            segment.close();
+        }
+        frozen = List.of();
+        sealed = List.of();
+        active = null;
+    }
+
+    private void deleteSegmentFiles() {
+        File[] list = directory.listFiles();
+        if (list != null) {
+            for (File file : list) {
+                if (filePattern.matcher(file.getName()).matches()) {
+                    FileUtil.deleteFile(file);
+                }
+            }
+        }
+    }
+
+    private static <T> List<T> append(List<T> list, T element) {
+        List<T> answer = new ArrayList<>(list.size() + 1);
+        answer.addAll(list);
+        answer.add(element);
+        return List.copyOf(answer);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be a positive number, was: " + segmentSize);
+        }
+
+        int size = lockStripes <= 1 ? 1 : Integer.highestOneBit(lockStripes - 1) << 1;
+        stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        filePattern = Pattern.compile(Pattern.quote(name) + "-(\\d+)(?:\\.log|\\.idx)(\\.tmp)?");
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + directory);
+        }
+        sealLock.lock();
+        try {
+            segmentsLock.writeLock().lock();
+            try {
+                load();
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+        } finally {
+            sealLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        sealLock.lock();
+        try {
+            segmentsLock.writeLock().lock();
+            try {
+                closeSegments();
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+        } finally {
+            sealLock.unlock();
+        }
+    }
+
+    /**
+     * The segment where new keys are added, which is kept in memory and backed by an append-only log.
+     */
+    private static final class ActiveSegment {
+        private final long sequence;
+        private final File file;
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        // the keys removed after the segment was frozen, while it is being sealed
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        private final FileChannel channel;
+        private long created;
+
+        private ActiveSegment(long sequence, File file, long created) throws IOException {
+            this.sequence = sequence;
+            this.created = created;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.file = file;
+
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+            header.putInt(LOG_MAGIC).putLong(created).flip();
+            write(header);
+        }
+
+        private void append(byte op, String key) throws IOException {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + bytes.length);
+            buffer.put(op).putInt(bytes.length).put(bytes).flip();
+            // keys of different stripes are appended concurrently
+            synchronized (this) {
+                write(buffer);
+            }
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void closeLog() {
+            try {
+                if (channel.isOpen()) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                LOG.warn("Error syncing log of segment: {} due to: {}. This exception is ignored.", sequence,
+                        e.getMessage(), e);
+            }
+            IOHelper.close(channel, "segment log", LOG);
+        }
+    }
+
+    /**
+     * A segment of sorted keys in an index file, where the Bloom filter and a sparse index of the keys are kept in
+     * memory.
+     */
+    private static final class SealedSegment {
+        private final long sequence;
+        private final File file;
+        private final FileChannel channel;
+        private final long sealedTime;
+        private final int count;
+        private final BloomFilter filter;
+        private final String[] indexKeys;
+        private final long[] indexOffsets;
+        private final long dataStart;
+        private final long dataEnd;
+
+        private SealedSegment(long sequence, File file) throws IOException {
+            this.sequence = sequence;
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                InputStream is = Channels.newInputStream(channel);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(is, 64 * 1024));
+                if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                    throw new IOException("Invalid index file: " + file);
+                }
+                this.sealedTime = in.readLong();
+                this.count = in.readInt();
+                int hashes = in.readInt();
+                long[] words = new long[in.readInt()];
+                long indexPosition = in.readLong();
+                this.dataEnd = in.readLong();
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readLong();
+                }
+                this.filter = new BloomFilter(words, hashes);
+                this.dataStart = INDEX_HEADER_SIZE + (long) words.length * Long.BYTES;
+
+                channel.position(indexPosition);
+                in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+                int entries = in.readInt();
+                this.indexKeys = new String[entries];
+                this.indexOffsets = new long[entries];
+                for (int i = 0; i < entries; i++) {
+                    indexOffsets[i] = in.readLong();
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    indexKeys[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            } catch (IOException | RuntimeException e) {
+                IOHelper.close(channel);
+                throw e;
+            }
+        }
+
+        /**
+         * Confirms whether the key is in the segment, by reading the block of keys from the index file where the key
+         * would be
+         */
+        private boolean contains(String key) throws IOException {
+            int pos = Arrays.binarySearch(indexKeys, key);
+            if (pos >= 0) {
+                return true;
+            }
+            int block = -pos - 2;
+            if (block < 0) {
+                return false;
+            }
+            long start = indexOffsets[block];
+            long end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : dataEnd;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of index file: " + file);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                int cmp = new String(bytes, StandardCharsets.UTF_8).compareTo(key);
+                if (cmp == 0) {
+                    return true;
+                } else if (cmp > 0) {
+                    // the keys are sorted
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private List<String> readKeys() throws IOException {
+            List<String> answer = new ArrayList<>(count);
+            channel.position(dataStart);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                answer.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return answer;
+        }
+
+        private void close() {
+            IOHelper.close(channel, "segment index", LOG);
+        }
+    }
+}
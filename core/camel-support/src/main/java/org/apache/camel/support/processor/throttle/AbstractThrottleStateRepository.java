@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottleStateRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Base class for {@link ThrottleStateRepository} implementations that keep a {@link TokenBucket} per key in a
+ * {@link ConcurrentMap}, which can be a shared store such as a distributed map of a data grid.
+ * <p/>
+ * The buckets are updated using the atomic compare-and-set operations of the {@link ConcurrentMap}, so the store must
+ * implement {@link ConcurrentMap#putIfAbsent(Object, Object)} and {@link ConcurrentMap#replace(Object, Object, Object)}
+ * atomically.
+ * <p/>
+ * To avoid a round trip to a remote store for every message, the permits can be leased in batches by setting the
+ * <tt>leaseSize</tt>. The permits of a lease are taken from the shared bucket at once, and then handed out locally
+ * until the lease is used up or expires. Permits of an expired lease are lost, so the lease size should be small
+ * compared to the maximum number of requests of a time period divided by the number of nodes.
+ * <p/>
+ * Leases that are not used for ten lease durations are removed, the same as the throttler removes the state of a key
+ * that is not used for ten time periods.
+ */
+public abstract class AbstractThrottleStateRepository extends ServiceSupport implements ThrottleStateRepository {
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private volatile long nextCleanTime;
+
+    @Metadata(description = "The number of permits to acquire from the store at once, which are then handed out locally."
+                            + " Use 1 to acquire every permit from the store.",
+              defaultValue = "1")
+    private int leaseSize = 1;
+    @Metadata(description = "The duration in millis of a lease, after which the permits of the lease that were not handed out are lost."
+                            + " Is by default the time period of the throttler.")
+    private long leaseDuration;
+
+    /**
+     * The store of the token buckets.
+     */
+    protected abstract ConcurrentMap<String, TokenBucket> getStore();
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * The number of permits to acquire from the store at once, which are then handed out locally. Use 1 to acquire
+     * every permit from the store.
+     */
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    public long getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    /**
+     * The duration in millis of a lease, after which the permits of the lease that were not handed out are lost. Is by
+     * default the time period of the throttler.
+     */
+    public void setLeaseDuration(long leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int permits, int maximumRequests, long timePeriodMillis) {
+        if (leaseSize <= permits) {
+            return acquire(key, permits, permits, maximumRequests, timePeriodMillis) > 0;
+        }
+
+        long now = System.currentTimeMillis();
+        long duration = leaseDuration > 0 ? leaseDuration : timePeriodMillis;
+        cleanLeases(now, duration);
+
+        while (true) {
+            Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+            lease.lock.lock();
+            try {
+                if (lease.removed) {
+                    // the lease was removed while waiting for the lock
+                    continue;
+                }
+                lease.lastUsed = now;
+                lease.cleanPeriod = duration * 10;
+                if (lease.remaining >= permits && now < lease.expires) {
+                    lease.remaining -= permits;
+                    return true;
+                }
+                int acquired = acquire(key, permits, leaseSize, maximumRequests, timePeriodMillis);
+                if (acquired == 0) {
+                    return false;
+                }
+                lease.remaining = acquired - permits;
+                lease.expires = now + duration;
+                return true;
+            } finally {
+                lease.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes the leases that are not used for ten lease durations. This is done at most once per clean period, so the
+     * number of leases is bounded by the number of keys in use.
+     */
+    private void cleanLeases(long now, long duration) {
+        if (now < nextCleanTime) {
+            return;
+        }
+        nextCleanTime = now + duration * 10;
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            if (lease.lock.tryLock()) {
+                try {
+                    if (now - lease.lastUsed >= lease.cleanPeriod) {
+                        lease.removed = true;
+                        leases.remove(entry.getKey(), lease);
+                    }
+                } finally {
+                    lease.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquires permits from the bucket in the store.
+     *
+     * @param  key              the key
+     * @param  min              the minimum number of permits to acquire
+     * @param  desired          the desired number of permits to acquire, if available
+     * @param  maximumRequests  the maximum number of requests within the time period
+     * @param  timePeriodMillis the time period in millis
+     * @return                  the number of permits acquired, or <tt>0</tt> if not at least <tt>min</tt> permits are
+     *                          available
+     */
+    protected int acquire(String key, int min, int desired, int maximumRequests, long timePeriodMillis) {
+        ConcurrentMap<String, TokenBucket> store = getStore();
+        while (true) {
+            long now = System.currentTimeMillis();
+            TokenBucket current = store.get(key);
+            TokenBucket refilled = current != null
+                    ? current.refill(maximumRequests, timePeriodMillis, now) : TokenBucket.full(maximumRequests, now);
+            TokenBucket updated = refilled.take(min, desired);
+            if (updated == null) {
+                return 0;
+            }
+            boolean stored = current != null
+                    ? store.replace(key, current, updated) : store.putIfAbsent(key, updated) == null;
+            if (stored) {
+                return updated.taken(refilled);
+            }
+            // the bucket was updated concurrently so try again
+        }
+    }
+
+    /**
+     * The current number of leases
+     */
+    int getLeaseCount() {
+        return leases.size();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        leases.clear();
+    }
+
+    private static final class Lease {
+        private final Lock lock = new ReentrantLock();
+        private int remaining;
+        private long expires;
+        private long lastUsed;
+        private long cleanPeriod;
+        private boolean removed;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottleStateRepository;
+
+/**
+ * A memory based {@link ThrottleStateRepository} which throttles using a token bucket per key.
+ * <p/>
+ * The repository can be shared by several throttlers, which then share the same rate limit per key.
+ */
+@Metadata(label = "bean",
+          description = "A memory based ThrottleStateRepository.",
+          annotations = { "interfaceName=org.apache.camel.spi.ThrottleStateRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Memory based throttle state repository")
+public class MemoryThrottleStateRepository extends AbstractThrottleStateRepository {
+
+    private final ConcurrentMap<String, TokenBucket> store = new ConcurrentHashMap<>();
+
+    @Override
+    protected ConcurrentMap<String, TokenBucket> getStore() {
+        return store;
+    }
+
+    @ManagedAttribute(description = "The current number of keys")
+    public int getSize() {
+        return store.size();
+    }
+
+    @ManagedOperation(description = "Clears the store")
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        store.clear();
+    }
+}
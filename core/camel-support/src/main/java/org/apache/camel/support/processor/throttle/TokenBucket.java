@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * An immutable token bucket used for keeping track of the permits of a throttler.
+ * <p/>
+ * The bucket holds up to <tt>maximumRequests</tt> permits, and is refilled at a steady rate of
+ * <tt>maximumRequests</tt> permits per time period. A new bucket is full.
+ * <p/>
+ * The bucket is immutable and {@link Serializable} so it can be stored in a shared store, and be updated using atomic
+ * compare-and-set operations.
+ */
+public final class TokenBucket implements Serializable {
+
+    private static final @Serial long serialVersionUID = 1L;
+
+    private final double tokens;
+    private final long timestamp;
+
+    public TokenBucket(double tokens, long timestamp) {
+        this.tokens = tokens;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Creates a new full bucket.
+     *
+     * @param  maximumRequests the maximum number of requests within the time period
+     * @param  now             the current time in millis
+     * @return                 the bucket
+     */
+    public static TokenBucket full(int maximumRequests, long now) {
+        return new TokenBucket(maximumRequests, now);
+    }
+
+    /**
+     * The number of permits in the bucket (not refilled).
+     */
+    public double getTokens() {
+        return tokens;
+    }
+
+    /**
+     * The time in millis when the bucket was last refilled.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Refills the bucket with the permits accrued since it was last refilled.
+     *
+     * @param  maximumRequests  the maximum number of requests within the time period
+     * @param  timePeriodMillis the time period in millis
+     * @param  now              the current time in millis
+     * @return                  the refilled bucket
+     */
+    public TokenBucket refill(int maximumRequests, long timePeriodMillis, long now) {
+        if (now <= timestamp) {
+            // clocks of several nodes may be skewed so do not go back in time
+            return tokens > maximumRequests ? new TokenBucket(maximumRequests, timestamp) : this;
+        }
+        double accrued = (double) (now - timestamp) * maximumRequests / timePeriodMillis;
+        return new TokenBucket(Math.min(maximumRequests, tokens + accrued), now);
+    }
+
+    /**
+     * Takes permits from the bucket.
+     *
+     * @param  min     the minimum number of permits to take
+     * @param  desired the desired number of permits to take, if available
+     * @return         the bucket after the permits were taken, or <tt>null</tt> if not at least <tt>min</tt> permits
+     *                 are available
+     */
+    public TokenBucket take(int min, int desired) {
+        int available = (int) Math.min(tokens, desired);
+        if (available < min) {
+            return null;
+        }
+        return new TokenBucket(tokens - available, timestamp);
+    }
+
+    /**
+     * The number of permits taken from the given bucket to become this bucket.
+     */
+    public int taken(TokenBucket before) {
+        return (int) Math.round(before.tokens - tokens);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenBucket that)) {
+            return false;
+        }
+        return Double.compare(tokens, that.tokens) == 0 && timestamp == that.timestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(tokens) + Long.hashCode(timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucket[tokens=" + tokens + ", timestamp=" + timestamp + "]";
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizes a file in parallel, returning the same tokens as {@link Scanner} in the same order.
+ * <p/>
+ * The file is divided into ranges of bytes, which each end right after a delimiter. Each range is read (with a
+ * positional read, so the ranges are read concurrently), decoded and tokenized by a task on the given executor, while
+ * this iterator returns the tokens of the ranges in the order of the file. At most <tt>parallelism</tt> ranges are
+ * tokenized ahead of the range being iterated, which bounds both the threads and the memory in use, so the executor can
+ * be shared.
+ * <p/>
+ * The ranges can only be aligned on delimiters when the delimiter can be found in the bytes of the file, so the charset
+ * must be UTF-8 or a charset with a single byte per character, as reported by {@link #isSupported(Charset)}.
+ */
+public final class ChunkedFileScanner implements Iterator<String>, Closeable {
+
+    /**
+     * The default size in bytes of the ranges the file is divided into.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int WINDOW_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final Charset charset;
+    private final String delimiter;
+    private final Pattern pattern;
+    private final Executor executor;
+    private final int maxPending;
+    private final int chunkSize;
+    private final Deque<FutureTask<List<String>>> pending = new ArrayDeque<>();
+    private long position;
+    private Iterator<String> current = Collections.emptyIterator();
+    private boolean closed;
+
+    public ChunkedFileScanner(Path file, Charset charset, String delimiter, Executor executor, int parallelism,
+                              int chunkSize) throws IOException {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Charset " + charset + " is not supported");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.charset = charset;
+        this.delimiter = delimiter;
+        this.pattern = Pattern.compile(delimiter);
+        this.executor = executor;
+        this.maxPending = Math.max(1, parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Whether files in the given charset can be divided into ranges, which is the case for UTF-8 and for charsets with
+     * a single byte per character.
+     */
+    public static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!closed && !current.hasNext()) {
+            fill();
+            FutureTask<List<String>> task = pending.poll();
+            if (task == null) {
+                return false;
+            }
+            current = await(task).iterator();
+        }
+        return !closed;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            for (FutureTask<List<String>> task : pending) {
+                task.cancel(false);
+            }
+            pending.clear();
+            current = Collections.emptyIterator();
+            channel.close();
+        }
+    }
+
+    private void fill() {
+        try {
+            while (pending.size() < maxPending && position < size) {
+                long start = position;
+                long end = nextBoundary(Math.min(size, start + chunkSize));
+                FutureTask<List<String>> task = new FutureTask<>(() -> scan(start, end));
+                pending.add(task);
+                executor.execute(task);
+                position = end;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> await(FutureTask<List<String>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while tokenizing file", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Tokenizing file was cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private List<String> scan(long start, long end) throws IOException {
+        // read into a heap buffer, as decoding is much faster from a heap buffer than from a direct buffer
+        ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, start + bytes.position()) < 0) {
+                throw new EOFException("Unexpected end of file at position: " + (start + bytes.position()));
+            }
+        }
+        bytes.flip();
+        // decode as strict as the scanner does when it reads the file itself
+        CharBuffer chars = charset.newDecoder().decode(bytes);
+        return tokenize(chars);
+    }
+
+    /**
+     * Tokenizes the decoded range the same way as {@link Scanner}, but matches the delimiters on the range as a whole,
+     * as the range is already in memory.
+     */
+    private List<String> tokenize(CharBuffer chars) {
+        List<String> answer = new ArrayList<>();
+        Matcher matcher = pattern.matcher(chars);
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+        int limit = chars.limit();
+        int position = 0;
+        while (true) {
+            // skip the delimiter before the token
+            matcher.region(position, limit);
+            if (matcher.lookingAt()) {
+                position = matcher.end();
+            }
+            if (position == limit) {
+                return answer;
+            }
+            matcher.region(position, limit);
+            boolean found = matcher.find();
+            if (found && matcher.end() == position) {
+                found = matcher.find();
+            }
+            int end = found ? matcher.start() : limit;
+            answer.add(chars.subSequence(position, end).toString());
+            position = end;
+        }
+    }
+
+    /**
+     * Finds the position right after the first delimiter at or after the given position, which is where the next range
+     * can start.
+     * <p/>
+     * A delimiter which starts at the given position is not used, as it may be the tail of a longer delimiter. Neither
+     * is a delimiter which is followed by another delimiter, as the scanner of the next range would then skip the
+     * second delimiter as a leading delimiter, instead of returning the empty token in between.
+     */
+    private long nextBoundary(long from) throws IOException {
+        int windowSize = WINDOW_SIZE;
+        while (from < size) {
+            int length = (int) Math.min(windowSize, size - from);
+            boolean eof = from + length == size;
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            while (bytes.hasRemaining() && channel.read(bytes, from + bytes.position()) >= 0) {
+                // read until the window is full
+            }
+            bytes.flip();
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                // start at the next character if the position is within a multibyte character
+                while (bytes.hasRemaining() && (bytes.get(bytes.position()) & 0xC0) == 0x80) {
+                    bytes.get();
+                }
+            }
+            int skipped = bytes.position();
+            CharBuffer chars = decode(bytes.slice(), eof, -1);
+
+            int boundary = findBoundary(chars, eof);
+            if (boundary >= 0) {
+                // decode again up to the boundary to know its position in bytes
+                ByteBuffer in = bytes.slice();
+                decode(in, eof, boundary);
+                return from + skipped + in.position();
+            } else if (eof) {
+                return size;
+            } else if (windowSize >= Integer.MAX_VALUE / 2) {
+                throw new IOException("Cannot find delimiter: " + delimiter + " within " + windowSize + " bytes");
+            }
+            windowSize *= 2;
+        }
+        return size;
+    }
+
+    private int findBoundary(CharBuffer chars, boolean eof) {
+        Matcher matcher = pattern.matcher(chars);
+        Matcher next = pattern.matcher(chars);
+        next.useTransparentBounds(true);
+        next.useAnchoringBounds(false);
+        while (matcher.find()) {
+            int end = matcher.end();
+            if (matcher.hitEnd() && !eof) {
+                // the delimiter may continue beyond the window
+                return -1;
+            }
+            if (matcher.start() == 0 || end == matcher.start()) {
+                continue;
+            }
+            if (end == chars.limit()) {
+                return eof ? end : -1;
+            }
+            next.region(end, chars.limit());
+            if (next.lookingAt()) {
+                continue;
+            }
+            if (next.hitEnd() && !eof) {
+                return -1;
+            }
+            return end;
+        }
+        return -1;
+    }
+
+    private CharBuffer decode(ByteBuffer in, boolean eof, int maxChars) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer out = CharBuffer.allocate(maxChars >= 0 ? maxChars : in.remaining());
+        decoder.decode(in, out, eof);
+        return out.flip();
+    }
+}
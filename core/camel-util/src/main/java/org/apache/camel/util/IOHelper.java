@@ -167,6 +167,28 @@ public final class IOHelper {
         return copied;
     }
 
+    /**
+     * Copies the data from the input stream to the output stream using the given buffer. This allows reusing buffers
+     * (such as from a pool) instead of allocating a new buffer for every copy.
+     *
+     * @param  input       the input stream buffer
+     * @param  output      the output stream buffer
+     * @param  buffer      the buffer used for the copies
+     * @return             the number of bytes copied
+     * @throws IOException for I/O errors
+     */
+    public static long copy(InputStream input, OutputStream output, byte[] buffer) throws IOException {
+        long total = 0;
+        int n = input.read(buffer);
+        while (n != -1) {
+            output.write(buffer, 0, n);
+            total += n;
+            n = input.read(buffer);
+        }
+        output.flush();
+        return total;
+    }
+
     /**
      * Copies the data from the input stream to the output stream. Uses the legacy copy logic. Prefer using
      * {@link IOHelper#copy(InputStream, OutputStream)} unless you have to control how data is flushed the buffer
@@ -313,7 +335,21 @@ public final class IOHelper {
     }
 
     public static void transfer(ReadableByteChannel input, WritableByteChannel output) throws IOException {
-        ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        transfer(input, output, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+    }
+
+    /**
+     * Transfers the data from the input channel to the output channel using the given buffer. This allows reusing
+     * buffers (such as direct buffers from a pool) instead of allocating a new buffer for every transfer.
+     *
+     * @param  input       the input channel
+     * @param  output      the output channel
+     * @param  buffer      the buffer used for the transfer
+     * @throws IOException for I/O errors
+     */
+    public static void transfer(ReadableByteChannel input, WritableByteChannel output, ByteBuffer buffer)
+            throws IOException {
+        buffer.clear();
         while (input.read(buffer) >= 0) {
             buffer.flip();
             while (buffer.hasRemaining()) {
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer that keeps the last N added elements, where the oldest element is overwritten when
+ * the buffer is full.
+ * <p/>
+ * Adding an element is a single atomic increment and a volatile write, so the buffer can be used from hot paths to keep
+ * samples. The capacity is rounded up to a power of two.
+ *
+ * @param <T> the element type
+ */
+public final class SampleRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLong sequence = new AtomicLong();
+    // the elements added before this sequence have been cleared
+    private final AtomicLong clearedSequence = new AtomicLong();
+    private final int mask;
+
+    public SampleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds the element, overwriting the oldest element if the buffer is full.
+     */
+    public void add(T element) {
+        long seq = sequence.getAndIncrement();
+        elements.set((int) (seq & mask), element);
+    }
+
+    /**
+     * The capacity of the buffer
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of elements in the buffer
+     */
+    public int size() {
+        return (int) Math.min(sequence.get() - clearedSequence.get(), capacity());
+    }
+
+    /**
+     * Total number of elements that has been added, including elements that has been overwritten.
+     */
+    public long getAddedCount() {
+        return sequence.get();
+    }
+
+    /**
+     * A snapshot of the elements in the buffer, ordered from oldest to newest. Elements added concurrently while taking
+     * the snapshot may or may not be included.
+     */
+    public List<T> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(clearedSequence.get(), end - capacity());
+        List<T> answer = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            T element = elements.get((int) (i & mask));
+            if (element != null) {
+                answer.add(element);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Removes all the elements. Elements added concurrently while clearing may or may not be removed.
+     */
+    public void clear() {
+        long end = sequence.get();
+        long start = Math.max(clearedSequence.getAndAccumulate(end, Math::max), end - capacity());
+        for (long i = start; i < end; i++) {
+            elements.set((int) (i & mask), null);
+        }
+    }
+
+}
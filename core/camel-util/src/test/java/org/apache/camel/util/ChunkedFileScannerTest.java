@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChunkedFileScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLines() throws Exception {
+        Path file = write("data1\ndata2\ndata3\n", StandardCharsets.UTF_8);
+
+        List<String> tokens = scan(file, StandardCharsets.UTF_8, "\n", 4);
+        Assertions.assertEquals(List.of("data1", "data2", "data3"), tokens);
+    }
+
+    @Test
+    public void testEmptyTokens() throws Exception {
+        assertSameAsScanner("\n\na\n\n\nb\n\nccc\n\n", StandardCharsets.UTF_8, "\n");
+        assertSameAsScanner(",,a,,b,c,,", StandardCharsets.UTF_8, ",");
+    }
+
+    @Test
+    public void testMultiCharacterDelimiter() throws Exception {
+        assertSameAsScanner("line1\r\nline2\nline3\r\n\r\nline4", StandardCharsets.UTF_8, "\r?\n");
+        assertSameAsScanner("aaXYbbbXYXYccXY", StandardCharsets.UTF_8, "XY");
+        assertSameAsScanner("a  b\t\tc \n d", StandardCharsets.UTF_8, "\\s+");
+    }
+
+    @Test
+    public void testMultiByteCharacters() throws Exception {
+        assertSameAsScanner("été\n€€\n😀😀😀\nend", StandardCharsets.UTF_8, "\n");
+        assertSameAsScanner("été\nàè\nÿþ\nend", StandardCharsets.ISO_8859_1, "\n");
+    }
+
+    @Test
+    public void testRandom() throws Exception {
+        Random random = new Random(42);
+        String alphabet = "abé€,\n\r ";
+        for (String delimiter : new String[] { "\n", "\r?\n", ",+", "\\s" }) {
+            for (int i = 0; i < 50; i++) {
+                StringBuilder sb = new StringBuilder();
+                int length = random.nextInt(300);
+                for (int j = 0; j < length; j++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                assertSameAsScanner(sb.toString(), StandardCharsets.UTF_8, delimiter);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        Path file = write("", StandardCharsets.UTF_8);
+
+        Assertions.assertTrue(scan(file, StandardCharsets.UTF_8, "\n", 4).isEmpty());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        Path file = write("a\nb\nc\nd\ne\nf\n", StandardCharsets.UTF_8);
+
+        ChunkedFileScanner scanner = new ChunkedFileScanner(file, StandardCharsets.UTF_8, "\n", executor, 3, 2);
+        Assertions.assertEquals("a", scanner.next());
+        scanner.close();
+        Assertions.assertFalse(scanner.hasNext());
+    }
+
+    @Test
+    public void testSupportedCharsets() {
+        Assertions.assertTrue(ChunkedFileScanner.isSupported(StandardCharsets.UTF_8));
+        Assertions.assertTrue(ChunkedFileScanner.isSupported(StandardCharsets.ISO_8859_1));
+        Assertions.assertTrue(ChunkedFileScanner.isSupported(StandardCharsets.US_ASCII));
+        Assertions.assertFalse(ChunkedFileScanner.isSupported(StandardCharsets.UTF_16));
+    }
+
+    private void assertSameAsScanner(String text, Charset charset, String delimiter) throws Exception {
+        Path file = write(text, charset);
+
+        List<String> expected = new ArrayList<>();
+        try (Scanner scanner = new Scanner(file.toFile(), charset.name(), delimiter)) {
+            while (scanner.hasNext()) {
+                expected.add(scanner.next());
+            }
+        }
+
+        // use small ranges so the delimiters are at all kinds of positions relative to the ranges
+        for (int chunkSize = 1; chunkSize <= 8; chunkSize++) {
+            Assertions.assertEquals(expected, scan(file, charset, delimiter, chunkSize),
+                    "Chunk size " + chunkSize + " of: " + text);
+        }
+    }
+
+    private List<String> scan(Path file, Charset charset, String delimiter, int chunkSize) throws Exception {
+        List<String> answer = new ArrayList<>();
+        try (ChunkedFileScanner scanner = new ChunkedFileScanner(file, charset, delimiter, executor, 3, chunkSize)) {
+            while (scanner.hasNext()) {
+                answer.add(scanner.next());
+            }
+        }
+        return answer;
+    }
+
+    private Path write(String text, Charset charset) throws Exception {
+        File file = File.createTempFile("chunked", ".txt", tempDir.toFile());
+        Files.writeString(file.toPath(), text, charset);
+        return file.toPath();
+    }
+}
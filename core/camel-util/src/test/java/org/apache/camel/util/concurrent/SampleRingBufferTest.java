@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SampleRingBufferTest {
+
+    @Test
+    public void testOverwriteOldest() {
+        SampleRingBuffer<Integer> buffer = new SampleRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 6; i++) {
+            buffer.add(i);
+        }
+        assertEquals(4, buffer.size());
+        assertEquals(6, buffer.getAddedCount());
+        assertEquals(List.of(2, 3, 4, 5), buffer.snapshot());
+    }
+
+    @Test
+    public void testClear() {
+        SampleRingBuffer<Integer> buffer = new SampleRingBuffer<>(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.add(i);
+        }
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.snapshot().isEmpty());
+        assertEquals(6, buffer.getAddedCount());
+
+        // only the elements added after clearing are in the buffer
+        buffer.add(6);
+        buffer.add(7);
+        assertEquals(2, buffer.size());
+        assertEquals(List.of(6, 7), buffer.snapshot());
+
+        for (int i = 8; i < 12; i++) {
+            buffer.add(i);
+        }
+        assertEquals(4, buffer.size());
+        assertEquals(List.of(8, 9, 10, 11), buffer.snapshot());
+    }
+}
@@ -1098,6 +1098,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); yield true;
                 case "delimiter": def.setDelimiter(val); yield true;
                 case "executorService": def.setExecutorService(val); yield true;
+                case "maxInFlight": def.setMaxInFlight(val); yield true;
                 case "onPrepare": def.setOnPrepare(val); yield true;
                 case "parallelAggregate": def.setParallelAggregate(val); yield true;
                 case "parallelProcessing": def.setParallelProcessing(val); yield true;
@@ -1191,11 +1192,15 @@ public class ModelParser extends BaseParser {
     }
     protected ThrottleDefinition doParseThrottleDefinition() throws IOException, XmlPullParserException {
         return doParse(new ThrottleDefinition(), (def, key, val) -> switch (key) {
+                case "adaptiveAlgorithm": def.setAdaptiveAlgorithm(val); yield true;
+                case "adaptiveInitialLimit": def.setAdaptiveInitialLimit(val); yield true;
+                case "adaptiveMinLimit": def.setAdaptiveMinLimit(val); yield true;
                 case "asyncDelayed": def.setAsyncDelayed(val); yield true;
                 case "callerRunsWhenRejected": def.setCallerRunsWhenRejected(val); yield true;
                 case "executorService": def.setExecutorService(val); yield true;
                 case "mode": def.setMode(val); yield true;
                 case "rejectExecution": def.setRejectExecution(val); yield true;
+                case "throttleStateRepository": def.setThrottleStateRepository(val); yield true;
                 case "timePeriodMillis": def.setTimePeriodMillis(val); yield true;
                 default: yield processorDefinitionAttributeHandler().accept(def, key, val);
             }, (def, key) -> switch (key) {
@@ -1644,6 +1649,7 @@ public class ModelParser extends BaseParser {
         return doParse(new StreamResequencerConfig(), (def, key, val) -> switch (key) {
                 case "capacity": def.setCapacity(val); yield true;
                 case "comparator": def.setComparator(val); yield true;
+                case "concurrentEngine": def.setConcurrentEngine(val); yield true;
                 case "deliveryAttemptInterval": def.setDeliveryAttemptInterval(val); yield true;
                 case "ignoreInvalidExchanges": def.setIgnoreInvalidExchanges(val); yield true;
                 case "rejectOld": def.setRejectOld(val); yield true;
@@ -2383,6 +2389,7 @@ public class ModelParser extends BaseParser {
                 case "groupDelimiter": def.setGroupDelimiter(val); yield true;
                 case "includeTokens": def.setIncludeTokens(val); yield true;
                 case "inheritNamespaceTagName": def.setInheritNamespaceTagName(val); yield true;
+                case "parallelism": def.setParallelism(val); yield true;
                 case "regex": def.setRegex(val); yield true;
                 case "skipFirst": def.setSkipFirst(val); yield true;
                 case "token": def.setToken(val); yield true;
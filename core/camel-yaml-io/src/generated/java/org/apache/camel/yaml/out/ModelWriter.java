@@ -1741,6 +1741,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("stopOnException", def.getStopOnException());
         doWriteAttribute("delimiter", def.getDelimiter());
         doWriteAttribute("parallelProcessing", def.getParallelProcessing());
+        doWriteAttribute("maxInFlight", def.getMaxInFlight());
         doWriteAttribute("parallelAggregate", def.getParallelAggregate());
         doWriteAttribute("shareUnitOfWork", def.getShareUnitOfWork());
         doWriteAttribute("aggregationStrategyMethodAllowNull", def.getAggregationStrategyMethodAllowNull());
@@ -1810,12 +1811,16 @@ public class ModelWriter extends BaseWriter {
     protected void doWriteThrottleDefinition(String name, ThrottleDefinition def) throws IOException {
         startElement(name);
         doWriteProcessorDefinitionAttributes(def);
+        doWriteAttribute("throttleStateRepository", def.getThrottleStateRepository());
+        doWriteAttribute("rejectExecution", def.getRejectExecution());
         doWriteAttribute("mode", def.getMode());
         doWriteAttribute("timePeriodMillis", def.getTimePeriodMillis());
-        doWriteAttribute("rejectExecution", def.getRejectExecution());
+        doWriteAttribute("adaptiveInitialLimit", def.getAdaptiveInitialLimit());
+        doWriteAttribute("adaptiveMinLimit", def.getAdaptiveMinLimit());
         doWriteAttribute("callerRunsWhenRejected", def.getCallerRunsWhenRejected());
         doWriteAttribute("executorService", def.getExecutorService());
         doWriteAttribute("asyncDelayed", def.getAsyncDelayed());
+        doWriteAttribute("adaptiveAlgorithm", def.getAdaptiveAlgorithm());
         doWriteExpressionNodeElements(def);
         doWriteElement("correlationExpression", def.getCorrelationExpression(), this::doWriteExpressionSubElementDefinition);
         endElement(name);
@@ -2309,6 +2314,7 @@ public class ModelWriter extends BaseWriter {
     protected void doWriteStreamResequencerConfig(String name, StreamResequencerConfig def) throws IOException {
         startElement(name);
         doWriteAttribute("comparator", def.getComparator());
+        doWriteAttribute("concurrentEngine", def.getConcurrentEngine());
         doWriteAttribute("timeout", def.getTimeout());
         doWriteAttribute("rejectOld", def.getRejectOld());
         doWriteAttribute("ignoreInvalidExchanges", def.getIgnoreInvalidExchanges());
@@ -3160,6 +3166,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("inheritNamespaceTagName", def.getInheritNamespaceTagName());
         doWriteAttribute("groupDelimiter", def.getGroupDelimiter());
         doWriteAttribute("group", def.getGroup());
+        doWriteAttribute("parallelism", def.getParallelism());
         doWriteAttribute("token", def.getToken());
         doWriteValue(def.getExpression());
         endElement(name);
@@ -949,6 +949,35 @@ public interface KafkaComponentBuilderFactory {
             return this;
         }
     
+        /**
+         * The number of threads to process the records of a partition with in
+         * parallel, while the records with the same key are still processed one
+         * by one in the order of the partition. The default is 1, which
+         * processes the records of a partition one by one. The records of each
+         * poll are divided by their key among the threads, and the records
+         * without a key are divided in turn. The offsets are committed up to the
+         * last record before the first record which has not yet been processed,
+         * so a record which is slow to process does not hold back the records
+         * with other keys, and is processed again if the consumer is stopped or
+         * fails before it is done. The consumer keeps polling while the records
+         * are processed, and pauses a partition which has as many records to
+         * process as maxPollRecords. Like batching, this disables auto commit in
+         * the Kafka consumer, as the offsets are committed by Camel. This cannot
+         * be used together with batching or allowManualCommit.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param keyParallelism the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder keyParallelism(int keyParallelism) {
+            doSetProperty("keyParallelism", keyParallelism);
+            return this;
+        }
+    
         /**
          * Factory to use for creating KafkaManualCommit instances. This allows
          * to plugin a custom factory to create custom KafkaManualCommit
@@ -2434,6 +2463,7 @@ public interface KafkaComponentBuilderFactory {
             case "createConsumerBackoffInterval": ((KafkaComponent) component).setCreateConsumerBackoffInterval((long) value); return true;
             case "createConsumerBackoffMaxAttempts": ((KafkaComponent) component).setCreateConsumerBackoffMaxAttempts((int) value); return true;
             case "isolationLevel": getOrCreateConfiguration((KafkaComponent) component).setIsolationLevel((java.lang.String) value); return true;
+            case "keyParallelism": getOrCreateConfiguration((KafkaComponent) component).setKeyParallelism((int) value); return true;
             case "kafkaManualCommitFactory": ((KafkaComponent) component).setKafkaManualCommitFactory((org.apache.camel.component.kafka.consumer.KafkaManualCommitFactory) value); return true;
             case "pollExceptionStrategy": ((KafkaComponent) component).setPollExceptionStrategy((org.apache.camel.component.kafka.PollExceptionStrategy) value); return true;
             case "subscribeConsumerBackoffInterval": ((KafkaComponent) component).setSubscribeConsumerBackoffInterval((long) value); return true;
@@ -2208,6 +2208,50 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("includeHiddenFiles", includeHiddenFiles);
             return this;
         }
+        /**
+         * Whether the consumer should watch the scanned directories for changes
+         * (using the file system watch service), and only list the directories
+         * which have changed since the last poll, or which had files the last
+         * time they were listed. Directories which have not changed are not
+         * listed, but their sub directories are still scanned. This is
+         * beneficial when recursively polling a deep directory tree where most
+         * directories are empty. This option requires scanParallelism to be 1 or
+         * higher.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param incrementalScan the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder incrementalScan(boolean incrementalScan) {
+            doSetProperty("incrementalScan", incrementalScan);
+            return this;
+        }
+        /**
+         * Whether the consumer should watch the scanned directories for changes
+         * (using the file system watch service), and only list the directories
+         * which have changed since the last poll, or which had files the last
+         * time they were listed. Directories which have not changed are not
+         * listed, but their sub directories are still scanned. This is
+         * beneficial when recursively polling a deep directory tree where most
+         * directories are empty. This option requires scanParallelism to be 1 or
+         * higher.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param incrementalScan the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder incrementalScan(String incrementalScan) {
+            doSetProperty("incrementalScan", incrementalScan);
+            return this;
+        }
         /**
          * A pluggable in-progress repository
          * org.apache.camel.spi.IdempotentRepository. The in-progress repository
@@ -2409,6 +2453,52 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("processStrategy", processStrategy);
             return this;
         }
+        /**
+         * Whether the consumer should scan directories using NIO directory
+         * streams, where the attributes of each file are read at once while the
+         * directory is streamed, instead of listing each directory in full and
+         * querying the file system for the type, length and last modified of
+         * every file. When set to a value higher than 1 and the recursive option
+         * is enabled, then sub directories are scanned in parallel by this
+         * number of threads, in which case any custom filters must be
+         * thread-safe. The default value 0 uses the classic java.io.File based
+         * scan. Parallel scanning is not in use when a resume strategy is
+         * configured.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         * 
+         * @param scanParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder scanParallelism(int scanParallelism) {
+            doSetProperty("scanParallelism", scanParallelism);
+            return this;
+        }
+        /**
+         * Whether the consumer should scan directories using NIO directory
+         * streams, where the attributes of each file are read at once while the
+         * directory is streamed, instead of listing each directory in full and
+         * querying the file system for the type, length and last modified of
+         * every file. When set to a value higher than 1 and the recursive option
+         * is enabled, then sub directories are scanned in parallel by this
+         * number of threads, in which case any custom filters must be
+         * thread-safe. The default value 0 uses the classic java.io.File based
+         * scan. Parallel scanning is not in use when a resume strategy is
+         * configured.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         * 
+         * @param scanParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder scanParallelism(String scanParallelism) {
+            doSetProperty("scanParallelism", scanParallelism);
+            return this;
+        }
         /**
          * Whether the starting directory must exist. Mind that the autoCreate
          * option is default enabled, which means the starting directory is
@@ -3095,6 +3185,162 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("allowNullBody", allowNullBody);
             return this;
         }
+        /**
+         * When using fileExist=Append, then the producer can keep the files it
+         * appends to open across exchanges, instead of opening and closing the
+         * file for every exchange. This option is the maximum number of files
+         * to keep open, where the least recently used file is closed when more
+         * files are written to. The files must not be renamed or deleted by
+         * other applications while they are kept open. The default value 0
+         * opens and closes the file for every exchange.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelCacheSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelCacheSize(int appendChannelCacheSize) {
+            doSetProperty("appendChannelCacheSize", appendChannelCacheSize);
+            return this;
+        }
+        /**
+         * When using fileExist=Append, then the producer can keep the files it
+         * appends to open across exchanges, instead of opening and closing the
+         * file for every exchange. This option is the maximum number of files
+         * to keep open, where the least recently used file is closed when more
+         * files are written to. The files must not be renamed or deleted by
+         * other applications while they are kept open. The default value 0
+         * opens and closes the file for every exchange.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelCacheSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelCacheSize(String appendChannelCacheSize) {
+            doSetProperty("appendChannelCacheSize", appendChannelCacheSize);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then small writes
+         * can be gathered in a buffer (of bufferSize) per file, which is
+         * written to the file when it is full, or at this interval (in millis),
+         * which reduces the number of writes to the file system when appending
+         * many small messages. Mind that the messages are regarded as written
+         * before their data is written to the file (at-most-once), unless the
+         * doneFileName option is in use, and an error writing the buffered data
+         * fails the next message written to the file. The default value 0
+         * writes the data of each message to the file immediately.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelFlushInterval the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelFlushInterval(long appendChannelFlushInterval) {
+            doSetProperty("appendChannelFlushInterval", appendChannelFlushInterval);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then small writes
+         * can be gathered in a buffer (of bufferSize) per file, which is
+         * written to the file when it is full, or at this interval (in millis),
+         * which reduces the number of writes to the file system when appending
+         * many small messages. Mind that the messages are regarded as written
+         * before their data is written to the file (at-most-once), unless the
+         * doneFileName option is in use, and an error writing the buffered data
+         * fails the next message written to the file. The default value 0
+         * writes the data of each message to the file immediately.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelFlushInterval the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelFlushInterval(String appendChannelFlushInterval) {
+            doSetProperty("appendChannelFlushInterval", appendChannelFlushInterval);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then files which
+         * have not been written to for this period (in millis) are closed. Use
+         * 0 to keep the files open until the cache is full or the endpoint is
+         * stopped.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Default: 60000
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelIdleTimeout the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelIdleTimeout(long appendChannelIdleTimeout) {
+            doSetProperty("appendChannelIdleTimeout", appendChannelIdleTimeout);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then files which
+         * have not been written to for this period (in millis) are closed. Use
+         * 0 to keep the files open until the cache is full or the endpoint is
+         * stopped.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Default: 60000
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelIdleTimeout the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelIdleTimeout(String appendChannelIdleTimeout) {
+            doSetProperty("appendChannelIdleTimeout", appendChannelIdleTimeout);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then the files
+         * written to are forced (synced) to disk at this interval (in millis),
+         * so the cost of syncing is shared by all the messages written in the
+         * interval. The default value 0 leaves it to the operating system when
+         * to write the data to disk.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelSyncInterval the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelSyncInterval(long appendChannelSyncInterval) {
+            doSetProperty("appendChannelSyncInterval", appendChannelSyncInterval);
+            return this;
+        }
+        /**
+         * When the appendChannelCacheSize option is in use, then the files
+         * written to are forced (synced) to disk at this interval (in millis),
+         * so the cost of syncing is shared by all the messages written in the
+         * interval. The default value 0 leaves it to the operating system when
+         * to write the data to disk.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         * 
+         * @param appendChannelSyncInterval the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder appendChannelSyncInterval(String appendChannelSyncInterval) {
+            doSetProperty("appendChannelSyncInterval", appendChannelSyncInterval);
+            return this;
+        }
         /**
          * Specify the file permissions that are sent by the producer, the chmod
          * value must be between 000 and 777; If there is a leading digit like
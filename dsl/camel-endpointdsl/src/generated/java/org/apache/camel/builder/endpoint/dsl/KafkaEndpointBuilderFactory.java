@@ -2022,6 +2022,62 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("isolationLevel", isolationLevel);
             return this;
         }
+        /**
+         * The number of threads to process the records of a partition with in
+         * parallel, while the records with the same key are still processed one
+         * by one in the order of the partition. The default is 1, which
+         * processes the records of a partition one by one. The records of each
+         * poll are divided by their key among the threads, and the records
+         * without a key are divided in turn. The offsets are committed up to the
+         * last record before the first record which has not yet been processed,
+         * so a record which is slow to process does not hold back the records
+         * with other keys, and is processed again if the consumer is stopped or
+         * fails before it is done. The consumer keeps polling while the records
+         * are processed, and pauses a partition which has as many records to
+         * process as maxPollRecords. Like batching, this disables auto commit in
+         * the Kafka consumer, as the offsets are committed by Camel. This cannot
+         * be used together with batching or allowManualCommit.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param keyParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedKafkaEndpointConsumerBuilder keyParallelism(int keyParallelism) {
+            doSetProperty("keyParallelism", keyParallelism);
+            return this;
+        }
+        /**
+         * The number of threads to process the records of a partition with in
+         * parallel, while the records with the same key are still processed one
+         * by one in the order of the partition. The default is 1, which
+         * processes the records of a partition one by one. The records of each
+         * poll are divided by their key among the threads, and the records
+         * without a key are divided in turn. The offsets are committed up to the
+         * last record before the first record which has not yet been processed,
+         * so a record which is slow to process does not hold back the records
+         * with other keys, and is processed again if the consumer is stopped or
+         * fails before it is done. The consumer keeps polling while the records
+         * are processed, and pauses a partition which has as many records to
+         * process as maxPollRecords. Like batching, this disables auto commit in
+         * the Kafka consumer, as the offsets are committed by Camel. This cannot
+         * be used together with batching or allowManualCommit.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param keyParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedKafkaEndpointConsumerBuilder keyParallelism(String keyParallelism) {
+            doSetProperty("keyParallelism", keyParallelism);
+            return this;
+        }
         /**
          * Factory to use for creating KafkaManualCommit instances. This allows
          * to plugin a custom factory to create custom KafkaManualCommit
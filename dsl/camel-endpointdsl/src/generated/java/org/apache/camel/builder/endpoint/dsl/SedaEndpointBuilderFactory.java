@@ -309,6 +309,44 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("multipleConsumers", multipleConsumers);
             return this;
         }
+        /**
+         * The maximum number of messages each consumer thread drains from the
+         * queue in one poll, which are then processed one by one. A higher
+         * value reduces the contention on the queue when there are many
+         * messages. The default value is 1, which polls a single message at a
+         * time.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param pollBatchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(int pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
+        /**
+         * The maximum number of messages each consumer thread drains from the
+         * queue in one poll, which are then processed one by one. A higher
+         * value reduces the contention on the queue when there are many
+         * messages. The default value is 1, which polls a single message at a
+         * time.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param pollBatchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(String pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
         /**
          * The timeout (in milliseconds) used when polling. When a timeout
          * occurs, the consumer can check whether it is allowed to continue
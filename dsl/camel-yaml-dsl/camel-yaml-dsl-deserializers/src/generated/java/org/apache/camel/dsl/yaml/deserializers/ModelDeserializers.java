@@ -17623,6 +17623,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition", description = "Expression of how to split the message body, such as as-is, using a tokenizer, or using a xpath.", displayName = "Expression", oneOf = "expression"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "inheritErrorHandler", type = "boolean"),
+                    @YamlProperty(name = "maxInFlight", type = "number", description = "Sets the maximum number of split messages which can be in-flight at the same time when using parallel processing. When the limit is reached, then the splitter waits until a reply has been aggregated before it splits the next message, which bounds the memory usage when splitting big messages in streaming mode. When in use, then the replies are aggregated in the same order as the messages was split, also in streaming mode. Is by default 0 which means unbounded.", displayName = "Max In Flight"),
                     @YamlProperty(name = "onPrepare", type = "string", description = "Uses the Processor when preparing the org.apache.camel.Exchange to be sent. This can be used to deep-clone messages that should be sent, or any custom logic needed before the exchange is sent.", displayName = "On Prepare"),
                     @YamlProperty(name = "parallelAggregate", type = "boolean", deprecated = true, description = "If enabled then the aggregate method on AggregationStrategy can be called concurrently. Notice that this would require the implementation of AggregationStrategy to be implemented as thread-safe. By default this is false meaning that Camel synchronizes the call to the aggregate method. Though in some use-cases this can be used to archive higher performance when the AggregationStrategy is implemented as thread-safe.", displayName = "Parallel Aggregate"),
                     @YamlProperty(name = "parallelProcessing", type = "boolean", description = "If enabled then processing each split messages occurs concurrently. Note the caller thread will still wait until all messages has been fully processed, before it continues. It's only processing the sub messages from the splitter which happens concurrently. When parallel processing is enabled, then the Camel routing engin will continue processing using last used thread from the parallel thread pool. However, if you want to use the original thread that called the splitter, then make sure to enable the synchronous option as well.", displayName = "Parallel Processing"),
@@ -17689,6 +17690,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "maxInFlight": {
+                    String val = asText(node);
+                    target.setMaxInFlight(val);
+                    break;
+                }
                 case "onPrepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -18119,6 +18125,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             properties = {
                     @YamlProperty(name = "capacity", type = "number", defaultValue = "1000", description = "Sets the capacity of the resequencer inbound queue.", displayName = "Capacity"),
                     @YamlProperty(name = "comparator", type = "string", description = "To use a custom comparator as a org.apache.camel.processor.resequencer.ExpressionResultComparator type.", displayName = "Comparator"),
+                    @YamlProperty(name = "concurrentEngine", type = "boolean", description = "Whether to use a resequencer engine that allows messages to be inserted concurrently, instead of serializing the inserts on a single lock. This can improve the throughput when many threads are sending messages to the resequencer.", displayName = "Concurrent Engine"),
                     @YamlProperty(name = "deliveryAttemptInterval", type = "string", defaultValue = "1000", description = "Sets the interval in milliseconds the stream resequencer will at most wait while waiting for condition of being able to deliver.", displayName = "Delivery Attempt Interval"),
                     @YamlProperty(name = "ignoreInvalidExchanges", type = "boolean", description = "Whether to ignore invalid exchanges", displayName = "Ignore Invalid Exchanges"),
                     @YamlProperty(name = "rejectOld", type = "boolean", description = "If true, throws an exception when messages older than the last delivered message are processed", displayName = "Reject Old"),
@@ -18150,6 +18157,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setComparator(val);
                     break;
                 }
+                case "concurrentEngine": {
+                    String val = asText(node);
+                    target.setConcurrentEngine(val);
+                    break;
+                }
                 case "deliveryAttemptInterval": {
                     String val = asText(node);
                     target.setDeliveryAttemptInterval(val);
@@ -18734,6 +18746,9 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             deprecated = false,
             properties = {
                     @YamlProperty(name = "__extends", type = "object:org.apache.camel.model.language.ExpressionDefinition", oneOf = "expression"),
+                    @YamlProperty(name = "adaptiveAlgorithm", type = "enum:Gradient,Vegas", defaultValue = "Gradient", description = "The adaptive algorithm to use for adjusting the limit of concurrent requests, either Gradient or Vegas. This is only in use when using adaptive concurrent requests mode.", displayName = "Adaptive Algorithm"),
+                    @YamlProperty(name = "adaptiveInitialLimit", type = "number", defaultValue = "20", description = "The initial limit of concurrent requests, which is then adjusted by the adaptive algorithm. This is only in use when using adaptive concurrent requests mode.", displayName = "Adaptive Initial Limit"),
+                    @YamlProperty(name = "adaptiveMinLimit", type = "number", defaultValue = "1", description = "The minimum limit of concurrent requests, which the adaptive algorithm does not go below. This is only in use when using adaptive concurrent requests mode.", displayName = "Adaptive Min Limit"),
                     @YamlProperty(name = "asyncDelayed", type = "boolean", description = "Enables asynchronous delay which means the thread will not block while delaying.", displayName = "Async Delayed"),
                     @YamlProperty(name = "callerRunsWhenRejected", type = "boolean", description = "Whether or not the caller should run the task when it was rejected by the thread pool. Is by default true", displayName = "Caller Runs When Rejected"),
                     @YamlProperty(name = "correlationExpression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition", description = "The expression used to calculate the correlation key to use for throttle grouping. The Exchange which has the same correlation key is throttled together.", displayName = "Correlation Expression"),
@@ -18743,8 +18758,9 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition", description = "Expression to configure the maximum number of messages to throttle per request", displayName = "Expression", oneOf = "expression"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "inheritErrorHandler", type = "boolean"),
-                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
+                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests,AdaptiveConcurrentRequests", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
                     @YamlProperty(name = "rejectExecution", type = "boolean", description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit Is by default false", displayName = "Reject Execution"),
+                    @YamlProperty(name = "throttleStateRepository", type = "string", description = "To use a custom repository for the state of the throttler, which allows to share the rate limit with other throttlers, such as throttlers running on other nodes in a cluster. This is only supported when using total requests mode.", displayName = "Throttle State Repository"),
                     @YamlProperty(name = "timePeriodMillis", type = "string", defaultValue = "1000", description = "Sets the time period during which the maximum request count is valid for", displayName = "Time Period Millis")
             }
     )
@@ -18763,6 +18779,21 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                 String propertyName, Node node) {
             propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
             switch(propertyKey) {
+                case "adaptiveAlgorithm": {
+                    String val = asText(node);
+                    target.setAdaptiveAlgorithm(val);
+                    break;
+                }
+                case "adaptiveInitialLimit": {
+                    String val = asText(node);
+                    target.setAdaptiveInitialLimit(val);
+                    break;
+                }
+                case "adaptiveMinLimit": {
+                    String val = asText(node);
+                    target.setAdaptiveMinLimit(val);
+                    break;
+                }
                 case "asyncDelayed": {
                     String val = asText(node);
                     target.setAsyncDelayed(val);
@@ -18808,6 +18839,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setRejectExecution(val);
                     break;
                 }
+                case "throttleStateRepository": {
+                    String val = asText(node);
+                    target.setThrottleStateRepository(val);
+                    break;
+                }
                 case "timePeriodMillis": {
                     String val = asText(node);
                     target.setTimePeriodMillis(val);
@@ -19294,6 +19330,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "includeTokens", type = "boolean", description = "Whether to include the tokens in the parts when using pairs. When including tokens then the endToken property must also be configured (to use pair mode). The default value is false", displayName = "Include Tokens"),
                     @YamlProperty(name = "inheritNamespaceTagName", type = "string", description = "To inherit namespaces from a root/parent tag name when using XML You can use simple language as the tag name to support dynamic names.", displayName = "Inherit Namespace Tag Name"),
+                    @YamlProperty(name = "parallelism", type = "number", description = "To tokenize files using the given number of threads. The file is divided into ranges of bytes which end at a token, and each range is read and tokenized by its own thread, while the parts are still returned in the order they appear in the file. This is only in use when the message body is a file, which is not in an encoding with multiple bytes per character other than UTF-8, and when not using pair or XML mode.", displayName = "Parallelism"),
                     @YamlProperty(name = "regex", type = "boolean", description = "If the token is a regular expression pattern. The default value is false", displayName = "Regex"),
                     @YamlProperty(name = "resultType", type = "string", description = "Sets the class of the result type (type from output)", displayName = "Result Type"),
                     @YamlProperty(name = "skipFirst", type = "boolean", description = "To skip the very first element", displayName = "Skip First"),
@@ -19353,6 +19390,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritNamespaceTagName(val);
                     break;
                 }
+                case "parallelism": {
+                    String val = asText(node);
+                    target.setParallelism(val);
+                    break;
+                }
                 case "regex": {
                     String val = asText(node);
                     target.setRegex(val);
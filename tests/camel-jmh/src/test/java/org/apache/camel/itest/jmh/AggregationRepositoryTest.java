@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.MemoryAggregationRepository;
+import org.apache.camel.processor.aggregate.OffHeapAggregationRepository;
+import org.apache.camel.spi.AggregationRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the in-memory and the off-heap aggregation repositories with a large number of open correlation keys.
+ * <p/>
+ * The heap used after the repository has been filled is printed, which can be compared between the repositories.
+ */
+public class AggregationRepositoryTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "memory", "offheap" })
+        String repository;
+
+        @Param({ "1000000" })
+        int keys;
+
+        CamelContext camel;
+        AggregationRepository repo;
+        long counter;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            if ("offheap".equals(repository)) {
+                OffHeapAggregationRepository offHeap = new OffHeapAggregationRepository();
+                offHeap.setMaxMemorySize(1024 * 1024 * 1024L);
+                repo = offHeap;
+            } else {
+                repo = new MemoryAggregationRepository();
+            }
+            ServiceHelper.startService(repo);
+
+            for (int i = 0; i < keys; i++) {
+                String key = Integer.toString(i);
+                repo.add(camel, key, createExchange(key));
+            }
+
+            System.gc();
+            Runtime rt = Runtime.getRuntime();
+            System.out.printf("%n%s repository with %d keys uses %d MB heap%n", repository, keys,
+                    (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024));
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            ServiceHelper.stopService(repo);
+            camel.stop();
+        }
+
+        Exchange createExchange(String key) {
+            Exchange exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World " + key);
+            exchange.getMessage().setHeader("customerId", key);
+            exchange.getMessage().setHeader("sessionId", "session-" + key);
+            exchange.setProperty(Exchange.AGGREGATED_SIZE, 1);
+            exchange.setProperty(Exchange.AGGREGATED_CORRELATION_KEY, key);
+            return exchange;
+        }
+
+        String nextKey() {
+            return Long.toString(counter++ % keys);
+        }
+    }
+
+    @Benchmark
+    public void get(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.repo.get(state.camel, state.nextKey()));
+    }
+
+    @Benchmark
+    public void getAndUpdate(BenchmarkState state, Blackhole bh) {
+        String key = state.nextKey();
+        Exchange exchange = state.repo.get(state.camel, key);
+        bh.consume(state.repo.add(state.camel, key, exchange));
+    }
+
+}
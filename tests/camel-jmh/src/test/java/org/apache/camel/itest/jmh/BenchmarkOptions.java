@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Common JMH options used by all the benchmarks in this module.
+ * <p/>
+ * Each benchmark is measured in throughput mode (operations per second) and sample time mode (which reports the latency
+ * percentiles such as p99), and with the GC profiler enabled which reports the allocation rate and the normalized
+ * number of bytes allocated per operation ({@code gc.alloc.rate.norm}).
+ * <p/>
+ * The number of iterations can be tuned with the following system properties:
+ * <ul>
+ * <li>camel.jmh.forks - number of forks (default 1)</li>
+ * <li>camel.jmh.warmupIterations - number of warmup iterations (default 2)</li>
+ * <li>camel.jmh.measurementIterations - number of measurement iterations (default 5)</li>
+ * <li>camel.jmh.iterationTime - time in seconds per iteration (default 2)</li>
+ * <li>camel.jmh.resultDir - directory to store the results in JSON format (default target/jmh)</li>
+ * </ul>
+ */
+public final class BenchmarkOptions {
+
+    private BenchmarkOptions() {
+    }
+
+    /**
+     * Creates the options for running all the benchmarks in the given class
+     */
+    public static ChainedOptionsBuilder create(Class<?> benchmark) {
+        int time = Integer.getInteger("camel.jmh.iterationTime", 2);
+
+        return new OptionsBuilder()
+                .include(benchmark.getName() + ".*")
+                .mode(Mode.Throughput)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupIterations(Integer.getInteger("camel.jmh.warmupIterations", 2))
+                .warmupTime(TimeValue.seconds(time))
+                .measurementIterations(Integer.getInteger("camel.jmh.measurementIterations", 5))
+                .measurementTime(TimeValue.seconds(time))
+                .forks(Integer.getInteger("camel.jmh.forks", 1))
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultDir() + "/" + benchmark.getSimpleName() + ".json");
+    }
+
+    /**
+     * Runs all the benchmarks in the given class
+     */
+    public static void run(Class<?> benchmark) throws Exception {
+        new File(resultDir()).mkdirs();
+        new Runner(create(benchmark).build()).run();
+    }
+
+    private static String resultDir() {
+        return System.getProperty("camel.jmh.resultDir", "target/jmh");
+    }
+
+}
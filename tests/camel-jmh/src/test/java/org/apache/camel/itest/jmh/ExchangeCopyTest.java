@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.ArrayHeadersMapFactory;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks copying an exchange with a number of headers, properties and variables, both directly and by a multicast
+ * to 50 recipients.
+ * <p/>
+ * The copies share the headers, properties and variables until changed, so compare the allocated bytes per operation
+ * ({@code gc.alloc.rate.norm}) with the different headers map factories.
+ */
+public class ExchangeCopyTest {
+
+    private static final int RECIPIENTS = 50;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "default", "array" })
+        String headersMap;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            if ("array".equals(headersMap)) {
+                camel.getCamelContextExtension().setHeadersMapFactory(new ArrayHeadersMapFactory());
+            }
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    String[] uris = new String[RECIPIENTS];
+                    for (int i = 0; i < RECIPIENTS; i++) {
+                        uris[i] = "mock:r" + i + "?retainFirst=0&retainLast=0";
+                    }
+                    from("direct:multicast").multicast().to(uris);
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+
+            exchange = new DefaultExchange(camel);
+            populate(exchange);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+
+        void populate(Exchange exchange) {
+            exchange.getMessage().setBody("Hello World");
+            for (int i = 0; i < 10; i++) {
+                exchange.getMessage().setHeader("header" + i, "value" + i);
+            }
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "text/plain");
+            for (int i = 0; i < 5; i++) {
+                exchange.setProperty("property" + i, i);
+            }
+            exchange.setVariable("foo", "bar");
+            exchange.setVariable("beer", "Carlsberg");
+        }
+    }
+
+    @Benchmark
+    public void copy(BenchmarkState state, Blackhole bh) {
+        for (int i = 0; i < RECIPIENTS; i++) {
+            bh.consume(state.exchange.copy());
+        }
+    }
+
+    @Benchmark
+    public void multicast(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.send("direct:multicast", state::populate));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the Multicast EIP sending to a number of recipients, both sequential and in parallel.
+ */
+public class MulticastTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        ProducerTemplate producer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    AggregationStrategy strategy = AggregationStrategies.string(",");
+
+                    from("direct:sequential")
+                            .multicast(strategy)
+                            .to("mock:a?retainFirst=0&retainLast=0", "mock:b?retainFirst=0&retainLast=0",
+                                    "mock:c?retainFirst=0&retainLast=0", "mock:d?retainFirst=0&retainLast=0");
+
+                    from("direct:parallel")
+                            .multicast(strategy).parallelProcessing()
+                            .to("mock:a?retainFirst=0&retainLast=0", "mock:b?retainFirst=0&retainLast=0",
+                                    "mock:c?retainFirst=0&retainLast=0", "mock:d?retainFirst=0&retainLast=0");
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void multicast(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:sequential", "Hello World"));
+    }
+
+    @Benchmark
+    public void multicastParallel(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:parallel", "Hello World"));
+    }
+
+}
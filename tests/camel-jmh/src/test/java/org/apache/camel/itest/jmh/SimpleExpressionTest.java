@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks evaluating pre-parsed Simple expressions and predicates, as well as parsing them on every call (which is
+ * what happens when using dynamic expressions).
+ */
+public class SimpleExpressionTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        Exchange exchange;
+        Expression header;
+        Expression template;
+        Predicate predicate;
+        Predicate regexPredicate;
+        Predicate inPredicate;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World");
+            exchange.getMessage().setHeader("foo", 123);
+            exchange.getMessage().setHeader("bar", "beer");
+
+            header = camel.resolveLanguage("simple").createExpression("${header.foo}");
+            header.init(camel);
+            template = camel.resolveLanguage("simple").createExpression("Hello ${header.bar} the body is ${body}");
+            template.init(camel);
+            predicate = camel.resolveLanguage("simple").createPredicate("${header.foo} > 100 && ${header.bar} == 'beer'");
+            predicate.init(camel);
+            regexPredicate = camel.resolveLanguage("simple").createPredicate("${header.bar} regex '^b.*r$'");
+            regexPredicate.init(camel);
+            inPredicate = camel.resolveLanguage("simple").createPredicate("${header.bar} in 'wine,beer,water'");
+            inPredicate.init(camel);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void headerExpression(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.header.evaluate(state.exchange, Object.class));
+    }
+
+    @Benchmark
+    public void templateExpression(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.template.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void predicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.predicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void regexPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.regexPredicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void inPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.inPredicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void parseAndEvaluate(BenchmarkState state, Blackhole bh) {
+        Expression exp = state.camel.resolveLanguage("simple").createExpression("${header.foo}");
+        bh.consume(exp.evaluate(state.exchange, Object.class));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the Splitter EIP with a list body, and with the tokenizer on a string body.
+ */
+public class SplitterTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "10", "100" })
+        int size;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        List<String> list;
+        String csv;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            list = new ArrayList<>(size);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                list.add("Line " + i);
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("Line ").append(i);
+            }
+            csv = sb.toString();
+
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:list")
+                            .split(body())
+                            .to("mock:result?retainFirst=0&retainLast=0");
+
+                    from("direct:tokenize")
+                            .split(body().tokenize(","))
+                            .to("mock:result?retainFirst=0&retainLast=0");
+
+                    from("direct:parallel")
+                            .split(body()).parallelProcessing()
+                            .to("mock:result?retainFirst=0&retainLast=0");
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void splitList(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:list", state.list));
+    }
+
+    @Benchmark
+    public void splitTokenize(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:tokenize", state.csv));
+    }
+
+    @Benchmark
+    public void splitParallel(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:parallel", state.list));
+    }
+
+}
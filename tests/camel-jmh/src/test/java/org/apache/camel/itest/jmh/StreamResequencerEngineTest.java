@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.processor.resequencer.ConcurrentResequencerEngine;
+import org.apache.camel.processor.resequencer.ResequencerEngine;
+import org.apache.camel.processor.resequencer.SequenceElementComparator;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks the {@link ResequencerEngine} against the {@link ConcurrentResequencerEngine} with several threads
+ * inserting sequence numbers concurrently, while a delivery thread delivers the resequenced elements.
+ */
+public class StreamResequencerEngineTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "lock", "concurrent" })
+        String type;
+
+        StreamResequencerEngine<Long> engine;
+        AtomicLong sequence;
+        AtomicBoolean running;
+        Thread delivery;
+
+        @Setup(Level.Iteration)
+        public void initialize() {
+            if ("concurrent".equals(type)) {
+                engine = new ConcurrentResequencerEngine<>(new LongComparator());
+            } else {
+                engine = new ResequencerEngine<>(new LongComparator());
+            }
+            engine.setTimeout(100);
+            engine.setSequenceSender(o -> {
+            });
+            engine.start();
+            sequence = new AtomicLong();
+            running = new AtomicBoolean(true);
+            delivery = new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        engine.deliver();
+                    } catch (Exception e) {
+                        // ignore
+                    }
+                }
+            });
+            delivery.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws Exception {
+            running.set(false);
+            delivery.join();
+            engine.stop();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void insert(BenchmarkState state) throws Exception {
+        state.engine.awaitCapacity(1000);
+        state.engine.insert(state.sequence.getAndIncrement());
+    }
+
+    private static final class LongComparator implements SequenceElementComparator<Long> {
+
+        @Override
+        public boolean predecessor(Long o1, Long o2) {
+            return o1 == o2 - 1;
+        }
+
+        @Override
+        public boolean successor(Long o1, Long o2) {
+            return o2 == o1 - 1;
+        }
+
+        @Override
+        public int compare(Long o1, Long o2) {
+            return o1.compareTo(o2);
+        }
+
+        @Override
+        public boolean isValid(Long o1) {
+            return o1 != null;
+        }
+    }
+
+}
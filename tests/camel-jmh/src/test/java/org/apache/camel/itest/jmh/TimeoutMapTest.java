@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimingWheelTimeoutMap;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link DefaultTimeoutMap} against {@link TimingWheelTimeoutMap} with a large number of outstanding entries
+ * (such as in-flight request/reply messages), covering the cost of a purge (which happens on every tick of the purge
+ * poll) and of adding and removing an entry.
+ */
+public class TimeoutMapTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({ "default", "wheel" })
+        String type;
+
+        @Param({ "10000", "500000" })
+        int size;
+
+        ScheduledExecutorService executor;
+        TimeoutMap<String, String> map;
+        Runnable purge;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            executor = Executors.newSingleThreadScheduledExecutor();
+            // the maps are not started, so the purge only runs when the benchmark invokes it
+            if ("wheel".equals(type)) {
+                BenchmarkWheelTimeoutMap wheel = new BenchmarkWheelTimeoutMap(executor);
+                purge = wheel::purge;
+                map = wheel;
+            } else {
+                BenchmarkDefaultTimeoutMap def = new BenchmarkDefaultTimeoutMap(executor);
+                purge = def::purge;
+                map = def;
+            }
+            // outstanding entries which do not time out during the benchmark
+            for (int i = 0; i < size; i++) {
+                map.put("outstanding-" + i, "value", 60 * 60 * 1000);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void purge(BenchmarkState state) {
+        state.purge.run();
+    }
+
+    @Benchmark
+    public void putRemove(BenchmarkState state, Blackhole bh) {
+        state.map.put("request", "value", 30000);
+        bh.consume(state.map.remove("request"));
+    }
+
+    private static final class BenchmarkDefaultTimeoutMap extends DefaultTimeoutMap<String, String> {
+
+        BenchmarkDefaultTimeoutMap(ScheduledExecutorService executor) {
+            super(executor);
+        }
+
+        @Override
+        public void purge() {
+            super.purge();
+        }
+    }
+
+    private static final class BenchmarkWheelTimeoutMap extends TimingWheelTimeoutMap<String, String> {
+
+        BenchmarkWheelTimeoutMap(ScheduledExecutorService executor) {
+            super(executor);
+        }
+
+        @Override
+        public void purge() {
+            super.purge();
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks type converter lookups in the {@code BaseTypeConverterRegistry}, covering exact matches, conversions
+ * resolved via fallback converters, conversions that are not possible, and conversions using a type converter resolved
+ * up front.
+ */
+public class TypeConverterTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkOptions.run(getClass());
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        TypeConverter converter;
+        TypeConverter stringToInteger;
+        Exchange exchange;
+        byte[] bytes;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.start();
+            converter = camel.getTypeConverter();
+            stringToInteger = camel.getTypeConverterRegistry().resolveTypeConverter(Integer.class, String.class);
+            exchange = new DefaultExchange(camel);
+            bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void stringToInteger(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Integer.class, "12345"));
+    }
+
+    @Benchmark
+    public void resolvedStringToInteger(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.stringToInteger.convertTo(Integer.class, "12345"));
+    }
+
+    @Benchmark
+    public void stringToLong(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Long.class, "12345"));
+    }
+
+    @Benchmark
+    public void integerToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, 12345));
+    }
+
+    @Benchmark
+    public void bytesToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, state.exchange, state.bytes));
+    }
+
+    @Benchmark
+    public void stringToBoolean(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Boolean.class, "true"));
+    }
+
+    @Benchmark
+    public void sameType(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, "Hello World"));
+    }
+
+    @Benchmark
+    public void tryConvertMiss(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.tryConvertTo(StringBuilder.class, state.exchange, state));
+    }
+
+}